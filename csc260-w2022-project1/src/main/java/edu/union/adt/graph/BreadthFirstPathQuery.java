@@ -0,0 +1,114 @@
+package edu.union.adt.graph;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * The {@link PathQuery} that Graph.from returns: a breadth-first
+ * search over a neighbour function that keeps its queue and
+ * predecessors between calls.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+final class BreadthFirstPathQuery<V> implements PathQuery<V> {
+    private final Graph<V> graph;
+    private final V source;
+    private final Function<V, Iterable<V>> neighbours;
+    private final TraversalStats stats;
+    private final Map<V, V> predecessors = new HashMap<V, V>();
+    private final Map<V, Integer> distances = new HashMap<V, Integer>();
+    private final ArrayDeque<V> queue = new ArrayDeque<V>();
+
+    /**
+     * @param graph the graph to search
+     * @param source the vertex paths start from
+     * @param neighbours gives the vertices adjacent to a vertex of
+     * the graph
+     * @param stats where to count the work done, or null
+     */
+    BreadthFirstPathQuery(Graph<V> graph, V source, Function<V, Iterable<V>> neighbours,
+                          TraversalStats stats) {
+        this.graph = graph;
+        this.source = source;
+        this.neighbours = neighbours;
+        this.stats = stats;
+        if (graph.contains(source)) {
+            predecessors.put(source, source);
+            distances.put(source, 0);
+            queue.add(source);
+        }
+    }
+
+    @Override
+    public V source() {
+        return source;
+    }
+
+    @Override
+    public int reached() {
+        return distances.size();
+    }
+
+    @Override
+    public boolean isExhausted() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * Carries the search on, a vertex at a time, until 'to' has been
+     * reached or there is nothing left to explore.
+     *
+     * @return true iff 'to' has been reached.
+     */
+    private boolean reach(V to) {
+        if (distances.containsKey(to))
+            return true;
+        if (!graph.contains(to))
+            return false;
+        while (!queue.isEmpty()) {
+            V current = queue.poll();
+            int next = distances.get(current) + 1;
+            boolean found = false;
+            if (stats != null)
+                stats.vertex();
+            // finish the vertex's row, so that resuming never skips
+            // the rest of it
+            for (V neighbour : neighbours.apply(current)) {
+                if (stats != null)
+                    stats.edge();
+                if (predecessors.containsKey(neighbour))
+                    continue;
+                predecessors.put(neighbour, current);
+                distances.put(neighbour, next);
+                queue.add(neighbour);
+                if (Objects.equals(neighbour, to))
+                    found = true;
+            }
+            if (found)
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasPath(V to) {
+        return reach(to);
+    }
+
+    @Override
+    public int pathLength(V to) {
+        return reach(to) ? distances.get(to) : Integer.MAX_VALUE;
+    }
+
+    @Override
+    public List<V> getPath(V to) {
+        if (!reach(to))
+            return null;
+        ArrayList<V> path = new ArrayList<V>();
+        for (V v = to; !Objects.equals(v, source); v = predecessors.get(v))
+            path.add(v);
+        path.add(source);
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -0,0 +1,409 @@
+package edu.union.adt.graph;
+import java.util.*;
+
+/**
+ * A read-only graph that keeps its edges in as few bytes as it can,
+ * for graphs that are stored or archived more than they are queried.
+ *
+ * Vertices are numbered as in a {@link CsrView}, and each vertex's
+ * sorted out-neighbours are written, in the style of WebGraph, as
+ * gaps between successive ids encoded as varints (7 bits per byte):
+ * first the degree, then the first neighbour relative to the vertex
+ * itself (zig-zag encoded, since it may be smaller), then each
+ * neighbour minus the previous one, minus one.  Every row is
+ * concatenated into one byte array, with an int offset per vertex.
+ * When neighbours have nearby ids, most gaps fit in one byte; number
+ * the vertices with {@link VertexOrdering} first to make that so.
+ *
+ * Nothing is decompressed up front.  adjacentTo returns an Iterable
+ * that decodes the row each time it is iterated, hasEdge decodes
+ * until it passes the target, and path queries run a breadth-first
+ * search over ids that decodes each row as it is reached.
+ *
+ * All mutating methods throw UnsupportedOperationException.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class CompressedGraph<V> implements Graph<V> {
+    private final List<V> vertices;
+    private final Map<V, Integer> index;
+    private final int[] offsets;
+    private final byte[] rows;
+    private final int edgeCount;
+
+    private CompressedGraph(List<V> vertices, Map<V, Integer> index, int[] offsets,
+                            byte[] rows, int edgeCount) {
+        this.vertices = vertices;
+        this.index = index;
+        this.offsets = offsets;
+        this.rows = rows;
+        this.edgeCount = edgeCount;
+    }
+
+    /**
+     * Compresses a graph, numbering vertices in the order getVertices
+     * returns them.
+     *
+     * @param graph the graph to compress
+     * @return the compressed copy
+     */
+    public static <V> CompressedGraph<V> copyOf(Graph<V> graph) {
+        return of(CsrView.of(graph));
+    }
+
+    /**
+     * Compresses a graph in CSR form, keeping its vertex ids.  To
+     * compress better, renumber it first, for example with
+     * view.permute(VertexOrdering.breadthFirst(view)).
+     *
+     * @param view the graph to compress
+     * @return the compressed copy, which shares the view's vertex
+     * list and index
+     * @throws IllegalArgumentException if the encoded rows would not
+     * fit in one array
+     */
+    public static <V> CompressedGraph<V> of(CsrView<V> view) {
+        int n = view.numVertices();
+        int[] csrOffsets = view.offsets();
+        int[] targets = view.targets();
+        int[] offsets = new int[n + 1];
+        byte[] out = new byte[Math.max(16, n + targets.length + (targets.length >> 2))];
+        long size = 0;
+        for (int v = 0; v < n; v++) {
+            int start = csrOffsets[v];
+            int end = csrOffsets[v + 1];
+            long needed = size + 5L * (end - start + 1);
+            if (needed > Integer.MAX_VALUE - 8)
+                throw new IllegalArgumentException("graph too large to compress into one array");
+            if (needed > out.length)
+                out = Arrays.copyOf(out, (int) Math.min(Integer.MAX_VALUE - 8,
+                                                        Math.max(needed, out.length * 3L / 2)));
+            offsets[v] = (int) size;
+            int pos = writeVarint(out, (int) size, end - start);
+            for (int i = start; i < end; i++) {
+                int gap = i == start ? zigzag(targets[i] - v) : targets[i] - targets[i - 1] - 1;
+                pos = writeVarint(out, pos, gap);
+            }
+            size = pos;
+        }
+        offsets[n] = (int) size;
+        return new CompressedGraph<V>(view.vertices(), view.index(), offsets,
+                                      Arrays.copyOf(out, (int) size), targets.length);
+    }
+
+    private static int zigzag(int x) {
+        return (x << 1) ^ (x >> 31);
+    }
+
+    private static int unzigzag(int x) {
+        return (x >>> 1) ^ -(x & 1);
+    }
+
+    private static int writeVarint(byte[] out, int pos, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[pos++] = (byte) value;
+        return pos;
+    }
+
+    /**
+     * Reads one row: its degree, then each neighbour in increasing
+     * order.  Reusable, so that a search allocates one for all the
+     * rows it decodes.
+     */
+    private final class Cursor {
+        private int pos;
+        private int left;
+        private int previous;
+        private boolean first;
+
+        /** Starts on the row of 'v' and returns its degree. */
+        int start(int v) {
+            pos = offsets[v];
+            left = readVarint();
+            previous = v;
+            first = true;
+            return left;
+        }
+
+        boolean hasNext() {
+            return left > 0;
+        }
+
+        int next() {
+            left--;
+            int gap = readVarint();
+            if (first) {
+                first = false;
+                previous += unzigzag(gap);
+            }
+            else
+                previous += gap + 1;
+            return previous;
+        }
+
+        private int readVarint() {
+            byte[] in = rows;
+            int b = in[pos++];
+            if (b >= 0)
+                return b;
+            int value = b & 0x7F;
+            int shift = 7;
+            do {
+                b = in[pos++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+
+    /**
+     * @return the number of bytes holding the edges: the encoded rows
+     * and the offset of each.
+     */
+    public long adjacencyBytes() {
+        return rows.length + 4L * offsets.length;
+    }
+
+    /**
+     * @return the average number of bits per edge, counting the row
+     * offsets; NaN for a graph without edges.
+     */
+    public double bitsPerEdge() {
+        return edgeCount == 0 ? Double.NaN : 8.0 * adjacencyBytes() / edgeCount;
+    }
+
+    private int id(V vertex) {
+        Integer id = index.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    @Override
+    public int numVertices() {
+        return vertices.size();
+    }
+
+    @Override
+    public int numEdges() {
+        return edgeCount;
+    }
+
+    @Override
+    public int degree(V vertex) {
+        int v = id(vertex);
+        if (v < 0)
+            throw new RuntimeException();
+        return new Cursor().start(v);
+    }
+
+    @Override
+    public void addEdge(V from, V to) {
+        throw new UnsupportedOperationException("compressed graphs are read-only");
+    }
+
+    @Override
+    public void addVertex(V vertex) {
+        throw new UnsupportedOperationException("compressed graphs are read-only");
+    }
+
+    @Override
+    public Iterable<V> getVertices() {
+        return vertices;
+    }
+
+    /**
+     * @return the vertices adjacent to 'from', in id order, decoded
+     * lazily each time the result is iterated; empty if 'from' is not
+     * in the graph.
+     */
+    @Override
+    public Iterable<V> adjacentTo(V from) {
+        final int v = id(from);
+        if (v < 0)
+            return Collections.<V>emptyList();
+        return () -> new Iterator<V>() {
+            private final Cursor cursor = new Cursor();
+            {
+                cursor.start(v);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @Override
+            public V next() {
+                if (!cursor.hasNext())
+                    throw new NoSuchElementException();
+                return vertices.get(cursor.next());
+            }
+        };
+    }
+
+    @Override
+    public boolean contains(V vertex) {
+        return index.containsKey(vertex);
+    }
+
+    @Override
+    public boolean hasEdge(V from, V to) {
+        int f = id(from);
+        int t = id(to);
+        if (f < 0 || t < 0)
+            return false;
+        Cursor cursor = new Cursor();
+        cursor.start(f);
+        while (cursor.hasNext()) {
+            int w = cursor.next();
+            if (w >= t)
+                return w == t;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return Graphs.toString(this);
+    }
+
+    /**
+     * @return true iff 'other' is a compressed graph with the same
+     * vertices and edges.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other == this)
+            return true;
+        if (!(other instanceof CompressedGraph))
+            return false;
+        return Graphs.sameVerticesAndEdges(this, (CompressedGraph<?>) other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Graphs.hashCode(this);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return vertices.isEmpty();
+    }
+
+    @Override
+    public void removeVertex(V toRemove) {
+        throw new UnsupportedOperationException("compressed graphs are read-only");
+    }
+
+    @Override
+    public void removeEdge(V from, V to) {
+        throw new UnsupportedOperationException("compressed graphs are read-only");
+    }
+
+    @Override
+    public boolean hasPath(V from, V to) {
+        return hasPath(from, to, null);
+    }
+
+    @Override
+    public boolean hasPath(V from, V to, TraversalStats stats) {
+        return search(id(from), id(to), stats) != null;
+    }
+
+    @Override
+    public int pathLength(V from, V to) {
+        return pathLength(from, to, null);
+    }
+
+    @Override
+    public int pathLength(V from, V to, TraversalStats stats) {
+        int f = id(from);
+        int t = id(to);
+        int[] predecessors = search(f, t, stats);
+        if (predecessors == null)
+            return Integer.MAX_VALUE;
+        int length = 0;
+        for (int v = t; v != f; v = predecessors[v])
+            length++;
+        return length;
+    }
+
+    @Override
+    public Iterable<V> getPath(V from, V to) {
+        return getPath(from, to, null);
+    }
+
+    @Override
+    public Iterable<V> getPath(V from, V to, TraversalStats stats) {
+        int f = id(from);
+        int t = id(to);
+        int[] predecessors = search(f, t, stats);
+        if (predecessors == null)
+            return null;
+        ArrayList<V> path = new ArrayList<V>();
+        for (int v = t; v != f; v = predecessors[v])
+            path.add(vertices.get(v));
+        path.add(vertices.get(f));
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Breadth-first search from 'from' that stops when 'to' is found,
+     * decoding each row as it is reached.
+     *
+     * @param stats where to count the work done, or null
+     * @return the BFS predecessor of each visited vertex, or null if
+     * either id is -1 or 'to' cannot be reached.
+     */
+    private int[] search(int from, int to, TraversalStats stats) {
+        if (from < 0 || to < 0)
+            return null;
+        int n = vertices.size();
+        int[] predecessors = new int[n];
+        if (from == to)
+            return predecessors;
+        Arrays.fill(predecessors, -1);
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        predecessors[from] = from;
+        queue[tail++] = from;
+        Cursor cursor = new Cursor();
+        while (head < tail) {
+            int current = queue[head++];
+            if (stats != null)
+                stats.vertex();
+            cursor.start(current);
+            while (cursor.hasNext()) {
+                int next = cursor.next();
+                if (stats != null)
+                    stats.edge();
+                if (predecessors[next] != -1)
+                    continue;
+                predecessors[next] = current;
+                if (next == to)
+                    return predecessors;
+                queue[tail++] = next;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void apply(GraphDelta<V> delta) {
+        throw new UnsupportedOperationException("compressed graphs are read-only");
+    }
+
+    /**
+     * @return this graph, which is already immutable.
+     */
+    @Override
+    public CompressedGraph<V> snapshot() {
+        return this;
+    }
+}
@@ -0,0 +1,271 @@
+package edu.union.adt.graph;
+import java.util.*;
+
+/**
+ * An immutable, int-indexed copy of a graph in compressed sparse row
+ * (CSR) form.  Vertices are numbered 0..n-1; the out-neighbours of
+ * vertex v are targets[offsets[v]] .. targets[offsets[v+1]-1], sorted
+ * in ascending order.  The reverse (in-neighbour) arrays are built
+ * the first time they are asked for.
+ *
+ * Algorithms that touch every edge many times (PageRank, centrality,
+ * triangle counting, ...) should run on a CsrView rather than on the
+ * Graph interface: neighbours are contiguous primitive ints and no
+ * iterator or boxed value is created while traversing.
+ *
+ * The arrays returned by the accessors are the view's own; callers
+ * must not modify them.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class CsrView<V> {
+    private final List<V> vertices;
+    private final Map<V, Integer> index;
+    private final int[] offsets;
+    private final int[] targets;
+    private volatile int[][] reverse;
+
+    private CsrView(List<V> vertices, Map<V, Integer> index, int[] offsets, int[] targets) {
+        this.vertices = vertices;
+        this.index = index;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Copies a graph into CSR form.  Vertices are numbered in the
+     * order getVertices returns them.  Takes O(V + E log d) time,
+     * where d is the largest degree.
+     *
+     * @param graph the graph to copy
+     * @return the CSR view
+     */
+    public static <V> CsrView<V> of(Graph<V> graph) {
+        List<V> vertices = new ArrayList<V>();
+        for (V v : graph.getVertices())
+            vertices.add(v);
+        return of(graph, vertices);
+    }
+
+    /**
+     * Copies a graph into CSR form, numbering the vertices in a given
+     * order.
+     *
+     * @param graph the graph to copy
+     * @param order every vertex of the graph, once each; vertex
+     * order.get(i) gets id i
+     * @return the CSR view
+     */
+    public static <V> CsrView<V> of(Graph<V> graph, List<V> order) {
+        int n = order.size();
+        List<V> vertices = Collections.unmodifiableList(new ArrayList<V>(order));
+        Map<V, Integer> index = new HashMap<V, Integer>(Math.max(16, (int) (n / 0.75f) + 1));
+        for (V v : vertices)
+            index.put(v, index.size());
+        if (index.size() != n)
+            throw new IllegalArgumentException("vertex order contains duplicates");
+
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[Math.max(16, graph.numEdges())];
+        int m = 0;
+        for (int v = 0; v < n; v++) {
+            offsets[v] = m;
+            for (V w : graph.adjacentTo(vertices.get(v))) {
+                Integer t = index.get(w);
+                if (t == null)
+                    continue;
+                if (m == targets.length)
+                    targets = Arrays.copyOf(targets, targets.length * 2);
+                targets[m++] = t;
+            }
+            Arrays.sort(targets, offsets[v], m);
+        }
+        offsets[n] = m;
+        return new CsrView<V>(vertices, index, offsets, Arrays.copyOf(targets, m));
+    }
+
+    /**
+     * Builds a view directly from CSR arrays.
+     *
+     * @param vertices the vertex with each id
+     * @param offsets n+1 row offsets
+     * @param targets the out-neighbour ids, sorted within each row
+     * @return the CSR view, which takes ownership of the arrays
+     */
+    static <V> CsrView<V> fromArrays(List<V> vertices, int[] offsets, int[] targets) {
+        Map<V, Integer> index = new HashMap<V, Integer>(Math.max(16, (int) (vertices.size() / 0.75f) + 1));
+        for (V v : vertices)
+            index.put(v, index.size());
+        return fromArrays(vertices, index, offsets, targets);
+    }
+
+    /**
+     * Builds a view directly from CSR arrays and an index the caller
+     * has already built.
+     *
+     * @param index maps each vertex to its position in 'vertices'
+     */
+    static <V> CsrView<V> fromArrays(List<V> vertices, Map<V, Integer> index,
+                                     int[] offsets, int[] targets) {
+        return new CsrView<V>(Collections.unmodifiableList(vertices), index, offsets, targets);
+    }
+
+    /**
+     * @return the number of vertices.
+     */
+    public int numVertices() {
+        return vertices.size();
+    }
+
+    /**
+     * @return the number of edges.
+     */
+    public int numEdges() {
+        return targets.length;
+    }
+
+    /**
+     * @param id a vertex id
+     * @return the vertex with that id.
+     */
+    public V vertex(int id) {
+        return vertices.get(id);
+    }
+
+    /**
+     * @return the vertices in id order.
+     */
+    public List<V> vertices() {
+        return vertices;
+    }
+
+    /**
+     * @param vertex a vertex
+     * @return the id of 'vertex', or -1 if it is not in the view.
+     */
+    public int indexOf(V vertex) {
+        Integer id = index.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @return the map from vertex to id, shared with the view.
+     */
+    Map<V, Integer> index() {
+        return index;
+    }
+
+    /**
+     * @return the n+1 row offsets into targets().
+     */
+    public int[] offsets() {
+        return offsets;
+    }
+
+    /**
+     * @return the out-neighbour ids of every vertex, row by row.
+     */
+    public int[] targets() {
+        return targets;
+    }
+
+    /**
+     * @param v a vertex id
+     * @return the number of edges out of 'v'.
+     */
+    public int outDegree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * @param v a vertex id
+     * @return the number of edges into 'v'.
+     */
+    public int inDegree(int v) {
+        int[] in = inOffsets();
+        return in[v + 1] - in[v];
+    }
+
+    /**
+     * @param from a vertex id
+     * @param to a vertex id
+     * @return true iff (from, to) is an edge.  Uses binary search.
+     */
+    public boolean hasEdge(int from, int to) {
+        return Arrays.binarySearch(targets, offsets[from], offsets[from + 1], to) >= 0;
+    }
+
+    /**
+     * @return the n+1 row offsets into inSources().
+     */
+    public int[] inOffsets() {
+        return reverse()[0];
+    }
+
+    /**
+     * @return the in-neighbour ids of every vertex, row by row,
+     * sorted within each row.
+     */
+    public int[] inSources() {
+        return reverse()[1];
+    }
+
+    /**
+     * Renumbers the vertices.  The result has the same vertices and
+     * edges, but vertex v of this view becomes vertex newIds[v].
+     * Renumbering so that neighbours get nearby ids makes traversals
+     * touch fewer cache lines; see {@link VertexOrdering}.
+     *
+     * @param newIds a permutation of 0..n-1
+     * @return the renumbered view
+     */
+    public CsrView<V> permute(int[] newIds) {
+        int n = numVertices();
+        if (newIds.length != n)
+            throw new IllegalArgumentException("permutation has " + newIds.length
+                                               + " entries for " + n + " vertices");
+        int[] oldIds = new int[n];
+        Arrays.fill(oldIds, -1);
+        for (int v = 0; v < n; v++) {
+            if (newIds[v] < 0 || newIds[v] >= n || oldIds[newIds[v]] != -1)
+                throw new IllegalArgumentException("not a permutation of 0.." + (n - 1));
+            oldIds[newIds[v]] = v;
+        }
+        List<V> order = new ArrayList<V>(n);
+        int[] newOffsets = new int[n + 1];
+        int[] newTargets = new int[targets.length];
+        int m = 0;
+        for (int v = 0; v < n; v++) {
+            int old = oldIds[v];
+            order.add(vertices.get(old));
+            newOffsets[v] = m;
+            for (int i = offsets[old]; i < offsets[old + 1]; i++)
+                newTargets[m++] = newIds[targets[i]];
+            Arrays.sort(newTargets, newOffsets[v], m);
+        }
+        newOffsets[n] = m;
+        return fromArrays(order, newOffsets, newTargets);
+    }
+
+    private int[][] reverse() {
+        int[][] r = reverse;
+        if (r == null) {
+            int n = numVertices();
+            int[] inOffsets = new int[n + 1];
+            for (int t : targets)
+                inOffsets[t + 1]++;
+            for (int v = 0; v < n; v++)
+                inOffsets[v + 1] += inOffsets[v];
+            int[] fill = Arrays.copyOf(inOffsets, n);
+            int[] sources = new int[targets.length];
+            // sources are visited in ascending order, so rows come out sorted
+            for (int u = 0; u < n; u++)
+                for (int i = offsets[u]; i < offsets[u + 1]; i++)
+                    sources[fill[targets[i]]++] = u;
+            r = new int[][] {inOffsets, sources};
+            reverse = r;
+        }
+        return r;
+    }
+}
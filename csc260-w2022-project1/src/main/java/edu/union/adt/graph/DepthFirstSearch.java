@@ -0,0 +1,306 @@
+package edu.union.adt.graph;
+import java.util.*;
+
+/**
+ * Depth-first searches over a {@link CsrView} that neither recurse nor
+ * allocate.  The search keeps its own stack of vertices, and of the
+ * next edge to follow out of each, in int arrays sized once for the
+ * graph, so a chain of any depth is searched without a
+ * StackOverflowError.  A vertex is marked visited when stamp[v]
+ * equals the current epoch, so starting the next search is O(1)
+ * instead of clearing an array.
+ *
+ * One instance is reused for any number of queries on the same view.
+ * It is not safe for use by several threads at once; give each thread
+ * its own.
+ *
+ * <PRE>
+ * DepthFirstSearch&lt;String&gt; dfs = DepthFirstSearch.of(graph);
+ * dfs.reaches("build", "deploy");
+ * dfs.simplePaths("build", "deploy", 10, 50);   // at most 10 paths of at most 50 edges
+ * </PRE>
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class DepthFirstSearch<V> {
+    private final CsrView<V> view;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] stack;
+    private final int[] cursor;
+    private final int[] stamp;
+    private int epoch;
+
+    /**
+     * Called with each simple path found by
+     * {@link DepthFirstSearch#simplePaths(int, int, int, int, PathVisitor)}.
+     */
+    public interface PathVisitor {
+        /**
+         * @param path the vertex ids of the path, from path[0] to
+         * path[length]; the array is the search's own stack, valid
+         * only during the call
+         * @param length the number of edges in the path
+         */
+        void path(int[] path, int length);
+    }
+
+    /**
+     * @param view the graph to search
+     */
+    public DepthFirstSearch(CsrView<V> view) {
+        int n = view.numVertices();
+        this.view = view;
+        this.offsets = view.offsets();
+        this.targets = view.targets();
+        this.stack = new int[n + 1];
+        this.cursor = new int[n + 1];
+        this.stamp = new int[n];
+    }
+
+    /**
+     * @param graph the graph to search
+     * @return a search over a CSR copy of the graph, which later
+     * changes to the graph do not affect
+     */
+    public static <V> DepthFirstSearch<V> of(Graph<V> graph) {
+        return new DepthFirstSearch<V>(CsrView.of(graph));
+    }
+
+    /**
+     * @return the graph being searched.
+     */
+    public CsrView<V> view() {
+        return view;
+    }
+
+    /** Starts a new search: every vertex becomes unvisited. */
+    private void begin() {
+        if (++epoch == 0) {
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+    }
+
+    /**
+     * @return true iff there is a path from 'from' to 'to'; false if
+     * either vertex is not in the graph.
+     */
+    public boolean reaches(V from, V to) {
+        int f = view.indexOf(from);
+        int t = view.indexOf(to);
+        return f >= 0 && t >= 0 && reaches(f, t);
+    }
+
+    /**
+     * @param from a vertex id of the view
+     * @param to a vertex id of the view
+     * @return true iff there is a path from 'from' to 'to'.  Stops as
+     * soon as 'to' is found.
+     */
+    public boolean reaches(int from, int to) {
+        if (from == to)
+            return true;
+        begin();
+        int depth = 0;
+        stack[0] = from;
+        cursor[0] = offsets[from];
+        stamp[from] = epoch;
+        while (depth >= 0) {
+            int v = stack[depth];
+            int i = cursor[depth];
+            if (i == offsets[v + 1]) {
+                depth--;
+                continue;
+            }
+            cursor[depth] = i + 1;
+            int w = targets[i];
+            if (stamp[w] == epoch)
+                continue;
+            if (w == to)
+                return true;
+            stamp[w] = epoch;
+            depth++;
+            stack[depth] = w;
+            cursor[depth] = offsets[w];
+        }
+        return false;
+    }
+
+    /**
+     * Writes the vertices reachable from 'source' in the order a
+     * depth-first search first reaches them.
+     *
+     * @param source a vertex id of the view
+     * @param out where to write the ids; numVertices() long is always
+     * enough
+     * @return the number of ids written
+     */
+    public int preorder(int source, int[] out) {
+        return order(source, out, false);
+    }
+
+    /**
+     * Writes the vertices reachable from 'source' in the order a
+     * depth-first search finishes them, each after everything it
+     * leads to that the search had not already reached.  Reversed,
+     * this is a topological order of an acyclic graph.
+     *
+     * @param source a vertex id of the view
+     * @param out where to write the ids; numVertices() long is always
+     * enough
+     * @return the number of ids written
+     */
+    public int postorder(int source, int[] out) {
+        return order(source, out, true);
+    }
+
+    private int order(int source, int[] out, boolean post) {
+        begin();
+        int count = 0;
+        int depth = 0;
+        stack[0] = source;
+        cursor[0] = offsets[source];
+        stamp[source] = epoch;
+        if (!post)
+            out[count++] = source;
+        while (depth >= 0) {
+            int v = stack[depth];
+            int i = cursor[depth];
+            if (i == offsets[v + 1]) {
+                if (post)
+                    out[count++] = v;
+                depth--;
+                continue;
+            }
+            cursor[depth] = i + 1;
+            int w = targets[i];
+            if (stamp[w] == epoch)
+                continue;
+            stamp[w] = epoch;
+            if (!post)
+                out[count++] = w;
+            depth++;
+            stack[depth] = w;
+            cursor[depth] = offsets[w];
+        }
+        return count;
+    }
+
+    /**
+     * @return the vertices reachable from 'source', in depth-first
+     * preorder; empty if 'source' is not in the graph.
+     */
+    public List<V> preorder(V source) {
+        return toVertices(source, false);
+    }
+
+    /**
+     * @return the vertices reachable from 'source', in depth-first
+     * postorder; empty if 'source' is not in the graph.
+     */
+    public List<V> postorder(V source) {
+        return toVertices(source, true);
+    }
+
+    private List<V> toVertices(V source, boolean post) {
+        int s = view.indexOf(source);
+        if (s < 0)
+            return new ArrayList<V>();
+        int[] ids = new int[view.numVertices()];
+        int count = order(s, ids, post);
+        List<V> out = new ArrayList<V>(count);
+        for (int i = 0; i < count; i++)
+            out.add(view.vertex(ids[i]));
+        return out;
+    }
+
+    /**
+     * Enumerates simple paths, which visit no vertex twice, from
+     * 'from' to 'to', in depth-first order.  There can be
+     * exponentially many, so the search stops after 'maxPaths' paths
+     * and never extends a path beyond 'maxLength' edges.  Vertices
+     * are marked while they are on the current path and unmarked as
+     * the search backs out of them, so nothing is allocated.
+     *
+     * @param from a vertex id of the view
+     * @param to a vertex id of the view
+     * @param maxPaths the most paths to report
+     * @param maxLength the most edges a path may have
+     * @param visitor called with each path
+     * @return the number of paths reported
+     * @throws IllegalArgumentException if either limit is negative
+     */
+    public int simplePaths(int from, int to, int maxPaths, int maxLength, PathVisitor visitor) {
+        checkLimits(maxPaths, maxLength);
+        if (maxPaths == 0)
+            return 0;
+        stack[0] = from;
+        if (from == to) {
+            visitor.path(stack, 0);
+            return 1;
+        }
+        begin();
+        int found = 0;
+        int depth = 0;
+        cursor[0] = offsets[from];
+        stamp[from] = epoch;
+        while (depth >= 0) {
+            int v = stack[depth];
+            int i = cursor[depth];
+            if (i == offsets[v + 1] || depth == maxLength) {
+                // leaving v: it may be on another path later
+                stamp[v] = 0;
+                depth--;
+                continue;
+            }
+            cursor[depth] = i + 1;
+            int w = targets[i];
+            if (stamp[w] == epoch)
+                continue;
+            if (w == to) {
+                stack[depth + 1] = to;
+                visitor.path(stack, depth + 1);
+                if (++found == maxPaths)
+                    return found;
+                continue;
+            }
+            if (depth + 1 == maxLength)
+                continue;
+            stamp[w] = epoch;
+            depth++;
+            stack[depth] = w;
+            cursor[depth] = offsets[w];
+        }
+        return found;
+    }
+
+    /**
+     * @return up to 'maxPaths' simple paths from 'from' to 'to' of at
+     * most 'maxLength' edges, each as a list of vertices; empty if
+     * either vertex is not in the graph.
+     * @throws IllegalArgumentException if either limit is negative
+     */
+    public List<List<V>> simplePaths(V from, V to, int maxPaths, int maxLength) {
+        int f = view.indexOf(from);
+        int t = view.indexOf(to);
+        List<List<V>> paths = new ArrayList<List<V>>();
+        checkLimits(maxPaths, maxLength);
+        if (f < 0 || t < 0)
+            return paths;
+        simplePaths(f, t, maxPaths, maxLength, (path, length) -> {
+            List<V> vertices = new ArrayList<V>(length + 1);
+            for (int i = 0; i <= length; i++)
+                vertices.add(view.vertex(path[i]));
+            paths.add(vertices);
+        });
+        return paths;
+    }
+
+    private static void checkLimits(int maxPaths, int maxLength) {
+        if (maxPaths < 0 || maxLength < 0)
+            throw new IllegalArgumentException("negative limit: " + maxPaths + " paths, "
+                                               + maxLength + " edges");
+    }
+}
@@ -0,0 +1,61 @@
+package edu.union.adt.graph;
+
+/**
+ * A directed edge (from, to) between two vertices of (parameterized)
+ * type V.  Edges are values: two edges are equal iff their source
+ * vertices are equal and their destination vertices are equal.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class Edge<V> {
+    private final V from;
+    private final V to;
+
+    /**
+     * Create an edge from one vertex to another.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     */
+    public Edge(V from, V to) {
+        if (from == null || to == null)
+            throw new IllegalArgumentException("edge endpoints must not be null");
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * @return the source vertex of the edge.
+     */
+    public V getFrom() {
+        return from;
+    }
+
+    /**
+     * @return the destination vertex of the edge.
+     */
+    public V getTo() {
+        return to;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this)
+            return true;
+        if (!(other instanceof Edge))
+            return false;
+        Edge<?> e = (Edge<?>) other;
+        return from.equals(e.from) && to.equals(e.to);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * from.hashCode() + to.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "(" + from + ", " + to + ")";
+    }
+}
@@ -1,4 +1,5 @@
 package edu.union.adt.graph;
+import java.util.*;
 
 /**
  * A graph that establishes connections (edges) between objects of
@@ -53,6 +54,199 @@ public interface Graph<V> {
 
     Iterable<V> getPath(V from, V to);
 
-
+    /**
+     * Tells whether there is a path, as hasPath(from, to) does,
+     * counting in 'stats' the vertices and edges the search visits.
+     * Backends count their own search; the default counts a
+     * breadth-first search over adjacentTo.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @param stats where to count the work done, or null
+     * @return true iff there is a path from 'from' to 'to'.
+     */
+    default boolean hasPath(V from, V to, TraversalStats stats) {
+        return Graphs.shortestPath(this, from, to, stats) != null;
+    }
+
+    /**
+     * Gets the length of a shortest path, as pathLength(from, to)
+     * does, counting the work done in 'stats'.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @param stats where to count the work done, or null
+     * @return the number of edges on a shortest path from 'from' to
+     * 'to', or Integer.MAX_VALUE if there is none.
+     */
+    default int pathLength(V from, V to, TraversalStats stats) {
+        List<V> path = Graphs.shortestPath(this, from, to, stats);
+        return path == null ? Integer.MAX_VALUE : path.size() - 1;
+    }
+
+    /**
+     * Gets a shortest path, as getPath(from, to) does, counting the
+     * work done in 'stats'.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @param stats where to count the work done, or null
+     * @return the vertices along a shortest path, including both
+     * ends, or null if there is none.
+     */
+    default Iterable<V> getPath(V from, V to, TraversalStats stats) {
+        return Graphs.shortestPath(this, from, to, stats);
+    }
+
+    /**
+     * Adds every edge in a collection, as if by calling addEdge for
+     * each one.  Implementations may group the edges by source vertex
+     * and touch each adjacency list only once.
+     *
+     * @param edges the edges to add
+     */
+    default void addEdges(Collection<Edge<V>> edges) {
+        for (Edge<V> e : edges)
+            addEdge(e.getFrom(), e.getTo());
+    }
+
+    /**
+     * Removes every edge in a collection, as if by calling removeEdge
+     * for each one.
+     *
+     * @param edges the edges to remove
+     */
+    default void removeEdges(Collection<Edge<V>> edges) {
+        for (Edge<V> e : edges)
+            removeEdge(e.getFrom(), e.getTo());
+    }
+
+    /**
+     * Applies a batch of changes to the graph.  See {@link GraphDelta}
+     * for the order in which the changes take effect.
+     *
+     * @param delta the changes to apply
+     */
+    default void apply(GraphDelta<V> delta) {
+        for (V v : delta.getRemovedVertices())
+            removeVertex(v);
+        for (Map.Entry<V, Set<V>> e : delta.getRemovedEdges().entrySet())
+            for (V to : e.getValue())
+                removeEdge(e.getKey(), to);
+        for (V v : delta.getAddedVertices())
+            addVertex(v);
+        for (Map.Entry<V, Set<V>> e : delta.getAddedEdges().entrySet())
+            for (V to : e.getValue())
+                addEdge(e.getKey(), to);
+    }
+
+    /**
+     * Returns an immutable view of the graph as it is now.  Later
+     * changes to the graph do not show up in the snapshot, so it can
+     * be traversed from any thread without locking.  The default
+     * copies the graph in O(V + E); {@link VersionedGraph} returns its
+     * current version in O(1).
+     *
+     * @return a read-only snapshot of the graph
+     */
+    default Graph<V> snapshot() {
+        return GraphSnapshot.copyOf(this);
+    }
+
+    /**
+     * Gets the neighbourhood of a vertex: every vertex that can be
+     * reached from it along a path of at most k edges, and every edge
+     * between two such vertices.  The result is a compact read-only
+     * copy; later changes to the graph do not show up in it.
+     *
+     * @param source the vertex to start from
+     * @param k the number of hops; 0 gives just 'source'
+     * @return the k-hop subgraph, which is empty if 'source' is not
+     * in the graph
+     * @throws IllegalArgumentException if k is negative
+     */
+    default Subgraph<V> kHop(V source, int k) {
+        return Subgraph.kHop(this, source, k, this::adjacentTo);
+    }
+
+    /**
+     * Starts path queries from one vertex that share a single
+     * breadth-first search: each hasPath, pathLength or getPath call
+     * on the result carries on the search from where the last one
+     * stopped, instead of starting again.
+     *
+     * @param source the vertex paths start from
+     * @return the query, which answers as if nothing is reachable
+     * if 'source' is not in the graph
+     */
+    default PathQuery<V> from(V source) {
+        return from(source, null);
+    }
+
+    /**
+     * Starts path queries from one vertex, as from(source) does,
+     * counting in 'stats' the vertices and edges that every call on
+     * the query visits.
+     *
+     * @param source the vertex paths start from
+     * @param stats where to count the work done, or null
+     * @return the query
+     */
+    default PathQuery<V> from(V source, TraversalStats stats) {
+        return new BreadthFirstPathQuery<V>(this, source, this::adjacentTo, stats);
+    }
+
+    /**
+     * Gets the subgraph induced by some vertices: those of them that
+     * are in the graph, and every edge between two of them.  The
+     * result is a compact read-only copy.
+     *
+     * @param vertices the vertices to keep
+     * @return the induced subgraph
+     */
+    default Subgraph<V> inducedSubgraph(Collection<V> vertices) {
+        return Subgraph.induced(this, vertices, this::adjacentTo);
+    }
+
+    /**
+     * Compares this graph with another in O(V + E) expected time.
+     * Large graphs are compared in parallel; neither graph may change
+     * while they are being compared.
+     *
+     * @param other the graph to compare with
+     * @return the vertices and edges to add and remove to turn this
+     * graph into 'other'
+     */
+    default GraphDiff<V> diff(Graph<V> other) {
+        return GraphDiff.between(this, other);
+    }
+
+    /**
+     * Applies the changes found by {@link #diff}, as one batch.  If
+     * this graph equals the first graph of the diff, it afterwards
+     * equals the second.
+     *
+     * @param diff the changes to apply
+     */
+    default void applyDiff(GraphDiff<V> diff) {
+        apply(diff.toDelta());
+    }
+
+    /**
+     * Adds every vertex and edge of another graph that this one does
+     * not have yet, as one batch.  Nothing is removed.  Edges already
+     * present are skipped by apply, as they are by addEdge.
+     *
+     * @param other the graph to merge in
+     */
+    default void merge(Graph<V> other) {
+        GraphDelta<V> delta = new GraphDelta<V>();
+        for (V v : other.getVertices()) {
+            delta.addVertex(v);
+            for (V w : other.adjacentTo(v))
+                delta.addEdge(v, w);
+        }
+        apply(delta);
+    }
 
 }
\ No newline at end of file
@@ -0,0 +1,204 @@
+package edu.union.adt.graph;
+import java.util.*;
+
+/**
+ * A batch of changes to be applied to a graph in one call to
+ * {@link Graph#apply(GraphDelta)}.
+ *
+ * Changes are recorded in the order they are made, but only their net
+ * effect is kept: adding an edge and then removing it leaves the
+ * removal and the edge's endpoints, which addEdge would have created;
+ * adding the same edge twice records it once; and removing a vertex
+ * discards any pending additions that touch it, keeping the other
+ * endpoints of its pending edges.  Applying a delta therefore leaves a
+ * graph in the same state as making its calls one at a time.  Edges
+ * are grouped by source vertex so that an implementation can visit
+ * each adjacency list once per batch.
+ *
+ * A delta is applied in four phases:
+ *
+ * <ol>
+ * <li>vertex removals
+ * <li>edge removals
+ * <li>vertex additions
+ * <li>edge additions (missing endpoints are added, as with addEdge)
+ * </ol>
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public class GraphDelta<V> {
+    private final Set<V> addedVertices = new LinkedHashSet<>();
+    private final Set<V> removedVertices = new LinkedHashSet<>();
+    private final Map<V, Set<V>> addedEdges = new LinkedHashMap<>();
+    private final Map<V, Set<V>> removedEdges = new LinkedHashMap<>();
+    private int numAddedEdges;
+    private int numRemovedEdges;
+
+    /**
+     * Create an empty delta.
+     */
+    public GraphDelta() {
+    }
+
+    /**
+     * Records the addition of a vertex.
+     *
+     * @param vertex the vertex to add
+     * @return this delta
+     */
+    public GraphDelta<V> addVertex(V vertex) {
+        addedVertices.add(vertex);
+        return this;
+    }
+
+    /**
+     * Records the removal of a vertex, together with every edge into
+     * or out of it.  Pending additions that touch the vertex are
+     * dropped, but the other endpoints of its pending edges are kept
+     * as vertex additions; this is linear in the number of pending
+     * edge additions.
+     *
+     * @param vertex the vertex to remove
+     * @return this delta
+     */
+    public GraphDelta<V> removeVertex(V vertex) {
+        Set<V> out = addedEdges.remove(vertex);
+        if (out != null) {
+            numAddedEdges -= out.size();
+            addedVertices.addAll(out);
+        }
+        for (Map.Entry<V, Set<V>> entry : addedEdges.entrySet()) {
+            if (entry.getValue().remove(vertex)) {
+                numAddedEdges--;
+                addedVertices.add(entry.getKey());
+            }
+        }
+        addedVertices.remove(vertex);
+        removedVertices.add(vertex);
+        return this;
+    }
+
+    /**
+     * Records the addition of the edge (from, to).
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return this delta
+     */
+    public GraphDelta<V> addEdge(V from, V to) {
+        if (unrecord(removedEdges, from, to))
+            numRemovedEdges--;
+        if (record(addedEdges, from, to))
+            numAddedEdges++;
+        return this;
+    }
+
+    /**
+     * Records the removal of the edge (from, to).  If the edge was
+     * pending addition, its endpoints are still added, as addEdge
+     * would have done.
+     *
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return this delta
+     */
+    public GraphDelta<V> removeEdge(V from, V to) {
+        if (unrecord(addedEdges, from, to)) {
+            numAddedEdges--;
+            addedVertices.add(from);
+            addedVertices.add(to);
+        }
+        if (record(removedEdges, from, to))
+            numRemovedEdges++;
+        return this;
+    }
+
+    /**
+     * Records the addition of every edge in a collection.
+     *
+     * @param edges the edges to add
+     * @return this delta
+     */
+    public GraphDelta<V> addEdges(Collection<Edge<V>> edges) {
+        for (Edge<V> e : edges)
+            addEdge(e.getFrom(), e.getTo());
+        return this;
+    }
+
+    /**
+     * Records the removal of every edge in a collection.
+     *
+     * @param edges the edges to remove
+     * @return this delta
+     */
+    public GraphDelta<V> removeEdges(Collection<Edge<V>> edges) {
+        for (Edge<V> e : edges)
+            removeEdge(e.getFrom(), e.getTo());
+        return this;
+    }
+
+    /**
+     * @return the vertices added by this delta, in insertion order.
+     */
+    public Set<V> getAddedVertices() {
+        return Collections.unmodifiableSet(addedVertices);
+    }
+
+    /**
+     * @return the vertices removed by this delta, in insertion order.
+     */
+    public Set<V> getRemovedVertices() {
+        return Collections.unmodifiableSet(removedVertices);
+    }
+
+    /**
+     * @return the edges added by this delta, grouped by source vertex.
+     */
+    public Map<V, Set<V>> getAddedEdges() {
+        return Collections.unmodifiableMap(addedEdges);
+    }
+
+    /**
+     * @return the edges removed by this delta, grouped by source vertex.
+     */
+    public Map<V, Set<V>> getRemovedEdges() {
+        return Collections.unmodifiableMap(removedEdges);
+    }
+
+    /**
+     * @return the number of distinct edges added by this delta.
+     */
+    public int numAddedEdges() {
+        return numAddedEdges;
+    }
+
+    /**
+     * @return the number of distinct edges removed by this delta.
+     */
+    public int numRemovedEdges() {
+        return numRemovedEdges;
+    }
+
+    /**
+     * @return true iff applying this delta would change nothing.
+     */
+    public boolean isEmpty() {
+        return addedVertices.isEmpty() && removedVertices.isEmpty()
+            && numAddedEdges == 0 && numRemovedEdges == 0;
+    }
+
+    private static <V> boolean record(Map<V, Set<V>> edges, V from, V to) {
+        Set<V> targets = edges.get(from);
+        if (targets == null) {
+            targets = new LinkedHashSet<>();
+            edges.put(from, targets);
+        }
+        return targets.add(to);
+    }
+
+    private static <V> boolean unrecord(Map<V, Set<V>> edges, V from, V to) {
+        Set<V> targets = edges.get(from);
+        return targets != null && targets.remove(to);
+    }
+}
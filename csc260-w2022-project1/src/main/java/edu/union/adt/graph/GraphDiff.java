@@ -0,0 +1,250 @@
+package edu.union.adt.graph;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The differences between two graphs: the vertices and edges that
+ * have to be added to and removed from the first to turn it into the
+ * second.  Made by {@link Graph#diff}, and turned back into changes by
+ * {@link Graph#applyDiff} or {@link #toDelta()}.
+ *
+ * Removed edges include those into and out of removed vertices, and
+ * added edges those into and out of added vertices, so the edge sets
+ * on their own describe every edge that changed.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class GraphDiff<V> {
+    /** Graphs with at least this many vertices are compared in parallel. */
+    static final int PARALLEL_THRESHOLD = 1 << 15;
+    private static final int GRAIN = 1 << 12;
+
+    private final Set<V> addedVertices;
+    private final Set<V> removedVertices;
+    private final Set<Edge<V>> addedEdges;
+    private final Set<Edge<V>> removedEdges;
+
+    private GraphDiff(Set<V> addedVertices, Set<V> removedVertices,
+                      Set<Edge<V>> addedEdges, Set<Edge<V>> removedEdges) {
+        this.addedVertices = addedVertices;
+        this.removedVertices = removedVertices;
+        this.addedEdges = addedEdges;
+        this.removedEdges = removedEdges;
+    }
+
+    private GraphDiff() {
+        this(new LinkedHashSet<V>(), new LinkedHashSet<V>(),
+             new LinkedHashSet<Edge<V>>(), new LinkedHashSet<Edge<V>>());
+    }
+
+    /**
+     * Compares two graphs in O(V + E) expected time: each vertex's
+     * adjacency in one graph is put in a hash set and checked against
+     * its adjacency in the other.  Graphs with many vertices are
+     * compared in parallel on the common fork-join pool, one range of
+     * vertices per task.
+     *
+     * @param from the graph before
+     * @param to the graph after
+     * @return the changes that turn 'from' into 'to'
+     */
+    public static <V> GraphDiff<V> between(Graph<V> from, Graph<V> to) {
+        int n = Math.max(from.numVertices(), to.numVertices());
+        return between(from, to, n >= PARALLEL_THRESHOLD ? ForkJoinPool.commonPool() : null);
+    }
+
+    /**
+     * Compares two graphs, splitting the vertices of each into ranges
+     * that are compared in parallel.  Neither graph may change while
+     * they are being compared.
+     *
+     * @param from the graph before
+     * @param to the graph after
+     * @param pool the pool to run on, or null to compare on this thread
+     * @return the changes that turn 'from' into 'to'
+     */
+    public static <V> GraphDiff<V> between(Graph<V> from, Graph<V> to, ForkJoinPool pool) {
+        List<V> before = new ArrayList<V>(from.numVertices());
+        for (V v : from.getVertices())
+            before.add(v);
+        List<V> after = new ArrayList<V>(to.numVertices());
+        for (V v : to.getVertices())
+            after.add(v);
+        Compare<V> removed = new Compare<V>(from, to, before, 0, before.size(), true);
+        Compare<V> added = new Compare<V>(to, from, after, 0, after.size(), false);
+        if (pool == null)
+            return removed.compute().combine(added.compute());
+        return pool.invoke(new RecursiveTask<GraphDiff<V>>() {
+            @Override
+            protected GraphDiff<V> compute() {
+                added.fork();
+                GraphDiff<V> diff = removed.compute();
+                return diff.combine(added.join());
+            }
+        });
+    }
+
+    /**
+     * One side of a comparison: the vertices of 'mine' in a range, and
+     * their out-edges, that 'theirs' does not have.  Run over the old
+     * graph it finds removals; over the new graph, additions.
+     */
+    private static final class Compare<V> extends RecursiveTask<GraphDiff<V>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Graph<V> mine;
+        private final Graph<V> theirs;
+        private final List<V> vertices;
+        private final int start;
+        private final int end;
+        private final boolean removals;
+
+        Compare(Graph<V> mine, Graph<V> theirs, List<V> vertices, int start, int end, boolean removals) {
+            this.mine = mine;
+            this.theirs = theirs;
+            this.vertices = vertices;
+            this.start = start;
+            this.end = end;
+            this.removals = removals;
+        }
+
+        @Override
+        protected GraphDiff<V> compute() {
+            if (end - start > GRAIN && getPool() != null) {
+                int mid = (start + end) >>> 1;
+                Compare<V> left = new Compare<V>(mine, theirs, vertices, start, mid, removals);
+                left.fork();
+                GraphDiff<V> right = new Compare<V>(mine, theirs, vertices, mid, end, removals).compute();
+                return left.join().combine(right);
+            }
+            GraphDiff<V> diff = new GraphDiff<V>();
+            Set<V> vertexSet = removals ? diff.removedVertices : diff.addedVertices;
+            Set<Edge<V>> edgeSet = removals ? diff.removedEdges : diff.addedEdges;
+            Set<V> other = new HashSet<V>();
+            for (int i = start; i < end; i++) {
+                V v = vertices.get(i);
+                if (!theirs.contains(v)) {
+                    vertexSet.add(v);
+                    for (V w : mine.adjacentTo(v))
+                        edgeSet.add(new Edge<V>(v, w));
+                    continue;
+                }
+                other.clear();
+                for (V w : theirs.adjacentTo(v))
+                    other.add(w);
+                for (V w : mine.adjacentTo(v))
+                    if (!other.contains(w))
+                        edgeSet.add(new Edge<V>(v, w));
+            }
+            return diff;
+        }
+    }
+
+    /**
+     * @return a diff holding this one's changes followed by another
+     * disjoint diff's.
+     */
+    private GraphDiff<V> combine(GraphDiff<V> other) {
+        addedVertices.addAll(other.addedVertices);
+        removedVertices.addAll(other.removedVertices);
+        addedEdges.addAll(other.addedEdges);
+        removedEdges.addAll(other.removedEdges);
+        return this;
+    }
+
+    /**
+     * @return the vertices only in the second graph.
+     */
+    public Set<V> getAddedVertices() {
+        return Collections.unmodifiableSet(addedVertices);
+    }
+
+    /**
+     * @return the vertices only in the first graph.
+     */
+    public Set<V> getRemovedVertices() {
+        return Collections.unmodifiableSet(removedVertices);
+    }
+
+    /**
+     * @return the edges only in the second graph.
+     */
+    public Set<Edge<V>> getAddedEdges() {
+        return Collections.unmodifiableSet(addedEdges);
+    }
+
+    /**
+     * @return the edges only in the first graph.
+     */
+    public Set<Edge<V>> getRemovedEdges() {
+        return Collections.unmodifiableSet(removedEdges);
+    }
+
+    /**
+     * @return true iff the two graphs had the same vertices and edges.
+     */
+    public boolean isEmpty() {
+        return addedVertices.isEmpty() && removedVertices.isEmpty()
+            && addedEdges.isEmpty() && removedEdges.isEmpty();
+    }
+
+    /**
+     * @return the diff that undoes this one.
+     */
+    public GraphDiff<V> reverse() {
+        return new GraphDiff<V>(removedVertices, addedVertices, removedEdges, addedEdges);
+    }
+
+    /**
+     * @return the changes as a delta, ready for {@link Graph#apply}.
+     * Edges into and out of removed vertices are removed explicitly as
+     * well, so that a graph that leaves such edges behind still ends
+     * up equal to the second graph.
+     */
+    public GraphDelta<V> toDelta() {
+        GraphDelta<V> delta = new GraphDelta<V>();
+        for (Edge<V> e : removedEdges)
+            delta.removeEdge(e.getFrom(), e.getTo());
+        for (V v : removedVertices)
+            delta.removeVertex(v);
+        for (V v : addedVertices)
+            delta.addVertex(v);
+        for (Edge<V> e : addedEdges)
+            delta.addEdge(e.getFrom(), e.getTo());
+        return delta;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof GraphDiff))
+            return false;
+        GraphDiff<?> d = (GraphDiff<?>) other;
+        return addedVertices.equals(d.addedVertices) && removedVertices.equals(d.removedVertices)
+            && addedEdges.equals(d.addedEdges) && removedEdges.equals(d.removedEdges);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(addedVertices, removedVertices, addedEdges, removedEdges);
+    }
+
+    /**
+     * @return the changes, one per line, as "+v", "-v", "+(a, b)" and
+     * "-(a, b)".
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        for (V v : removedVertices)
+            out.append('-').append(v).append('\n');
+        for (Edge<V> e : removedEdges)
+            out.append('-').append(e).append('\n');
+        for (V v : addedVertices)
+            out.append('+').append(v).append('\n');
+        for (Edge<V> e : addedEdges)
+            out.append('+').append(e).append('\n');
+        return out.toString();
+    }
+}
@@ -1,7 +1,206 @@
 package edu.union.adt.graph;
 
+import edu.union.adt.graph.metrics.GraphMetrics;
+import edu.union.adt.graph.metrics.InstrumentedGraph;
+
 public class GraphFactory {
     static public <V> Graph<V> createGraph() {
         return new PKHashGraph<V>();
     }
-}
\ No newline at end of file
+
+    static public Graph<String> createStringGraph() {
+        return new StringGraph();
+    }
+
+    static public <V> Graph<V> createDenseGraph(int expectedVertices) {
+        return new DenseGraph<V>(expectedVertices);
+    }
+
+    static public <V> Graph<V> createVersionedGraph() {
+        return new VersionedGraph<V>();
+    }
+
+    static public <V> Graph<V> createInstrumentedGraph(Graph<V> graph, GraphMetrics metrics) {
+        return new InstrumentedGraph<V>(graph, metrics);
+    }
+
+    /**
+     * Wraps a graph in an InstrumentedGraph recording into
+     * GraphMetrics.global() if the system property
+     * edu.union.adt.graph.metrics is "true"; otherwise returns the
+     * graph itself, so that disabled metrics cost nothing.
+     */
+    static public <V> Graph<V> instrument(Graph<V> graph) {
+        if (!GraphMetrics.isEnabled())
+            return graph;
+        return new InstrumentedGraph<V>(graph, GraphMetrics.global());
+    }
+
+    /**
+     * @return a builder that picks a Graph implementation from hints
+     * about how the graph will be used.
+     */
+    static public <V> Builder<V> builder() {
+        return new Builder<V>();
+    }
+
+    /**
+     * The kind of load a graph is expected to see.
+     */
+    public enum Workload {
+        /** Reads and writes in similar proportion. */
+        BALANCED,
+        /** Many more queries than changes. */
+        READ_MOSTLY,
+        /** Many more changes than queries. */
+        WRITE_HEAVY
+    }
+
+    /**
+     * Collects hints about a graph and picks the implementation that
+     * suits them:
+     *
+     * <ul>
+     * <li>at least DENSE_MIN_VERTICES expected vertices and expected
+     * edges at least DENSE_THRESHOLD of the V^2 possible: DenseGraph,
+     * whatever the vertex type, unless ordered iteration was asked for
+     * <li>Integer vertices: IntAdjacencyGraph, sized from the expected
+     * vertex and edge counts
+     * <li>String vertices: StringGraph, sized the same way
+     * <li>otherwise: PKHashGraph, with its vertex map sized from the
+     * expected vertex count and kept in insertion order if ordered
+     * iteration was asked for
+     * <li>thread-safe and not write-heavy: VersionedGraph, whose reads
+     * never lock, unless ordered iteration, Integer or String vertices
+     * or a dense graph were asked for
+     * <li>any other thread-safe graph: the choice above, behind
+     * Graphs.synchronizedGraph
+     * </ul>
+     */
+    public static final class Builder<V> {
+        /**
+         * The density above which an adjacency matrix, at one bit per
+         * possible edge, is smaller than a list of int ids.
+         */
+        public static final double DENSE_THRESHOLD = 1.0 / 32;
+        /**
+         * The fewest expected vertices for which a DenseGraph is
+         * chosen; below it every backend is small.
+         */
+        public static final int DENSE_MIN_VERTICES = 1024;
+
+        private int expectedVertices = 16;
+        private long expectedEdges;
+        private Workload workload = Workload.BALANCED;
+        private boolean threadSafe;
+        private boolean ordered;
+        private boolean intVertices;
+        private boolean stringVertices;
+
+        private Builder() {
+        }
+
+        /**
+         * @param count the expected number of vertices
+         * @return this builder
+         */
+        public Builder<V> expectedVertices(int count) {
+            if (count < 0)
+                throw new IllegalArgumentException("negative vertex count: " + count);
+            this.expectedVertices = count;
+            return this;
+        }
+
+        /**
+         * @param count the expected number of edges
+         * @return this builder
+         */
+        public Builder<V> expectedEdges(long count) {
+            if (count < 0)
+                throw new IllegalArgumentException("negative edge count: " + count);
+            this.expectedEdges = count;
+            return this;
+        }
+
+        /**
+         * @param workload the expected mix of reads and writes
+         * @return this builder
+         */
+        public Builder<V> workload(Workload workload) {
+            this.workload = workload;
+            return this;
+        }
+
+        /**
+         * Asks for a graph that can be shared between threads.
+         *
+         * @return this builder
+         */
+        public Builder<V> threadSafe() {
+            this.threadSafe = true;
+            return this;
+        }
+
+        /**
+         * Asks for getVertices to return vertices in a predictable
+         * order: insertion order, or ascending order for Integer
+         * vertices.
+         *
+         * @return this builder
+         */
+        public Builder<V> orderedIteration() {
+            this.ordered = true;
+            return this;
+        }
+
+        /**
+         * Declares that the vertices are small non-negative Integers.
+         *
+         * @return this builder, for a graph of Integers
+         */
+        @SuppressWarnings("unchecked")
+        public Builder<Integer> intVertices() {
+            this.intVertices = true;
+            return (Builder<Integer>) this;
+        }
+
+        /**
+         * Declares that the vertices are Strings, to be stored once in
+         * a dictionary and referred to by int ids.
+         *
+         * @return this builder, for a graph of Strings
+         */
+        @SuppressWarnings("unchecked")
+        public Builder<String> stringVertices() {
+            this.stringVertices = true;
+            return (Builder<String>) this;
+        }
+
+        private boolean dense() {
+            return !ordered && expectedVertices >= DENSE_MIN_VERTICES
+                && expectedEdges >= DENSE_THRESHOLD * expectedVertices * expectedVertices;
+        }
+
+        /**
+         * @return a new, empty graph of the implementation that best
+         * matches the hints.
+         */
+        @SuppressWarnings("unchecked")
+        public Graph<V> build() {
+            boolean dense = dense();
+            if (threadSafe && workload != Workload.WRITE_HEAVY && !ordered && !intVertices
+                && !stringVertices && !dense)
+                return new VersionedGraph<V>();
+            Graph<V> graph;
+            if (dense)
+                graph = new DenseGraph<V>(expectedVertices);
+            else if (intVertices)
+                graph = (Graph<V>) new IntAdjacencyGraph(expectedVertices, expectedEdges);
+            else if (stringVertices)
+                graph = (Graph<V>) new StringGraph(expectedVertices, expectedEdges);
+            else
+                graph = new PKHashGraph<V>(expectedVertices, ordered);
+            return threadSafe ? Graphs.synchronizedGraph(graph) : graph;
+        }
+    }
+}
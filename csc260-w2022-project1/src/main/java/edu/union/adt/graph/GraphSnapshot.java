@@ -0,0 +1,233 @@
+package edu.union.adt.graph;
+import java.util.*;
+
+/**
+ * An immutable, point-in-time view of a graph.  A snapshot never
+ * changes, so any number of threads can traverse it without locks
+ * while the graph it was taken from keeps changing.  All mutating
+ * methods throw UnsupportedOperationException.
+ *
+ * Snapshots of a {@link VersionedGraph} are O(1) to take, because they
+ * share structure with the live graph.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class GraphSnapshot<V> implements Graph<V> {
+    private static final Object[] NONE = new Object[0];
+
+    private final PersistentMap<V, Adjacency> vertices;
+    private final int edgeCount;
+
+    GraphSnapshot(PersistentMap<V, Adjacency> vertices, int edgeCount) {
+        this.vertices = vertices;
+        this.edgeCount = edgeCount;
+    }
+
+    /**
+     * @param graph the graph to copy
+     * @return a snapshot holding the current vertices and edges of
+     * 'graph'.  Takes O(V + E) time.
+     */
+    public static <V> GraphSnapshot<V> copyOf(Graph<V> graph) {
+        if (graph instanceof GraphSnapshot)
+            return (GraphSnapshot<V>) graph;
+        VersionedGraph<V> copy = new VersionedGraph<V>();
+        GraphDelta<V> delta = new GraphDelta<V>();
+        for (V v : graph.getVertices()) {
+            delta.addVertex(v);
+            for (V w : graph.adjacentTo(v))
+                delta.addEdge(v, w);
+        }
+        copy.apply(delta);
+        return copy.snapshot();
+    }
+
+    PersistentMap<V, Adjacency> vertices() {
+        return vertices;
+    }
+
+    @Override
+    public int numVertices() {
+        return vertices.size();
+    }
+
+    @Override
+    public int numEdges() {
+        return edgeCount;
+    }
+
+    @Override
+    public int degree(V vertex) {
+        Adjacency a = vertices.get(vertex);
+        if (a == null)
+            throw new RuntimeException();
+        return a.out.length;
+    }
+
+    @Override
+    public void addEdge(V from, V to) {
+        throw new UnsupportedOperationException("snapshots are read-only");
+    }
+
+    @Override
+    public void addVertex(V vertex) {
+        throw new UnsupportedOperationException("snapshots are read-only");
+    }
+
+    @Override
+    public Iterable<V> getVertices() {
+        return vertices.keys();
+    }
+
+    /**
+     * @return an unmodifiable list of the vertices adjacent to
+     * 'from', or an empty list if 'from' is not in the graph.  The
+     * list is a view of the snapshot; it is not copied.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterable<V> adjacentTo(V from) {
+        Adjacency a = vertices.get(from);
+        Object[] out = a == null ? NONE : a.out;
+        return (List<V>) Collections.unmodifiableList(Arrays.asList(out));
+    }
+
+    @Override
+    public boolean contains(V vertex) {
+        return vertices.get(vertex) != null;
+    }
+
+    @Override
+    public boolean hasEdge(V from, V to) {
+        Adjacency a = vertices.get(from);
+        return a != null && a.hasOut(to);
+    }
+
+    @Override
+    public String toString() {
+        return Graphs.toString(this);
+    }
+
+    /**
+     * @return true iff 'other' is a snapshot with the same vertices
+     * and edges.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other == this)
+            return true;
+        if (!(other instanceof GraphSnapshot))
+            return false;
+        return Graphs.sameVerticesAndEdges(this, (GraphSnapshot<?>) other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Graphs.hashCode(this);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return vertices.size() == 0;
+    }
+
+    @Override
+    public void removeVertex(V toRemove) {
+        throw new UnsupportedOperationException("snapshots are read-only");
+    }
+
+    @Override
+    public void removeEdge(V from, V to) {
+        throw new UnsupportedOperationException("snapshots are read-only");
+    }
+
+    @Override
+    public boolean hasPath(V from, V to) {
+        return Graphs.shortestPath(this, from, to) != null;
+    }
+
+    @Override
+    public int pathLength(V from, V to) {
+        return Graphs.pathLength(this, from, to);
+    }
+
+    @Override
+    public Iterable<V> getPath(V from, V to) {
+        return Graphs.shortestPath(this, from, to);
+    }
+
+    @Override
+    public void apply(GraphDelta<V> delta) {
+        throw new UnsupportedOperationException("snapshots are read-only");
+    }
+
+    /**
+     * @return this snapshot, which is already immutable.
+     */
+    @Override
+    public GraphSnapshot<V> snapshot() {
+        return this;
+    }
+
+    /**
+     * The immutable in- and out-neighbours of one vertex, in the order
+     * the edges were added.
+     */
+    static final class Adjacency {
+        static final Adjacency EMPTY = new Adjacency(NONE, NONE);
+
+        final Object[] out;
+        final Object[] in;
+
+        Adjacency(Object[] out, Object[] in) {
+            this.out = out;
+            this.in = in;
+        }
+
+        boolean hasOut(Object v) {
+            return indexOf(out, v) >= 0;
+        }
+
+        Adjacency withOut(Object v) {
+            return new Adjacency(append(out, v), in);
+        }
+
+        Adjacency withIn(Object v) {
+            return new Adjacency(out, append(in, v));
+        }
+
+        Adjacency withoutOut(Object v) {
+            return new Adjacency(delete(out, v), in);
+        }
+
+        Adjacency withoutIn(Object v) {
+            return new Adjacency(out, delete(in, v));
+        }
+
+        private static int indexOf(Object[] a, Object v) {
+            for (int i = 0; i < a.length; i++)
+                if (a[i].equals(v))
+                    return i;
+            return -1;
+        }
+
+        private static Object[] append(Object[] a, Object v) {
+            Object[] copy = Arrays.copyOf(a, a.length + 1);
+            copy[a.length] = v;
+            return copy;
+        }
+
+        private static Object[] delete(Object[] a, Object v) {
+            int i = indexOf(a, v);
+            if (i < 0)
+                return a;
+            if (a.length == 1)
+                return NONE;
+            Object[] copy = new Object[a.length - 1];
+            System.arraycopy(a, 0, copy, 0, i);
+            System.arraycopy(a, i + 1, copy, i, a.length - i - 1);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package edu.union.adt.graph;
+import java.util.*;
+
+/**
+ * Static helpers shared by the Graph implementations: breadth-first
+ * shortest paths, string formatting and content equality.  Everything
+ * here is written against the Graph interface, so it works for any
+ * implementation.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class Graphs {
+    private Graphs() {
+    }
+
+    /**
+     * Finds a shortest path between two vertices with a breadth-first
+     * search.
+     *
+     * @param graph the graph to search
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the vertices along a shortest path from 'from' to 'to',
+     * including both ends, or null if either vertex is missing or
+     * there is no path.
+     */
+    public static <V> List<V> shortestPath(Graph<V> graph, V from, V to) {
+        return shortestPath(graph, from, to, null);
+    }
+
+    /**
+     * Finds a shortest path between two vertices with a breadth-first
+     * search, counting the vertices and edges it visits.
+     *
+     * @param graph the graph to search
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @param stats where to count the work done, or null
+     * @return the vertices along a shortest path from 'from' to 'to',
+     * including both ends, or null if either vertex is missing or
+     * there is no path.
+     */
+    public static <V> List<V> shortestPath(Graph<V> graph, V from, V to, TraversalStats stats) {
+        if (!graph.contains(from) || !graph.contains(to))
+            return null;
+        List<V> path = new ArrayList<V>();
+        if (from.equals(to)) {
+            path.add(from);
+            return path;
+        }
+        Map<V, V> predecessors = new HashMap<V, V>();
+        ArrayDeque<V> queue = new ArrayDeque<V>();
+        predecessors.put(from, from);
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            V current = queue.poll();
+            if (stats != null)
+                stats.vertex();
+            for (V neighbor : graph.adjacentTo(current)) {
+                if (stats != null)
+                    stats.edge();
+                if (predecessors.containsKey(neighbor))
+                    continue;
+                predecessors.put(neighbor, current);
+                if (neighbor.equals(to)) {
+                    for (V v = to; !v.equals(from); v = predecessors.get(v))
+                        path.add(v);
+                    path.add(from);
+                    Collections.reverse(path);
+                    return path;
+                }
+                queue.add(neighbor);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param graph the graph to search
+     * @param from the source vertex
+     * @param to the destination vertex
+     * @return the number of edges on a shortest path from 'from' to
+     * 'to', or Integer.MAX_VALUE if there is no path.
+     */
+    public static <V> int pathLength(Graph<V> graph, V from, V to) {
+        List<V> path = shortestPath(graph, from, to);
+        return path == null ? Integer.MAX_VALUE : path.size() - 1;
+    }
+
+    /**
+     * Formats a graph as one line per vertex, "v: a, b", as described
+     * in {@link PKHashGraph#toString()}.
+     *
+     * @param graph the graph to format
+     * @return the string representation of the graph
+     */
+    public static <V> String toString(Graph<V> graph) {
+        StringBuilder build = new StringBuilder();
+        for (V vertex : graph.getVertices()) {
+            build.append(vertex).append(':');
+            String separator = " ";
+            for (V adj : graph.adjacentTo(vertex)) {
+                build.append(separator).append(adj);
+                separator = ", ";
+            }
+            build.append('\n');
+        }
+        return build.toString();
+    }
+
+    /**
+     * Tells whether two graphs have the same vertices and the same
+     * edges, whatever their implementation.  Runs in O(V + E).
+     *
+     * @param g1 a graph
+     * @param g2 another graph
+     * @return true iff both graphs have the same vertices and edges.
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean sameVerticesAndEdges(Graph<?> g1, Graph<?> g2) {
+        Graph<Object> a = (Graph<Object>) g1;
+        Graph<Object> b = (Graph<Object>) g2;
+        if (a.numVertices() != b.numVertices() || a.numEdges() != b.numEdges())
+            return false;
+        for (Object v : a.getVertices()) {
+            if (!b.contains(v))
+                return false;
+            Set<Object> adj = new HashSet<Object>();
+            for (Object w : a.adjacentTo(v))
+                adj.add(w);
+            int count = 0;
+            for (Object w : b.adjacentTo(v)) {
+                if (!adj.contains(w))
+                    return false;
+                count++;
+            }
+            if (count != adj.size())
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param graph a graph
+     * @return a hash code that agrees with sameVerticesAndEdges.
+     */
+    public static <V> int hashCode(Graph<V> graph) {
+        int hash = 0;
+        for (V v : graph.getVertices()) {
+            int h = v.hashCode();
+            for (V w : graph.adjacentTo(v))
+                h += 31 * w.hashCode();
+            hash += h;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns a graph that forwards every call to 'graph' while
+     * holding a lock, in the manner of Collections.synchronizedList.
+     * Iterables returned by the wrapper must not be iterated while
+     * another thread changes the graph unless the underlying graph
+     * returns copies (as PKHashGraph does).  Each call on a PathQuery
+     * from the wrapper holds the lock too.
+     *
+     * @param graph the graph to protect
+     * @return a thread-safe view of 'graph'
+     */
+    public static <V> Graph<V> synchronizedGraph(Graph<V> graph) {
+        return new SynchronizedGraph<V>(graph);
+    }
+
+    private static final class SynchronizedGraph<V> implements Graph<V> {
+        private final Graph<V> graph;
+
+        SynchronizedGraph(Graph<V> graph) {
+            this.graph = graph;
+        }
+
+        @Override
+        public synchronized int numVertices() {
+            return graph.numVertices();
+        }
+
+        @Override
+        public synchronized int numEdges() {
+            return graph.numEdges();
+        }
+
+        @Override
+        public synchronized int degree(V vertex) {
+            return graph.degree(vertex);
+        }
+
+        @Override
+        public synchronized void addEdge(V from, V to) {
+            graph.addEdge(from, to);
+        }
+
+        @Override
+        public synchronized void addVertex(V vertex) {
+            graph.addVertex(vertex);
+        }
+
+        @Override
+        public synchronized Iterable<V> getVertices() {
+            return graph.getVertices();
+        }
+
+        @Override
+        public synchronized Iterable<V> adjacentTo(V from) {
+            return graph.adjacentTo(from);
+        }
+
+        @Override
+        public synchronized boolean contains(V vertex) {
+            return graph.contains(vertex);
+        }
+
+        @Override
+        public synchronized boolean hasEdge(V from, V to) {
+            return graph.hasEdge(from, to);
+        }
+
+        @Override
+        public synchronized String toString() {
+            return graph.toString();
+        }
+
+        @Override
+        public synchronized boolean equals(Object other) {
+            if (other == this)
+                return true;
+            if (other instanceof SynchronizedGraph)
+                other = ((SynchronizedGraph<?>) other).graph;
+            return graph.equals(other);
+        }
+
+        @Override
+        public synchronized int hashCode() {
+            return graph.hashCode();
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return graph.isEmpty();
+        }
+
+        @Override
+        public synchronized void removeVertex(V toRemove) {
+            graph.removeVertex(toRemove);
+        }
+
+        @Override
+        public synchronized void removeEdge(V from, V to) {
+            graph.removeEdge(from, to);
+        }
+
+        @Override
+        public synchronized boolean hasPath(V from, V to) {
+            return graph.hasPath(from, to);
+        }
+
+        @Override
+        public synchronized int pathLength(V from, V to) {
+            return graph.pathLength(from, to);
+        }
+
+        @Override
+        public synchronized Iterable<V> getPath(V from, V to) {
+            return graph.getPath(from, to);
+        }
+
+        @Override
+        public synchronized boolean hasPath(V from, V to, TraversalStats stats) {
+            return graph.hasPath(from, to, stats);
+        }
+
+        @Override
+        public synchronized int pathLength(V from, V to, TraversalStats stats) {
+            return graph.pathLength(from, to, stats);
+        }
+
+        @Override
+        public synchronized Iterable<V> getPath(V from, V to, TraversalStats stats) {
+            return graph.getPath(from, to, stats);
+        }
+
+        @Override
+        public synchronized void addEdges(Collection<Edge<V>> edges) {
+            graph.addEdges(edges);
+        }
+
+        @Override
+        public synchronized void removeEdges(Collection<Edge<V>> edges) {
+            graph.removeEdges(edges);
+        }
+
+        @Override
+        public synchronized void apply(GraphDelta<V> delta) {
+            graph.apply(delta);
+        }
+
+        @Override
+        public synchronized Graph<V> snapshot() {
+            return graph.snapshot();
+        }
+
+        @Override
+        public synchronized Subgraph<V> kHop(V source, int k) {
+            return graph.kHop(source, k);
+        }
+
+        @Override
+        public synchronized Subgraph<V> inducedSubgraph(Collection<V> vertices) {
+            return graph.inducedSubgraph(vertices);
+        }
+
+        @Override
+        public synchronized PathQuery<V> from(V source, TraversalStats stats) {
+            return new LockedQuery(graph.from(source, stats));
+        }
+
+        /**
+         * A query on the wrapped graph that holds the wrapper's lock
+         * while it reads the graph.
+         */
+        private final class LockedQuery implements PathQuery<V> {
+            private final PathQuery<V> query;
+
+            LockedQuery(PathQuery<V> query) {
+                this.query = query;
+            }
+
+            @Override
+            public V source() {
+                return query.source();
+            }
+
+            @Override
+            public int reached() {
+                synchronized (SynchronizedGraph.this) {
+                    return query.reached();
+                }
+            }
+
+            @Override
+            public boolean isExhausted() {
+                synchronized (SynchronizedGraph.this) {
+                    return query.isExhausted();
+                }
+            }
+
+            @Override
+            public boolean hasPath(V to) {
+                synchronized (SynchronizedGraph.this) {
+                    return query.hasPath(to);
+                }
+            }
+
+            @Override
+            public int pathLength(V to) {
+                synchronized (SynchronizedGraph.this) {
+                    return query.pathLength(to);
+                }
+            }
+
+            @Override
+            public List<V> getPath(V to) {
+                synchronized (SynchronizedGraph.this) {
+                    return query.getPath(to);
+                }
+            }
+        }
+    }
+}
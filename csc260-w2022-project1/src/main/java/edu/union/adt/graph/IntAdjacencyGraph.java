@@ -0,0 +1,425 @@
+package edu.union.adt.graph;
+import java.util.*;
+
+/**
+ * A graph whose vertices are non-negative Integers, stored as array
+ * indices rather than map keys.  Each vertex's out-neighbours are kept
+ * in a growable int[] in the order the edges were added, so no
+ * per-edge objects are allocated and iteration is in ascending vertex
+ * order.  The arrays can be sized up front from the expected number of
+ * vertices and edges, so that bulk loads never resize them.
+ *
+ * Memory use is proportional to the largest vertex id, so ids should
+ * be dense.  hasEdge and addEdge are O(degree); removeVertex scans
+ * every adjacency list to remove the edges into the vertex.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public class IntAdjacencyGraph implements Graph<Integer> {
+    private static final int[] NO_EDGES = new int[0];
+    private static final int ABSENT = -1;
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private int[][] adjacency;
+    private int[] degrees;
+    private int rowCapacity;
+    private int vertexCount;
+    private int edgeCount;
+
+    /**
+     * Create an empty graph.
+     */
+    public IntAdjacencyGraph() {
+        this(16, 0);
+    }
+
+    /**
+     * Create an empty graph sized for a bulk load.
+     *
+     * @param expectedVertices the expected number of vertices (and
+     * one more than the expected largest vertex id)
+     * @param expectedEdges the expected number of edges
+     */
+    public IntAdjacencyGraph(int expectedVertices, long expectedEdges) {
+        int capacity = Math.max(expectedVertices, 1);
+        this.adjacency = new int[capacity][];
+        this.degrees = new int[capacity];
+        Arrays.fill(degrees, ABSENT);
+        this.rowCapacity = (int) Math.max(2, Math.min(1 << 20, expectedEdges / capacity + 1));
+    }
+
+    @Override
+    public int numVertices() {
+        return vertexCount;
+    }
+
+    @Override
+    public int numEdges() {
+        return edgeCount;
+    }
+
+    @Override
+    public int degree(Integer vertex) {
+        if (!contains(vertex))
+            throw new RuntimeException();
+        return degrees[vertex];
+    }
+
+    @Override
+    public void addEdge(Integer from, Integer to) {
+        addVertex(from);
+        addVertex(to);
+        int f = from;
+        int t = to;
+        if (indexOf(f, t) >= 0)
+            return;
+        int[] row = adjacency[f];
+        if (degrees[f] == row.length) {
+            row = Arrays.copyOf(row, Math.max(rowCapacity, row.length * 2));
+            adjacency[f] = row;
+        }
+        row[degrees[f]++] = t;
+        edgeCount++;
+    }
+
+    @Override
+    public void addVertex(Integer vertex) {
+        int v = vertex;
+        if (v < 0)
+            throw new IllegalArgumentException("vertex ids must be non-negative: " + v);
+        if (v >= degrees.length) {
+            int capacity = Math.max(v + 1, degrees.length + (degrees.length >> 1));
+            adjacency = Arrays.copyOf(adjacency, capacity);
+            int old = degrees.length;
+            degrees = Arrays.copyOf(degrees, capacity);
+            Arrays.fill(degrees, old, capacity, ABSENT);
+        }
+        if (degrees[v] == ABSENT) {
+            degrees[v] = 0;
+            adjacency[v] = NO_EDGES;
+            vertexCount++;
+        }
+    }
+
+    @Override
+    public Iterable<Integer> getVertices() {
+        List<Integer> vertices = new ArrayList<Integer>(vertexCount);
+        for (int v = 0; v < degrees.length; v++)
+            if (degrees[v] != ABSENT)
+                vertices.add(v);
+        return vertices;
+    }
+
+    @Override
+    public Iterable<Integer> adjacentTo(Integer from) {
+        if (!contains(from))
+            return new ArrayList<Integer>();
+        int f = from;
+        List<Integer> adj = new ArrayList<Integer>(degrees[f]);
+        for (int i = 0; i < degrees[f]; i++)
+            adj.add(adjacency[f][i]);
+        return adj;
+    }
+
+    /**
+     * @param from the source vertex
+     * @return a copy of the ids adjacent to 'from', or an empty array
+     * if 'from' is not in the graph.
+     */
+    public int[] neighbours(int from) {
+        if (from < 0 || from >= degrees.length || degrees[from] == ABSENT)
+            return NO_EDGES;
+        return Arrays.copyOf(adjacency[from], degrees[from]);
+    }
+
+    /**
+     * @return one more than the largest vertex id the graph has room
+     * for without growing.
+     */
+    public int capacity() {
+        return degrees.length;
+    }
+
+    @Override
+    public boolean contains(Integer vertex) {
+        return vertex != null && vertex >= 0 && vertex < degrees.length
+            && degrees[vertex] != ABSENT;
+    }
+
+    @Override
+    public boolean hasEdge(Integer from, Integer to) {
+        return contains(from) && indexOf(from, to) >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return Graphs.toString(this);
+    }
+
+    /**
+     * @return true iff 'other' is an IntAdjacencyGraph with the same
+     * vertices and edges.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other == this)
+            return true;
+        if (!(other instanceof IntAdjacencyGraph))
+            return false;
+        return Graphs.sameVerticesAndEdges(this, (IntAdjacencyGraph) other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Graphs.hashCode(this);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return vertexCount == 0;
+    }
+
+    /**
+     * Removes a vertex and every edge into or out of it.
+     *
+     * @param toRemove the vertex to remove.
+     */
+    @Override
+    public void removeVertex(Integer toRemove) {
+        if (!contains(toRemove))
+            return;
+        int r = toRemove;
+        edgeCount -= degrees[r];
+        degrees[r] = ABSENT;
+        adjacency[r] = null;
+        vertexCount--;
+        for (int v = 0; v < degrees.length; v++)
+            if (degrees[v] > 0)
+                removeFromRow(v, r);
+    }
+
+    @Override
+    public void removeEdge(Integer from, Integer to) {
+        if (contains(from) && to != null)
+            removeFromRow(from, to);
+    }
+
+    @Override
+    public boolean hasPath(Integer from, Integer to) {
+        return hasPath(from, to, null);
+    }
+
+    @Override
+    public boolean hasPath(Integer from, Integer to, TraversalStats stats) {
+        return search(from, to, stats) != null;
+    }
+
+    @Override
+    public int pathLength(Integer from, Integer to) {
+        return pathLength(from, to, null);
+    }
+
+    @Override
+    public int pathLength(Integer from, Integer to, TraversalStats stats) {
+        int[] predecessors = search(from, to, stats);
+        if (predecessors == null)
+            return Integer.MAX_VALUE;
+        int length = 0;
+        for (int v = to; v != from; v = predecessors[v])
+            length++;
+        return length;
+    }
+
+    @Override
+    public Iterable<Integer> getPath(Integer from, Integer to) {
+        return getPath(from, to, null);
+    }
+
+    @Override
+    public Iterable<Integer> getPath(Integer from, Integer to, TraversalStats stats) {
+        int[] predecessors = search(from, to, stats);
+        if (predecessors == null)
+            return null;
+        ArrayList<Integer> path = new ArrayList<Integer>();
+        for (int v = to; v != from; v = predecessors[v])
+            path.add(v);
+        path.add(from);
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Breadth-first search from 'from' that stops when 'to' is found.
+     *
+     * @param stats where to count the work done, or null
+     * @return the BFS predecessor of each visited vertex, or null if
+     * 'to' cannot be reached.
+     */
+    private int[] search(Integer from, Integer to, TraversalStats stats) {
+        if (!contains(from) || !contains(to))
+            return null;
+        int n = degrees.length;
+        int[] predecessors = new int[n];
+        if (from.intValue() == to.intValue())
+            return predecessors;
+        Arrays.fill(predecessors, ABSENT);
+        int[] queue = new int[vertexCount];
+        int head = 0;
+        int tail = 0;
+        int f = from;
+        int t = to;
+        predecessors[f] = f;
+        queue[tail++] = f;
+        while (head < tail) {
+            int current = queue[head++];
+            int[] row = adjacency[current];
+            if (stats != null)
+                stats.vertex();
+            for (int i = 0; i < degrees[current]; i++) {
+                int next = row[i];
+                if (stats != null)
+                    stats.edge();
+                if (predecessors[next] != ABSENT)
+                    continue;
+                predecessors[next] = current;
+                if (next == t)
+                    return predecessors;
+                queue[tail++] = next;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the vertices within k hops of 'source' and the edges
+     * between them.  The search marks vertices in per-thread scratch
+     * arrays that are reused from call to call, so the only
+     * allocations are the result's.
+     *
+     * @param source the vertex to start from
+     * @param k the number of hops
+     * @return the k-hop subgraph
+     */
+    @Override
+    public Subgraph<Integer> kHop(Integer source, int k) {
+        if (k < 0)
+            throw new IllegalArgumentException("negative hop count: " + k);
+        Scratch scratch = SCRATCH.get();
+        scratch.begin(degrees.length);
+        if (contains(source))
+            scratch.add(source);
+        Subgraph.Rows rows = new Subgraph.Rows(16);
+        int levelEnd = scratch.size;
+        int depth = 0;
+        for (int i = 0; i < scratch.size; i++) {
+            if (i == levelEnd) {
+                depth++;
+                levelEnd = scratch.size;
+            }
+            int v = scratch.order[i];
+            int[] row = adjacency[v];
+            for (int j = 0; j < degrees[v]; j++) {
+                int t = scratch.id(row[j]);
+                if (t < 0 && depth < k)
+                    t = scratch.add(row[j]);
+                if (t >= 0)
+                    rows.add(t);
+            }
+            rows.endRow();
+        }
+        return Subgraph.of(scratch.vertices(), rows);
+    }
+
+    /**
+     * Gets the subgraph induced by some vertices, marking them in
+     * reused per-thread scratch arrays.
+     *
+     * @param vertices the vertices to keep
+     * @return the induced subgraph
+     */
+    @Override
+    public Subgraph<Integer> inducedSubgraph(Collection<Integer> vertices) {
+        Scratch scratch = SCRATCH.get();
+        scratch.begin(degrees.length);
+        for (Integer v : vertices)
+            if (contains(v) && scratch.id(v) < 0)
+                scratch.add(v);
+        Subgraph.Rows rows = new Subgraph.Rows(scratch.size);
+        for (int i = 0; i < scratch.size; i++) {
+            int v = scratch.order[i];
+            int[] row = adjacency[v];
+            for (int j = 0; j < degrees[v]; j++) {
+                int t = scratch.id(row[j]);
+                if (t >= 0)
+                    rows.add(t);
+            }
+            rows.endRow();
+        }
+        return Subgraph.of(scratch.vertices(), rows);
+    }
+
+    private int indexOf(int from, int to) {
+        int[] row = adjacency[from];
+        for (int i = 0; i < degrees[from]; i++)
+            if (row[i] == to)
+                return i;
+        return -1;
+    }
+
+    private void removeFromRow(int from, int to) {
+        int i = indexOf(from, to);
+        if (i < 0)
+            return;
+        int[] row = adjacency[from];
+        System.arraycopy(row, i + 1, row, i, degrees[from] - i - 1);
+        degrees[from]--;
+        edgeCount--;
+    }
+
+    /**
+     * Per-thread working space for subgraph extraction.  A vertex is
+     * marked when stamp[v] equals the current epoch, so starting a
+     * new search is O(1) instead of clearing the arrays.
+     */
+    private static final class Scratch {
+        int[] stamp = new int[0];
+        int[] localId = new int[0];
+        int[] order = new int[16];
+        int epoch;
+        int size;
+
+        void begin(int capacity) {
+            if (stamp.length < capacity) {
+                stamp = new int[capacity];
+                localId = new int[capacity];
+                epoch = 0;
+            }
+            if (++epoch == 0) {
+                Arrays.fill(stamp, 0);
+                epoch = 1;
+            }
+            size = 0;
+        }
+
+        int id(int v) {
+            return stamp[v] == epoch ? localId[v] : -1;
+        }
+
+        int add(int v) {
+            if (size == order.length)
+                order = Arrays.copyOf(order, size * 2);
+            stamp[v] = epoch;
+            localId[v] = size;
+            order[size] = v;
+            return size++;
+        }
+
+        List<Integer> vertices() {
+            List<Integer> vertices = new ArrayList<Integer>(size);
+            for (int i = 0; i < size; i++)
+                vertices.add(order[i]);
+            return vertices;
+        }
+    }
+}
@@ -19,9 +19,7 @@ import java.util.*;
  */
 public class PKHashGraph<V> implements Graph<V> {
     private Map<V, List<V>> graph;
-    private int shortestPathLength;
-    private Object predecessorVertices[];
-    private ArrayList shortestPath=null;
+    private int edgeCount;
 
 
     /**
@@ -31,6 +29,22 @@ public class PKHashGraph<V> implements Graph<V> {
         this.graph = new HashMap<>();
     }
 
+    /**
+     * Create an empty graph whose vertex map is sized so that adding
+     * 'expectedVertices' vertices never rehashes it.
+     *
+     * @param expectedVertices the expected number of vertices
+     * @param ordered if true, vertices are iterated in the order they
+     * were added; otherwise in hash order.
+     */
+    public PKHashGraph(int expectedVertices, boolean ordered){
+        int capacity = (int) Math.min(1 << 30, (long) (expectedVertices / 0.75f) + 1);
+        if (ordered)
+            this.graph = new LinkedHashMap<>(capacity);
+        else
+            this.graph = new HashMap<>(capacity);
+    }
+
     /**
      * @return the number of vertices in the graph.
      */
@@ -45,11 +59,7 @@ public class PKHashGraph<V> implements Graph<V> {
      */
     @Override
     public int numEdges(){
-        int totalEdges =0;
-        for (V vertex: graph.keySet()){
-            totalEdges+= degree(vertex);
-        }
-        return totalEdges;
+        return edgeCount;
     }
 
     /**
@@ -83,8 +93,10 @@ public class PKHashGraph<V> implements Graph<V> {
             addVertex(from);
         if (!contains(to))
             addVertex(to);
-        if (!hasEdge(from,to))
+        if (!hasEdge(from,to)) {
             graph.get(from).add(to);
+            edgeCount++;
+        }
     }
 
     /**
@@ -164,10 +176,8 @@ public class PKHashGraph<V> implements Graph<V> {
      */
     @Override
     public boolean hasEdge(V from, V to){
-        if (graph.get(from).contains(to))
-            return true;
-        else
-            return false;
+        List<V> adj = graph.get(from);
+        return adj != null && adj.contains(to);
     }
 
     /**
@@ -307,12 +317,19 @@ public class PKHashGraph<V> implements Graph<V> {
      * <li>for all vertices v: toRemove is not in adjacentTo(v)
      * </ul>
      *
+     * Runs in O(V + E): every adjacency list is scanned for edges
+     * into the vertex.
+     *
      * @param toRemove the vertex to remove.
      */
     @Override
     public void removeVertex(V toRemove){
-        if (contains(toRemove))
-            graph.remove(toRemove);
+        if (!contains(toRemove))
+            return;
+        edgeCount -= graph.remove(toRemove).size();
+        for (List<V> adj : graph.values())
+            if (adj.remove(toRemove))
+                edgeCount--;
     }
 
 
@@ -324,8 +341,113 @@ public class PKHashGraph<V> implements Graph<V> {
      */
     @Override
     public void removeEdge(V from, V to){
-        if (contains(from) && contains(to))
-            graph.get(from).remove(to);
+        if (contains(from) && contains(to) && graph.get(from).remove(to))
+            edgeCount--;
+    }
+
+
+    /**
+     * Adds every edge in a collection.  Duplicate edges are dropped
+     * and the edges are grouped by source vertex, so each adjacency
+     * list is scanned once for the whole batch rather than once per
+     * edge.
+     *
+     * @param edges the edges to add
+     */
+    @Override
+    public void addEdges(Collection<Edge<V>> edges) {
+        apply(new GraphDelta<V>().addEdges(edges));
+    }
+
+    /**
+     * Removes every edge in a collection, visiting each adjacency
+     * list once for the whole batch.
+     *
+     * @param edges the edges to remove
+     */
+    @Override
+    public void removeEdges(Collection<Edge<V>> edges) {
+        apply(new GraphDelta<V>().removeEdges(edges));
+    }
+
+    /**
+     * Applies a batch of changes to the graph.  Each adjacency list
+     * touched by the batch is scanned once, and the edge count is
+     * updated once at the end.
+     *
+     * @param delta the changes to apply
+     */
+    @Override
+    public void apply(GraphDelta<V> delta) {
+        int change = 0;
+        for (V v : delta.getRemovedVertices())
+            removeVertex(v);
+        for (Map.Entry<V, Set<V>> e : delta.getRemovedEdges().entrySet()) {
+            List<V> adj = graph.get(e.getKey());
+            if (adj == null || e.getValue().isEmpty())
+                continue;
+            int before = adj.size();
+            adj.removeAll(e.getValue());
+            change -= before - adj.size();
+        }
+        for (V v : delta.getAddedVertices())
+            addVertex(v);
+        for (Map.Entry<V, Set<V>> e : delta.getAddedEdges().entrySet()) {
+            if (e.getValue().isEmpty())
+                continue;
+            addVertex(e.getKey());
+            List<V> adj = graph.get(e.getKey());
+            Set<V> present = new HashSet<V>(adj);
+            for (V to : e.getValue()) {
+                addVertex(to);
+                if (present.add(to)) {
+                    adj.add(to);
+                    change++;
+                }
+            }
+        }
+        edgeCount += change;
+    }
+
+
+
+    /**
+     * Gets the vertices within k hops of 'source' and the edges
+     * between them, reading the adjacency lists in place rather than
+     * copying each one as adjacentTo does.
+     *
+     * @param source the vertex to start from
+     * @param k the number of hops
+     * @return the k-hop subgraph
+     */
+    @Override
+    public Subgraph<V> kHop(V source, int k) {
+        return Subgraph.kHop(this, source, k, graph::get);
+    }
+
+    /**
+     * Starts path queries from one vertex, reading the adjacency
+     * lists in place.
+     *
+     * @param source the vertex paths start from
+     * @param stats where to count the work done, or null
+     * @return the query
+     */
+    @Override
+    public PathQuery<V> from(V source, TraversalStats stats) {
+        return new BreadthFirstPathQuery<V>(this, source, graph::get, stats);
+    }
+
+    /**
+     * Gets the subgraph induced by some vertices, reading the
+     * adjacency lists in place.
+     *
+     * @param vertices the vertices to keep
+     * @return the induced subgraph
+     */
+    @Override
+    public Subgraph<V> inducedSubgraph(Collection<V> vertices) {
+        return Subgraph.induced(this, vertices, graph::get);
     }
 
 
@@ -350,54 +472,59 @@ public class PKHashGraph<V> implements Graph<V> {
      */
     @Override
     public boolean hasPath(V from, V to) {
-        if (contains(from) && contains(to)) {
-            if (breadthFirstSearch(from, to, numVertices()))
-                return true;
-            else
-                return false;
-        }
-        else
-            return false;
+        return hasPath(from, to, null);
+    }
+
+    @Override
+    public boolean hasPath(V from, V to, TraversalStats stats) {
+        return breadthFirstSearch(from, to, stats) != null;
     }
 
     /**
-     * private method to get the shortest path and set the length of the shortest path.
+     * Breadth-first search from 'from' that stops when 'to' is found.
+     * Reads the adjacency lists in place and keeps its state in local
+     * variables, so it runs in O(V + E) and concurrent reads do not
+     * interfere.
+     *
      * @param from starting vertex
      * @param to destination vertex
-     * @param numV number of vertices in the graph
-     * @return true iff there is a path in the graph.
+     * @param stats where to count the work done, or null
+     * @return the vertices along a shortest path, including both
+     * ends, or null if either vertex is missing or there is no path.
      */
-    private boolean breadthFirstSearch(V from, V to, int numV) {
-        if (from ==to){
-            shortestPathLength=0;
-            return true;}
-        LinkedList<V> queue = new LinkedList<V>();
-        boolean visited[] = new boolean[numV];
-        predecessorVertices = new Object[numV];
-        int distance[] = new int[numV];
-        Set<V> keys = graph.keySet();
-        List<V> listKeys = new ArrayList<V>(keys);
-        visited[listKeys.indexOf(from)] = true;
-        distance[listKeys.indexOf(from)] = 0;
+    private List<V> breadthFirstSearch(V from, V to, TraversalStats stats) {
+        if (!contains(from) || !contains(to))
+            return null;
+        ArrayList<V> path = new ArrayList<V>();
+        if (Objects.equals(from, to)) {
+            path.add(from);
+            return path;
+        }
+        Map<V, V> predecessors = new HashMap<V, V>();
+        ArrayDeque<V> queue = new ArrayDeque<V>();
+        predecessors.put(from, from);
         queue.add(from);
-
         while (!queue.isEmpty()) {
-            V current = queue.pop();
-            for (V neighbor : adjacentTo(current)) {
-                if (visited[listKeys.indexOf(neighbor)] == false) {
-                    visited[listKeys.indexOf(neighbor)] = true;
-                    distance[listKeys.indexOf(neighbor)] = distance[listKeys.indexOf(current)] + 1;
-                    predecessorVertices[listKeys.indexOf(neighbor)] = current;
-                    queue.add(neighbor);
-
-                    if (neighbor == to) {
-                        shortestPathLength = distance[listKeys.indexOf(to)];
-                        return true;
-                    }
+            V current = queue.poll();
+            if (stats != null)
+                stats.vertex();
+            for (V neighbor : graph.get(current)) {
+                if (stats != null)
+                    stats.edge();
+                if (predecessors.containsKey(neighbor))
+                    continue;
+                predecessors.put(neighbor, current);
+                if (Objects.equals(neighbor, to)) {
+                    for (V v = to; !Objects.equals(v, from); v = predecessors.get(v))
+                        path.add(v);
+                    path.add(from);
+                    Collections.reverse(path);
+                    return path;
                 }
+                queue.add(neighbor);
             }
         }
-        return false;
+        return null;
     }
 
 
@@ -419,11 +546,13 @@ public class PKHashGraph<V> implements Graph<V> {
      */
     @Override
     public int pathLength(V from, V to){
-        if (hasPath(from, to))
-            return shortestPathLength;
-        else
-            shortestPathLength=Integer.MAX_VALUE;
-        return shortestPathLength;
+        return pathLength(from, to, null);
+    }
+
+    @Override
+    public int pathLength(V from, V to, TraversalStats stats) {
+        List<V> path = breadthFirstSearch(from, to, stats);
+        return path == null ? Integer.MAX_VALUE : path.size() - 1;
     }
 
 
@@ -443,69 +572,18 @@ public class PKHashGraph<V> implements Graph<V> {
      * @param to the destination vertex
      * @return an Iterable collection of vertices along the shortest
      * path from 'from' to 'to'.  The Iterable should include the
-     * source and destination vertices.
+     * source and destination vertices.  If there is no path, returns
+     * null.
      */
     @Override
     public Iterable<V> getPath(V from, V to) {
-        if (from == to){
-            if (!contains(from)){
-                shortestPath=null;
-                return shortestPath;
-            }
-        }
-        if (!hasPath(from, to)){
-            shortestPath=null;
-            return shortestPath;}
-        ArrayList<V> path = new ArrayList<>();
-        path.add(from);
-        ArrayList<ArrayList> storedPaths= new ArrayList<>();
-        boolean[] isVisited = new boolean[numVertices()];
-        AllPaths(from, to, isVisited, path,storedPaths);
-        if (storedPaths.size()==1)
-            shortestPath = storedPaths.get(0);
-        if (storedPaths.isEmpty())
-            return shortestPath;
-        for (int i=0; i<storedPaths.size(); i++){
-            for (int j=i+1; j<storedPaths.size(); j++){
-                if (storedPaths.get(i).size() > storedPaths.get(j).size()) {
-                    shortestPath = storedPaths.get(j);
-                }
-                else
-                    shortestPath = storedPaths.get(i);
-            }
-        }
-        return shortestPath;
+        return getPath(from, to, null);
     }
 
-
-    /**
-     * private method to get ALL the paths from starting and destination vertex.
-     * @param from starting vertex
-     * @param to destination vertex
-     * @param isVisited list of boolean values indicating whether a vertex is visited or not.
-     * @param PathList an Arraylist that stores the current path recursively.
-     * @param storedPaths list of all the possible paths.
-     */
-    private void AllPaths(V from, V to, boolean[] isVisited, ArrayList<V> PathList, ArrayList<ArrayList> storedPaths) {
-        if (from.equals(to)) {
-            ArrayList currentPath= (ArrayList) PathList.clone();
-            storedPaths.add(currentPath);
-        }
-        else {
-            Set<V> keys = graph.keySet();
-            List<V> listKeys = new ArrayList<V>(keys);
-            isVisited[listKeys.indexOf(from)] = true;
-
-            for (V i : adjacentTo(from)) {
-                if (!isVisited[listKeys.indexOf(i)]) {
-                    PathList.add(i);
-                    AllPaths(i, to, isVisited, PathList,storedPaths);
-                    PathList.remove(i);
-                }
-            }
-            isVisited[listKeys.indexOf(from)] = false;
-        }
+    @Override
+    public Iterable<V> getPath(V from, V to, TraversalStats stats) {
+        return breadthFirstSearch(from, to, stats);
     }
 
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package edu.union.adt.graph;
+import java.util.List;
+
+/**
+ * Path queries from one source vertex, sharing a single breadth-first
+ * search.  Graph.hasPath, pathLength and getPath each start a new
+ * search, so checking hasPath(a, b) and then asking for getPath(a, b),
+ * or asking about many targets from the same 'a', explores the same
+ * part of the graph again and again.  A PathQuery, from
+ * {@link Graph#from}, keeps the search's queue and predecessors
+ * between calls instead:
+ *
+ * <PRE>
+ * PathQuery&lt;String&gt; q = graph.from("A");
+ * if (q.hasPath("B"))
+ *     route(q.getPath("B"));    // no new search
+ * int d = q.pathLength("C");    // carries on from where "B" was found
+ * </PRE>
+ *
+ * Each call answers from the vertices already reached if it can, and
+ * otherwise carries the search on until the target is reached or the
+ * source's whole reach has been explored.  A vertex's distance is
+ * final once it is reached, so answers are the same as the graph's
+ * own, and all calls together cost at most one full search.
+ *
+ * The search reads the graph lazily, so it is only meaningful while
+ * the graph is not changed; start a new query after changing it.  Not
+ * safe for use by several threads at once.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public interface PathQuery<V> {
+    /**
+     * @return the vertex paths start from.
+     */
+    V source();
+
+    /**
+     * @return how many vertices the search has reached so far,
+     * counting the source.
+     */
+    int reached();
+
+    /**
+     * @return true iff the search has explored everything the source
+     * can reach.
+     */
+    boolean isExhausted();
+
+    /**
+     * @return true iff there is a path from the source to 'to'.
+     */
+    boolean hasPath(V to);
+
+    /**
+     * @return the length of the shortest path from the source to
+     * 'to', or Integer.MAX_VALUE if there is none.
+     */
+    int pathLength(V to);
+
+    /**
+     * @return the vertices along a shortest path from the source to
+     * 'to', including both, or null if there is none.
+     */
+    List<V> getPath(V to);
+}
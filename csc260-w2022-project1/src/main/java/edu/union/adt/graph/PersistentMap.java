@@ -0,0 +1,285 @@
+package edu.union.adt.graph;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable hash map that shares structure between versions (a
+ * hash array mapped trie).  put and remove return a new map and leave
+ * the old one untouched, copying only the O(log32 n) nodes on the
+ * path to the changed key.  Keys and values must not be null.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+final class PersistentMap<K, T> {
+    private static final PersistentMap<Object, Object> EMPTY =
+        new PersistentMap<Object, Object>(BitmapNode.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * @return the empty map.
+     */
+    @SuppressWarnings("unchecked")
+    static <K, T> PersistentMap<K, T> empty() {
+        return (PersistentMap<K, T>) EMPTY;
+    }
+
+    /**
+     * @return the number of keys in the map.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param key a key
+     * @return the value stored for 'key', or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    T get(Object key) {
+        return (T) root.find(0, hash(key), key);
+    }
+
+    /**
+     * @param key the key to store
+     * @param value the value to store
+     * @return a map that has 'value' stored for 'key'.  If the map
+     * already does, returns this map.
+     */
+    PersistentMap<K, T> put(K key, T value) {
+        boolean[] added = new boolean[1];
+        Node newRoot = root.put(0, hash(key), key, value, added);
+        if (newRoot == root)
+            return this;
+        return new PersistentMap<K, T>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * @param key the key to remove
+     * @return a map without 'key'.  If 'key' is not in the map,
+     * returns this map.
+     */
+    PersistentMap<K, T> remove(Object key) {
+        Node newRoot = root.remove(0, hash(key), key);
+        if (newRoot == root)
+            return this;
+        return new PersistentMap<K, T>(newRoot == null ? BitmapNode.EMPTY : newRoot, size - 1);
+    }
+
+    /**
+     * Calls 'action' for every key and value in the map.
+     *
+     * @param action the action to call
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(BiConsumer<? super K, ? super T> action) {
+        root.forEach((BiConsumer<Object, Object>) action);
+    }
+
+    /**
+     * @return a new list holding the keys of the map.
+     */
+    List<K> keys() {
+        final List<K> keys = new ArrayList<K>(size);
+        forEach((k, v) -> keys.add(k));
+        return keys;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private abstract static class Node {
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node put(int shift, int hash, Object key, Object value, boolean[] added);
+
+        /** @return the new node, or null if the node became empty. */
+        abstract Node remove(int shift, int hash, Object key);
+
+        abstract void forEach(BiConsumer<Object, Object> action);
+    }
+
+    /**
+     * An inner node with up to 32 slots.  Each slot holds either a
+     * key and its value, or null and a child node.
+     */
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] slots;
+
+        BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = 1 << ((hash >>> shift) & 31);
+            if ((bitmap & bit) == 0)
+                return null;
+            int i = 2 * index(bit);
+            Object k = slots[i];
+            if (k == null)
+                return ((Node) slots[i + 1]).find(shift + 5, hash, key);
+            return key.equals(k) ? slots[i + 1] : null;
+        }
+
+        @Override
+        Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            int bit = 1 << ((hash >>> shift) & 31);
+            int i = 2 * index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] copy = new Object[slots.length + 2];
+                System.arraycopy(slots, 0, copy, 0, i);
+                copy[i] = key;
+                copy[i + 1] = value;
+                System.arraycopy(slots, i, copy, i + 2, slots.length - i);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, copy);
+            }
+            Object k = slots[i];
+            Object v = slots[i + 1];
+            if (k == null) {
+                Node child = ((Node) v).put(shift + 5, hash, key, value, added);
+                return child == v ? this : with(i, null, child);
+            }
+            if (key.equals(k))
+                return v == value ? this : with(i, k, value);
+            added[0] = true;
+            return with(i, null, pair(shift + 5, k, v, hash, key, value));
+        }
+
+        private BitmapNode with(int i, Object key, Object value) {
+            Object[] copy = slots.clone();
+            copy[i] = key;
+            copy[i + 1] = value;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        private static Node pair(int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+            int h1 = hash(k1);
+            if (h1 == h2)
+                return new CollisionNode(h1, new Object[] {k1, v1, k2, v2});
+            boolean[] ignored = new boolean[1];
+            return EMPTY.put(shift, h1, k1, v1, ignored).put(shift, h2, k2, v2, ignored);
+        }
+
+        @Override
+        Node remove(int shift, int hash, Object key) {
+            int bit = 1 << ((hash >>> shift) & 31);
+            if ((bitmap & bit) == 0)
+                return this;
+            int i = 2 * index(bit);
+            Object k = slots[i];
+            if (k == null) {
+                Node child = (Node) slots[i + 1];
+                Node newChild = child.remove(shift + 5, hash, key);
+                if (newChild == child)
+                    return this;
+                if (newChild != null)
+                    return with(i, null, newChild);
+            }
+            else if (!key.equals(k)) {
+                return this;
+            }
+            if (bitmap == bit)
+                return null;
+            Object[] copy = new Object[slots.length - 2];
+            System.arraycopy(slots, 0, copy, 0, i);
+            System.arraycopy(slots, i + 2, copy, i, slots.length - i - 2);
+            return new BitmapNode(bitmap & ~bit, copy);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < slots.length; i += 2) {
+                if (slots[i] == null)
+                    ((Node) slots[i + 1]).forEach(action);
+                else
+                    action.accept(slots[i], slots[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * A leaf for keys whose hashes are identical.
+     */
+    private static final class CollisionNode extends Node {
+        private final int hash;
+        private final Object[] pairs;
+
+        CollisionNode(int hash, Object[] pairs) {
+            this.hash = hash;
+            this.pairs = pairs;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < pairs.length; i += 2)
+                if (key.equals(pairs[i]))
+                    return i;
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int i = indexOf(key);
+            return i < 0 ? null : pairs[i + 1];
+        }
+
+        @Override
+        Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                BitmapNode parent = new BitmapNode(1 << ((this.hash >>> shift) & 31),
+                                                   new Object[] {null, this});
+                return parent.put(shift, hash, key, value, added);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (pairs[i + 1] == value)
+                    return this;
+                Object[] copy = pairs.clone();
+                copy[i + 1] = value;
+                return new CollisionNode(hash, copy);
+            }
+            Object[] copy = Arrays.copyOf(pairs, pairs.length + 2);
+            copy[pairs.length] = key;
+            copy[pairs.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        Node remove(int shift, int hash, Object key) {
+            int i = indexOf(key);
+            if (i < 0)
+                return this;
+            if (pairs.length == 2)
+                return null;
+            Object[] copy = new Object[pairs.length - 2];
+            System.arraycopy(pairs, 0, copy, 0, i);
+            System.arraycopy(pairs, i + 2, copy, i, pairs.length - i - 2);
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < pairs.length; i += 2)
+                action.accept(pairs[i], pairs[i + 1]);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package edu.union.adt.graph;
+import java.util.*;
+
+/**
+ * A graph of Strings that stores each name once, as UTF-8 bytes in a
+ * {@link VertexDictionary}, and its edges as int ids in an
+ * IntAdjacencyGraph.  Adjacency costs 4 bytes per edge instead of a
+ * list node and a String reference, and each call hashes its argument
+ * once, using the hash the String has cached, before working on ints.
+ *
+ * The trade is that vertices come back out as new String objects,
+ * decoded from the dictionary: getVertices, adjacentTo and getPath
+ * allocate one String per vertex they return.  Results are equal to,
+ * but not the same objects as, the strings that were added.
+ *
+ * Whether a name is a vertex is kept as the name's mark bit in the
+ * dictionary, so contains, and the lookup at the start of every other
+ * query, is a single probe of the dictionary's table.  That probe
+ * still compares the stored UTF-8 bytes with the name, which is no
+ * faster than the String.equals of a HashMap lookup: this backend
+ * trades lookup speed for memory, and a name lookup costs about what
+ * it does in PKHashGraph, give or take the noise of the benchmark.
+ *
+ * Removing a vertex keeps its name in the dictionary, so adding it
+ * back reuses its id; the dictionary grows with the number of
+ * distinct names ever added, not the number present.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public class StringGraph implements Graph<String> {
+    private final VertexDictionary names;
+    private final IntAdjacencyGraph ids;
+
+    /**
+     * Create an empty graph.
+     */
+    public StringGraph() {
+        this(16, 0);
+    }
+
+    /**
+     * Create an empty graph sized for a bulk load.
+     *
+     * @param expectedVertices the expected number of vertices
+     * @param expectedEdges the expected number of edges
+     */
+    public StringGraph(int expectedVertices, long expectedEdges) {
+        this.names = new VertexDictionary(expectedVertices);
+        this.ids = new IntAdjacencyGraph(expectedVertices, expectedEdges);
+    }
+
+    /**
+     * @return the dictionary that maps names to ids.  Its marks record
+     * which names are vertices; changing them corrupts the graph.
+     */
+    public VertexDictionary getDictionary() {
+        return names;
+    }
+
+    /**
+     * @param vertex a name
+     * @return the id the graph stores 'vertex' as, or -1 if it is not
+     * in the graph.
+     */
+    public int idOf(String vertex) {
+        return names.findMarked(vertex);
+    }
+
+    /** Interns a name and marks it as a vertex. */
+    private int add(String vertex) {
+        int id = names.intern(vertex);
+        names.setMarked(id, true);
+        return id;
+    }
+
+    private List<String> decode(Iterable<Integer> vertices) {
+        List<String> out = new ArrayList<String>();
+        for (Integer v : vertices)
+            out.add(names.get(v));
+        return out;
+    }
+
+    private List<String> decode(int[] vertices) {
+        List<String> out = new ArrayList<String>(vertices.length);
+        for (int v : vertices)
+            out.add(names.get(v));
+        return out;
+    }
+
+    @Override
+    public int numVertices() {
+        return ids.numVertices();
+    }
+
+    @Override
+    public int numEdges() {
+        return ids.numEdges();
+    }
+
+    @Override
+    public int degree(String vertex) {
+        int id = idOf(vertex);
+        if (id < 0)
+            throw new RuntimeException();
+        return ids.degree(id);
+    }
+
+    @Override
+    public void addEdge(String from, String to) {
+        ids.addEdge(add(from), add(to));
+    }
+
+    @Override
+    public void addVertex(String vertex) {
+        ids.addVertex(add(vertex));
+    }
+
+    @Override
+    public Iterable<String> getVertices() {
+        return decode(ids.getVertices());
+    }
+
+    @Override
+    public Iterable<String> adjacentTo(String from) {
+        int id = idOf(from);
+        if (id < 0)
+            return new ArrayList<String>();
+        return decode(ids.neighbours(id));
+    }
+
+    @Override
+    public boolean contains(String vertex) {
+        return idOf(vertex) >= 0;
+    }
+
+    @Override
+    public boolean hasEdge(String from, String to) {
+        int f = idOf(from);
+        int t = names.find(to);
+        return f >= 0 && t >= 0 && ids.hasEdge(f, t);
+    }
+
+    @Override
+    public String toString() {
+        return Graphs.toString(this);
+    }
+
+    /**
+     * @return true iff 'other' is a StringGraph with the same vertices
+     * and edges.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other == this)
+            return true;
+        if (!(other instanceof StringGraph))
+            return false;
+        return Graphs.sameVerticesAndEdges(this, (StringGraph) other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Graphs.hashCode(this);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return ids.isEmpty();
+    }
+
+    @Override
+    public void removeVertex(String toRemove) {
+        int id = idOf(toRemove);
+        if (id >= 0) {
+            ids.removeVertex(id);
+            names.setMarked(id, false);
+        }
+    }
+
+    @Override
+    public void removeEdge(String from, String to) {
+        int f = idOf(from);
+        int t = names.find(to);
+        if (f >= 0 && t >= 0)
+            ids.removeEdge(f, t);
+    }
+
+    @Override
+    public boolean hasPath(String from, String to) {
+        return hasPath(from, to, null);
+    }
+
+    @Override
+    public boolean hasPath(String from, String to, TraversalStats stats) {
+        int f = idOf(from);
+        int t = idOf(to);
+        return f >= 0 && t >= 0 && ids.hasPath(f, t, stats);
+    }
+
+    @Override
+    public int pathLength(String from, String to) {
+        return pathLength(from, to, null);
+    }
+
+    @Override
+    public int pathLength(String from, String to, TraversalStats stats) {
+        int f = idOf(from);
+        int t = idOf(to);
+        if (f < 0 || t < 0)
+            return Integer.MAX_VALUE;
+        return ids.pathLength(f, t, stats);
+    }
+
+    @Override
+    public Iterable<String> getPath(String from, String to) {
+        return getPath(from, to, null);
+    }
+
+    @Override
+    public Iterable<String> getPath(String from, String to, TraversalStats stats) {
+        int f = idOf(from);
+        int t = idOf(to);
+        if (f < 0 || t < 0)
+            return null;
+        Iterable<Integer> path = ids.getPath(f, t, stats);
+        return path == null ? null : decode(path);
+    }
+
+    /**
+     * Applies a batch of changes, translated to ids, to the int graph
+     * in one call.  Names that are only removed are not interned.
+     *
+     * @param delta the changes to apply
+     */
+    @Override
+    public void apply(GraphDelta<String> delta) {
+        GraphDelta<Integer> translated = new GraphDelta<Integer>();
+        for (String v : delta.getRemovedVertices()) {
+            int id = names.find(v);
+            if (id >= 0) {
+                translated.removeVertex(id);
+                names.setMarked(id, false);
+            }
+        }
+        for (Map.Entry<String, Set<String>> e : delta.getRemovedEdges().entrySet()) {
+            int from = names.find(e.getKey());
+            if (from < 0)
+                continue;
+            for (String to : e.getValue()) {
+                int t = names.find(to);
+                if (t >= 0)
+                    translated.removeEdge(from, t);
+            }
+        }
+        for (String v : delta.getAddedVertices())
+            translated.addVertex(add(v));
+        for (Map.Entry<String, Set<String>> e : delta.getAddedEdges().entrySet()) {
+            int from = add(e.getKey());
+            for (String to : e.getValue())
+                translated.addEdge(from, add(to));
+        }
+        ids.apply(translated);
+    }
+}
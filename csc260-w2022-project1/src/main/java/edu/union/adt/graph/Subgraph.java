@@ -0,0 +1,298 @@
+package edu.union.adt.graph;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A compact, read-only copy of part of a graph, as returned by
+ * {@link Graph#kHop} and {@link Graph#inducedSubgraph}.  The copy is
+ * held in CSR form (see {@link CsrView}): one vertex list, one index
+ * map and two int arrays, however many vertices it has.  adjacentTo
+ * returns a view of the arrays rather than a new list.
+ *
+ * A subgraph does not change when the graph it was taken from does.
+ * All mutating methods throw UnsupportedOperationException.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class Subgraph<V> implements Graph<V> {
+    private final CsrView<V> view;
+
+    private Subgraph(CsrView<V> view) {
+        this.view = view;
+    }
+
+    /**
+     * Builds the subgraph induced by some vertices.  Vertices not in
+     * the graph are ignored.
+     *
+     * @param graph the graph
+     * @param vertices the vertices to keep
+     * @param neighbours the out-neighbours of each vertex of 'graph';
+     * called once per kept vertex
+     * @return the vertices and every edge between two of them
+     */
+    static <V> Subgraph<V> induced(Graph<V> graph, Collection<V> vertices,
+                                   Function<V, Iterable<V>> neighbours) {
+        List<V> order = new ArrayList<V>(vertices.size());
+        Map<V, Integer> ids = new HashMap<V, Integer>(Math.max(16, (int) (vertices.size() / 0.75f) + 1));
+        for (V v : vertices)
+            if (!ids.containsKey(v) && graph.contains(v)) {
+                ids.put(v, order.size());
+                order.add(v);
+            }
+        Rows rows = new Rows(order.size());
+        for (int v = 0; v < order.size(); v++) {
+            for (V w : neighbours.apply(order.get(v))) {
+                Integer t = ids.get(w);
+                if (t != null)
+                    rows.add(t);
+            }
+            rows.endRow();
+        }
+        int[] targets = rows.targets();
+        return new Subgraph<V>(CsrView.fromArrays(order, ids, rows.offsets, targets));
+    }
+
+    /**
+     * Builds the subgraph induced by the vertices within k hops of a
+     * source, using a breadth-first search that stops at depth k.  The
+     * out-edges of a vertex at depth less than k all lead into the
+     * subgraph, so each vertex's neighbours are walked only once.
+     *
+     * @param graph the graph
+     * @param source the vertex to start from
+     * @param k the number of hops
+     * @param neighbours the out-neighbours of each vertex of 'graph';
+     * called once per reached vertex
+     * @return the vertices reachable from 'source' by a path of at
+     * most k edges, and every edge between two of them; empty if
+     * 'source' is not in the graph
+     */
+    static <V> Subgraph<V> kHop(Graph<V> graph, V source, int k,
+                                Function<V, Iterable<V>> neighbours) {
+        if (k < 0)
+            throw new IllegalArgumentException("negative hop count: " + k);
+        List<V> order = new ArrayList<V>();
+        Map<V, Integer> ids = new HashMap<V, Integer>();
+        Rows rows = new Rows(16);
+        if (graph.contains(source)) {
+            ids.put(source, 0);
+            order.add(source);
+        }
+        int levelEnd = order.size();
+        int depth = 0;
+        for (int v = 0; v < order.size(); v++) {
+            if (v == levelEnd) {
+                depth++;
+                levelEnd = order.size();
+            }
+            for (V w : neighbours.apply(order.get(v))) {
+                Integer t = ids.get(w);
+                if (t == null && depth < k) {
+                    t = order.size();
+                    ids.put(w, t);
+                    order.add(w);
+                }
+                if (t != null)
+                    rows.add(t);
+            }
+            rows.endRow();
+        }
+        int[] targets = rows.targets();
+        return new Subgraph<V>(CsrView.fromArrays(order, ids, rows.offsets, targets));
+    }
+
+    /**
+     * Builds a subgraph from rows that have already been filled.
+     *
+     * @param vertices the vertex with each id
+     * @param rows the out-neighbour ids of each vertex
+     * @return the subgraph, which takes ownership of the rows
+     */
+    static <V> Subgraph<V> of(List<V> vertices, Rows rows) {
+        int[] targets = rows.targets();
+        return new Subgraph<V>(CsrView.fromArrays(vertices, rows.offsets, targets));
+    }
+
+    /**
+     * @return the subgraph in CSR form, for running the analytics on
+     * it without another copy.
+     */
+    public CsrView<V> view() {
+        return view;
+    }
+
+    @Override
+    public int numVertices() {
+        return view.numVertices();
+    }
+
+    @Override
+    public int numEdges() {
+        return view.numEdges();
+    }
+
+    @Override
+    public int degree(V vertex) {
+        int v = view.indexOf(vertex);
+        if (v < 0)
+            throw new RuntimeException();
+        return view.outDegree(v);
+    }
+
+    @Override
+    public void addEdge(V from, V to) {
+        throw new UnsupportedOperationException("subgraphs are read-only");
+    }
+
+    @Override
+    public void addVertex(V vertex) {
+        throw new UnsupportedOperationException("subgraphs are read-only");
+    }
+
+    @Override
+    public Iterable<V> getVertices() {
+        return view.vertices();
+    }
+
+    /**
+     * @return an unmodifiable list of the vertices adjacent to
+     * 'from', or an empty list if 'from' is not in the subgraph.  The
+     * list is a view of the subgraph; it is not copied.
+     */
+    @Override
+    public Iterable<V> adjacentTo(V from) {
+        final int v = view.indexOf(from);
+        if (v < 0)
+            return Collections.emptyList();
+        final int start = view.offsets()[v];
+        final int size = view.offsets()[v + 1] - start;
+        final int[] targets = view.targets();
+        return new AbstractList<V>() {
+            @Override
+            public V get(int i) {
+                if (i < 0 || i >= size)
+                    throw new IndexOutOfBoundsException("index " + i + ", size " + size);
+                return view.vertex(targets[start + i]);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public boolean contains(V vertex) {
+        return view.indexOf(vertex) >= 0;
+    }
+
+    @Override
+    public boolean hasEdge(V from, V to) {
+        int f = view.indexOf(from);
+        int t = view.indexOf(to);
+        return f >= 0 && t >= 0 && view.hasEdge(f, t);
+    }
+
+    @Override
+    public String toString() {
+        return Graphs.toString(this);
+    }
+
+    /**
+     * @return true iff 'other' is a subgraph with the same vertices
+     * and edges.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other == this)
+            return true;
+        if (!(other instanceof Subgraph))
+            return false;
+        return Graphs.sameVerticesAndEdges(this, (Subgraph<?>) other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Graphs.hashCode(this);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return view.numVertices() == 0;
+    }
+
+    @Override
+    public void removeVertex(V toRemove) {
+        throw new UnsupportedOperationException("subgraphs are read-only");
+    }
+
+    @Override
+    public void removeEdge(V from, V to) {
+        throw new UnsupportedOperationException("subgraphs are read-only");
+    }
+
+    @Override
+    public boolean hasPath(V from, V to) {
+        return Graphs.shortestPath(this, from, to) != null;
+    }
+
+    @Override
+    public int pathLength(V from, V to) {
+        return Graphs.pathLength(this, from, to);
+    }
+
+    @Override
+    public Iterable<V> getPath(V from, V to) {
+        return Graphs.shortestPath(this, from, to);
+    }
+
+    @Override
+    public void apply(GraphDelta<V> delta) {
+        throw new UnsupportedOperationException("subgraphs are read-only");
+    }
+
+    /**
+     * @return this subgraph, which is already immutable.
+     */
+    @Override
+    public Subgraph<V> snapshot() {
+        return this;
+    }
+
+    /**
+     * Growable CSR arrays, filled one row at a time.  Each row is
+     * sorted when it ends.
+     */
+    static final class Rows {
+        int[] offsets;
+        int[] targets = new int[16];
+        int rowCount;
+        int size;
+
+        Rows(int expectedRows) {
+            offsets = new int[Math.max(expectedRows, 1) + 1];
+        }
+
+        void add(int target) {
+            if (size == targets.length)
+                targets = Arrays.copyOf(targets, size * 2);
+            targets[size++] = target;
+        }
+
+        void endRow() {
+            Arrays.sort(targets, offsets[rowCount], size);
+            rowCount++;
+            if (rowCount + 1 > offsets.length)
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            offsets[rowCount] = size;
+        }
+
+        int[] targets() {
+            offsets = Arrays.copyOf(offsets, rowCount + 1);
+            return Arrays.copyOf(targets, size);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package edu.union.adt.graph;
+
+/**
+ * Counts the work done by one traversal: how many vertices were
+ * visited and how many edges were followed.  Pass one to a graph's
+ * hasPath, pathLength, getPath or from, or to
+ * {@link Graphs#shortestPath(Graph, Object, Object, TraversalStats)},
+ * to find out what a query cost; each backend counts its own search.
+ * Not thread-safe; use one per query.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class TraversalStats {
+    private long visitedVertices;
+    private long visitedEdges;
+
+    /**
+     * @return the number of vertices taken off the search frontier.
+     */
+    public long getVisitedVertices() {
+        return visitedVertices;
+    }
+
+    /**
+     * @return the number of edges followed.
+     */
+    public long getVisitedEdges() {
+        return visitedEdges;
+    }
+
+    /**
+     * Sets both counts back to zero.
+     */
+    public void reset() {
+        visitedVertices = 0;
+        visitedEdges = 0;
+    }
+
+    /**
+     * Adds to both counts, for searches outside this package.
+     *
+     * @param vertices vertices taken off the search frontier
+     * @param edges edges followed
+     */
+    public void add(long vertices, long edges) {
+        visitedVertices += vertices;
+        visitedEdges += edges;
+    }
+
+    void vertex() {
+        visitedVertices++;
+    }
+
+    void edge() {
+        visitedEdges++;
+    }
+}
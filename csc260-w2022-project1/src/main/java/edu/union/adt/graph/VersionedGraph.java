@@ -0,0 +1,303 @@
+package edu.union.adt.graph;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import edu.union.adt.graph.GraphSnapshot.Adjacency;
+
+/**
+ * A thread-safe graph whose state is kept in immutable, structurally
+ * shared versions.  Every change builds a new version that shares all
+ * untouched vertices with the previous one, and publishes it with a
+ * single compare-and-set; a writer that loses a race simply rebuilds
+ * its change on top of the winner's version.  Neither readers nor
+ * writers take locks.
+ *
+ * {@link #snapshot()} returns the current version in O(1).  Long
+ * traversals should run against a snapshot: they see one consistent
+ * version no matter how many writes happen meanwhile.  The path
+ * queries on this class do that automatically.
+ *
+ * Removing a vertex also removes every edge into it, so no dangling
+ * edges are left behind.  Adjacency lists are immutable arrays, so
+ * adding an edge costs O(degree) of the two endpoints.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public class VersionedGraph<V> implements Graph<V> {
+    private final AtomicReference<GraphSnapshot<V>> current;
+
+    /**
+     * Create an empty graph.
+     */
+    public VersionedGraph() {
+        this.current = new AtomicReference<GraphSnapshot<V>>(
+            new GraphSnapshot<V>(PersistentMap.<V, Adjacency>empty(), 0));
+    }
+
+    /**
+     * @return an immutable view of the graph as it is now.  Takes
+     * O(1) time and does not copy anything.
+     */
+    @Override
+    public GraphSnapshot<V> snapshot() {
+        return current.get();
+    }
+
+    @Override
+    public int numVertices() {
+        return snapshot().numVertices();
+    }
+
+    @Override
+    public int numEdges() {
+        return snapshot().numEdges();
+    }
+
+    @Override
+    public int degree(V vertex) {
+        return snapshot().degree(vertex);
+    }
+
+    @Override
+    public void addEdge(final V from, final V to) {
+        update(s -> withEdge(s, from, to));
+    }
+
+    @Override
+    public void addVertex(final V vertex) {
+        update(s -> withVertex(s, vertex));
+    }
+
+    @Override
+    public Iterable<V> getVertices() {
+        return snapshot().getVertices();
+    }
+
+    @Override
+    public Iterable<V> adjacentTo(V from) {
+        return snapshot().adjacentTo(from);
+    }
+
+    @Override
+    public boolean contains(V vertex) {
+        return snapshot().contains(vertex);
+    }
+
+    @Override
+    public boolean hasEdge(V from, V to) {
+        return snapshot().hasEdge(from, to);
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * @return true iff 'other' is a VersionedGraph with the same
+     * vertices and edges.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other == this)
+            return true;
+        if (!(other instanceof VersionedGraph))
+            return false;
+        return snapshot().equals(((VersionedGraph<?>) other).snapshot());
+    }
+
+    @Override
+    public int hashCode() {
+        return snapshot().hashCode();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return snapshot().isEmpty();
+    }
+
+    @Override
+    public void removeVertex(final V toRemove) {
+        update(s -> withoutVertex(s, toRemove));
+    }
+
+    @Override
+    public void removeEdge(final V from, final V to) {
+        update(s -> withoutEdge(s, from, to));
+    }
+
+    @Override
+    public boolean hasPath(V from, V to) {
+        return snapshot().hasPath(from, to);
+    }
+
+    @Override
+    public int pathLength(V from, V to) {
+        return snapshot().pathLength(from, to);
+    }
+
+    @Override
+    public Iterable<V> getPath(V from, V to) {
+        return snapshot().getPath(from, to);
+    }
+
+    @Override
+    public boolean hasPath(V from, V to, TraversalStats stats) {
+        return snapshot().hasPath(from, to, stats);
+    }
+
+    @Override
+    public int pathLength(V from, V to, TraversalStats stats) {
+        return snapshot().pathLength(from, to, stats);
+    }
+
+    @Override
+    public Iterable<V> getPath(V from, V to, TraversalStats stats) {
+        return snapshot().getPath(from, to, stats);
+    }
+
+    /**
+     * Compares the current version with another graph.  Versioned
+     * graphs are compared snapshot to snapshot, so the comparison sees
+     * one consistent version of each even while they change.
+     */
+    @Override
+    public GraphDiff<V> diff(Graph<V> other) {
+        if (other instanceof VersionedGraph)
+            other = other.snapshot();
+        return GraphDiff.between(snapshot(), other);
+    }
+
+    @Override
+    public Subgraph<V> kHop(V source, int k) {
+        return snapshot().kHop(source, k);
+    }
+
+    @Override
+    public Subgraph<V> inducedSubgraph(Collection<V> vertices) {
+        return snapshot().inducedSubgraph(vertices);
+    }
+
+    /**
+     * Starts path queries on the current version, so that every call
+     * on the query searches that one version while writers go on
+     * changing the graph.  from(source) comes here too.
+     */
+    @Override
+    public PathQuery<V> from(V source, TraversalStats stats) {
+        return snapshot().from(source, stats);
+    }
+
+    /**
+     * Applies a batch of changes as one atomic version: readers see
+     * either none of the batch or all of it.
+     *
+     * @param delta the changes to apply
+     */
+    @Override
+    public void apply(final GraphDelta<V> delta) {
+        update(s -> {
+            for (V v : delta.getRemovedVertices())
+                s = withoutVertex(s, v);
+            for (Map.Entry<V, Set<V>> e : delta.getRemovedEdges().entrySet())
+                for (V to : e.getValue())
+                    s = withoutEdge(s, e.getKey(), to);
+            for (V v : delta.getAddedVertices())
+                s = withVertex(s, v);
+            for (Map.Entry<V, Set<V>> e : delta.getAddedEdges().entrySet())
+                for (V to : e.getValue())
+                    s = withEdge(s, e.getKey(), to);
+            return s;
+        });
+    }
+
+    @Override
+    public void addEdges(Collection<Edge<V>> edges) {
+        apply(new GraphDelta<V>().addEdges(edges));
+    }
+
+    @Override
+    public void removeEdges(Collection<Edge<V>> edges) {
+        apply(new GraphDelta<V>().removeEdges(edges));
+    }
+
+    private interface Change<V> {
+        GraphSnapshot<V> applyTo(GraphSnapshot<V> version);
+    }
+
+    /**
+     * Publishes the result of 'change', retrying against the newest
+     * version until the compare-and-set succeeds.
+     */
+    private void update(Change<V> change) {
+        while (true) {
+            GraphSnapshot<V> version = current.get();
+            GraphSnapshot<V> next = change.applyTo(version);
+            if (next == version || current.compareAndSet(version, next))
+                return;
+        }
+    }
+
+    private static <V> GraphSnapshot<V> withVertex(GraphSnapshot<V> s, V vertex) {
+        if (s.vertices().get(vertex) != null)
+            return s;
+        return new GraphSnapshot<V>(s.vertices().put(vertex, Adjacency.EMPTY), s.numEdges());
+    }
+
+    private static <V> GraphSnapshot<V> withEdge(GraphSnapshot<V> s, V from, V to) {
+        PersistentMap<V, Adjacency> map = s.vertices();
+        Adjacency a = map.get(from);
+        if (a == null)
+            a = Adjacency.EMPTY;
+        else if (a.hasOut(to))
+            return s;
+        a = a.withOut(to);
+        if (from.equals(to)) {
+            map = map.put(from, a.withIn(from));
+        }
+        else {
+            map = map.put(from, a);
+            Adjacency b = map.get(to);
+            map = map.put(to, (b == null ? Adjacency.EMPTY : b).withIn(from));
+        }
+        return new GraphSnapshot<V>(map, s.numEdges() + 1);
+    }
+
+    private static <V> GraphSnapshot<V> withoutEdge(GraphSnapshot<V> s, V from, V to) {
+        PersistentMap<V, Adjacency> map = s.vertices();
+        Adjacency a = map.get(from);
+        if (a == null || !a.hasOut(to))
+            return s;
+        a = a.withoutOut(to);
+        if (from.equals(to)) {
+            map = map.put(from, a.withoutIn(from));
+        }
+        else {
+            map = map.put(from, a);
+            map = map.put(to, map.get(to).withoutIn(from));
+        }
+        return new GraphSnapshot<V>(map, s.numEdges() - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> GraphSnapshot<V> withoutVertex(GraphSnapshot<V> s, V vertex) {
+        PersistentMap<V, Adjacency> map = s.vertices();
+        Adjacency a = map.get(vertex);
+        if (a == null)
+            return s;
+        int removed = a.out.length + a.in.length;
+        map = map.remove(vertex);
+        for (Object u : a.in) {
+            if (u.equals(vertex))
+                removed--;
+            else
+                map = map.put((V) u, map.get(u).withoutOut(vertex));
+        }
+        for (Object w : a.out) {
+            if (!w.equals(vertex))
+                map = map.put((V) w, map.get(w).withoutIn(vertex));
+        }
+        return new GraphSnapshot<V>(map, s.numEdges() - removed);
+    }
+}
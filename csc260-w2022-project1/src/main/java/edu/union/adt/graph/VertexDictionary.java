@@ -0,0 +1,282 @@
+package edu.union.adt.graph;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Interns strings as dense int ids, 0, 1, 2, ... in the order they are
+ * first seen.  The strings are kept as UTF-8 bytes, back to back in a
+ * single byte array, rather than as String objects: an ASCII name costs
+ * its length in bytes plus 24 to 40 bytes of bookkeeping: a 4-byte
+ * offset, a 4-byte cached hash and 16 to 32 bytes of hash-table slots,
+ * since the table of 8-byte slots is kept at most half full.  A String
+ * costs about 40 bytes of object and array headers on a 64-bit JVM, and
+ * a HashMap entry of 32 bytes or more on top of that to look it up, so
+ * the saving is in objects more than in bytes per name.
+ * {@link #footprint} reports the actual total.
+ *
+ * Lookups hash with String.hashCode, which the String caches, and
+ * resolve collisions by linear probing in a long table whose slots
+ * hold each string's hash beside its id, so a probe only touches the
+ * stored bytes when the hashes match.  The bytes are then compared
+ * with the string's characters directly, so no bytes are encoded or
+ * objects made to look a string up.
+ *
+ * Each string also has one mark bit, kept in its table slot, so that
+ * {@link #findMarked} answers "is this string present and marked" with
+ * the same single probe as {@link #find}.  StringGraph marks the names
+ * of the vertices currently in the graph.
+ *
+ * Ids are never reused: a dictionary only grows.  Not safe for
+ * concurrent use.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class VertexDictionary {
+    /** A slot's low 32 bits: the id plus one (0 for an empty slot), and the mark. */
+    private static final long ID_BITS = 0x7FFFFFFFL;
+    private static final long MARK = 0x80000000L;
+
+    private byte[] arena;
+    private int arenaSize;
+    private int[] starts;
+    private int[] hashes;
+    private long[] table;
+    private int size;
+
+    /**
+     * Create an empty dictionary.
+     */
+    public VertexDictionary() {
+        this(16);
+    }
+
+    /**
+     * Create an empty dictionary sized for some number of strings.
+     *
+     * @param expectedSize the expected number of strings
+     */
+    public VertexDictionary(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        arena = new byte[capacity * 8];
+        starts = new int[capacity + 1];
+        hashes = new int[capacity];
+        table = new long[tableSizeFor(capacity)];
+    }
+
+    private static int tableSizeFor(int entries) {
+        return Integer.highestOneBit(Math.max(16, entries * 2 - 1)) << 1;
+    }
+
+    /**
+     * @return the number of strings interned.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of bytes of UTF-8 text stored.
+     */
+    public long textBytes() {
+        return arenaSize;
+    }
+
+    /**
+     * @return the approximate heap footprint of the dictionary's
+     * arrays, in bytes.
+     */
+    public long footprint() {
+        return arena.length + 4L * (starts.length + hashes.length) + 8L * table.length;
+    }
+
+    /**
+     * @param s a string
+     * @return the id of 's', interning it first if it is new.
+     */
+    public int intern(String s) {
+        int hash = s.hashCode();
+        int slot = slotOf(s, hash);
+        if (table[slot] != 0)
+            return id(table[slot]);
+        int id = append(s, hash);
+        table[slot] = ((long) hash << 32) | (id + 1);
+        if (size * 2 > table.length)
+            rehash();
+        return id;
+    }
+
+    /**
+     * @param s a string
+     * @return the id of 's', or -1 if it has not been interned.
+     */
+    public int find(String s) {
+        if (s == null)
+            return -1;
+        long entry = table[slotOf(s, s.hashCode())];
+        return entry == 0 ? -1 : id(entry);
+    }
+
+    /**
+     * @param s a string
+     * @return the id of 's', or -1 if it has not been interned or is
+     * not marked.
+     */
+    public int findMarked(String s) {
+        if (s == null)
+            return -1;
+        long entry = table[slotOf(s, s.hashCode())];
+        return (entry & MARK) == 0 ? -1 : id(entry);
+    }
+
+    /**
+     * Sets or clears the mark of an interned string.
+     *
+     * @param id the string's id
+     * @param marked the new mark
+     * @throws IndexOutOfBoundsException if no string has that id
+     */
+    public void setMarked(int id, boolean marked) {
+        if (id < 0 || id >= size)
+            throw new IndexOutOfBoundsException("no string with id " + id);
+        int mask = table.length - 1;
+        int slot = mix(hashes[id]) & mask;
+        while (id(table[slot]) != id)
+            slot = (slot + 1) & mask;
+        table[slot] = marked ? table[slot] | MARK : table[slot] & ~MARK;
+    }
+
+    /**
+     * @param id an id
+     * @return true iff the string with that id is marked.
+     */
+    public boolean isMarked(int id) {
+        if (id < 0 || id >= size)
+            return false;
+        int mask = table.length - 1;
+        int slot = mix(hashes[id]) & mask;
+        while (id(table[slot]) != id)
+            slot = (slot + 1) & mask;
+        return (table[slot] & MARK) != 0;
+    }
+
+    /**
+     * @return the slot holding 's', or the empty slot where it would
+     * go.
+     */
+    private int slotOf(String s, int hash) {
+        int mask = table.length - 1;
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            long entry = table[slot];
+            if (entry == 0 || ((int) (entry >>> 32) == hash && matches(id(entry), s)))
+                return slot;
+        }
+    }
+
+    /** @return the id in a non-empty slot, or -1 for an empty one. */
+    private static int id(long entry) {
+        return (int) (entry & ID_BITS) - 1;
+    }
+
+    /**
+     * @param id an id
+     * @return the string with that id, decoded from the arena.  Each
+     * call makes a new String.
+     * @throws IndexOutOfBoundsException if no string has that id
+     */
+    public String get(int id) {
+        if (id < 0 || id >= size)
+            throw new IndexOutOfBoundsException("no string with id " + id);
+        return new String(arena, starts[id], starts[id + 1] - starts[id], StandardCharsets.UTF_8);
+    }
+
+    private int append(String s, int hash) {
+        if (size == hashes.length) {
+            hashes = Arrays.copyOf(hashes, size * 2);
+            starts = Arrays.copyOf(starts, size * 2 + 1);
+        }
+        int start = arenaSize;
+        int length = s.length();
+        ensureArena(start + length);
+        boolean ascii = true;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                ascii = false;
+                break;
+            }
+            arena[start + i] = (byte) c;
+        }
+        int end = start + length;
+        if (!ascii) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            ensureArena(start + bytes.length);
+            System.arraycopy(bytes, 0, arena, start, bytes.length);
+            end = start + bytes.length;
+        }
+        arenaSize = end;
+        hashes[size] = hash;
+        starts[size + 1] = end;
+        return size++;
+    }
+
+    private void ensureArena(int needed) {
+        if (needed > arena.length)
+            arena = Arrays.copyOf(arena, Math.max(needed, arena.length * 2));
+    }
+
+    /**
+     * @return true iff the bytes stored for 'id' are the UTF-8
+     * encoding of 's'.  ASCII text is compared character by character
+     * in place; anything else is encoded and compared.
+     */
+    private boolean matches(int id, String s) {
+        int start = starts[id];
+        int length = starts[id + 1] - start;
+        int n = s.length();
+        if (length < n)
+            return false;
+        if (length == n) {
+            boolean ascii = true;
+            for (int i = 0; i < n; i++) {
+                int b = arena[start + i];
+                char c = s.charAt(i);
+                if (b < 0 || c >= 0x80) {
+                    ascii = false;
+                    break;
+                }
+                if (b != c)
+                    return false;
+            }
+            if (ascii)
+                return true;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length != length)
+            return false;
+        for (int i = 0; i < length; i++)
+            if (arena[start + i] != bytes[i])
+                return false;
+        return true;
+    }
+
+    private void rehash() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        int mask = table.length - 1;
+        for (long entry : old) {
+            if (entry == 0)
+                continue;
+            int slot = mix((int) (entry >>> 32)) & mask;
+            while (table[slot] != 0)
+                slot = (slot + 1) & mask;
+            table[slot] = entry;
+        }
+    }
+
+    /** Spreads the high bits of a String hash into the low ones. */
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
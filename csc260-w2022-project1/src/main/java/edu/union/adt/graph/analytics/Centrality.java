@@ -0,0 +1,171 @@
+package edu.union.adt.graph.analytics;
+
+import edu.union.adt.graph.CsrView;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Degree and betweenness centrality over a {@link CsrView}.  Scores are
+ * returned as double[] indexed by the view's vertex ids; use
+ * {@link #toMap} to key them by vertex.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class Centrality {
+    private Centrality() {
+    }
+
+    /**
+     * @param view a graph
+     * @return each vertex's out-degree divided by n - 1.
+     */
+    public static double[] outDegree(CsrView<?> view) {
+        int n = view.numVertices();
+        double[] scores = new double[n];
+        for (int v = 0; v < n; v++)
+            scores[v] = view.outDegree(v) / (double) Math.max(1, n - 1);
+        return scores;
+    }
+
+    /**
+     * @param view a graph
+     * @return each vertex's in-degree divided by n - 1.
+     */
+    public static double[] inDegree(CsrView<?> view) {
+        int n = view.numVertices();
+        double[] scores = new double[n];
+        for (int v = 0; v < n; v++)
+            scores[v] = view.inDegree(v) / (double) Math.max(1, n - 1);
+        return scores;
+    }
+
+    /**
+     * Betweenness centrality on the common fork-join pool.
+     *
+     * @param view a graph
+     * @param normalized if true, scores are divided by (n-1)(n-2),
+     * the number of ordered pairs of other vertices
+     * @return the betweenness of each vertex
+     */
+    public static double[] betweenness(CsrView<?> view, boolean normalized) {
+        return betweenness(view, normalized, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Betweenness centrality with Brandes' algorithm: one breadth-first
+     * search per source, followed by a pass back over the search order
+     * that accumulates each vertex's share of the shortest paths.
+     * Sources are split into ranges and run in parallel; each task
+     * keeps its own scratch arrays and partial scores, which are summed
+     * at the end.  Takes O(V E) time.
+     *
+     * @param view a graph
+     * @param normalized if true, scores are divided by (n-1)(n-2),
+     * the number of ordered pairs of other vertices
+     * @param pool the pool to run on
+     * @return the betweenness of each vertex
+     */
+    public static double[] betweenness(final CsrView<?> view, boolean normalized, ForkJoinPool pool) {
+        final int n = view.numVertices();
+        if (n == 0)
+            return new double[0];
+        final int[] offsets = view.offsets();
+        final int[] targets = view.targets();
+        final int[] inOffsets = view.inOffsets();
+        final int[] inSources = view.inSources();
+        int grain = Parallel.grain(pool, n, 1);
+        double[] scores = Parallel.reduce(pool, n, grain, new Parallel.RangeResult<double[]>() {
+            @Override
+            public double[] compute(int from, int to) {
+                double[] partial = new double[n];
+                int[] order = new int[n];
+                int[] distance = new int[n];
+                double[] paths = new double[n];
+                double[] dependency = new double[n];
+                Arrays.fill(distance, -1);
+                for (int s = from; s < to; s++) {
+                    int count = brandes(s, offsets, targets, inOffsets, inSources,
+                                        order, distance, paths, dependency, partial);
+                    for (int i = 0; i < count; i++) {
+                        int v = order[i];
+                        distance[v] = -1;
+                        paths[v] = 0;
+                        dependency[v] = 0;
+                    }
+                }
+                return partial;
+            }
+
+            @Override
+            public double[] combine(double[] left, double[] right) {
+                for (int v = 0; v < n; v++)
+                    left[v] += right[v];
+                return left;
+            }
+        });
+        if (normalized && n > 2) {
+            double scale = 1.0 / ((double) (n - 1) * (n - 2));
+            for (int v = 0; v < n; v++)
+                scores[v] *= scale;
+        }
+        return scores;
+    }
+
+    /**
+     * Runs one source of Brandes' algorithm and adds its dependencies
+     * to 'scores'.
+     *
+     * @return the number of vertices reached, whose scratch entries
+     * must be reset before the next source.
+     */
+    private static int brandes(int s, int[] offsets, int[] targets, int[] inOffsets, int[] inSources,
+                               int[] order, int[] distance, double[] paths, double[] dependency,
+                               double[] scores) {
+        int head = 0;
+        int tail = 0;
+        order[tail++] = s;
+        distance[s] = 0;
+        paths[s] = 1;
+        while (head < tail) {
+            int v = order[head++];
+            int next = distance[v] + 1;
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int w = targets[i];
+                if (distance[w] < 0) {
+                    distance[w] = next;
+                    order[tail++] = w;
+                }
+                if (distance[w] == next)
+                    paths[w] += paths[v];
+            }
+        }
+        for (int i = tail - 1; i > 0; i--) {
+            int w = order[i];
+            int previous = distance[w] - 1;
+            double share = (1 + dependency[w]) / paths[w];
+            for (int j = inOffsets[w]; j < inOffsets[w + 1]; j++) {
+                int v = inSources[j];
+                if (distance[v] == previous)
+                    dependency[v] += paths[v] * share;
+            }
+            scores[w] += dependency[w];
+        }
+        return tail;
+    }
+
+    /**
+     * @param view the graph the scores were computed on
+     * @param scores scores indexed by the view's vertex ids
+     * @return a map from each vertex to its score.
+     */
+    public static <V> Map<V, Double> toMap(CsrView<V> view, double[] scores) {
+        Map<V, Double> map = new HashMap<V, Double>();
+        for (int v = 0; v < scores.length; v++)
+            map.put(view.vertex(v), scores[v]);
+        return map;
+    }
+}
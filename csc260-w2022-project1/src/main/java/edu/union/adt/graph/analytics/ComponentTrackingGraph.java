@@ -0,0 +1,301 @@
+package edu.union.adt.graph.analytics;
+
+import edu.union.adt.graph.Edge;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphDelta;
+import edu.union.adt.graph.Subgraph;
+import edu.union.adt.graph.TraversalStats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A Graph that forwards every call to another graph and keeps its
+ * weakly connected components up to date as vertices and edges are
+ * added, so that {@link #connected} and {@link #numComponents} are
+ * answered in near-constant time instead of by a search.
+ *
+ * Additions update a union-find in place.  A union-find cannot split
+ * a set, so removing an edge or a vertex marks the components stale,
+ * and the next query rebuilds them from the wrapped graph in
+ * O(V + E).  Workloads that mostly add are cheap; workloads that
+ * interleave removals with queries pay for a rebuild each time.
+ *
+ * Like the graphs it wraps, this class is not safe for concurrent
+ * use; wrap it with Graphs.synchronizedGraph if it must be shared.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public class ComponentTrackingGraph<V> implements Graph<V> {
+    private final Graph<V> graph;
+    private Map<V, Integer> ids;
+    private List<V> byId;
+    private UnionFind sets;
+    private int components;
+    private boolean stale;
+
+    /**
+     * Create a graph that tracks the components of another one.
+     *
+     * @param graph the graph to forward calls to; it may already have
+     * vertices and edges
+     */
+    public ComponentTrackingGraph(Graph<V> graph) {
+        this.graph = graph;
+        rebuild();
+    }
+
+    /**
+     * @return the graph being tracked.
+     */
+    public Graph<V> getDelegate() {
+        return graph;
+    }
+
+    /**
+     * @return true iff both vertices are in the graph and connected
+     * when edge direction is ignored.
+     */
+    public boolean connected(V a, V b) {
+        refresh();
+        Integer x = ids.get(a);
+        Integer y = ids.get(b);
+        return x != null && y != null && sets.connected(x, y);
+    }
+
+    /**
+     * @return the number of weakly connected components.
+     */
+    public int numComponents() {
+        refresh();
+        return components;
+    }
+
+    /**
+     * @return the weakly connected components as they are now.  Takes
+     * O(V) time to copy.
+     */
+    public Components<V> components() {
+        refresh();
+        final Map<V, Integer> index = new HashMap<V, Integer>(ids);
+        int[] labels = new int[byId.size()];
+        int count = sets.label(labels);
+        return new Components<V>(new ArrayList<V>(byId), v -> {
+            Integer id = index.get(v);
+            return id == null ? -1 : id;
+        }, labels, count);
+    }
+
+    private void refresh() {
+        if (stale)
+            rebuild();
+    }
+
+    private void rebuild() {
+        int n = graph.numVertices();
+        ids = new HashMap<V, Integer>(Math.max(16, (int) (n / 0.75f) + 1));
+        byId = new ArrayList<V>(n);
+        sets = new UnionFind(Math.max(16, n));
+        components = 0;
+        for (V v : graph.getVertices())
+            track(v);
+        for (V v : byId)
+            for (V w : graph.adjacentTo(v))
+                if (ids.containsKey(w))
+                    link(v, w);
+        stale = false;
+    }
+
+    private int track(V vertex) {
+        Integer id = ids.get(vertex);
+        if (id != null)
+            return id;
+        id = byId.size();
+        if (id == sets.size())
+            sets = new UnionFind(sets, id * 2);
+        ids.put(vertex, id);
+        byId.add(vertex);
+        components++;
+        return id;
+    }
+
+    private void link(V from, V to) {
+        // track may replace 'sets' with a larger union-find, so both
+        // ids must be in hand before 'sets' is read
+        int x = track(from);
+        int y = track(to);
+        if (sets.union(x, y))
+            components--;
+    }
+
+    @Override
+    public int numVertices() {
+        return graph.numVertices();
+    }
+
+    @Override
+    public int numEdges() {
+        return graph.numEdges();
+    }
+
+    @Override
+    public int degree(V vertex) {
+        return graph.degree(vertex);
+    }
+
+    @Override
+    public void addEdge(V from, V to) {
+        graph.addEdge(from, to);
+        if (!stale)
+            link(from, to);
+    }
+
+    @Override
+    public void addVertex(V vertex) {
+        graph.addVertex(vertex);
+        if (!stale)
+            track(vertex);
+    }
+
+    @Override
+    public Iterable<V> getVertices() {
+        return graph.getVertices();
+    }
+
+    @Override
+    public Iterable<V> adjacentTo(V from) {
+        return graph.adjacentTo(from);
+    }
+
+    @Override
+    public boolean contains(V vertex) {
+        return graph.contains(vertex);
+    }
+
+    @Override
+    public boolean hasEdge(V from, V to) {
+        return graph.hasEdge(from, to);
+    }
+
+    @Override
+    public String toString() {
+        return graph.toString();
+    }
+
+    /**
+     * @return true iff the tracked graphs are equal.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof ComponentTrackingGraph)
+            other = ((ComponentTrackingGraph<?>) other).graph;
+        return graph.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return graph.hashCode();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return graph.isEmpty();
+    }
+
+    @Override
+    public void removeVertex(V toRemove) {
+        if (graph.contains(toRemove)) {
+            graph.removeVertex(toRemove);
+            stale = true;
+        }
+    }
+
+    @Override
+    public void removeEdge(V from, V to) {
+        if (graph.contains(from) && graph.hasEdge(from, to)) {
+            graph.removeEdge(from, to);
+            stale = true;
+        }
+    }
+
+    @Override
+    public boolean hasPath(V from, V to) {
+        return graph.hasPath(from, to);
+    }
+
+    @Override
+    public int pathLength(V from, V to) {
+        return graph.pathLength(from, to);
+    }
+
+    @Override
+    public Iterable<V> getPath(V from, V to) {
+        return graph.getPath(from, to);
+    }
+
+    @Override
+    public boolean hasPath(V from, V to, TraversalStats stats) {
+        return graph.hasPath(from, to, stats);
+    }
+
+    @Override
+    public int pathLength(V from, V to, TraversalStats stats) {
+        return graph.pathLength(from, to, stats);
+    }
+
+    @Override
+    public Iterable<V> getPath(V from, V to, TraversalStats stats) {
+        return graph.getPath(from, to, stats);
+    }
+
+    @Override
+    public void addEdges(Collection<Edge<V>> edges) {
+        apply(new GraphDelta<V>().addEdges(edges));
+    }
+
+    @Override
+    public void removeEdges(Collection<Edge<V>> edges) {
+        apply(new GraphDelta<V>().removeEdges(edges));
+    }
+
+    /**
+     * Applies a batch of changes to the wrapped graph.  A batch that
+     * only adds is folded into the components; one that removes
+     * anything marks them stale.
+     *
+     * @param delta the changes to apply
+     */
+    @Override
+    public void apply(GraphDelta<V> delta) {
+        graph.apply(delta);
+        if (!delta.getRemovedVertices().isEmpty() || delta.numRemovedEdges() > 0)
+            stale = true;
+        if (stale)
+            return;
+        for (V v : delta.getAddedVertices())
+            track(v);
+        for (Map.Entry<V, Set<V>> e : delta.getAddedEdges().entrySet())
+            for (V to : e.getValue())
+                link(e.getKey(), to);
+    }
+
+    @Override
+    public Graph<V> snapshot() {
+        return graph.snapshot();
+    }
+
+    @Override
+    public Subgraph<V> kHop(V source, int k) {
+        return graph.kHop(source, k);
+    }
+
+    @Override
+    public Subgraph<V> inducedSubgraph(Collection<V> vertices) {
+        return graph.inducedSubgraph(vertices);
+    }
+}
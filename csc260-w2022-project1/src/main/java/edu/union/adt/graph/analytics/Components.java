@@ -0,0 +1,101 @@
+package edu.union.adt.graph.analytics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * A partition of a graph's vertices into connected components.
+ * Components are numbered 0..count()-1 in order of the first vertex
+ * (by id) they contain.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class Components<V> {
+    private final List<V> vertices;
+    private final ToIntFunction<V> index;
+    private final int[] labels;
+    private final int[] sizes;
+
+    Components(List<V> vertices, ToIntFunction<V> index, int[] labels, int count) {
+        this.vertices = vertices;
+        this.index = index;
+        this.labels = labels;
+        this.sizes = new int[count];
+        for (int label : labels)
+            sizes[label]++;
+    }
+
+    /**
+     * @return the number of components.
+     */
+    public int count() {
+        return sizes.length;
+    }
+
+    /**
+     * @param vertex a vertex
+     * @return the number of the component containing 'vertex', or -1
+     * if it is not in the graph.
+     */
+    public int componentOf(V vertex) {
+        int v = index.applyAsInt(vertex);
+        return v < 0 ? -1 : labels[v];
+    }
+
+    /**
+     * @return true iff both vertices are in the graph and in the same
+     * component.
+     */
+    public boolean connected(V a, V b) {
+        int c = componentOf(a);
+        return c >= 0 && c == componentOf(b);
+    }
+
+    /**
+     * @param component a component number
+     * @return the number of vertices in that component.
+     */
+    public int size(int component) {
+        return sizes[component];
+    }
+
+    /**
+     * @return the number of the component with the most vertices, or
+     * -1 if there are none.
+     */
+    public int largest() {
+        int best = -1;
+        for (int c = 0; c < sizes.length; c++)
+            if (best < 0 || sizes[c] > sizes[best])
+                best = c;
+        return best;
+    }
+
+    /**
+     * @param component a component number
+     * @return the vertices in that component.  Takes O(V) time.
+     */
+    public List<V> members(int component) {
+        List<V> members = new ArrayList<V>(sizes[component]);
+        for (int v = 0; v < labels.length; v++)
+            if (labels[v] == component)
+                members.add(vertices.get(v));
+        return members;
+    }
+
+    /**
+     * @return every component, largest first.
+     */
+    public List<List<V>> all() {
+        List<List<V>> all = new ArrayList<List<V>>(sizes.length);
+        for (int c = 0; c < sizes.length; c++)
+            all.add(new ArrayList<V>(sizes[c]));
+        for (int v = 0; v < labels.length; v++)
+            all.get(labels[v]).add(vertices.get(v));
+        Collections.sort(all, (a, b) -> b.size() - a.size());
+        return all;
+    }
+}
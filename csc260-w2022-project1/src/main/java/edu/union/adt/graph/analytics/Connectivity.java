@@ -0,0 +1,62 @@
+package edu.union.adt.graph.analytics;
+
+import edu.union.adt.graph.CsrView;
+import edu.union.adt.graph.Graph;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Weakly connected components: the parts of a directed graph that are
+ * connected when edge direction is ignored.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class Connectivity {
+    private Connectivity() {
+    }
+
+    /**
+     * @param graph a graph
+     * @return the weakly connected components of 'graph'.
+     */
+    public static <V> Components<V> connectedComponents(Graph<V> graph) {
+        return connectedComponents(CsrView.of(graph));
+    }
+
+    /**
+     * Weakly connected components on the common fork-join pool.
+     *
+     * @param view a graph
+     * @return the weakly connected components of 'view'.
+     */
+    public static <V> Components<V> connectedComponents(CsrView<V> view) {
+        return connectedComponents(view, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Weakly connected components with a lock-free union-find.  The
+     * source vertices are split into ranges, and each task unions
+     * every edge out of its range; since union is safe from any
+     * thread, no merging step is needed.  Takes O(E alpha(V)) work
+     * plus O(V) to label the result.
+     *
+     * @param view a graph
+     * @param pool the pool to run on
+     * @return the weakly connected components of 'view'.
+     */
+    public static <V> Components<V> connectedComponents(CsrView<V> view, ForkJoinPool pool) {
+        int n = view.numVertices();
+        final int[] offsets = view.offsets();
+        final int[] targets = view.targets();
+        final UnionFind sets = new UnionFind(n);
+        Parallel.forEach(pool, n, (from, to) -> {
+            for (int u = from; u < to; u++)
+                for (int i = offsets[u]; i < offsets[u + 1]; i++)
+                    sets.union(u, targets[i]);
+        });
+        int[] labels = new int[n];
+        int count = sets.label(labels);
+        return new Components<V>(view.vertices(), view::indexOf, labels, count);
+    }
+}
@@ -0,0 +1,102 @@
+package edu.union.adt.graph.analytics;
+
+import edu.union.adt.graph.CsrView;
+import edu.union.adt.graph.events.ObservableGraph;
+
+/**
+ * Keeps a {@link DistanceMatrix} and a {@link LandmarkOracle} for a
+ * graph that changes.  Each is built on first use from a snapshot of
+ * the graph and kept with the graph's version; when a change made
+ * through the ObservableGraph moves the version on, the next call
+ * throws it away and builds a new one.  A graph that changes between
+ * every pair of queries gains nothing; one that is queried in bursts
+ * pays for one build per burst.
+ *
+ * Changes made to the wrapped graph directly, rather than through the
+ * ObservableGraph, are not seen.  Safe for use by several threads at
+ * once; a build holds the graph's lock only while it is copied.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public class DistanceIndex<V> {
+    private final ObservableGraph<V> graph;
+    private DistanceMatrix<V> matrix;
+    private long matrixVersion;
+    private LandmarkOracle<V> oracle;
+    private long oracleVersion;
+    private int oracleLandmarks;
+    private int builds;
+
+    /**
+     * @param graph the graph to answer distance queries on
+     */
+    public DistanceIndex(ObservableGraph<V> graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * @return the graph being indexed.
+     */
+    public ObservableGraph<V> getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return the distance matrix of the graph as it is now, built
+     * again if the graph has changed since it was last asked for.
+     * @throws IllegalArgumentException if the graph has more than
+     * DistanceMatrix.MAX_VERTICES vertices
+     */
+    public synchronized DistanceMatrix<V> matrix() {
+        if (matrix != null && matrixVersion == graph.version())
+            return matrix;
+        long version;
+        CsrView<V> view;
+        synchronized (graph) {
+            version = graph.version();
+            view = CsrView.of(graph);
+        }
+        matrix = DistanceMatrix.of(view);
+        matrixVersion = version;
+        builds++;
+        return matrix;
+    }
+
+    /**
+     * @param landmarks how many landmarks to use
+     * @return a landmark oracle for the graph as it is now, built
+     * again if the graph has changed or a different number of
+     * landmarks is asked for.
+     */
+    public synchronized LandmarkOracle<V> oracle(int landmarks) {
+        if (oracle != null && oracleVersion == graph.version() && oracleLandmarks == landmarks)
+            return oracle;
+        long version;
+        CsrView<V> view;
+        synchronized (graph) {
+            version = graph.version();
+            view = CsrView.of(graph);
+        }
+        oracle = LandmarkOracle.of(view, landmarks);
+        oracleVersion = version;
+        oracleLandmarks = landmarks;
+        builds++;
+        return oracle;
+    }
+
+    /**
+     * @return the exact length of the shortest path from 'from' to
+     * 'to', from the distance matrix.
+     */
+    public int pathLength(V from, V to) {
+        return matrix().distance(from, to);
+    }
+
+    /**
+     * @return how many matrices and oracles have been built.
+     */
+    public synchronized int getBuildCount() {
+        return builds;
+    }
+}
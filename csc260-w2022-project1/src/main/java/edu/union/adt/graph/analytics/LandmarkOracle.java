@@ -0,0 +1,197 @@
+package edu.union.adt.graph.analytics;
+
+import edu.union.adt.graph.CsrView;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Approximate distances for graphs too large for a
+ * {@link DistanceMatrix}.  A few landmark vertices are chosen, the
+ * ones with the most edges, and a breadth-first search from each, and
+ * one over reversed edges to each, records every vertex's distance
+ * from and to it.  That is 2 k searches and 2 k ints per vertex,
+ * instead of V searches and V shorts per vertex.
+ *
+ * A query then costs O(k) and is answered with two bounds, by the
+ * triangle inequality through each landmark L:
+ *
+ * <ul>
+ * <li>upper: d(a, L) + d(L, b), the length of a real path through L
+ * <li>lower: d(L, b) - d(L, a) and d(a, L) - d(b, L)
+ * </ul>
+ *
+ * The true distance lies between them, so upperBound - lowerBound
+ * bounds the error of using either.  Both are exact when a landmark
+ * is on a shortest path, which is why well-connected vertices make
+ * good landmarks.  The oracle can also prove that there is no path,
+ * when some landmark reaches 'a' but not 'b', or 'b' reaches a
+ * landmark that 'a' does not.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class LandmarkOracle<V> {
+    private final CsrView<V> view;
+    private final int[] landmarks;
+    private final int[][] from;
+    private final int[][] to;
+
+    private LandmarkOracle(CsrView<V> view, int[] landmarks, int[][] from, int[][] to) {
+        this.view = view;
+        this.landmarks = landmarks;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Builds an oracle on the common fork-join pool.
+     *
+     * @param view a graph
+     * @param count how many landmarks to use
+     * @return the oracle
+     */
+    public static <V> LandmarkOracle<V> of(CsrView<V> view, int count) {
+        return of(view, count, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Builds an oracle with the 'count' vertices of highest in- plus
+     * out-degree as landmarks, searching from and to each of them in
+     * parallel.  Takes O(count (V + E)) time.
+     *
+     * @param view a graph
+     * @param count how many landmarks to use; fewer if the graph has
+     * fewer vertices
+     * @param pool the pool to run on
+     * @return the oracle
+     * @throws IllegalArgumentException if count is not positive
+     */
+    public static <V> LandmarkOracle<V> of(CsrView<V> view, int count, ForkJoinPool pool) {
+        if (count <= 0)
+            throw new IllegalArgumentException("need at least one landmark: " + count);
+        final int n = view.numVertices();
+        final int[] landmarks = pickLandmarks(view, Math.min(count, n));
+        final int k = landmarks.length;
+        final int[][] from = new int[k][];
+        final int[][] to = new int[k][];
+        final int[] offsets = view.offsets();
+        final int[] targets = view.targets();
+        final int[] inOffsets = view.inOffsets();
+        final int[] inSources = view.inSources();
+        Parallel.forEach(pool, 2 * k, 1, (first, last) -> {
+            int[] queue = new int[n];
+            for (int i = first; i < last; i++) {
+                if (i < k)
+                    from[i] = search(landmarks[i], n, offsets, targets, queue);
+                else
+                    to[i - k] = search(landmarks[i - k], n, inOffsets, inSources, queue);
+            }
+        });
+        return new LandmarkOracle<V>(view, landmarks, from, to);
+    }
+
+    /** @return the ids of the 'count' vertices with the most edges. */
+    private static int[] pickLandmarks(CsrView<?> view, int count) {
+        int n = view.numVertices();
+        long[] keyed = new long[n];
+        for (int v = 0; v < n; v++)
+            keyed[v] = ((long) (view.outDegree(v) + view.inDegree(v)) << 32) | (n - 1 - v);
+        Arrays.sort(keyed);
+        int[] landmarks = new int[count];
+        for (int i = 0; i < count; i++)
+            landmarks[i] = n - 1 - (int) keyed[n - 1 - i];
+        return landmarks;
+    }
+
+    /** @return the distance from 's' to each vertex, or -1 if none. */
+    private static int[] search(int s, int n, int[] offsets, int[] targets, int[] queue) {
+        int[] distance = new int[n];
+        Arrays.fill(distance, -1);
+        distance[s] = 0;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = s;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int w = targets[i];
+                if (distance[w] < 0) {
+                    distance[w] = distance[v] + 1;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * @return the graph the oracle was built on.
+     */
+    public CsrView<V> view() {
+        return view;
+    }
+
+    /**
+     * @return the view ids of the landmarks.
+     */
+    public int[] landmarks() {
+        return landmarks.clone();
+    }
+
+    /**
+     * @return the length of the shortest path from 'a' to 'b' through
+     * some landmark, which is at least the true distance; 0 if they
+     * are the same vertex, and Integer.MAX_VALUE if no landmark is on
+     * a path between them or either is not in the graph.
+     */
+    public int upperBound(V a, V b) {
+        int x = view.indexOf(a);
+        int y = view.indexOf(b);
+        if (x < 0 || y < 0)
+            return Integer.MAX_VALUE;
+        if (x == y)
+            return 0;
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < landmarks.length; i++) {
+            int in = to[i][x];
+            int out = from[i][y];
+            if (in >= 0 && out >= 0)
+                best = Math.min(best, in + out);
+        }
+        return best;
+    }
+
+    /**
+     * @return a distance no greater than the true distance from 'a'
+     * to 'b': 0 if they are the same vertex, at least 1 otherwise, and
+     * Integer.MAX_VALUE if the landmarks show that there is no path or
+     * either vertex is not in the graph.
+     */
+    public int lowerBound(V a, V b) {
+        int x = view.indexOf(a);
+        int y = view.indexOf(b);
+        if (x < 0 || y < 0)
+            return Integer.MAX_VALUE;
+        if (x == y)
+            return 0;
+        int best = 1;
+        for (int i = 0; i < landmarks.length; i++) {
+            int[] out = from[i];
+            if (out[x] >= 0) {
+                // L reaches a, so it reaches everything a does
+                if (out[y] < 0)
+                    return Integer.MAX_VALUE;
+                best = Math.max(best, out[y] - out[x]);
+            }
+            int[] in = to[i];
+            if (in[y] >= 0) {
+                // b reaches L, so everything that reaches b does
+                if (in[x] < 0)
+                    return Integer.MAX_VALUE;
+                best = Math.max(best, in[x] - in[y]);
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,202 @@
+package edu.union.adt.graph.analytics;
+
+import edu.union.adt.graph.CsrView;
+import edu.union.adt.graph.Graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * PageRank by power iteration over a {@link CsrView}.
+ *
+ * Each iteration pulls rank along in-edges into a primitive double[],
+ * in parallel over ranges of vertices on a ForkJoinPool.  The rank of
+ * vertices with no out-edges is spread evenly over every vertex, so
+ * the ranks always sum to 1.  Iteration stops when the L1 distance
+ * between successive rank vectors drops below the tolerance, or after
+ * the maximum number of iterations.
+ *
+ * <PRE>
+ * PageRank.Result&lt;String&gt; result = new PageRank().damping(0.85).run(graph);
+ * double r = result.rank("A");
+ * </PRE>
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class PageRank {
+    private double damping = 0.85;
+    private double tolerance = 1e-9;
+    private int maxIterations = 100;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * @param damping the probability of following an edge rather than
+     * jumping to a random vertex; between 0 and 1
+     * @return this PageRank
+     */
+    public PageRank damping(double damping) {
+        if (damping < 0 || damping > 1)
+            throw new IllegalArgumentException("damping must be between 0 and 1: " + damping);
+        this.damping = damping;
+        return this;
+    }
+
+    /**
+     * @param tolerance the L1 change below which the ranks are
+     * considered converged
+     * @return this PageRank
+     */
+    public PageRank tolerance(double tolerance) {
+        this.tolerance = tolerance;
+        return this;
+    }
+
+    /**
+     * @param maxIterations the most iterations to run
+     * @return this PageRank
+     */
+    public PageRank maxIterations(int maxIterations) {
+        this.maxIterations = maxIterations;
+        return this;
+    }
+
+    /**
+     * @param pool the pool to run the iterations on
+     * @return this PageRank
+     */
+    public PageRank pool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * @param graph the graph to rank
+     * @return the ranks of its vertices
+     */
+    public <V> Result<V> run(Graph<V> graph) {
+        return run(CsrView.of(graph));
+    }
+
+    /**
+     * @param view the graph to rank
+     * @return the ranks of its vertices
+     */
+    public <V> Result<V> run(CsrView<V> view) {
+        final int n = view.numVertices();
+        final int[] offsets = view.offsets();
+        final int[] inOffsets = view.inOffsets();
+        final int[] inSources = view.inSources();
+        double[] rank = new double[n];
+        double[] next = new double[n];
+        final double[] contribution = new double[n];
+        double[] residuals = new double[maxIterations];
+        Arrays.fill(rank, n == 0 ? 0 : 1.0 / n);
+
+        int iterations = 0;
+        boolean converged = n == 0;
+        while (!converged && iterations < maxIterations) {
+            final double[] r = rank;
+            final double[] nx = next;
+            double dangling = Parallel.sum(pool, n, (from, to) -> {
+                double lost = 0;
+                for (int u = from; u < to; u++) {
+                    int degree = offsets[u + 1] - offsets[u];
+                    if (degree == 0) {
+                        contribution[u] = 0;
+                        lost += r[u];
+                    }
+                    else {
+                        contribution[u] = r[u] / degree;
+                    }
+                }
+                return lost;
+            });
+            final double base = (1 - damping) / n + damping * dangling / n;
+            double residual = Parallel.sum(pool, n, (from, to) -> {
+                double change = 0;
+                for (int v = from; v < to; v++) {
+                    double sum = 0;
+                    for (int i = inOffsets[v]; i < inOffsets[v + 1]; i++)
+                        sum += contribution[inSources[i]];
+                    nx[v] = base + damping * sum;
+                    change += Math.abs(nx[v] - r[v]);
+                }
+                return change;
+            });
+            residuals[iterations++] = residual;
+            rank = nx;
+            next = r;
+            converged = residual < tolerance;
+        }
+        return new Result<V>(view, rank, Arrays.copyOf(residuals, iterations), converged);
+    }
+
+    /**
+     * The outcome of a PageRank run, with its convergence history.
+     */
+    public static final class Result<V> {
+        private final CsrView<V> view;
+        private final double[] ranks;
+        private final double[] residuals;
+        private final boolean converged;
+
+        Result(CsrView<V> view, double[] ranks, double[] residuals, boolean converged) {
+            this.view = view;
+            this.ranks = ranks;
+            this.residuals = residuals;
+            this.converged = converged;
+        }
+
+        /**
+         * @param vertex a vertex
+         * @return the rank of 'vertex', or 0 if it is not in the graph.
+         */
+        public double rank(V vertex) {
+            int id = view.indexOf(vertex);
+            return id < 0 ? 0 : ranks[id];
+        }
+
+        /**
+         * @return the ranks indexed by the view's vertex ids.  The
+         * array is the result's own; do not modify it.
+         */
+        public double[] ranks() {
+            return ranks;
+        }
+
+        /**
+         * @return a map from each vertex to its rank.
+         */
+        public Map<V, Double> toMap() {
+            Map<V, Double> map = new HashMap<V, Double>();
+            for (int v = 0; v < ranks.length; v++)
+                map.put(view.vertex(v), ranks[v]);
+            return map;
+        }
+
+        /**
+         * @return the number of iterations run.
+         */
+        public int iterations() {
+            return residuals.length;
+        }
+
+        /**
+         * @return the L1 change of the rank vector in each iteration.
+         */
+        public double[] residuals() {
+            return residuals.clone();
+        }
+
+        /**
+         * @return true iff the ranks converged within the tolerance
+         * before the iteration limit.
+         */
+        public boolean converged() {
+            return converged;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package edu.union.adt.graph.analytics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join helpers that split a range of vertex ids into chunks and
+ * run them in parallel.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+final class Parallel {
+    private static final int MIN_GRAIN = 1024;
+
+    private Parallel() {
+    }
+
+    /** Work on the ids from (inclusive) .. to (exclusive). */
+    interface RangeAction {
+        void run(int from, int to);
+    }
+
+    /** Work on the ids from (inclusive) .. to (exclusive) that yields a sum. */
+    interface RangeSum {
+        double sum(int from, int to);
+    }
+
+    /** Work on a range of ids that yields a partial result to be combined. */
+    interface RangeResult<T> {
+        T compute(int from, int to);
+
+        T combine(T left, T right);
+    }
+
+    /**
+     * @return how many ids each leaf task should handle: enough tasks
+     * to keep every worker busy, but none smaller than 'minimum'.
+     */
+    static int grain(ForkJoinPool pool, int n, int minimum) {
+        return Math.max(minimum, n / (pool.getParallelism() * 8));
+    }
+
+    static void forEach(ForkJoinPool pool, int n, RangeAction action) {
+        forEach(pool, n, grain(pool, n, MIN_GRAIN), action);
+    }
+
+    static void forEach(ForkJoinPool pool, int n, int grain, RangeAction action) {
+        pool.invoke(new Action(action, 0, n, grain));
+    }
+
+    static double sum(ForkJoinPool pool, int n, RangeSum body) {
+        int grain = grain(pool, n, MIN_GRAIN);
+        return pool.invoke(new Sum(body, 0, n, grain));
+    }
+
+    static <T> T reduce(ForkJoinPool pool, int n, int grain, RangeResult<T> body) {
+        return pool.invoke(new Reduce<T>(body, 0, n, grain));
+    }
+
+    private static final class Action extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RangeAction action;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        Action(RangeAction action, int from, int to, int grain) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                action.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Action(action, from, mid, grain), new Action(action, mid, to, grain));
+        }
+    }
+
+    private static final class Sum extends RecursiveTask<Double> {
+        private static final long serialVersionUID = 1L;
+
+        private final RangeSum body;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        Sum(RangeSum body, int from, int to, int grain) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected Double compute() {
+            if (to - from <= grain)
+                return body.sum(from, to);
+            int mid = (from + to) >>> 1;
+            Sum left = new Sum(body, from, mid, grain);
+            left.fork();
+            double right = new Sum(body, mid, to, grain).compute();
+            return left.join() + right;
+        }
+    }
+
+    private static final class Reduce<T> extends RecursiveTask<T> {
+        private static final long serialVersionUID = 1L;
+
+        private final RangeResult<T> body;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        Reduce(RangeResult<T> body, int from, int to, int grain) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from <= grain)
+                return body.compute(from, to);
+            int mid = (from + to) >>> 1;
+            Reduce<T> left = new Reduce<T>(body, from, mid, grain);
+            left.fork();
+            T right = new Reduce<T>(body, mid, to, grain).compute();
+            return body.combine(left.join(), right);
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package edu.union.adt.graph.analytics;
+
+import edu.union.adt.graph.CsrView;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Triangle counting and clustering coefficients over a
+ * {@link CsrView}.  Every count is a sum, over vertices, of the sizes
+ * of intersections of sorted neighbour lists, so no hasEdge lookups
+ * are needed; the vertices are split into ranges and run in parallel.
+ *
+ * Two lists of similar length are intersected by merging them in
+ * O(a + b).  When one list is much longer than the other (a hub
+ * against a leaf, which power-law graphs are full of), each element
+ * of the short list is found in the long one by galloping search
+ * instead, in O(a log(b / a)).
+ *
+ * Undirected counts ignore edge direction and self-loops, and count
+ * a pair of opposite edges once.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class Triangles {
+    /** Lists differing in length by more than this factor are galloped. */
+    private static final int GALLOP_RATIO = 32;
+    private static final int GRAIN = 64;
+
+    private Triangles() {
+    }
+
+    /**
+     * @param view a graph
+     * @return the number of triangles, ignoring edge direction.
+     */
+    public static long count(CsrView<?> view) {
+        return count(view, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Counts triangles, ignoring edge direction.  Each undirected edge
+     * is oriented from the endpoint of lower degree to the one of
+     * higher degree (ties broken by id), and for each oriented edge
+     * (u, v) the out-lists of u and v are intersected.  Each triangle
+     * is found exactly once, and no list is longer than O(sqrt(E)), so
+     * the count takes O(E sqrt(E)) time at worst.
+     *
+     * @param view a graph
+     * @param pool the pool to run on
+     * @return the number of triangles
+     */
+    public static long count(CsrView<?> view, ForkJoinPool pool) {
+        final Adjacency forward = Adjacency.undirected(view).oriented();
+        return sum(pool, view.numVertices(), (from, to) -> {
+            long total = 0;
+            for (int u = from; u < to; u++)
+                for (int i = forward.offsets[u]; i < forward.offsets[u + 1]; i++) {
+                    int v = forward.targets[i];
+                    total += common(forward.targets, forward.offsets[u], forward.offsets[u + 1],
+                                    forward.targets, forward.offsets[v], forward.offsets[v + 1]);
+                }
+            return total;
+        });
+    }
+
+    /**
+     * @param view a graph
+     * @return the number of directed 3-cycles u -> v -> w -> u.
+     */
+    public static long directedCycles(CsrView<?> view) {
+        return directedCycles(view, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Counts directed 3-cycles u -> v -> w -> u.  Each cycle is counted
+     * once, from its smallest vertex u: for each edge (u, v) with
+     * v > u, the out-list of v is intersected with the in-list of u,
+     * both restricted to ids above u.  Self-loops are not cycles.
+     *
+     * @param view a graph
+     * @param pool the pool to run on
+     * @return the number of directed 3-cycles
+     */
+    public static long directedCycles(CsrView<?> view, ForkJoinPool pool) {
+        final int[] offsets = view.offsets();
+        final int[] targets = view.targets();
+        final int[] inOffsets = view.inOffsets();
+        final int[] inSources = view.inSources();
+        return sum(pool, view.numVertices(), (from, to) -> {
+            long total = 0;
+            for (int u = from; u < to; u++) {
+                int inStart = above(inSources, inOffsets[u], inOffsets[u + 1], u);
+                if (inStart == inOffsets[u + 1])
+                    continue;
+                for (int i = above(targets, offsets[u], offsets[u + 1], u); i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    total += common(targets, above(targets, offsets[v], offsets[v + 1], u), offsets[v + 1],
+                                    inSources, inStart, inOffsets[u + 1]);
+                    // w = v is not a cycle, just a self-loop on v
+                    if (view.hasEdge(v, v) && view.hasEdge(v, u))
+                        total--;
+                }
+            }
+            return total;
+        });
+    }
+
+    /**
+     * @param view a graph
+     * @return the number of triangles through each vertex, ignoring
+     * edge direction.
+     */
+    public static long[] perVertex(CsrView<?> view) {
+        return perVertex(view, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Counts the triangles through each vertex.  Triangles are found
+     * as in {@link #count}, from the endpoint u of each oriented edge
+     * (u, v): u's count is kept by the task that owns u, and the
+     * counts of v and of each third vertex w are added atomically.
+     *
+     * @param view a graph
+     * @param pool the pool to run on
+     * @return the number of triangles through each vertex
+     */
+    public static long[] perVertex(CsrView<?> view, ForkJoinPool pool) {
+        final Adjacency forward = Adjacency.undirected(view).oriented();
+        final AtomicLongArray hits = new AtomicLongArray(view.numVertices());
+        Parallel.forEach(pool, view.numVertices(), (from, to) -> {
+            for (int u = from; u < to; u++) {
+                long total = 0;
+                for (int i = forward.offsets[u]; i < forward.offsets[u + 1]; i++) {
+                    int v = forward.targets[i];
+                    long found = common(forward.targets, forward.offsets[u], forward.offsets[u + 1],
+                                        forward.targets, forward.offsets[v], forward.offsets[v + 1], hits);
+                    if (found > 0)
+                        hits.addAndGet(v, found);
+                    total += found;
+                }
+                if (total > 0)
+                    hits.addAndGet(u, total);
+            }
+        });
+        long[] triangles = new long[hits.length()];
+        for (int v = 0; v < triangles.length; v++)
+            triangles[v] = hits.get(v);
+        return triangles;
+    }
+
+    /**
+     * @param view a graph
+     * @return the local clustering coefficient of each vertex.
+     */
+    public static double[] localClustering(CsrView<?> view) {
+        return localClustering(view, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * The local clustering coefficient of a vertex is the fraction of
+     * pairs of its neighbours that are themselves adjacent: its
+     * triangles divided by d(d-1)/2, where d is its degree ignoring
+     * direction.  Vertices with fewer than two neighbours score 0.
+     *
+     * @param view a graph
+     * @param pool the pool to run on
+     * @return the local clustering coefficient of each vertex
+     */
+    public static double[] localClustering(CsrView<?> view, ForkJoinPool pool) {
+        Adjacency adj = Adjacency.undirected(view);
+        long[] triangles = perVertex(view, pool);
+        double[] scores = new double[triangles.length];
+        for (int v = 0; v < scores.length; v++) {
+            long d = adj.degree(v);
+            if (d > 1)
+                scores[v] = triangles[v] / (d * (d - 1) / 2.0);
+        }
+        return scores;
+    }
+
+    /**
+     * @param view a graph
+     * @return the global clustering coefficient.
+     */
+    public static double globalClustering(CsrView<?> view) {
+        return globalClustering(view, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * The global clustering coefficient (transitivity): three times
+     * the number of triangles divided by the number of paths of length
+     * two, ignoring direction.
+     *
+     * @param view a graph
+     * @param pool the pool to run on
+     * @return the global clustering coefficient, or 0 if there are no
+     * paths of length two
+     */
+    public static double globalClustering(CsrView<?> view, ForkJoinPool pool) {
+        Adjacency adj = Adjacency.undirected(view);
+        long wedges = 0;
+        for (int v = 0; v < view.numVertices(); v++) {
+            long d = adj.degree(v);
+            wedges += d * (d - 1) / 2;
+        }
+        return wedges == 0 ? 0 : 3.0 * count(view, pool) / wedges;
+    }
+
+    /** Work on a range of vertex ids that yields a count. */
+    private interface RangeCount {
+        long count(int from, int to);
+    }
+
+    private static long sum(ForkJoinPool pool, int n, final RangeCount body) {
+        if (n == 0)
+            return 0;
+        return Parallel.reduce(pool, n, Parallel.grain(pool, n, GRAIN), new Parallel.RangeResult<Long>() {
+            @Override
+            public Long compute(int from, int to) {
+                return body.count(from, to);
+            }
+
+            @Override
+            public Long combine(Long left, Long right) {
+                return left + right;
+            }
+        });
+    }
+
+    /**
+     * @return the first index in a[from..to) holding a value greater
+     * than 'min', which is 'to' if there is none.
+     */
+    private static int above(int[] a, int from, int to, int min) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] <= min)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * @return the number of values in both sorted ranges a[aFrom..aTo)
+     * and b[bFrom..bTo).
+     */
+    private static long common(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo) {
+        return common(a, aFrom, aTo, b, bFrom, bTo, null);
+    }
+
+    /**
+     * @param hits if not null, the entry for each common value is
+     * incremented
+     * @return the number of values in both sorted ranges a[aFrom..aTo)
+     * and b[bFrom..bTo).
+     */
+    private static long common(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo,
+                               AtomicLongArray hits) {
+        int aSize = aTo - aFrom;
+        int bSize = bTo - bFrom;
+        if (aSize == 0 || bSize == 0)
+            return 0;
+        if (aSize > bSize * GALLOP_RATIO)
+            return gallop(b, bFrom, bTo, a, aFrom, aTo, hits);
+        if (bSize > aSize * GALLOP_RATIO)
+            return gallop(a, aFrom, aTo, b, bFrom, bTo, hits);
+        long count = 0;
+        int i = aFrom;
+        int j = bFrom;
+        while (i < aTo && j < bTo) {
+            if (a[i] < b[j])
+                i++;
+            else if (a[i] > b[j])
+                j++;
+            else {
+                if (hits != null)
+                    hits.incrementAndGet(a[i]);
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Intersects a short sorted range with a long one by searching the
+     * long one for each short value: first doubling the step until it
+     * passes the value, then binary searching the last step.
+     */
+    private static long gallop(int[] small, int sFrom, int sTo, int[] large, int lFrom, int lTo,
+                               AtomicLongArray hits) {
+        long count = 0;
+        int lo = lFrom;
+        for (int i = sFrom; i < sTo && lo < lTo; i++) {
+            int x = small[i];
+            int step = 1;
+            int hi = lo;
+            while (hi < lTo && large[hi] < x) {
+                lo = hi + 1;
+                hi += step;
+                step <<= 1;
+            }
+            hi = Math.min(hi, lTo);
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (large[mid] < x)
+                    lo = mid + 1;
+                else
+                    hi = mid;
+            }
+            if (lo < lTo && large[lo] == x) {
+                if (hits != null)
+                    hits.incrementAndGet(x);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sorted int adjacency lists, built from a view's out- and
+     * in-lists.
+     */
+    private static final class Adjacency {
+        final int[] offsets;
+        final int[] targets;
+
+        private Adjacency(int[] offsets, int[] targets) {
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+
+        int degree(int v) {
+            return offsets[v + 1] - offsets[v];
+        }
+
+        /**
+         * @return each vertex's neighbours ignoring direction: the
+         * merge of its sorted out- and in-lists, without duplicates or
+         * self-loops.
+         */
+        static Adjacency undirected(CsrView<?> view) {
+            int n = view.numVertices();
+            int[] out = view.offsets();
+            int[] outTargets = view.targets();
+            int[] in = view.inOffsets();
+            int[] inSources = view.inSources();
+            int[] offsets = new int[n + 1];
+            int[] targets = new int[2 * view.numEdges()];
+            int m = 0;
+            for (int v = 0; v < n; v++) {
+                offsets[v] = m;
+                int i = out[v];
+                int j = in[v];
+                int last = -1;
+                while (i < out[v + 1] || j < in[v + 1]) {
+                    int next;
+                    if (j == in[v + 1] || (i < out[v + 1] && outTargets[i] <= inSources[j]))
+                        next = outTargets[i++];
+                    else
+                        next = inSources[j++];
+                    if (next != last && next != v)
+                        targets[m++] = next;
+                    last = next;
+                }
+            }
+            offsets[n] = m;
+            return new Adjacency(offsets, targets);
+        }
+
+        /**
+         * @return the lists with each undirected edge kept only at its
+         * endpoint that comes first in (degree, id) order.
+         */
+        Adjacency oriented() {
+            int n = offsets.length - 1;
+            int[] forwardOffsets = new int[n + 1];
+            int[] forwardTargets = new int[offsets[n] / 2];
+            int m = 0;
+            for (int u = 0; u < n; u++) {
+                forwardOffsets[u] = m;
+                int du = degree(u);
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    int dv = degree(v);
+                    if (du < dv || (du == dv && u < v))
+                        forwardTargets[m++] = v;
+                }
+            }
+            forwardOffsets[n] = m;
+            return new Adjacency(forwardOffsets, forwardTargets);
+        }
+    }
+}
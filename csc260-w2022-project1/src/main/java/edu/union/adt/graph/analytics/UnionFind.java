@@ -0,0 +1,124 @@
+package edu.union.adt.graph.analytics;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A disjoint-set forest over the ids 0..n-1 that any number of threads
+ * can update at once without locks.
+ *
+ * A union links the root with the larger id under the root with the
+ * smaller one, with a single compare-and-set that fails if another
+ * thread has linked that root in the meantime, in which case the
+ * union retries from the new roots.  find halves paths as it goes,
+ * also by compare-and-set.  Because every parent pointer only ever
+ * moves to a smaller id, no cycle can form, and the root of each set
+ * is its smallest member.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class UnionFind {
+    private final AtomicIntegerArray parent;
+
+    /**
+     * Create n singleton sets.
+     *
+     * @param n the number of ids
+     */
+    public UnionFind(int n) {
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++)
+            parent.set(i, i);
+    }
+
+    /**
+     * Create a copy of another forest with room for more ids; the new
+     * ids start as singletons.  Not safe while 'other' is being
+     * changed.
+     *
+     * @param other the forest to copy
+     * @param n the number of ids, at least other.size()
+     */
+    public UnionFind(UnionFind other, int n) {
+        this(n);
+        for (int i = 0; i < other.size(); i++)
+            parent.set(i, other.parent.get(i));
+    }
+
+    /**
+     * @return the number of ids.
+     */
+    public int size() {
+        return parent.length();
+    }
+
+    /**
+     * @param x an id
+     * @return the smallest id in the set containing x.
+     */
+    public int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x)
+                return x;
+            int grandparent = parent.get(p);
+            if (grandparent != p)
+                parent.compareAndSet(x, p, grandparent);
+            x = grandparent;
+        }
+    }
+
+    /**
+     * Merges the sets containing two ids.
+     *
+     * @param a an id
+     * @param b an id
+     * @return true iff a and b were in different sets.
+     */
+    public boolean union(int a, int b) {
+        while (true) {
+            a = find(a);
+            b = find(b);
+            if (a == b)
+                return false;
+            if (a < b) {
+                int t = a;
+                a = b;
+                b = t;
+            }
+            if (parent.compareAndSet(a, a, b))
+                return true;
+        }
+    }
+
+    /**
+     * @return true iff a and b are in the same set.
+     */
+    public boolean connected(int a, int b) {
+        while (true) {
+            a = find(a);
+            b = find(b);
+            if (a == b)
+                return true;
+            // a root that is still a root was not merged in between
+            if (parent.get(a) == a)
+                return false;
+        }
+    }
+
+    /**
+     * Numbers the sets 0..count-1 in order of their smallest member.
+     * Not safe while unions are still running.
+     *
+     * @param labels filled with the set number of each id
+     * @return the number of sets
+     */
+    public int label(int[] labels) {
+        int count = 0;
+        for (int i = 0; i < labels.length; i++) {
+            int root = find(i);
+            labels[i] = root == i ? count++ : labels[root];
+        }
+        return count;
+    }
+}
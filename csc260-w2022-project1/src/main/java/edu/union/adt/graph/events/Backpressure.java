@@ -0,0 +1,28 @@
+package edu.union.adt.graph.events;
+
+/**
+ * What an {@link ObservableGraph} does with a change when a
+ * subscriber's buffer is full.  Either way the writer carries on
+ * without waiting.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public enum Backpressure {
+    /**
+     * Discard the event and tell the subscriber how many were lost
+     * (see {@link GraphListener#onDropped}).  Costs nothing extra.
+     */
+    DROP,
+
+    /**
+     * Fold the event into a pending net-effect summary that the
+     * writer hands over once there is room again: adding and then
+     * removing an edge leaves only the removal, and so on (see
+     * {@link edu.union.adt.graph.GraphDelta}).  Nothing is lost, but
+     * the subscriber sees the net change rather than each step, and
+     * the summary costs memory proportional to the vertices and edges
+     * changed while the subscriber is behind.
+     */
+    COALESCE
+}
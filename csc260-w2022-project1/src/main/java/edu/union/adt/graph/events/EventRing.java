@@ -0,0 +1,76 @@
+package edu.union.adt.graph.events;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded single-producer, single-consumer queue in a power-of-two
+ * array.  The producer owns the tail counter and the consumer the head
+ * counter; each publishes its progress with an ordered store after
+ * touching the slots, so neither ever takes a lock or waits.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+final class EventRing<E> {
+    private final Object[] slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param capacity the number of slots, rounded up to a power of two
+     */
+    EventRing(int capacity) {
+        int size = Math.max(2, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+        slots = new Object[size];
+        mask = size - 1;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * @return the number of free slots.  Producer only.
+     */
+    int remaining() {
+        return slots.length - (int) (tail.get() - head.get());
+    }
+
+    boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+
+    /**
+     * Adds an element if there is room.  Producer only.
+     *
+     * @return false if the ring was full
+     */
+    boolean offer(E element) {
+        long t = tail.get();
+        if (t - head.get() == slots.length)
+            return false;
+        slots[(int) t & mask] = element;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Moves up to 'max' elements into a list.  Consumer only.
+     *
+     * @return the number of elements moved
+     */
+    @SuppressWarnings("unchecked")
+    int drain(List<E> into, int max) {
+        long h = head.get();
+        int n = (int) Math.min(max, tail.get() - h);
+        for (int i = 0; i < n; i++) {
+            int slot = (int) (h + i) & mask;
+            into.add((E) slots[slot]);
+            slots[slot] = null;
+        }
+        head.lazySet(h + n);
+        return n;
+    }
+}
@@ -0,0 +1,92 @@
+package edu.union.adt.graph.events;
+
+import java.util.Objects;
+
+/**
+ * One change to an {@link ObservableGraph}: a vertex or edge added or
+ * removed.
+ *
+ * Each change gets the next version number of the graph, so a
+ * subscriber can tell where it is in the stream and whether it missed
+ * anything.  Events that were coalesced under backpressure all carry
+ * the version of the latest change folded into them.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class GraphEvent<V> {
+    /** The kinds of change. */
+    public enum Type {
+        ADD_VERTEX,
+        REMOVE_VERTEX,
+        ADD_EDGE,
+        REMOVE_EDGE;
+
+        /**
+         * @return true iff events of this type name an edge.
+         */
+        public boolean isEdge() {
+            return this == ADD_EDGE || this == REMOVE_EDGE;
+        }
+    }
+
+    private final Type type;
+    private final long version;
+    private final V from;
+    private final V to;
+
+    GraphEvent(Type type, long version, V from, V to) {
+        this.type = type;
+        this.version = version;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * @return the kind of change.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the graph's version after the change.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the vertex added or removed, or the source of the edge.
+     */
+    public V getFrom() {
+        return from;
+    }
+
+    /**
+     * @return the destination of the edge, or null for a vertex event.
+     */
+    public V getTo() {
+        return to;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof GraphEvent))
+            return false;
+        GraphEvent<?> e = (GraphEvent<?>) other;
+        return type == e.type && version == e.version
+            && Objects.equals(from, e.from) && Objects.equals(to, e.to);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, version, from, to);
+    }
+
+    @Override
+    public String toString() {
+        return "#" + version + " " + type + " "
+            + (type.isEdge() ? "(" + from + ", " + to + ")" : String.valueOf(from));
+    }
+}
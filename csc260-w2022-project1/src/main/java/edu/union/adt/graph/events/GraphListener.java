@@ -0,0 +1,32 @@
+package edu.union.adt.graph.events;
+
+import java.util.List;
+
+/**
+ * Receives the changes made to an {@link ObservableGraph}.  Each
+ * subscriber is called from its own thread, never from the thread
+ * that changed the graph, and never from two threads at once.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public interface GraphListener<V> {
+    /**
+     * Called with the next events, in order.
+     *
+     * @param events one or more events; the list is only valid for
+     * the duration of the call
+     */
+    void onEvents(List<GraphEvent<V>> events);
+
+    /**
+     * Called, before the next batch, when events were dropped because
+     * the subscriber fell behind under {@link Backpressure#DROP}.  A
+     * subscriber that needs every change should rebuild its state from
+     * a snapshot of the graph.
+     *
+     * @param count how many events were dropped
+     */
+    default void onDropped(long count) {
+    }
+}
@@ -0,0 +1,343 @@
+package edu.union.adt.graph.events;
+
+import edu.union.adt.graph.Edge;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphDelta;
+import edu.union.adt.graph.Subgraph;
+import edu.union.adt.graph.TraversalStats;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A Graph that forwards every call to another graph and publishes each
+ * change it makes as a {@link GraphEvent} to any number of
+ * subscribers, so that caches and indexes can follow the graph without
+ * comparing snapshots.
+ *
+ * Only changes with an effect are published: adding an edge that is
+ * already there publishes nothing, and addEdge publishes ADD_VERTEX
+ * for each endpoint it creates before the ADD_EDGE.  REMOVE_VERTEX
+ * stands for the removal of the vertex and of every edge into or out
+ * of it; those edges are not published separately.
+ *
+ * Each subscriber has its own bounded ring buffer, which the writer
+ * fills without locking or waiting, and its own thread, which drains
+ * the ring in batches and calls the listener.  A slow subscriber
+ * therefore never slows the writer down or holds up other
+ * subscribers; when its ring is full, its events are dropped or
+ * coalesced (see {@link Backpressure}).
+ *
+ * Mutating methods are synchronized, which makes each ring
+ * single-producer; reads are forwarded without locking, so the
+ * wrapped graph must tolerate them if they run alongside writes.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public class ObservableGraph<V> implements Graph<V> {
+    /** The ring size used by {@link #subscribe(GraphListener)}. */
+    public static final int DEFAULT_CAPACITY = 1024;
+    /** The batch size used by {@link #subscribe(GraphListener)}. */
+    public static final int DEFAULT_BATCH = 256;
+
+    private final Graph<V> graph;
+    private final List<Subscription<V>> subscribers = new CopyOnWriteArrayList<Subscription<V>>();
+    private volatile long version;
+
+    /**
+     * Create a graph that publishes the changes made through it.
+     *
+     * @param graph the graph to forward calls to
+     */
+    public ObservableGraph(Graph<V> graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * @return the graph being observed.
+     */
+    public Graph<V> getDelegate() {
+        return graph;
+    }
+
+    /**
+     * @return the number of changes made through this graph.  The
+     * newest event published carries this version.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Subscribes with a ring of {@link #DEFAULT_CAPACITY} events,
+     * batches of up to {@link #DEFAULT_BATCH} and the DROP policy.
+     *
+     * @param listener where to send events
+     * @return the subscription, to be closed when no longer wanted
+     */
+    public Subscription<V> subscribe(GraphListener<V> listener) {
+        return subscribe(listener, DEFAULT_CAPACITY, DEFAULT_BATCH, Backpressure.DROP);
+    }
+
+    /**
+     * Subscribes to every change made from now on.
+     *
+     * @param listener where to send events
+     * @param capacity how many events may wait for the listener; rounded
+     * up to a power of two
+     * @param maxBatch the most events passed to one onEvents call
+     * @param policy what to do when 'capacity' events are waiting
+     * @return the subscription, to be closed when no longer wanted
+     */
+    public Subscription<V> subscribe(GraphListener<V> listener, int capacity, int maxBatch,
+                                     Backpressure policy) {
+        Subscription<V> subscription = new Subscription<V>(this, listener, capacity, maxBatch, policy);
+        synchronized (this) {
+            subscribers.add(subscription);
+        }
+        return subscription;
+    }
+
+    synchronized void unsubscribe(Subscription<V> subscription) {
+        subscribers.remove(subscription);
+    }
+
+    /**
+     * Hands any coalesced changes that now fit to their subscribers.
+     * They are also handed over at the next change; call this when the
+     * writer goes quiet.
+     */
+    public synchronized void flush() {
+        for (Subscription<V> s : subscribers)
+            s.flush();
+    }
+
+    private void publish(GraphEvent.Type type, V from, V to) {
+        long next = version + 1;
+        version = next;
+        if (subscribers.isEmpty())
+            return;
+        GraphEvent<V> event = new GraphEvent<V>(type, next, from, to);
+        for (Subscription<V> s : subscribers)
+            s.publish(event);
+    }
+
+    @Override
+    public int numVertices() {
+        return graph.numVertices();
+    }
+
+    @Override
+    public int numEdges() {
+        return graph.numEdges();
+    }
+
+    @Override
+    public int degree(V vertex) {
+        return graph.degree(vertex);
+    }
+
+    @Override
+    public synchronized void addEdge(V from, V to) {
+        addVertex(from);
+        addVertex(to);
+        if (!graph.hasEdge(from, to)) {
+            graph.addEdge(from, to);
+            publish(GraphEvent.Type.ADD_EDGE, from, to);
+        }
+    }
+
+    @Override
+    public synchronized void addVertex(V vertex) {
+        if (!graph.contains(vertex)) {
+            graph.addVertex(vertex);
+            publish(GraphEvent.Type.ADD_VERTEX, vertex, null);
+        }
+    }
+
+    @Override
+    public Iterable<V> getVertices() {
+        return graph.getVertices();
+    }
+
+    @Override
+    public Iterable<V> adjacentTo(V from) {
+        return graph.adjacentTo(from);
+    }
+
+    @Override
+    public boolean contains(V vertex) {
+        return graph.contains(vertex);
+    }
+
+    @Override
+    public boolean hasEdge(V from, V to) {
+        return graph.hasEdge(from, to);
+    }
+
+    @Override
+    public String toString() {
+        return graph.toString();
+    }
+
+    /**
+     * @return true iff the observed graphs are equal.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof ObservableGraph)
+            other = ((ObservableGraph<?>) other).graph;
+        return graph.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return graph.hashCode();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return graph.isEmpty();
+    }
+
+    @Override
+    public synchronized void removeVertex(V toRemove) {
+        if (graph.contains(toRemove)) {
+            graph.removeVertex(toRemove);
+            publish(GraphEvent.Type.REMOVE_VERTEX, toRemove, null);
+        }
+    }
+
+    @Override
+    public synchronized void removeEdge(V from, V to) {
+        if (graph.contains(from) && graph.hasEdge(from, to)) {
+            graph.removeEdge(from, to);
+            publish(GraphEvent.Type.REMOVE_EDGE, from, to);
+        }
+    }
+
+    @Override
+    public boolean hasPath(V from, V to) {
+        return graph.hasPath(from, to);
+    }
+
+    @Override
+    public int pathLength(V from, V to) {
+        return graph.pathLength(from, to);
+    }
+
+    @Override
+    public Iterable<V> getPath(V from, V to) {
+        return graph.getPath(from, to);
+    }
+
+    @Override
+    public boolean hasPath(V from, V to, TraversalStats stats) {
+        return graph.hasPath(from, to, stats);
+    }
+
+    @Override
+    public int pathLength(V from, V to, TraversalStats stats) {
+        return graph.pathLength(from, to, stats);
+    }
+
+    @Override
+    public Iterable<V> getPath(V from, V to, TraversalStats stats) {
+        return graph.getPath(from, to, stats);
+    }
+
+    @Override
+    public void addEdges(Collection<Edge<V>> edges) {
+        apply(new GraphDelta<V>().addEdges(edges));
+    }
+
+    @Override
+    public void removeEdges(Collection<Edge<V>> edges) {
+        apply(new GraphDelta<V>().removeEdges(edges));
+    }
+
+    /**
+     * Applies a batch of changes to the wrapped graph in one call and
+     * then publishes the ones that had an effect, in the order the
+     * delta's phases apply them.
+     *
+     * @param delta the changes to apply
+     */
+    @Override
+    public synchronized void apply(GraphDelta<V> delta) {
+        Set<V> removed = new HashSet<V>();
+        for (V v : delta.getRemovedVertices())
+            if (graph.contains(v))
+                removed.add(v);
+        int count = removed.size();
+        GraphDelta<V> effective = new GraphDelta<V>();
+        for (Map.Entry<V, Set<V>> e : delta.getRemovedEdges().entrySet()) {
+            V from = e.getKey();
+            if (removed.contains(from) || !graph.contains(from))
+                continue;
+            for (V to : e.getValue())
+                if (!removed.contains(to) && graph.hasEdge(from, to)) {
+                    effective.removeEdge(from, to);
+                    count++;
+                }
+        }
+        Set<V> added = new HashSet<V>();
+        for (V v : delta.getAddedVertices())
+            if (removed.contains(v) || !graph.contains(v))
+                added.add(v);
+        for (Map.Entry<V, Set<V>> e : delta.getAddedEdges().entrySet()) {
+            V from = e.getKey();
+            boolean fromIsNew = removed.contains(from) || !graph.contains(from);
+            if (fromIsNew)
+                added.add(from);
+            for (V to : e.getValue()) {
+                boolean toIsNew = removed.contains(to) || !graph.contains(to);
+                if (toIsNew)
+                    added.add(to);
+                if (fromIsNew || toIsNew || !graph.hasEdge(from, to))
+                    effective.addEdge(from, to);
+            }
+        }
+
+        graph.apply(delta);
+        if (count == 0 && added.isEmpty() && effective.numAddedEdges() == 0)
+            return;
+        for (V v : delta.getRemovedVertices())
+            if (removed.contains(v))
+                publish(GraphEvent.Type.REMOVE_VERTEX, v, null);
+        for (Map.Entry<V, Set<V>> e : effective.getRemovedEdges().entrySet())
+            for (V to : e.getValue())
+                publish(GraphEvent.Type.REMOVE_EDGE, e.getKey(), to);
+        for (V v : delta.getAddedVertices())
+            if (added.remove(v))
+                publish(GraphEvent.Type.ADD_VERTEX, v, null);
+        for (Map.Entry<V, Set<V>> e : effective.getAddedEdges().entrySet())
+            for (V to : e.getValue()) {
+                if (added.remove(e.getKey()))
+                    publish(GraphEvent.Type.ADD_VERTEX, e.getKey(), null);
+                if (added.remove(to))
+                    publish(GraphEvent.Type.ADD_VERTEX, to, null);
+                publish(GraphEvent.Type.ADD_EDGE, e.getKey(), to);
+            }
+    }
+
+    @Override
+    public Graph<V> snapshot() {
+        return graph.snapshot();
+    }
+
+    @Override
+    public Subgraph<V> kHop(V source, int k) {
+        return graph.kHop(source, k);
+    }
+
+    @Override
+    public Subgraph<V> inducedSubgraph(Collection<V> vertices) {
+        return graph.inducedSubgraph(vertices);
+    }
+}
@@ -0,0 +1,239 @@
+package edu.union.adt.graph.events;
+
+import edu.union.adt.graph.GraphDelta;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One subscriber's view of an {@link ObservableGraph}'s changes: a
+ * bounded ring of events filled by the writer, and a daemon thread
+ * that drains it in batches and hands them to the listener.
+ *
+ * The writer never waits for the subscriber.  When the ring is full,
+ * the event is dropped or coalesced, according to the subscription's
+ * {@link Backpressure} policy.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class Subscription<V> implements Closeable {
+    private static final AtomicInteger THREADS = new AtomicInteger();
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final ObservableGraph<V> graph;
+    private final GraphListener<V> listener;
+    private final Backpressure policy;
+    private final int maxBatch;
+    private final EventRing<GraphEvent<V>> ring;
+    private final Thread consumer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong droppedReported = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile boolean waiting;
+    private volatile boolean closed;
+
+    // Writer-side state for COALESCE: events that did not fit, in
+    // order, and then the net effect of everything after them.
+    private final ArrayDeque<GraphEvent<V>> backlog = new ArrayDeque<GraphEvent<V>>();
+    private GraphDelta<V> pending;
+    private long pendingVersion;
+
+    Subscription(ObservableGraph<V> graph, GraphListener<V> listener,
+                 int capacity, int maxBatch, Backpressure policy) {
+        if (capacity < 1 || maxBatch < 1)
+            throw new IllegalArgumentException("capacity and batch size must be positive");
+        this.graph = graph;
+        this.listener = listener;
+        this.policy = policy;
+        this.maxBatch = maxBatch;
+        this.ring = new EventRing<GraphEvent<V>>(capacity);
+        this.consumer = new Thread(this::deliver, "graph-events-" + THREADS.incrementAndGet());
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * @return the backpressure policy.
+     */
+    public Backpressure getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @return the number of events handed to the listener so far.
+     */
+    public long getDelivered() {
+        return delivered.get();
+    }
+
+    /**
+     * @return the number of events dropped so far under
+     * {@link Backpressure#DROP}.
+     */
+    public long getDropped() {
+        return dropped.get() + droppedReported.get();
+    }
+
+    /**
+     * @return the number of times the listener threw an exception.
+     * The batch is counted as delivered and delivery carries on.
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * @return true iff changes are waiting to be coalesced into the
+     * ring; they go in at the graph's next change or flush.
+     */
+    public boolean hasPending() {
+        return !backlog.isEmpty() || pending != null;
+    }
+
+    /**
+     * Stops the subscription.  Events already in the ring are
+     * delivered first; coalesced changes not yet in the ring are
+     * discarded.  Waits for the delivery thread to finish, unless
+     * called from the listener itself.
+     */
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        graph.unsubscribe(this);
+        LockSupport.unpark(consumer);
+        if (Thread.currentThread() != consumer) {
+            try {
+                consumer.join();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ---- writer side; the graph calls these under its write lock ----
+
+    void publish(GraphEvent<V> event) {
+        if (policy == Backpressure.COALESCE) {
+            flush();
+            if (hasPending() || !ring.offer(event))
+                coalesce(event);
+        }
+        else if (!ring.offer(event)) {
+            dropped.incrementAndGet();
+        }
+        wake();
+    }
+
+    /**
+     * Moves as many coalesced changes into the ring as fit.
+     */
+    void flush() {
+        if (!hasPending())
+            return;
+        if (backlog.isEmpty() && pending != null) {
+            unpack(pending, pendingVersion);
+            pending = null;
+        }
+        while (!backlog.isEmpty() && ring.offer(backlog.peekFirst()))
+            backlog.pollFirst();
+        wake();
+    }
+
+    private void coalesce(GraphEvent<V> event) {
+        if (pending == null)
+            pending = new GraphDelta<V>();
+        switch (event.getType()) {
+        case ADD_VERTEX:
+            pending.addVertex(event.getFrom());
+            break;
+        case REMOVE_VERTEX:
+            pending.removeVertex(event.getFrom());
+            break;
+        case ADD_EDGE:
+            pending.addEdge(event.getFrom(), event.getTo());
+            break;
+        case REMOVE_EDGE:
+            pending.removeEdge(event.getFrom(), event.getTo());
+            break;
+        }
+        pendingVersion = event.getVersion();
+    }
+
+    /**
+     * Turns a net-effect summary into events, in the order a delta is
+     * applied.
+     */
+    private void unpack(GraphDelta<V> delta, long version) {
+        for (V v : delta.getRemovedVertices())
+            backlog.add(new GraphEvent<V>(GraphEvent.Type.REMOVE_VERTEX, version, v, null));
+        for (Map.Entry<V, Set<V>> e : delta.getRemovedEdges().entrySet())
+            for (V to : e.getValue())
+                backlog.add(new GraphEvent<V>(GraphEvent.Type.REMOVE_EDGE, version, e.getKey(), to));
+        for (V v : delta.getAddedVertices())
+            backlog.add(new GraphEvent<V>(GraphEvent.Type.ADD_VERTEX, version, v, null));
+        for (Map.Entry<V, Set<V>> e : delta.getAddedEdges().entrySet())
+            for (V to : e.getValue())
+                backlog.add(new GraphEvent<V>(GraphEvent.Type.ADD_EDGE, version, e.getKey(), to));
+    }
+
+    private void wake() {
+        if (waiting) {
+            waiting = false;
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    // ---- delivery thread ----
+
+    private void deliver() {
+        List<GraphEvent<V>> batch = new ArrayList<GraphEvent<V>>(Math.min(maxBatch, ring.capacity()));
+        List<GraphEvent<V>> view = Collections.unmodifiableList(batch);
+        while (true) {
+            long lost = dropped.getAndSet(0);
+            if (lost > 0) {
+                droppedReported.addAndGet(lost);
+                call(() -> listener.onDropped(lost));
+            }
+            batch.clear();
+            if (ring.drain(batch, maxBatch) > 0) {
+                call(() -> listener.onEvents(view));
+                delivered.addAndGet(batch.size());
+                continue;
+            }
+            if (closed)
+                return;
+            // Give the writer a moment to publish more before paying
+            // for a park and an unpark per event.
+            Thread.yield();
+            if (!ring.isEmpty())
+                continue;
+            waiting = true;
+            if (ring.isEmpty() && dropped.get() == 0 && !closed)
+                LockSupport.parkNanos(this, IDLE_NANOS);
+            waiting = false;
+        }
+    }
+
+    private void call(Runnable callback) {
+        try {
+            callback.run();
+        }
+        catch (RuntimeException e) {
+            failures.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package edu.union.adt.graph.generators;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Reads and writes generated graphs as binary edge lists, so that a
+ * large test graph is generated once and loaded many times.  The
+ * format is
+ *
+ * <PRE>
+ * int magic | int version | int numVertices | long numEdges
+ * (int from, int to) * numEdges
+ * </PRE>
+ *
+ * big-endian, with every edge at a fixed position, so that chunks of
+ * edges are generated and written by separate threads at once.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class EdgeFile {
+    private static final int MAGIC = 0x50474544;
+    private static final int VERSION = 1;
+    private static final int HEADER = 20;
+
+    private EdgeFile() {
+    }
+
+    /**
+     * Generates a graph straight into a file on the common fork-join
+     * pool.
+     *
+     * @param generator the graph to write
+     * @param file where to write it; replaced if it exists
+     */
+    public static void write(GraphGenerator generator, Path file) throws IOException {
+        write(generator, file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates a graph straight into a file.  Each chunk of edges is
+     * generated into its own buffer and written at its own position,
+     * in parallel, so the whole graph is never held in memory.
+     *
+     * @param generator the graph to write
+     * @param file where to write it; replaced if it exists
+     * @param pool the pool to run on
+     */
+    public static void write(GraphGenerator generator, Path file, ForkJoinPool pool)
+        throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                                               StandardOpenOption.WRITE,
+                                               StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER);
+            header.putInt(MAGIC).putInt(VERSION).putInt(generator.numVertices())
+                .putLong(generator.numEdges()).flip();
+            writeFully(ch, header, 0);
+            try {
+                generator.inChunks(pool, (start, end) -> {
+                    ByteBuffer buffer = ByteBuffer.allocate((int) (end - start) * 8);
+                    for (long i = start; i < end; i++) {
+                        long e = generator.edge(i);
+                        buffer.putInt(GraphGenerator.from(e)).putInt(GraphGenerator.to(e));
+                    }
+                    buffer.flip();
+                    writeFully(ch, buffer, HEADER + start * 8);
+                });
+            }
+            catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buffer, long position) {
+        try {
+            while (buffer.hasRemaining())
+                position += ch.write(buffer, position);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Streams the edges of a file, in order, to a sink.
+     *
+     * @param file the file to read
+     * @param sink where to send the edges
+     * @return the number of vertices, whose ids are 0 to the result
+     * less one
+     * @throws IOException if the file cannot be read or is not an
+     * edge file
+     */
+    public static int read(Path file, EdgeSink sink) throws IOException {
+        try (DataInputStream in = open(file)) {
+            int vertices = in.readInt();
+            long edges = in.readLong();
+            for (long i = 0; i < edges; i++)
+                sink.edge(in.readInt(), in.readInt());
+            return vertices;
+        }
+    }
+
+    /**
+     * @param file the file to read
+     * @return the edges of the file
+     * @throws IOException if the file cannot be read, is not an edge
+     * file, or has too many edges for an array
+     */
+    public static EdgeList read(Path file) throws IOException {
+        try (DataInputStream in = open(file)) {
+            int vertices = in.readInt();
+            long edges = in.readLong();
+            if (edges > Integer.MAX_VALUE - 8)
+                throw new IOException(file + " has too many edges for an array: " + edges);
+            int[] from = new int[(int) edges];
+            int[] to = new int[(int) edges];
+            for (int i = 0; i < from.length; i++) {
+                from[i] = in.readInt();
+                to[i] = in.readInt();
+            }
+            return new EdgeList(vertices, from, to);
+        }
+    }
+
+    /** Opens a file and reads past the magic number and version. */
+    private static DataInputStream open(Path file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+            Channels.newInputStream(FileChannel.open(file, StandardOpenOption.READ)), 1 << 16));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            in.close();
+            throw new IOException(file + " is not an edge file");
+        }
+        return in;
+    }
+}
@@ -0,0 +1,83 @@
+package edu.union.adt.graph.generators;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.IntAdjacencyGraph;
+
+/**
+ * Generated edges held in two parallel int arrays, 8 bytes an edge,
+ * ready to be loaded into any number of graphs.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class EdgeList {
+    private final int vertices;
+    private final int[] from;
+    private final int[] to;
+
+    EdgeList(int vertices, int[] from, int[] to) {
+        this.vertices = vertices;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * @return the number of vertices, whose ids are 0 to
+     * numVertices() - 1.
+     */
+    public int numVertices() {
+        return vertices;
+    }
+
+    /**
+     * @return the number of edges, counting repeats.
+     */
+    public int size() {
+        return from.length;
+    }
+
+    /**
+     * @return the source of edge i.
+     */
+    public int from(int i) {
+        return from[i];
+    }
+
+    /**
+     * @return the target of edge i.
+     */
+    public int to(int i) {
+        return to[i];
+    }
+
+    /**
+     * Sends every edge, in order, to a sink.
+     *
+     * @param sink where to send the edges
+     */
+    public void forEach(EdgeSink sink) {
+        for (int i = 0; i < from.length; i++)
+            sink.edge(from[i], to[i]);
+    }
+
+    /**
+     * @return the edges loaded into an IntAdjacencyGraph sized for
+     * them, with every vertex id present.
+     */
+    public IntAdjacencyGraph toGraph() {
+        IntAdjacencyGraph g = new IntAdjacencyGraph(vertices, from.length);
+        loadInto(g);
+        return g;
+    }
+
+    /**
+     * Adds every vertex and then every edge to a graph.
+     *
+     * @param g the graph to add to
+     */
+    public void loadInto(Graph<Integer> g) {
+        for (int v = 0; v < vertices; v++)
+            g.addVertex(v);
+        forEach(g::addEdge);
+    }
+}
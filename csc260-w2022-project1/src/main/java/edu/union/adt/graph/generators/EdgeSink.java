@@ -0,0 +1,11 @@
+package edu.union.adt.graph.generators;
+
+/**
+ * Receives generated edges one at a time, between int vertex ids.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public interface EdgeSink {
+    void edge(int from, int to);
+}
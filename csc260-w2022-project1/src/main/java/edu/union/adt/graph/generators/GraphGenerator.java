@@ -0,0 +1,339 @@
+package edu.union.adt.graph.generators;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.IntAdjacencyGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A recipe for a large synthetic graph over the vertex ids 0 to
+ * numVertices() - 1, for benchmarks and load tests.
+ *
+ * Every generator works out edge i from the seed and i alone, with a
+ * hash instead of a shared random number generator.  The graph is
+ * therefore the same for a given seed however it is produced: streamed
+ * in order into an {@link EdgeSink} or a Graph, or split into chunks
+ * that threads fill into an {@link EdgeList} or an {@link EdgeFile}
+ * in parallel.
+ *
+ * Generators may produce self-loops and repeated edges, as the random
+ * models do; a Graph keeps one copy of each edge, so a loaded graph
+ * can have slightly fewer than numEdges() edges.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public abstract class GraphGenerator {
+    /** How many edges one parallel task generates. */
+    static final int CHUNK = 1 << 16;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final int vertices;
+    private final long edges;
+
+    GraphGenerator(int vertices, long edges) {
+        if (vertices < 0 || edges < 0)
+            throw new IllegalArgumentException("negative size: " + vertices + " vertices, "
+                                               + edges + " edges");
+        this.vertices = vertices;
+        this.edges = edges;
+    }
+
+    /**
+     * Erdos-Renyi G(n, m): 'edges' edges whose ends are chosen
+     * uniformly at random.
+     *
+     * @param vertices the number of vertices
+     * @param edges the number of edges
+     * @param seed the random seed
+     * @return the generator
+     */
+    public static GraphGenerator erdosRenyi(int vertices, long edges, long seed) {
+        if (vertices == 0 && edges > 0)
+            throw new IllegalArgumentException("edges need vertices");
+        return new GraphGenerator(vertices, edges) {
+            @Override
+            long edge(long i) {
+                return pack(bounded(hash(seed, 2 * i), vertices),
+                            bounded(hash(seed, 2 * i + 1), vertices));
+            }
+        };
+    }
+
+    /**
+     * Barabasi-Albert preferential attachment: vertex 0 starts alone,
+     * and each later vertex links to 'degree' earlier vertices chosen
+     * in proportion to their degree, which gives a power-law degree
+     * distribution.
+     *
+     * Uses the Batagelj-Brandes list of edge ends: an edge picks a
+     * uniformly random end of an earlier vertex's edge, which picks a
+     * vertex in proportion to its degree.  When the end picked is
+     * itself a chosen target, it is worked out the same way, from its
+     * own edge's hash, so edges are computed independently of each
+     * other; each takes two steps on average.
+     *
+     * @param vertices the number of vertices
+     * @param degree the number of edges out of each vertex but 0
+     * @param seed the random seed
+     * @return the generator
+     */
+    public static GraphGenerator barabasiAlbert(int vertices, int degree, long seed) {
+        if (degree <= 0)
+            throw new IllegalArgumentException("degree must be positive: " + degree);
+        return new GraphGenerator(vertices, (long) Math.max(0, vertices - 1) * degree) {
+            private long source(long e) {
+                return e / degree + 1;
+            }
+
+            @Override
+            long edge(long i) {
+                long from = source(i);
+                for (long e = i; ; ) {
+                    long v = source(e);
+                    if (v == 1)
+                        return pack(from, 0);
+                    // an end of one of the (v - 1) * degree edges out
+                    // of vertices 1 .. v - 1, all older than v
+                    long end = bounded(hash(seed, e), 2 * (v - 1) * degree);
+                    if ((end & 1) == 0)
+                        return pack(from, source(end >>> 1));
+                    e = end >>> 1;
+                }
+            }
+        };
+    }
+
+    /**
+     * R-MAT, the recursive matrix model of the Graph 500 benchmark
+     * and a stochastic Kronecker graph: each edge picks a quadrant of
+     * the adjacency matrix with probabilities a, b, c and 1 - a - b - c,
+     * then a quadrant of that, 'scale' times.  a = 0.57, b = c = 0.19
+     * gives a skewed, community-like graph.  Probabilities are applied
+     * to 16 random bits per level, four levels to a hash.  Vertex ids
+     * are not scrambled, so the busiest vertices have the smallest ids.
+     *
+     * @param scale log2 of the number of vertices, at most 30
+     * @param edges the number of edges
+     * @param a the probability of the top-left quadrant
+     * @param b the probability of the top-right quadrant
+     * @param c the probability of the bottom-left quadrant
+     * @param seed the random seed
+     * @return the generator
+     */
+    public static GraphGenerator rmat(int scale, long edges, double a, double b, double c,
+                                      long seed) {
+        if (scale < 0 || scale > 30)
+            throw new IllegalArgumentException("scale out of range: " + scale);
+        if (a < 0 || b < 0 || c < 0 || a + b + c > 1)
+            throw new IllegalArgumentException("bad quadrant probabilities: " + a + ", " + b + ", " + c);
+        final int ta = (int) Math.round(a * 65536);
+        final int tab = (int) Math.round((a + b) * 65536);
+        final int tabc = (int) Math.round((a + b + c) * 65536);
+        return new GraphGenerator(1 << scale, edges) {
+            @Override
+            long edge(long i) {
+                long bits = 0;
+                int from = 0;
+                int to = 0;
+                for (int level = 0; level < scale; level++) {
+                    if ((level & 3) == 0)
+                        bits = hash(seed, i * 8 + (level >> 2));
+                    int p = (int) bits & 0xFFFF;
+                    bits >>>= 16;
+                    // (t - 1 - p) >>> 31 is 1 iff p >= t; without
+                    // branches, since each level is a coin toss
+                    int atLeastAb = (tab - 1 - p) >>> 31;
+                    from = from << 1 | atLeastAb;
+                    to = to << 1 | ((ta - 1 - p) >>> 31) ^ atLeastAb ^ ((tabc - 1 - p) >>> 31);
+                }
+                return pack(from, to);
+            }
+        };
+    }
+
+    /**
+     * A rows x columns grid with an edge each way between neighbours
+     * across and down, numbered row by row.
+     *
+     * @param rows the number of rows
+     * @param columns the number of columns
+     * @return the generator
+     */
+    public static GraphGenerator grid(int rows, int columns) {
+        if ((long) rows * columns > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("grid too large: " + rows + " x " + columns);
+        final long across = rows == 0 || columns == 0 ? 0 : (long) rows * (columns - 1);
+        final long down = rows == 0 || columns == 0 ? 0 : (long) (rows - 1) * columns;
+        return new GraphGenerator(rows * columns, 2 * (across + down)) {
+            @Override
+            long edge(long i) {
+                long k = i >>> 1;
+                long u;
+                long w;
+                if (k < across) {
+                    u = k / (columns - 1) * columns + k % (columns - 1);
+                    w = u + 1;
+                }
+                else {
+                    u = k - across;
+                    w = u + columns;
+                }
+                return (i & 1) == 0 ? pack(u, w) : pack(w, u);
+            }
+        };
+    }
+
+    /**
+     * A chain 0 -> 1 -> ... -> n - 1, the deepest graph of its size.
+     *
+     * @param vertices the number of vertices
+     * @return the generator
+     */
+    public static GraphGenerator chain(int vertices) {
+        return new GraphGenerator(vertices, Math.max(0, vertices - 1)) {
+            @Override
+            long edge(long i) {
+                return pack(i, i + 1);
+            }
+        };
+    }
+
+    /**
+     * @return edge i, with its source in the high 32 bits and its
+     * target in the low 32.
+     */
+    abstract long edge(long i);
+
+    static long pack(long from, long to) {
+        return from << 32 | to;
+    }
+
+    static int from(long edge) {
+        return (int) (edge >>> 32);
+    }
+
+    static int to(long edge) {
+        return (int) edge;
+    }
+
+    /** SplitMix64's finaliser. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** @return a well-mixed 64-bit hash of the seed and 'i'. */
+    private static long hash(long seed, long i) {
+        return mix(mix(seed) + (i + 1) * GOLDEN);
+    }
+
+    /** @return a number from 0 (inclusive) to 'bound' (exclusive). */
+    private static long bounded(long hash, long bound) {
+        return Long.remainderUnsigned(hash, bound);
+    }
+
+    /**
+     * @return the number of vertices.
+     */
+    public int numVertices() {
+        return vertices;
+    }
+
+    /**
+     * @return the number of edges generated, counting repeats.
+     */
+    public long numEdges() {
+        return edges;
+    }
+
+    /**
+     * Streams every edge, in order, to a sink.
+     *
+     * @param sink where to send the edges
+     */
+    public void generate(EdgeSink sink) {
+        for (long i = 0; i < edges; i++) {
+            long e = edge(i);
+            sink.edge(from(e), to(e));
+        }
+    }
+
+    /**
+     * Loads the graph into an IntAdjacencyGraph sized for it up
+     * front, so the load never resizes its arrays.
+     *
+     * @return the graph, with every vertex id present
+     */
+    public IntAdjacencyGraph toGraph() {
+        IntAdjacencyGraph g = new IntAdjacencyGraph(vertices, edges);
+        loadInto(g);
+        return g;
+    }
+
+    /**
+     * Adds every vertex and then every edge to a graph.
+     *
+     * @param g the graph to add to
+     */
+    public void loadInto(Graph<Integer> g) {
+        for (int v = 0; v < vertices; v++)
+            g.addVertex(v);
+        generate(g::addEdge);
+    }
+
+    /**
+     * Generates every edge on the common fork-join pool.
+     *
+     * @return the edges
+     */
+    public EdgeList toEdgeList() {
+        return toEdgeList(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates every edge into arrays, each chunk of edges on its
+     * own task.
+     *
+     * @param pool the pool to run on
+     * @return the edges, in the order generate would send them
+     * @throws IllegalArgumentException if there are too many edges
+     * for an array
+     */
+    public EdgeList toEdgeList(ForkJoinPool pool) {
+        if (edges > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("too many edges for an array: " + edges);
+        final int[] from = new int[(int) edges];
+        final int[] to = new int[(int) edges];
+        inChunks(pool, (start, end) -> {
+            for (long i = start; i < end; i++) {
+                long e = edge(i);
+                from[(int) i] = from(e);
+                to[(int) i] = to(e);
+            }
+        });
+        return new EdgeList(vertices, from, to);
+    }
+
+    /** Work on the edges start (inclusive) .. end (exclusive). */
+    interface Chunk {
+        void run(long start, long end);
+    }
+
+    /**
+     * Runs 'chunk' on every CHUNK edges, in parallel on 'pool'.
+     */
+    void inChunks(ForkJoinPool pool, Chunk chunk) {
+        final List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+        for (long start = 0; start < edges; start += CHUNK) {
+            final long from = start;
+            final long to = Math.min(edges, start + CHUNK);
+            tasks.add(ForkJoinTask.adapt(() -> chunk.run(from, to)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+}
@@ -0,0 +1,223 @@
+package edu.union.adt.graph.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counters and latency histograms for the operations of one or more
+ * {@link InstrumentedGraph}s.  All recording is lock-free, so one
+ * GraphMetrics can be shared by every graph in a process.
+ *
+ * Values can be pulled with the getters here or exported through JMX
+ * with {@link #register(String)}.  For path queries it also keeps
+ * the number of vertices visited, edges followed and bytes allocated
+ * per query.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class GraphMetrics implements GraphMetricsMXBean {
+    /**
+     * Set this system property to "true" to make
+     * {@link edu.union.adt.graph.GraphFactory#instrument} wrap graphs.
+     */
+    public static final String ENABLED_PROPERTY = "edu.union.adt.graph.metrics";
+
+    private static final GraphMetrics GLOBAL = new GraphMetrics();
+
+    private final Map<Operation, LongAdder> counts = new EnumMap<Operation, LongAdder>(Operation.class);
+    private final Map<Operation, LatencyHistogram> latencies =
+        new EnumMap<Operation, LatencyHistogram>(Operation.class);
+    private final LongAdder traversals = new LongAdder();
+    private final LongAdder visitedVertices = new LongAdder();
+    private final LongAdder visitedEdges = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LatencyHistogram verticesPerTraversal = new LatencyHistogram();
+
+    /**
+     * Create an empty set of metrics.
+     */
+    public GraphMetrics() {
+        for (Operation op : Operation.values()) {
+            counts.put(op, new LongAdder());
+            latencies.put(op, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * @return true iff the system property {@link #ENABLED_PROPERTY}
+     * is "true".
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * @return the metrics shared by every graph instrumented through
+     * GraphFactory.instrument.
+     */
+    public static GraphMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Records one call of an operation.
+     *
+     * @param op the operation
+     * @param nanos how long it took
+     */
+    public void record(Operation op, long nanos) {
+        counts.get(op).increment();
+        latencies.get(op).record(nanos);
+    }
+
+    /**
+     * Records the work done by one traversal.
+     *
+     * @param vertices the number of vertices visited
+     * @param edges the number of edges followed
+     * @param bytes the number of bytes allocated
+     */
+    public void recordTraversal(long vertices, long edges, long bytes) {
+        traversals.increment();
+        visitedVertices.add(vertices);
+        visitedEdges.add(edges);
+        allocatedBytes.add(bytes);
+        verticesPerTraversal.record(vertices);
+    }
+
+    /**
+     * @param op an operation
+     * @return the number of times 'op' was called.
+     */
+    public long getCount(Operation op) {
+        return counts.get(op).sum();
+    }
+
+    /**
+     * @param op an operation
+     * @return the latencies of 'op', in nanoseconds.
+     */
+    public LatencyHistogram getLatency(Operation op) {
+        return latencies.get(op);
+    }
+
+    /**
+     * @return the distribution of vertices visited per traversal.
+     */
+    public LatencyHistogram getVerticesPerTraversal() {
+        return verticesPerTraversal;
+    }
+
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        Map<String, Long> result = new LinkedHashMap<String, Long>();
+        for (Operation op : Operation.values())
+            result.put(op.name(), getCount(op));
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getLatencyP50Nanos() {
+        return percentiles(50);
+    }
+
+    @Override
+    public Map<String, Long> getLatencyP99Nanos() {
+        return percentiles(99);
+    }
+
+    @Override
+    public Map<String, Long> getLatencyMaxNanos() {
+        Map<String, Long> result = new LinkedHashMap<String, Long>();
+        for (Operation op : Operation.values())
+            result.put(op.name(), latencies.get(op).getMax());
+        return result;
+    }
+
+    @Override
+    public long getTraversals() {
+        return traversals.sum();
+    }
+
+    @Override
+    public long getVisitedVertices() {
+        return visitedVertices.sum();
+    }
+
+    @Override
+    public long getVisitedEdges() {
+        return visitedEdges.sum();
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    @Override
+    public long getVisitedVerticesP99() {
+        return verticesPerTraversal.getValueAtPercentile(99);
+    }
+
+    @Override
+    public void reset() {
+        for (Operation op : Operation.values()) {
+            counts.get(op).reset();
+            latencies.get(op).reset();
+        }
+        traversals.reset();
+        visitedVertices.reset();
+        visitedEdges.reset();
+        allocatedBytes.reset();
+        verticesPerTraversal.reset();
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server.
+     *
+     * @param name the value of the "name" key of the MBean's
+     * ObjectName, to tell several GraphMetrics apart
+     * @return the name the metrics were registered under
+     * @throws JMException if the registration fails
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("edu.union.adt.graph:type=GraphMetrics,name="
+                                               + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * @return one line per operation that was called, with its count
+     * and latency percentiles, followed by the traversal totals.
+     */
+    @Override
+    public String toString() {
+        StringBuilder build = new StringBuilder();
+        for (Operation op : Operation.values()) {
+            LatencyHistogram h = latencies.get(op);
+            if (h.getCount() == 0)
+                continue;
+            build.append(String.format("%-14s count=%d p50=%dns p99=%dns max=%dns%n",
+                                       op, getCount(op), h.getValueAtPercentile(50),
+                                       h.getValueAtPercentile(99), h.getMax()));
+        }
+        build.append(String.format("traversals=%d visitedVertices=%d visitedEdges=%d allocatedBytes=%d%n",
+                                   getTraversals(), getVisitedVertices(), getVisitedEdges(),
+                                   getAllocatedBytes()));
+        return build.toString();
+    }
+
+    private Map<String, Long> percentiles(double percentile) {
+        Map<String, Long> result = new LinkedHashMap<String, Long>();
+        for (Operation op : Operation.values())
+            result.put(op.name(), latencies.get(op).getValueAtPercentile(percentile));
+        return result;
+    }
+}
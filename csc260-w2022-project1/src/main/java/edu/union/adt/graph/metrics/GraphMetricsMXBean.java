@@ -0,0 +1,32 @@
+package edu.union.adt.graph.metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX view of a {@link GraphMetrics}.  Latencies are in
+ * nanoseconds and keyed by operation name.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public interface GraphMetricsMXBean {
+    Map<String, Long> getOperationCounts();
+
+    Map<String, Long> getLatencyP50Nanos();
+
+    Map<String, Long> getLatencyP99Nanos();
+
+    Map<String, Long> getLatencyMaxNanos();
+
+    long getTraversals();
+
+    long getVisitedVertices();
+
+    long getVisitedEdges();
+
+    long getAllocatedBytes();
+
+    long getVisitedVerticesP99();
+
+    void reset();
+}
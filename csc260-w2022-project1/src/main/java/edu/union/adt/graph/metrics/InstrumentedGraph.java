@@ -0,0 +1,453 @@
+package edu.union.adt.graph.metrics;
+
+import edu.union.adt.graph.Edge;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphDelta;
+import edu.union.adt.graph.PathQuery;
+import edu.union.adt.graph.Subgraph;
+import edu.union.adt.graph.TraversalStats;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A Graph that forwards every call to another graph and records its
+ * count and latency in a {@link GraphMetrics}.
+ *
+ * Path queries are forwarded too, with a {@link TraversalStats}, so
+ * they run the wrapped graph's own search, and each one also records
+ * how many vertices and edges that search visited and how many bytes
+ * it allocated.  Queries on a {@link PathQuery} from {@link #from} are
+ * recorded the same way, as HAS_PATH, PATH_LENGTH and GET_PATH, one
+ * per call.  Allocation is measured with the JVM's per-thread
+ * allocation counter where the JVM offers one, and estimated from the
+ * visit counts otherwise.
+ *
+ * Create one with GraphFactory.createInstrumentedGraph, or with
+ * GraphFactory.instrument, which leaves the graph unwrapped (and
+ * therefore costs nothing) unless metrics are enabled.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public class InstrumentedGraph<V> implements Graph<V> {
+    private static final long BYTES_PER_VISITED_VERTEX = 48;
+    private static final long BYTES_PER_VISITED_EDGE = 8;
+
+    private final Graph<V> graph;
+    private final GraphMetrics metrics;
+
+    /**
+     * Create a graph that measures another one.
+     *
+     * @param graph the graph to forward calls to
+     * @param metrics where to record measurements
+     */
+    public InstrumentedGraph(Graph<V> graph, GraphMetrics metrics) {
+        this.graph = graph;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return the graph being measured.
+     */
+    public Graph<V> getDelegate() {
+        return graph;
+    }
+
+    /**
+     * @return where measurements are recorded.
+     */
+    public GraphMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public int numVertices() {
+        long start = System.nanoTime();
+        try {
+            return graph.numVertices();
+        }
+        finally {
+            metrics.record(Operation.NUM_VERTICES, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int numEdges() {
+        long start = System.nanoTime();
+        try {
+            return graph.numEdges();
+        }
+        finally {
+            metrics.record(Operation.NUM_EDGES, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int degree(V vertex) {
+        long start = System.nanoTime();
+        try {
+            return graph.degree(vertex);
+        }
+        finally {
+            metrics.record(Operation.DEGREE, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void addEdge(V from, V to) {
+        long start = System.nanoTime();
+        try {
+            graph.addEdge(from, to);
+        }
+        finally {
+            metrics.record(Operation.ADD_EDGE, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void addVertex(V vertex) {
+        long start = System.nanoTime();
+        try {
+            graph.addVertex(vertex);
+        }
+        finally {
+            metrics.record(Operation.ADD_VERTEX, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Iterable<V> getVertices() {
+        long start = System.nanoTime();
+        try {
+            return graph.getVertices();
+        }
+        finally {
+            metrics.record(Operation.GET_VERTICES, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Iterable<V> adjacentTo(V from) {
+        long start = System.nanoTime();
+        try {
+            return graph.adjacentTo(from);
+        }
+        finally {
+            metrics.record(Operation.ADJACENT_TO, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean contains(V vertex) {
+        long start = System.nanoTime();
+        try {
+            return graph.contains(vertex);
+        }
+        finally {
+            metrics.record(Operation.CONTAINS, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean hasEdge(V from, V to) {
+        long start = System.nanoTime();
+        try {
+            return graph.hasEdge(from, to);
+        }
+        finally {
+            metrics.record(Operation.HAS_EDGE, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return graph.toString();
+    }
+
+    /**
+     * @return true iff the measured graphs are equal.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof InstrumentedGraph)
+            other = ((InstrumentedGraph<?>) other).graph;
+        return graph.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return graph.hashCode();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        long start = System.nanoTime();
+        try {
+            return graph.isEmpty();
+        }
+        finally {
+            metrics.record(Operation.IS_EMPTY, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void removeVertex(V toRemove) {
+        long start = System.nanoTime();
+        try {
+            graph.removeVertex(toRemove);
+        }
+        finally {
+            metrics.record(Operation.REMOVE_VERTEX, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void removeEdge(V from, V to) {
+        long start = System.nanoTime();
+        try {
+            graph.removeEdge(from, to);
+        }
+        finally {
+            metrics.record(Operation.REMOVE_EDGE, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean hasPath(V from, V to) {
+        return hasPath(from, to, null);
+    }
+
+    @Override
+    public boolean hasPath(V from, V to, TraversalStats stats) {
+        Traversal traversal = new Traversal(stats);
+        try {
+            return graph.hasPath(from, to, traversal.stats);
+        }
+        finally {
+            traversal.record(Operation.HAS_PATH);
+        }
+    }
+
+    @Override
+    public int pathLength(V from, V to) {
+        return pathLength(from, to, null);
+    }
+
+    @Override
+    public int pathLength(V from, V to, TraversalStats stats) {
+        Traversal traversal = new Traversal(stats);
+        try {
+            return graph.pathLength(from, to, traversal.stats);
+        }
+        finally {
+            traversal.record(Operation.PATH_LENGTH);
+        }
+    }
+
+    @Override
+    public Iterable<V> getPath(V from, V to) {
+        return getPath(from, to, null);
+    }
+
+    @Override
+    public Iterable<V> getPath(V from, V to, TraversalStats stats) {
+        Traversal traversal = new Traversal(stats);
+        try {
+            return graph.getPath(from, to, traversal.stats);
+        }
+        finally {
+            traversal.record(Operation.GET_PATH);
+        }
+    }
+
+    /**
+     * Starts path queries with the wrapped graph's own from, and
+     * records each call on the query as a path query.
+     *
+     * @param source the vertex paths start from
+     * @param stats where to count the work done, or null
+     * @return the query
+     */
+    @Override
+    public PathQuery<V> from(V source, TraversalStats stats) {
+        TraversalStats counted = stats == null ? new TraversalStats() : stats;
+        return new MeasuredQuery(graph.from(source, counted), counted);
+    }
+
+    @Override
+    public void apply(GraphDelta<V> delta) {
+        long start = System.nanoTime();
+        try {
+            graph.apply(delta);
+        }
+        finally {
+            metrics.record(Operation.APPLY, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void addEdges(Collection<Edge<V>> edges) {
+        long start = System.nanoTime();
+        try {
+            graph.addEdges(edges);
+        }
+        finally {
+            metrics.record(Operation.APPLY, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void removeEdges(Collection<Edge<V>> edges) {
+        long start = System.nanoTime();
+        try {
+            graph.removeEdges(edges);
+        }
+        finally {
+            metrics.record(Operation.APPLY, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Graph<V> snapshot() {
+        return graph.snapshot();
+    }
+
+    @Override
+    public Subgraph<V> kHop(V source, int k) {
+        return graph.kHop(source, k);
+    }
+
+    @Override
+    public Subgraph<V> inducedSubgraph(Collection<V> vertices) {
+        return graph.inducedSubgraph(vertices);
+    }
+
+    /**
+     * One path query being measured: its latency, the work counted in
+     * its TraversalStats while it runs, and the bytes the thread
+     * allocates meanwhile.
+     */
+    private final class Traversal {
+        final TraversalStats stats;
+        private final long vertices;
+        private final long edges;
+        private final long allocated;
+        private final long start;
+
+        Traversal(TraversalStats stats) {
+            this.stats = stats == null ? new TraversalStats() : stats;
+            this.vertices = this.stats.getVisitedVertices();
+            this.edges = this.stats.getVisitedEdges();
+            this.allocated = Allocation.currentThread();
+            this.start = System.nanoTime();
+        }
+
+        void record(Operation op) {
+            long elapsed = System.nanoTime() - start;
+            long allocatedAfter = Allocation.currentThread();
+            long visitedVertices = stats.getVisitedVertices() - vertices;
+            long visitedEdges = stats.getVisitedEdges() - edges;
+            long bytes = allocated < 0 || allocatedAfter < 0
+                ? visitedVertices * BYTES_PER_VISITED_VERTEX + visitedEdges * BYTES_PER_VISITED_EDGE
+                : allocatedAfter - allocated;
+            metrics.record(op, elapsed);
+            metrics.recordTraversal(visitedVertices, visitedEdges, bytes);
+        }
+    }
+
+    /**
+     * A query from the wrapped graph, with each call measured.
+     */
+    private final class MeasuredQuery implements PathQuery<V> {
+        private final PathQuery<V> query;
+        private final TraversalStats stats;
+
+        MeasuredQuery(PathQuery<V> query, TraversalStats stats) {
+            this.query = query;
+            this.stats = stats;
+        }
+
+        @Override
+        public V source() {
+            return query.source();
+        }
+
+        @Override
+        public int reached() {
+            return query.reached();
+        }
+
+        @Override
+        public boolean isExhausted() {
+            return query.isExhausted();
+        }
+
+        @Override
+        public boolean hasPath(V to) {
+            Traversal traversal = new Traversal(stats);
+            try {
+                return query.hasPath(to);
+            }
+            finally {
+                traversal.record(Operation.HAS_PATH);
+            }
+        }
+
+        @Override
+        public int pathLength(V to) {
+            Traversal traversal = new Traversal(stats);
+            try {
+                return query.pathLength(to);
+            }
+            finally {
+                traversal.record(Operation.PATH_LENGTH);
+            }
+        }
+
+        @Override
+        public List<V> getPath(V to) {
+            Traversal traversal = new Traversal(stats);
+            try {
+                return query.getPath(to);
+            }
+            finally {
+                traversal.record(Operation.GET_PATH);
+            }
+        }
+    }
+
+    /**
+     * Reads the bytes allocated by the current thread from the JVM, on
+     * JVMs that count them.
+     */
+    private static final class Allocation {
+        private static final com.sun.management.ThreadMXBean THREADS = lookup();
+
+        private static com.sun.management.ThreadMXBean lookup() {
+            try {
+                Object bean = ManagementFactory.getThreadMXBean();
+                if (bean instanceof com.sun.management.ThreadMXBean) {
+                    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+                    if (threads.isThreadAllocatedMemorySupported()
+                        && threads.isThreadAllocatedMemoryEnabled())
+                        return threads;
+                }
+            }
+            catch (LinkageError e) {
+                // not a HotSpot-style JVM; fall back to estimates
+            }
+            return null;
+        }
+
+        /**
+         * @return the bytes allocated so far by the current thread, or
+         * -1 if the JVM does not say.
+         */
+        static long currentThread() {
+            return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package edu.union.adt.graph.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of non-negative long values, laid out like
+ * HdrHistogram: values are grouped by their highest set bit, and each
+ * power of two is split into 32 linear sub-buckets, so any recorded
+ * value is reported within about 3% of its true value.  Recording is a
+ * single atomic increment and never allocates; any number of threads
+ * may record at once.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value.  Negative values are recorded as 0.
+     *
+     * @param value the value to record
+     */
+    public void record(long value) {
+        if (value < 0)
+            value = 0;
+        counts.incrementAndGet(bucketOf(value));
+        total.incrementAndGet();
+        sum.addAndGet(value);
+        long m = max.get();
+        while (value > m && !max.compareAndSet(m, value))
+            m = max.get();
+    }
+
+    /**
+     * @return the number of values recorded.
+     */
+    public long getCount() {
+        return total.get();
+    }
+
+    /**
+     * @return the largest value recorded, or 0 if none was.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return the mean of the recorded values, or 0 if none was.
+     */
+    public double getMean() {
+        long n = total.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * @param percentile a percentile between 0 and 100
+     * @return an upper bound, within the histogram's precision, of the
+     * value below which 'percentile' percent of the recorded values
+     * fall; 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long n = total.get();
+        if (n == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts.get(b);
+            if (seen >= rank)
+                return Math.min(highestValueIn(b), max.get());
+        }
+        return max.get();
+    }
+
+    /**
+     * Clears every recorded value.  Values recorded while the reset is
+     * in progress may or may not survive it.
+     */
+    public void reset() {
+        for (int b = 0; b < BUCKETS; b++)
+            counts.set(b, 0);
+        total.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int highBit = 63 - Long.numberOfLeadingZeros(value);
+        int magnitude = highBit - SUB_BUCKET_BITS + 1;
+        int sub = (int) (value >>> (highBit - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return magnitude * SUB_BUCKETS + sub;
+    }
+
+    static long highestValueIn(int bucket) {
+        int magnitude = bucket / SUB_BUCKETS;
+        long sub = bucket % SUB_BUCKETS;
+        if (magnitude == 0)
+            return sub;
+        long low = (SUB_BUCKETS + sub) << (magnitude - 1);
+        return low + (1L << (magnitude - 1)) - 1;
+    }
+}
@@ -0,0 +1,33 @@
+package edu.union.adt.graph.metrics;
+
+/**
+ * The Graph operations that an {@link InstrumentedGraph} measures.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public enum Operation {
+    NUM_VERTICES,
+    NUM_EDGES,
+    DEGREE,
+    ADD_EDGE,
+    ADD_VERTEX,
+    GET_VERTICES,
+    ADJACENT_TO,
+    CONTAINS,
+    HAS_EDGE,
+    IS_EMPTY,
+    REMOVE_VERTEX,
+    REMOVE_EDGE,
+    HAS_PATH,
+    PATH_LENGTH,
+    GET_PATH,
+    APPLY;
+
+    /**
+     * @return true iff the operation runs a traversal of the graph.
+     */
+    public boolean isTraversal() {
+        return this == HAS_PATH || this == PATH_LENGTH || this == GET_PATH;
+    }
+}
@@ -0,0 +1,73 @@
+package edu.union.adt.graph.partition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A transport to shards living in this JVM.  Each shard gets its own
+ * single-threaded worker, so a shard behaves like a separate node that
+ * processes its message queue in order, and shards run in parallel.
+ * Requests are handed to the shards as they are, without being
+ * written out.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public class LocalTransport<V> implements Transport<V> {
+    private final List<Shard<V>> shards;
+    private final ExecutorService[] workers;
+
+    /**
+     * Create a transport with a fresh, empty set of shards.
+     *
+     * @param numShards the number of shards
+     */
+    public LocalTransport(int numShards) {
+        if (numShards < 1)
+            throw new IllegalArgumentException("need at least one shard: " + numShards);
+        this.shards = new ArrayList<Shard<V>>(numShards);
+        this.workers = new ExecutorService[numShards];
+        for (int i = 0; i < numShards; i++) {
+            final int id = i;
+            shards.add(new Shard<V>(i));
+            workers[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "graph-shard-" + id);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    @Override
+    public int numShards() {
+        return shards.size();
+    }
+
+    @Override
+    public <R> CompletableFuture<R> send(int shard, final ShardRequest<V, R> request) {
+        final Shard<V> target = shards.get(shard);
+        return CompletableFuture.supplyAsync(() -> target.handle(request), workers[shard]);
+    }
+
+    /**
+     * Stops the shard workers once their queued requests are done.
+     */
+    @Override
+    public void close() {
+        for (ExecutorService worker : workers)
+            worker.shutdown();
+        for (ExecutorService worker : workers) {
+            try {
+                worker.awaitTermination(1, TimeUnit.MINUTES);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package edu.union.adt.graph.partition;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.Graphs;
+import edu.union.adt.graph.TraversalStats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A graph whose vertices are split across shards by a
+ * {@link Partitioner}.  Each vertex lives, with its out-edges, on the
+ * shard that owns it; an edge's destination may live on another
+ * shard.
+ *
+ * Single-vertex operations (addEdge, adjacentTo, degree, hasEdge, ...)
+ * are routed to the owning shard.  Counts and getVertices ask every
+ * shard.  removeVertex asks every shard to drop edges into the
+ * vertex, so no dangling edges are left.
+ *
+ * Operations that touch two shards are not atomic.  addEdge between
+ * shards first adds the destination on its shard and then the edge
+ * on the source's, so if the second call fails the graph is left with
+ * at most an extra vertex, and repeating the call completes it.
+ * Likewise, if removeVertex fails after removing the vertex, some
+ * shards may keep edges into it until the call is repeated.
+ *
+ * Path queries run a level-synchronous breadth-first search.  Each
+ * round, every shard holding part of the frontier expands it in
+ * parallel; the discovered vertices are then routed to the shards
+ * that own them, which mark them visited and return the next
+ * frontier.  Visited sets and BFS parents stay on the shards, so the
+ * caller never holds more than one frontier.
+ *
+ * The graph can be shared between threads.  Each call sees the
+ * shards' state at the time its requests arrive; a path query that
+ * runs concurrently with changes is not a snapshot.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public class PartitionedGraph<V> implements Graph<V>, Closeable {
+    private final Partitioner<V> partitioner;
+    private final Transport<V> transport;
+    private final int numShards;
+    private final AtomicLong searches = new AtomicLong();
+
+    /**
+     * Create an empty graph hash-partitioned across in-process shards.
+     *
+     * @param numShards the number of shards
+     */
+    public PartitionedGraph(int numShards) {
+        this(Partitioner.<V> hash(), new LocalTransport<V>(numShards));
+    }
+
+    /**
+     * Create a graph over a set of shards.
+     *
+     * @param partitioner decides which shard owns each vertex
+     * @param transport reaches the shards
+     */
+    public PartitionedGraph(Partitioner<V> partitioner, Transport<V> transport) {
+        this.partitioner = partitioner;
+        this.transport = transport;
+        this.numShards = transport.numShards();
+    }
+
+    /**
+     * @return the number of shards.
+     */
+    public int numShards() {
+        return numShards;
+    }
+
+    /**
+     * @param vertex a vertex
+     * @return the shard that owns 'vertex'.
+     */
+    public int shardOf(V vertex) {
+        return partitioner.shardOf(vertex, numShards);
+    }
+
+    /**
+     * Shuts the transport down.
+     */
+    @Override
+    public void close() {
+        try {
+            transport.close();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public int numVertices() {
+        int total = 0;
+        for (int n : broadcast(ShardRequest.<V> numVertices()))
+            total += n;
+        return total;
+    }
+
+    @Override
+    public int numEdges() {
+        int total = 0;
+        for (int n : broadcast(ShardRequest.<V> numEdges()))
+            total += n;
+        return total;
+    }
+
+    @Override
+    public int degree(V vertex) {
+        return call(shardOf(vertex), ShardRequest.degree(vertex));
+    }
+
+    @Override
+    public void addEdge(V from, V to) {
+        int owner = shardOf(from);
+        int target = shardOf(to);
+        if (owner == target) {
+            call(owner, ShardRequest.addLocalEdge(from, to));
+            return;
+        }
+        // 'to' first, so that a failure in between leaves at most an
+        // extra vertex, never an edge to a vertex that does not exist
+        call(target, ShardRequest.addVertex(to));
+        call(owner, ShardRequest.addEdge(from, to));
+    }
+
+    @Override
+    public void addVertex(V vertex) {
+        call(shardOf(vertex), ShardRequest.addVertex(vertex));
+    }
+
+    @Override
+    public Iterable<V> getVertices() {
+        List<V> vertices = new ArrayList<V>();
+        for (List<V> part : broadcast(ShardRequest.<V> vertices()))
+            vertices.addAll(part);
+        return vertices;
+    }
+
+    @Override
+    public Iterable<V> adjacentTo(V from) {
+        return call(shardOf(from), ShardRequest.adjacentTo(from));
+    }
+
+    @Override
+    public boolean contains(V vertex) {
+        return call(shardOf(vertex), ShardRequest.contains(vertex));
+    }
+
+    @Override
+    public boolean hasEdge(V from, V to) {
+        return call(shardOf(from), ShardRequest.hasEdge(from, to));
+    }
+
+    @Override
+    public String toString() {
+        return Graphs.toString(this);
+    }
+
+    /**
+     * @return true iff 'other' is a PartitionedGraph with the same
+     * vertices and edges.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other == this)
+            return true;
+        if (!(other instanceof PartitionedGraph))
+            return false;
+        return Graphs.sameVerticesAndEdges(this, (PartitionedGraph<?>) other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Graphs.hashCode(this);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return numVertices() == 0;
+    }
+
+    @Override
+    public void removeVertex(V toRemove) {
+        if (call(shardOf(toRemove), ShardRequest.removeVertex(toRemove)))
+            broadcast(ShardRequest.removeEdgesTo(toRemove));
+    }
+
+    @Override
+    public void removeEdge(V from, V to) {
+        call(shardOf(from), ShardRequest.removeEdge(from, to));
+    }
+
+    @Override
+    public boolean hasPath(V from, V to) {
+        return hasPath(from, to, null);
+    }
+
+    @Override
+    public boolean hasPath(V from, V to, TraversalStats stats) {
+        return search(from, to, stats) != null;
+    }
+
+    @Override
+    public int pathLength(V from, V to) {
+        return pathLength(from, to, null);
+    }
+
+    @Override
+    public int pathLength(V from, V to, TraversalStats stats) {
+        List<V> path = search(from, to, stats);
+        return path == null ? Integer.MAX_VALUE : path.size() - 1;
+    }
+
+    @Override
+    public Iterable<V> getPath(V from, V to) {
+        return getPath(from, to, null);
+    }
+
+    @Override
+    public Iterable<V> getPath(V from, V to, TraversalStats stats) {
+        return search(from, to, stats);
+    }
+
+    /**
+     * Distributed breadth-first search from 'from' to 'to'.
+     *
+     * @param stats where to count the work done, or null: every
+     * frontier vertex a shard expands, and every edge out of it
+     * @return the shortest path, or null if there is none.
+     */
+    private List<V> search(V from, V to, TraversalStats stats) {
+        if (!contains(from) || !contains(to))
+            return null;
+        if (from.equals(to))
+            return new ArrayList<V>(Collections.singletonList(from));
+        long query = searches.incrementAndGet();
+        try {
+            List<V> start = Arrays.asList(from, from);
+            List<List<V>> frontier = new ArrayList<List<V>>(numShards);
+            for (int i = 0; i < numShards; i++)
+                frontier.add(Collections.<V> emptyList());
+            frontier.set(shardOf(from), call(shardOf(from), ShardRequest.visit(query, start)));
+            while (true) {
+                List<CompletableFuture<List<V>>> expanding = new ArrayList<CompletableFuture<List<V>>>();
+                boolean any = false;
+                for (int i = 0; i < numShards; i++) {
+                    List<V> part = frontier.get(i);
+                    if (part.isEmpty()) {
+                        expanding.add(null);
+                        continue;
+                    }
+                    any = true;
+                    if (stats != null)
+                        stats.add(part.size(), 0);
+                    expanding.add(transport.send(i, ShardRequest.expand(part)));
+                }
+                if (!any)
+                    return null;
+
+                List<List<V>> routed = new ArrayList<List<V>>();
+                for (int i = 0; i < numShards; i++)
+                    routed.add(new ArrayList<V>());
+                for (CompletableFuture<List<V>> f : expanding) {
+                    if (f == null)
+                        continue;
+                    List<V> pairs = join(f);
+                    if (stats != null)
+                        stats.add(0, pairs.size() / 2);
+                    for (int j = 0; j < pairs.size(); j += 2) {
+                        List<V> bucket = routed.get(shardOf(pairs.get(j)));
+                        bucket.add(pairs.get(j));
+                        bucket.add(pairs.get(j + 1));
+                    }
+                }
+
+                List<CompletableFuture<List<V>>> visiting = new ArrayList<CompletableFuture<List<V>>>();
+                for (int i = 0; i < numShards; i++) {
+                    List<V> pairs = routed.get(i);
+                    visiting.add(pairs.isEmpty() ? null : transport.send(i, ShardRequest.visit(query, pairs)));
+                }
+                boolean found = false;
+                for (int i = 0; i < numShards; i++) {
+                    CompletableFuture<List<V>> f = visiting.get(i);
+                    List<V> fresh = f == null ? Collections.<V> emptyList() : join(f);
+                    frontier.set(i, fresh);
+                    if (i == shardOf(to) && fresh.contains(to))
+                        found = true;
+                }
+                if (found)
+                    return tracePath(query, from, to);
+            }
+        }
+        finally {
+            broadcast(ShardRequest.<V> endSearch(query));
+        }
+    }
+
+    /**
+     * Follows BFS parents from 'to' back to 'from', asking the shard
+     * that owns each vertex on the way.
+     */
+    private List<V> tracePath(long query, V from, V to) {
+        List<V> path = new ArrayList<V>();
+        V v = to;
+        path.add(v);
+        while (!v.equals(from)) {
+            v = call(shardOf(v), ShardRequest.parent(query, v));
+            path.add(v);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private <R> R call(int shard, ShardRequest<V, R> request) {
+        return join(transport.send(shard, request));
+    }
+
+    private <R> List<R> broadcast(ShardRequest<V, R> request) {
+        List<CompletableFuture<R>> replies = new ArrayList<CompletableFuture<R>>(numShards);
+        for (int i = 0; i < numShards; i++)
+            replies.add(transport.send(i, request));
+        List<R> results = new ArrayList<R>(numShards);
+        for (CompletableFuture<R> reply : replies)
+            results.add(join(reply));
+        return results;
+    }
+
+    private static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package edu.union.adt.graph.partition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Decides which shard owns a vertex.  A vertex and its out-edges always
+ * live on the shard its partitioner names.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public interface Partitioner<V> {
+    /**
+     * @param vertex a vertex
+     * @param numShards the number of shards
+     * @return the shard that owns 'vertex', between 0 and numShards - 1.
+     */
+    int shardOf(V vertex, int numShards);
+
+    /**
+     * @return a partitioner that spreads vertices by their hash code.
+     */
+    static <V> Partitioner<V> hash() {
+        return (vertex, numShards) -> {
+            int h = vertex.hashCode();
+            return Math.floorMod(h ^ (h >>> 16), numShards);
+        };
+    }
+
+    /**
+     * Returns a partitioner that keeps ranges of vertices together:
+     * shard i owns the vertices that are at least splits[i-1] and less
+     * than splits[i].  Vertices past the last split go to the last
+     * shard.
+     *
+     * @param splits the boundaries between shards, one fewer than the
+     * number of shards
+     * @param order how vertices compare
+     * @return the range partitioner
+     */
+    static <V> Partitioner<V> range(List<V> splits, final Comparator<? super V> order) {
+        final List<V> bounds = new ArrayList<V>(splits);
+        Collections.sort(bounds, order);
+        return (vertex, numShards) -> {
+            int i = Collections.binarySearch(bounds, vertex, order);
+            int shard = i >= 0 ? i + 1 : -i - 1;
+            return Math.min(shard, numShards - 1);
+        };
+    }
+}
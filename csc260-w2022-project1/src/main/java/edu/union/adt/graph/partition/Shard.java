@@ -0,0 +1,226 @@
+package edu.union.adt.graph.partition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The part of a partitioned graph held by one worker: the vertices the
+ * partitioner assigns to it, with their out-edges, plus the search
+ * state of any breadth-first searches in progress.
+ *
+ * A shard is only ever touched by its own worker thread, so it needs
+ * no locking.  Requests reach it through a {@link Transport}, which
+ * passes each one to {@link #handle}.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class Shard<V> {
+    private final int id;
+    private final Map<V, Set<V>> adjacency = new HashMap<V, Set<V>>();
+    private final Map<Long, Map<V, V>> searches = new HashMap<Long, Map<V, V>>();
+    private int edgeCount;
+
+    /**
+     * Create an empty shard.
+     *
+     * @param id the shard's number
+     */
+    public Shard(int id) {
+        this.id = id;
+    }
+
+    /**
+     * @return this shard's number.
+     */
+    public int id() {
+        return id;
+    }
+
+    /**
+     * Carries out a request.
+     *
+     * @param request what to do
+     * @return the reply, of the type the request names
+     * @throws RuntimeException if DEGREE names a vertex the shard does
+     * not own
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R handle(ShardRequest<V, R> request) {
+        return (R) dispatch(request);
+    }
+
+    private Object dispatch(ShardRequest<V, ?> request) {
+        switch (request.op()) {
+        case ShardRequest.NUM_VERTICES:
+            return numVertices();
+        case ShardRequest.NUM_EDGES:
+            return numEdges();
+        case ShardRequest.VERTICES:
+            return vertices();
+        case ShardRequest.CONTAINS:
+            return contains(request.argument(0));
+        case ShardRequest.DEGREE:
+            return degree(request.argument(0));
+        case ShardRequest.ADJACENT_TO:
+            return adjacentTo(request.argument(0));
+        case ShardRequest.HAS_EDGE:
+            return hasEdge(request.argument(0), request.argument(1));
+        case ShardRequest.ADD_VERTEX:
+            addVertex(request.argument(0));
+            return null;
+        case ShardRequest.ADD_LOCAL_EDGE:
+            addVertex(request.argument(1));
+            addEdge(request.argument(0), request.argument(1));
+            return null;
+        case ShardRequest.ADD_EDGE:
+            addEdge(request.argument(0), request.argument(1));
+            return null;
+        case ShardRequest.REMOVE_VERTEX:
+            return removeVertex(request.argument(0));
+        case ShardRequest.REMOVE_EDGE:
+            removeEdge(request.argument(0), request.argument(1));
+            return null;
+        case ShardRequest.REMOVE_EDGES_TO:
+            removeEdgesTo(request.argument(0));
+            return null;
+        case ShardRequest.EXPAND:
+            return expand(request.arguments());
+        case ShardRequest.VISIT:
+            return visit(request.search(), request.arguments());
+        case ShardRequest.PARENT:
+            return parent(request.search(), request.argument(0));
+        case ShardRequest.END_SEARCH:
+            endSearch(request.search());
+            return null;
+        default:
+            throw new IllegalArgumentException("unknown shard operation: " + request.op());
+        }
+    }
+
+    int numVertices() {
+        return adjacency.size();
+    }
+
+    int numEdges() {
+        return edgeCount;
+    }
+
+    boolean contains(V vertex) {
+        return adjacency.containsKey(vertex);
+    }
+
+    void addVertex(V vertex) {
+        if (!adjacency.containsKey(vertex))
+            adjacency.put(vertex, new LinkedHashSet<V>());
+    }
+
+    void addEdge(V from, V to) {
+        addVertex(from);
+        if (adjacency.get(from).add(to))
+            edgeCount++;
+    }
+
+    boolean hasEdge(V from, V to) {
+        Set<V> out = adjacency.get(from);
+        return out != null && out.contains(to);
+    }
+
+    void removeEdge(V from, V to) {
+        Set<V> out = adjacency.get(from);
+        if (out != null && out.remove(to))
+            edgeCount--;
+    }
+
+    /**
+     * @return true iff the vertex was there to remove.
+     */
+    boolean removeVertex(V vertex) {
+        Set<V> out = adjacency.remove(vertex);
+        if (out == null)
+            return false;
+        edgeCount -= out.size();
+        return true;
+    }
+
+    /**
+     * Removes every edge into 'vertex' held by this shard.
+     */
+    void removeEdgesTo(V vertex) {
+        for (Set<V> out : adjacency.values())
+            if (out.remove(vertex))
+                edgeCount--;
+    }
+
+    int degree(V vertex) {
+        Set<V> out = adjacency.get(vertex);
+        if (out == null)
+            throw new RuntimeException();
+        return out.size();
+    }
+
+    List<V> adjacentTo(V vertex) {
+        Set<V> out = adjacency.get(vertex);
+        return out == null ? new ArrayList<V>() : new ArrayList<V>(out);
+    }
+
+    List<V> vertices() {
+        return new ArrayList<V>(adjacency.keySet());
+    }
+
+    /**
+     * First half of a BFS round: the out-neighbours of this shard's
+     * frontier vertices, as (neighbour, parent) pairs laid out flat.
+     */
+    List<V> expand(Collection<V> frontier) {
+        List<V> discovered = new ArrayList<V>();
+        for (V v : frontier) {
+            Set<V> out = adjacency.get(v);
+            if (out == null)
+                continue;
+            for (V w : out) {
+                discovered.add(w);
+                discovered.add(v);
+            }
+        }
+        return discovered;
+    }
+
+    /**
+     * Second half of a BFS round: marks the vertices this shard owns
+     * as visited by search 'query', remembering their parents.
+     *
+     * @return the vertices visited for the first time, which form
+     * this shard's part of the next frontier.
+     */
+    List<V> visit(long query, List<V> discovered) {
+        Map<V, V> parents = searches.get(query);
+        if (parents == null) {
+            parents = new HashMap<V, V>();
+            searches.put(query, parents);
+        }
+        List<V> fresh = new ArrayList<V>();
+        for (int i = 0; i < discovered.size(); i += 2) {
+            V w = discovered.get(i);
+            if (!parents.containsKey(w) && adjacency.containsKey(w)) {
+                parents.put(w, discovered.get(i + 1));
+                fresh.add(w);
+            }
+        }
+        return fresh;
+    }
+
+    V parent(long query, V vertex) {
+        Map<V, V> parents = searches.get(query);
+        return parents == null ? null : parents.get(vertex);
+    }
+
+    void endSearch(long query) {
+        searches.remove(query);
+    }
+}
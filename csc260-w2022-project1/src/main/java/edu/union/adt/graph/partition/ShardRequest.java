@@ -0,0 +1,340 @@
+package edu.union.adt.graph.partition;
+
+import edu.union.adt.graph.persistence.VertexCodec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A request to a {@link Shard}, as plain data: an operation code, a
+ * search id for the breadth-first search operations, and the vertex
+ * arguments.  The shard interprets it with {@link Shard#handle}.
+ * Because a request is data rather than code, a transport can send it
+ * over a network:
+ *
+ * <PRE>
+ * request: byte op, long search, int count, count vertices
+ * reply:   depends on op, see {@link #writeReply}
+ * </PRE>
+ *
+ * Vertices are written with a {@link VertexCodec}, as in the query
+ * server's protocol.  R is the type of the reply.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class ShardRequest<V, R> {
+    public static final byte NUM_VERTICES = 1;
+    public static final byte NUM_EDGES = 2;
+    public static final byte VERTICES = 3;
+    public static final byte CONTAINS = 4;
+    public static final byte DEGREE = 5;
+    public static final byte ADJACENT_TO = 6;
+    public static final byte HAS_EDGE = 7;
+    public static final byte ADD_VERTEX = 8;
+    public static final byte ADD_EDGE = 9;
+    public static final byte ADD_LOCAL_EDGE = 10;
+    public static final byte REMOVE_VERTEX = 11;
+    public static final byte REMOVE_EDGE = 12;
+    public static final byte REMOVE_EDGES_TO = 13;
+    public static final byte EXPAND = 14;
+    public static final byte VISIT = 15;
+    public static final byte PARENT = 16;
+    public static final byte END_SEARCH = 17;
+
+    private final byte op;
+    private final long search;
+    private final List<V> vertices;
+
+    private ShardRequest(byte op, long search, List<V> vertices) {
+        if (op < NUM_VERTICES || op > END_SEARCH)
+            throw new IllegalArgumentException("unknown shard operation: " + op);
+        this.op = op;
+        this.search = search;
+        this.vertices = vertices;
+    }
+
+    private static <V, R> ShardRequest<V, R> of(byte op) {
+        return new ShardRequest<V, R>(op, 0, Collections.<V> emptyList());
+    }
+
+    private static <V, R> ShardRequest<V, R> of(byte op, V vertex) {
+        return new ShardRequest<V, R>(op, 0, Collections.singletonList(vertex));
+    }
+
+    private static <V, R> ShardRequest<V, R> of(byte op, V first, V second) {
+        return new ShardRequest<V, R>(op, 0, Arrays.asList(first, second));
+    }
+
+    /** @return a request for the number of vertices the shard owns. */
+    public static <V> ShardRequest<V, Integer> numVertices() {
+        return of(NUM_VERTICES);
+    }
+
+    /** @return a request for the number of edges out of the shard's vertices. */
+    public static <V> ShardRequest<V, Integer> numEdges() {
+        return of(NUM_EDGES);
+    }
+
+    /** @return a request for the vertices the shard owns. */
+    public static <V> ShardRequest<V, List<V>> vertices() {
+        return of(VERTICES);
+    }
+
+    /** @return a request for whether the shard owns 'vertex'. */
+    public static <V> ShardRequest<V, Boolean> contains(V vertex) {
+        return of(CONTAINS, vertex);
+    }
+
+    /** @return a request for the out-degree of 'vertex'. */
+    public static <V> ShardRequest<V, Integer> degree(V vertex) {
+        return of(DEGREE, vertex);
+    }
+
+    /** @return a request for the out-neighbours of 'vertex'. */
+    public static <V> ShardRequest<V, List<V>> adjacentTo(V vertex) {
+        return of(ADJACENT_TO, vertex);
+    }
+
+    /** @return a request for whether there is an edge from 'from' to 'to'. */
+    public static <V> ShardRequest<V, Boolean> hasEdge(V from, V to) {
+        return of(HAS_EDGE, from, to);
+    }
+
+    /** @return a request to add 'vertex'. */
+    public static <V> ShardRequest<V, Void> addVertex(V vertex) {
+        return of(ADD_VERTEX, vertex);
+    }
+
+    /**
+     * @return a request to add 'from', if needed, and an edge from it
+     * to 'to', which another shard owns.
+     */
+    public static <V> ShardRequest<V, Void> addEdge(V from, V to) {
+        return of(ADD_EDGE, from, to);
+    }
+
+    /**
+     * @return a request to add both vertices, if needed, and an edge
+     * between them, when one shard owns both.
+     */
+    public static <V> ShardRequest<V, Void> addLocalEdge(V from, V to) {
+        return of(ADD_LOCAL_EDGE, from, to);
+    }
+
+    /**
+     * @return a request to remove 'vertex' and its out-edges, replying
+     * whether it was there.
+     */
+    public static <V> ShardRequest<V, Boolean> removeVertex(V vertex) {
+        return of(REMOVE_VERTEX, vertex);
+    }
+
+    /** @return a request to remove the edge from 'from' to 'to'. */
+    public static <V> ShardRequest<V, Void> removeEdge(V from, V to) {
+        return of(REMOVE_EDGE, from, to);
+    }
+
+    /** @return a request to remove every edge into 'vertex'. */
+    public static <V> ShardRequest<V, Void> removeEdgesTo(V vertex) {
+        return of(REMOVE_EDGES_TO, vertex);
+    }
+
+    /**
+     * @return a request for the out-neighbours of the frontier
+     * vertices the shard owns, as (neighbour, parent) pairs laid out
+     * flat.
+     */
+    public static <V> ShardRequest<V, List<V>> expand(Collection<V> frontier) {
+        return new ShardRequest<V, List<V>>(EXPAND, 0, new ArrayList<V>(frontier));
+    }
+
+    /**
+     * @param search the search the pairs belong to
+     * @param pairs (vertex, parent) pairs laid out flat
+     * @return a request to mark the vertices visited by 'search',
+     * replying with those visited for the first time.
+     */
+    public static <V> ShardRequest<V, List<V>> visit(long search, List<V> pairs) {
+        if (pairs.size() % 2 != 0)
+            throw new IllegalArgumentException("odd number of vertices in (vertex, parent) pairs");
+        return new ShardRequest<V, List<V>>(VISIT, search, pairs);
+    }
+
+    /** @return a request for the BFS parent of 'vertex' in 'search'. */
+    public static <V> ShardRequest<V, V> parent(long search, V vertex) {
+        return new ShardRequest<V, V>(PARENT, search, Collections.singletonList(vertex));
+    }
+
+    /** @return a request to drop the state of 'search'. */
+    public static <V> ShardRequest<V, Void> endSearch(long search) {
+        return new ShardRequest<V, Void>(END_SEARCH, search, Collections.<V> emptyList());
+    }
+
+    /**
+     * @return the operation code.
+     */
+    public byte op() {
+        return op;
+    }
+
+    /**
+     * @return the id of the search a BFS operation belongs to, or 0.
+     */
+    public long search() {
+        return search;
+    }
+
+    /**
+     * @return the vertex arguments.
+     */
+    public List<V> arguments() {
+        return vertices;
+    }
+
+    /**
+     * @param i an argument index
+     * @return the i-th vertex argument.
+     */
+    public V argument(int i) {
+        return vertices.get(i);
+    }
+
+    /**
+     * Writes this request.
+     *
+     * @param codec writes vertices
+     * @param out where to write
+     * @throws IOException if writing fails
+     */
+    public void write(VertexCodec<V> codec, DataOutput out) throws IOException {
+        out.writeByte(op);
+        out.writeLong(search);
+        writeVertices(vertices, codec, out);
+    }
+
+    /**
+     * Reads a request written by {@link #write}.
+     *
+     * @param codec reads vertices
+     * @param in where to read from
+     * @return the request
+     * @throws IOException if reading fails or the operation code is
+     * unknown
+     */
+    public static <V> ShardRequest<V, ?> read(VertexCodec<V> codec, DataInput in) throws IOException {
+        byte op = in.readByte();
+        long search = in.readLong();
+        List<V> vertices = readVertices(codec, in);
+        try {
+            return new ShardRequest<V, Object>(op, search, vertices);
+        }
+        catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a reply to this request: an int for NUM_VERTICES,
+     * NUM_EDGES and DEGREE; a boolean for CONTAINS, HAS_EDGE and
+     * REMOVE_VERTEX; a count and that many vertices for VERTICES,
+     * ADJACENT_TO, EXPAND and VISIT; a boolean and, if it is true, a
+     * vertex for PARENT; and nothing for the other operations.
+     *
+     * @param reply what the shard replied
+     * @param codec writes vertices
+     * @param out where to write
+     * @throws IOException if writing fails
+     */
+    public void writeReply(R reply, VertexCodec<V> codec, DataOutput out) throws IOException {
+        switch (op) {
+        case NUM_VERTICES:
+        case NUM_EDGES:
+        case DEGREE:
+            out.writeInt((Integer) reply);
+            break;
+        case CONTAINS:
+        case HAS_EDGE:
+        case REMOVE_VERTEX:
+            out.writeBoolean((Boolean) reply);
+            break;
+        case VERTICES:
+        case ADJACENT_TO:
+        case EXPAND:
+        case VISIT:
+            @SuppressWarnings("unchecked")
+            List<V> list = (List<V>) reply;
+            writeVertices(list, codec, out);
+            break;
+        case PARENT:
+            out.writeBoolean(reply != null);
+            if (reply != null) {
+                @SuppressWarnings("unchecked")
+                V parent = (V) reply;
+                codec.write(parent, out);
+            }
+            break;
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Reads a reply written by {@link #writeReply}.
+     *
+     * @param codec reads vertices
+     * @param in where to read from
+     * @return the reply
+     * @throws IOException if reading fails
+     */
+    @SuppressWarnings("unchecked")
+    public R readReply(VertexCodec<V> codec, DataInput in) throws IOException {
+        switch (op) {
+        case NUM_VERTICES:
+        case NUM_EDGES:
+        case DEGREE:
+            return (R) Integer.valueOf(in.readInt());
+        case CONTAINS:
+        case HAS_EDGE:
+        case REMOVE_VERTEX:
+            return (R) Boolean.valueOf(in.readBoolean());
+        case VERTICES:
+        case ADJACENT_TO:
+        case EXPAND:
+        case VISIT:
+            return (R) readVertices(codec, in);
+        case PARENT:
+            return in.readBoolean() ? (R) codec.read(in) : null;
+        default:
+            return null;
+        }
+    }
+
+    private static <V> void writeVertices(List<V> vertices, VertexCodec<V> codec, DataOutput out)
+        throws IOException {
+        out.writeInt(vertices.size());
+        for (V v : vertices)
+            codec.write(v, out);
+    }
+
+    private static <V> List<V> readVertices(VertexCodec<V> codec, DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count < 0)
+            throw new IOException("negative vertex count: " + count);
+        List<V> vertices = new ArrayList<V>(Math.min(count, 1 << 16));
+        for (int i = 0; i < count; i++)
+            vertices.add(codec.read(in));
+        return vertices;
+    }
+
+    @Override
+    public String toString() {
+        return "ShardRequest(op " + op + ", search " + search + ", " + vertices + ")";
+    }
+}
@@ -0,0 +1,34 @@
+package edu.union.adt.graph.partition;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Carries requests from a {@link PartitionedGraph} to its shards and
+ * brings back the replies.  Requests to one shard are handled one at a
+ * time, in the order they were sent; requests to different shards run
+ * concurrently.
+ *
+ * Requests and replies are data, so a transport to shards in other
+ * processes writes each request with {@link ShardRequest#write}, has
+ * the remote side read it and pass it to {@link Shard#handle}, and
+ * reads the reply back with {@link ShardRequest#readReply}.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public interface Transport<V> extends Closeable {
+    /**
+     * @return the number of shards reachable through this transport.
+     */
+    int numShards();
+
+    /**
+     * Sends a request to a shard.
+     *
+     * @param shard the shard number
+     * @param request what to do there
+     * @return a future completed with the reply
+     */
+    <R> CompletableFuture<R> send(int shard, ShardRequest<V, R> request);
+}
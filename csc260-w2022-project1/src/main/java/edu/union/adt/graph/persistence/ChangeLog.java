@@ -0,0 +1,361 @@
+package edu.union.adt.graph.persistence;
+
+import edu.union.adt.graph.Graph;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only binary log of graph mutations, written through a
+ * FileChannel.
+ *
+ * Each record is laid out as
+ *
+ * <PRE>
+ * int length | int crc32 | byte op | vertex [| vertex]
+ * </PRE>
+ *
+ * where the vertices are encoded with a {@link VertexCodec} and the
+ * checksum covers everything after it.  Records are encoded into an
+ * in-memory buffer; depending on the {@link Durability} a background
+ * thread swaps that buffer out, writes it and forces it to disk while
+ * writers keep filling a second buffer (group commit).
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+final class ChangeLog<V> implements Closeable {
+    static final byte ADD_VERTEX = 1;
+    static final byte ADD_EDGE = 2;
+    static final byte REMOVE_EDGE = 3;
+    static final byte REMOVE_VERTEX = 4;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long PERIODIC_INTERVAL_MS = 10;
+
+    private final VertexCodec<V> codec;
+    private final Durability durability;
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private final CRC32 crc = new CRC32();
+    private final Thread flusher;
+
+    private FileChannel channel;
+    private ByteBuffer pending = ByteBuffer.allocate(BUFFER_SIZE);
+    private ByteBuffer spare = ByteBuffer.allocate(BUFFER_SIZE);
+    private long appended;
+    private long durable;
+    private boolean flushing;
+    private boolean closed;
+    private IOException failure;
+
+    /**
+     * Opens a log segment for appending.
+     *
+     * @param file the segment file; created if missing
+     * @param codec how to encode vertices
+     * @param durability when records are forced to disk
+     * @param appended the number of records already in the log, so
+     * that sequence numbers continue across restarts
+     */
+    ChangeLog(Path file, VertexCodec<V> codec, Durability durability, long appended)
+        throws IOException {
+        this.codec = codec;
+        this.durability = durability;
+        this.channel = openSegment(file);
+        this.appended = appended;
+        this.durable = appended;
+        if (durability == Durability.NONE) {
+            this.flusher = null;
+        }
+        else {
+            this.flusher = new Thread(this::flushLoop, "graph-change-log-flusher");
+            this.flusher.setDaemon(true);
+            this.flusher.start();
+        }
+    }
+
+    private static FileChannel openSegment(Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                                          StandardOpenOption.WRITE);
+        ch.position(ch.size());
+        return ch;
+    }
+
+    /**
+     * @return the number of records appended so far, which is also the
+     * sequence number of the most recent record.
+     */
+    synchronized long appended() {
+        return appended;
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param op the operation code
+     * @param first the first vertex of the operation
+     * @param second the second vertex, or null for vertex operations
+     * @return the sequence number of the record, for awaitDurable.
+     */
+    synchronized long append(byte op, V first, V second) throws IOException {
+        if (closed)
+            throw new IOException("change log is closed");
+        if (failure != null)
+            throw failure;
+        record.reset();
+        recordOut.writeByte(op);
+        codec.write(first, recordOut);
+        if (second != null)
+            codec.write(second, recordOut);
+        byte[] bytes = record.toByteArray();
+        int length = bytes.length;
+        crc.reset();
+        crc.update(bytes, 0, length);
+
+        if (pending.remaining() < length + 8) {
+            if (flusher == null) {
+                writeOut(channel, pending);
+            }
+            else {
+                ByteBuffer bigger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, length + 8));
+                pending.flip();
+                bigger.put(pending);
+                pending = bigger;
+            }
+        }
+        if (pending.remaining() < length + 8)
+            pending = ByteBuffer.allocate(length + 8);
+        pending.putInt(length);
+        pending.putInt((int) crc.getValue());
+        pending.put(bytes, 0, length);
+        appended++;
+        if (durability == Durability.GROUP_COMMIT)
+            notifyAll();
+        return appended;
+    }
+
+    /**
+     * Waits until the record with the given sequence number is on
+     * disk.  Returns at once unless the log uses GROUP_COMMIT.
+     *
+     * @param sequence a sequence number returned by append
+     */
+    void awaitDurable(long sequence) throws IOException {
+        if (durability != Durability.GROUP_COMMIT)
+            return;
+        synchronized (this) {
+            while (durable < sequence && failure == null && !closed) {
+                try {
+                    wait();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("interrupted while waiting for the change log", e);
+                }
+            }
+            if (failure != null)
+                throw failure;
+        }
+    }
+
+    /**
+     * Writes every buffered record and forces the log to disk.
+     */
+    synchronized void sync() throws IOException {
+        waitForFlusher();
+        if (failure != null)
+            throw failure;
+        writeOut(channel, pending);
+        channel.force(false);
+        durable = appended;
+        notifyAll();
+    }
+
+    /**
+     * Syncs the current segment, closes it and continues appending to
+     * a new one.
+     *
+     * @param file the new segment file
+     */
+    synchronized void rollTo(Path file) throws IOException {
+        sync();
+        channel.close();
+        channel = openSegment(file);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed)
+                return;
+            try {
+                sync();
+            }
+            finally {
+                closed = true;
+                notifyAll();
+                channel.close();
+            }
+        }
+        if (flusher != null) {
+            try {
+                flusher.join();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void waitForFlusher() throws IOException {
+        while (flushing) {
+            try {
+                wait();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted while waiting for the change log", e);
+            }
+        }
+    }
+
+    private static void writeOut(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Body of the background thread: repeatedly swaps out the pending
+     * buffer, writes it and forces it, then wakes the writers waiting
+     * on it.  Writers keep appending to the other buffer meanwhile.
+     */
+    private void flushLoop() {
+        while (true) {
+            ByteBuffer batch;
+            FileChannel ch;
+            long upTo;
+            synchronized (this) {
+                try {
+                    while (!closed && pending.position() == 0)
+                        wait(durability == Durability.PERIODIC ? PERIODIC_INTERVAL_MS : 0);
+                }
+                catch (InterruptedException e) {
+                    return;
+                }
+                if (closed)
+                    return;
+                flushing = true;
+                batch = pending;
+                pending = spare;
+                spare = null;
+                ch = channel;
+                upTo = appended;
+            }
+            IOException error = null;
+            try {
+                writeOut(ch, batch);
+                ch.force(false);
+            }
+            catch (IOException e) {
+                error = e;
+            }
+            synchronized (this) {
+                batch.clear();
+                spare = batch;
+                flushing = false;
+                if (error != null)
+                    failure = error;
+                else
+                    durable = Math.max(durable, upTo);
+                notifyAll();
+            }
+            if (durability == Durability.PERIODIC) {
+                try {
+                    Thread.sleep(PERIODIC_INTERVAL_MS);
+                }
+                catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replays the records of a log segment onto a graph.  Replay stops
+     * at the first record that is incomplete or fails its checksum,
+     * which is what a crash in the middle of a write leaves behind;
+     * the segment is truncated there so that appending can resume.
+     * The segment is streamed a buffer at a time, so it may be larger
+     * than memory or than 2 GB.
+     *
+     * @param file the segment to read
+     * @param codec how vertices were encoded
+     * @param graph the graph to apply the operations to
+     * @return the number of records replayed
+     */
+    static <V> long replay(Path file, VertexCodec<V> codec, Graph<V> graph)
+        throws IOException {
+        long size = Files.size(file);
+        CRC32 check = new CRC32();
+        byte[] body = new byte[64];
+        long valid = 0;
+        long count = 0;
+        try (DataInputStream data = new DataInputStream(
+                 new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            while (size - valid >= 8) {
+                int length = data.readInt();
+                int expected = data.readInt();
+                if (length <= 0 || length > size - valid - 8)
+                    break;
+                if (body.length < length)
+                    body = new byte[Math.max(length, 2 * body.length)];
+                data.readFully(body, 0, length);
+                check.reset();
+                check.update(body, 0, length);
+                if ((int) check.getValue() != expected)
+                    break;
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(body, 0, length));
+                byte op = in.readByte();
+                V first = codec.read(in);
+                switch (op) {
+                case ADD_VERTEX:
+                    graph.addVertex(first);
+                    break;
+                case REMOVE_VERTEX:
+                    graph.removeVertex(first);
+                    break;
+                case ADD_EDGE:
+                    graph.addEdge(first, codec.read(in));
+                    break;
+                case REMOVE_EDGE:
+                    graph.removeEdge(first, codec.read(in));
+                    break;
+                default:
+                    throw new IOException("unknown change log operation " + op + " in " + file);
+                }
+                valid += 8 + length;
+                count++;
+            }
+        }
+        if (valid < size) {
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ch.truncate(valid);
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,177 @@
+package edu.union.adt.graph.persistence;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphDelta;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes checkpoints: compact snapshots of a whole graph.
+ * The format is
+ *
+ * <PRE>
+ * int magic | int version | long sequence | int numVertices
+ * vertex * numVertices
+ * (varint degree, varint target index * degree) * numVertices
+ * int crc32
+ * </PRE>
+ *
+ * where vertices are encoded with a {@link VertexCodec} and edges refer
+ * to vertices by their position in the vertex list.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+final class Checkpoints {
+    private static final int MAGIC = 0x504B4743;
+    private static final int VERSION = 1;
+
+    /**
+     * Appended to a checkpoint's name while it is being written.
+     */
+    static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private Checkpoints() {
+    }
+
+    /**
+     * Writes a checkpoint to a temporary file, forces it to disk and
+     * then renames it into place, so a crash never leaves a partial
+     * checkpoint behind.  The directory is forced after the rename, so
+     * that the rename itself survives a crash.
+     *
+     * @param file where to write the checkpoint
+     * @param graph the graph to save
+     * @param codec how to encode vertices
+     * @param sequence the number of log records the checkpoint covers
+     */
+    static <V> void write(Path file, Graph<V> graph, VertexCodec<V> codec, long sequence)
+        throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + TEMPORARY_SUFFIX);
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                                               StandardOpenOption.WRITE,
+                                               StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32 crc = new CRC32();
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(ch), 1 << 16), crc));
+            List<V> vertices = new ArrayList<V>();
+            for (V v : graph.getVertices())
+                vertices.add(v);
+            Map<V, Integer> index = new HashMap<V, Integer>(vertices.size() * 2);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(sequence);
+            out.writeInt(vertices.size());
+            for (V v : vertices) {
+                index.put(v, index.size());
+                codec.write(v, out);
+            }
+            List<Integer> targets = new ArrayList<Integer>();
+            for (V v : vertices) {
+                targets.clear();
+                for (V w : graph.adjacentTo(v)) {
+                    Integer i = index.get(w);
+                    if (i != null)
+                        targets.add(i);
+                }
+                writeVarint(out, targets.size());
+                for (int i : targets)
+                    writeVarint(out, i);
+            }
+            out.flush();
+            out.writeInt((int) crc.getValue());
+            out.flush();
+            ch.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(file.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Forces a directory's entries to disk, so that files created or
+     * renamed in it are not lost in a crash.  Does nothing on
+     * platforms, such as Windows, that cannot open a directory.
+     *
+     * @param directory the directory to force
+     */
+    static void forceDirectory(Path directory) {
+        try (FileChannel ch = FileChannel.open(directory, StandardOpenOption.READ)) {
+            ch.force(true);
+        }
+        catch (IOException e) {
+            // directories cannot be opened or forced here
+        }
+    }
+
+    /**
+     * Loads a checkpoint into an empty graph.
+     *
+     * @param file the checkpoint to read
+     * @param codec how vertices were encoded
+     * @param graph the graph to load into
+     * @return the number of log records the checkpoint covers
+     */
+    static <V> long read(Path file, VertexCodec<V> codec, Graph<V> graph) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            CRC32 crc = new CRC32();
+            DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Channels.newInputStream(ch), 1 << 16), crc));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION)
+                throw new IOException(file + " is not a graph checkpoint");
+            long sequence = in.readLong();
+            int numVertices = in.readInt();
+            List<V> vertices = new ArrayList<V>(numVertices);
+            GraphDelta<V> delta = new GraphDelta<V>();
+            for (int i = 0; i < numVertices; i++) {
+                V v = codec.read(in);
+                vertices.add(v);
+                delta.addVertex(v);
+            }
+            for (V v : vertices) {
+                int degree = readVarint(in);
+                for (int j = 0; j < degree; j++)
+                    delta.addEdge(v, vertices.get(readVarint(in)));
+            }
+            int expected = (int) crc.getValue();
+            if (in.readInt() != expected)
+                throw new IOException("checkpoint " + file + " is corrupt");
+            graph.apply(delta);
+            return sequence;
+        }
+    }
+
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+    }
+}
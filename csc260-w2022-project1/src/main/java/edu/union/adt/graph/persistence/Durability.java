@@ -0,0 +1,32 @@
+package edu.union.adt.graph.persistence;
+
+/**
+ * How hard a {@link DurableGraph} works to get its change log onto
+ * disk.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public enum Durability {
+    /**
+     * Changes are buffered and handed to the operating system when the
+     * buffer fills, at checkpoints and on close, but never forced to
+     * disk.  A crash of the JVM loses at most the buffered changes; a
+     * crash of the machine may lose more.
+     */
+    NONE,
+
+    /**
+     * A background thread forces the log to disk every few
+     * milliseconds.  Writers never wait, and a crash loses at most the
+     * changes made since the last force.
+     */
+    PERIODIC,
+
+    /**
+     * Every change is on disk before the mutating call returns.
+     * Writers that arrive while a force is in progress are batched
+     * into the next one, so concurrent writers share fsyncs.
+     */
+    GROUP_COMMIT
+}
@@ -0,0 +1,464 @@
+package edu.union.adt.graph.persistence;
+
+import edu.union.adt.graph.Edge;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphDelta;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.Graphs;
+import edu.union.adt.graph.Subgraph;
+import edu.union.adt.graph.TraversalStats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A graph whose changes survive a restart.  Every addVertex, addEdge,
+ * removeEdge and removeVertex is appended to a binary change log
+ * before it is applied to an in-memory graph, and {@link #checkpoint()}
+ * writes a compact snapshot of the whole graph and starts a new log.
+ * {@link #open} recovers by loading the newest checkpoint and
+ * replaying the log written after it.
+ *
+ * The directory holds files named checkpoint-N.snap and changes-N.log,
+ * where N is the number of changes made before the file was started.
+ * Older files are deleted once a newer checkpoint is safely on disk.
+ *
+ * All methods are synchronized, so a DurableGraph can be shared
+ * between threads.  With {@link Durability#GROUP_COMMIT} a mutating
+ * call waits for its change to reach the disk after releasing the
+ * lock, so that concurrent writers share one fsync.
+ *
+ * Changes that have no effect (adding an existing edge, removing a
+ * missing vertex, ...) are not logged.  I/O errors are rethrown as
+ * UncheckedIOException.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public class DurableGraph<V> implements Graph<V>, Closeable {
+    private static final String CHECKPOINT_PREFIX = "checkpoint-";
+    private static final String CHECKPOINT_SUFFIX = ".snap";
+    private static final String LOG_PREFIX = "changes-";
+    private static final String LOG_SUFFIX = ".log";
+
+    private final Path directory;
+    private final VertexCodec<V> codec;
+    private final Graph<V> graph;
+    private final ChangeLog<V> log;
+    private long lastCheckpoint;
+    private long checkpointInterval;
+
+    private DurableGraph(Path directory, VertexCodec<V> codec, Graph<V> graph,
+                         ChangeLog<V> log, long lastCheckpoint) {
+        this.directory = directory;
+        this.codec = codec;
+        this.graph = graph;
+        this.log = log;
+        this.lastCheckpoint = lastCheckpoint;
+    }
+
+    /**
+     * Opens (or creates) a durable graph kept in memory as the graph
+     * returned by GraphFactory.createGraph().
+     *
+     * @param directory where the log and checkpoints live
+     * @param codec how to encode vertices
+     * @param durability when changes are forced to disk
+     * @return the recovered graph
+     * @throws IOException if the files cannot be read or created
+     */
+    public static <V> DurableGraph<V> open(Path directory, VertexCodec<V> codec,
+                                           Durability durability) throws IOException {
+        return open(directory, codec, durability, GraphFactory.<V> createGraph());
+    }
+
+    /**
+     * Opens (or creates) a durable graph.
+     *
+     * @param directory where the log and checkpoints live
+     * @param codec how to encode vertices
+     * @param durability when changes are forced to disk
+     * @param empty an empty graph to recover into and keep in memory
+     * @return the recovered graph
+     * @throws IOException if the files cannot be read or created
+     */
+    public static <V> DurableGraph<V> open(Path directory, VertexCodec<V> codec,
+                                           Durability durability, Graph<V> empty)
+        throws IOException {
+        if (!empty.isEmpty())
+            throw new IllegalArgumentException("recovery needs an empty graph");
+        Files.createDirectories(directory);
+        deleteTemporaries(directory);
+        List<Long> checkpoints = sequences(directory, CHECKPOINT_PREFIX, CHECKPOINT_SUFFIX);
+        List<Long> segments = sequences(directory, LOG_PREFIX, LOG_SUFFIX);
+
+        long checkpoint = 0;
+        if (!checkpoints.isEmpty()) {
+            checkpoint = checkpoints.get(checkpoints.size() - 1);
+            Checkpoints.read(file(directory, CHECKPOINT_PREFIX, checkpoint, CHECKPOINT_SUFFIX),
+                             codec, empty);
+        }
+        long appended = checkpoint;
+        long active = checkpoint;
+        for (long start : segments) {
+            if (start < checkpoint)
+                continue;
+            appended = start + ChangeLog.replay(file(directory, LOG_PREFIX, start, LOG_SUFFIX),
+                                                codec, empty);
+            active = start;
+        }
+        ChangeLog<V> log = new ChangeLog<V>(file(directory, LOG_PREFIX, active, LOG_SUFFIX),
+                                            codec, durability, appended);
+        DurableGraph<V> durable = new DurableGraph<V>(directory, codec, empty, log, checkpoint);
+        durable.deleteBefore(checkpoint, active);
+        return durable;
+    }
+
+    /**
+     * Makes {@link #checkpoint()} run automatically once the given
+     * number of changes has been logged since the last one.
+     *
+     * @param changes the number of changes between checkpoints, or 0
+     * to only checkpoint when asked
+     */
+    public synchronized void setCheckpointInterval(long changes) {
+        this.checkpointInterval = changes;
+    }
+
+    /**
+     * Writes a snapshot of the graph, starts a new change log and
+     * deletes the files the snapshot makes obsolete.  Recovery time is
+     * proportional to the size of the graph plus the number of changes
+     * made since the last checkpoint.
+     */
+    public synchronized void checkpoint() {
+        try {
+            log.sync();
+            long sequence = log.appended();
+            if (sequence == lastCheckpoint
+                && Files.exists(file(directory, CHECKPOINT_PREFIX, sequence, CHECKPOINT_SUFFIX)))
+                return;
+            Checkpoints.write(file(directory, CHECKPOINT_PREFIX, sequence, CHECKPOINT_SUFFIX),
+                              graph, codec, sequence);
+            log.rollTo(file(directory, LOG_PREFIX, sequence, LOG_SUFFIX));
+            lastCheckpoint = sequence;
+            deleteBefore(sequence, sequence);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Forces every logged change to disk, whatever the durability.
+     */
+    public void sync() {
+        try {
+            log.sync();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the number of changes logged since the graph was created.
+     */
+    public long numChanges() {
+        return log.appended();
+    }
+
+    /**
+     * Flushes the log and releases its file.  The graph must not be
+     * changed afterwards.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        log.close();
+    }
+
+    @Override
+    public synchronized int numVertices() {
+        return graph.numVertices();
+    }
+
+    @Override
+    public synchronized int numEdges() {
+        return graph.numEdges();
+    }
+
+    @Override
+    public synchronized int degree(V vertex) {
+        return graph.degree(vertex);
+    }
+
+    @Override
+    public void addEdge(V from, V to) {
+        long sequence;
+        synchronized (this) {
+            if (graph.contains(from) && graph.contains(to) && graph.hasEdge(from, to))
+                return;
+            sequence = append(ChangeLog.ADD_EDGE, from, to);
+            graph.addEdge(from, to);
+            checkpointIfDue();
+        }
+        awaitDurable(sequence);
+    }
+
+    @Override
+    public void addVertex(V vertex) {
+        long sequence;
+        synchronized (this) {
+            if (graph.contains(vertex))
+                return;
+            sequence = append(ChangeLog.ADD_VERTEX, vertex, null);
+            graph.addVertex(vertex);
+            checkpointIfDue();
+        }
+        awaitDurable(sequence);
+    }
+
+    @Override
+    public synchronized Iterable<V> getVertices() {
+        return graph.getVertices();
+    }
+
+    @Override
+    public synchronized Iterable<V> adjacentTo(V from) {
+        return graph.adjacentTo(from);
+    }
+
+    @Override
+    public synchronized Subgraph<V> kHop(V source, int k) {
+        return graph.kHop(source, k);
+    }
+
+    @Override
+    public synchronized Subgraph<V> inducedSubgraph(Collection<V> vertices) {
+        return graph.inducedSubgraph(vertices);
+    }
+
+    @Override
+    public synchronized boolean contains(V vertex) {
+        return graph.contains(vertex);
+    }
+
+    @Override
+    public synchronized boolean hasEdge(V from, V to) {
+        return graph.contains(from) && graph.hasEdge(from, to);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return graph.toString();
+    }
+
+    /**
+     * @return true iff 'other' is a DurableGraph with the same
+     * vertices and edges.
+     */
+    @Override
+    public synchronized boolean equals(Object other) {
+        if (other == this)
+            return true;
+        if (!(other instanceof DurableGraph))
+            return false;
+        return Graphs.sameVerticesAndEdges(graph, ((DurableGraph<?>) other).graph);
+    }
+
+    @Override
+    public synchronized int hashCode() {
+        return Graphs.hashCode(graph);
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return graph.isEmpty();
+    }
+
+    @Override
+    public void removeVertex(V toRemove) {
+        long sequence;
+        synchronized (this) {
+            if (!graph.contains(toRemove))
+                return;
+            sequence = append(ChangeLog.REMOVE_VERTEX, toRemove, null);
+            graph.removeVertex(toRemove);
+            checkpointIfDue();
+        }
+        awaitDurable(sequence);
+    }
+
+    @Override
+    public void removeEdge(V from, V to) {
+        long sequence;
+        synchronized (this) {
+            if (!hasEdge(from, to))
+                return;
+            sequence = append(ChangeLog.REMOVE_EDGE, from, to);
+            graph.removeEdge(from, to);
+            checkpointIfDue();
+        }
+        awaitDurable(sequence);
+    }
+
+    @Override
+    public synchronized boolean hasPath(V from, V to) {
+        return graph.hasPath(from, to);
+    }
+
+    @Override
+    public synchronized int pathLength(V from, V to) {
+        return graph.pathLength(from, to);
+    }
+
+    @Override
+    public synchronized Iterable<V> getPath(V from, V to) {
+        return graph.getPath(from, to);
+    }
+
+    @Override
+    public synchronized boolean hasPath(V from, V to, TraversalStats stats) {
+        return graph.hasPath(from, to, stats);
+    }
+
+    @Override
+    public synchronized int pathLength(V from, V to, TraversalStats stats) {
+        return graph.pathLength(from, to, stats);
+    }
+
+    @Override
+    public synchronized Iterable<V> getPath(V from, V to, TraversalStats stats) {
+        return graph.getPath(from, to, stats);
+    }
+
+    /**
+     * Logs every change in the batch that has an effect, in the order
+     * GraphDelta applies them, and then applies the batch with one
+     * call.  With GROUP_COMMIT the whole batch shares one fsync.
+     *
+     * @param delta the changes to apply
+     */
+    @Override
+    public void apply(GraphDelta<V> delta) {
+        long sequence;
+        synchronized (this) {
+            sequence = log.appended();
+            Set<V> removed = new HashSet<V>();
+            for (V v : delta.getRemovedVertices())
+                if (graph.contains(v) && removed.add(v))
+                    sequence = append(ChangeLog.REMOVE_VERTEX, v, null);
+            for (Map.Entry<V, Set<V>> e : delta.getRemovedEdges().entrySet()) {
+                V from = e.getKey();
+                if (removed.contains(from) || !graph.contains(from))
+                    continue;
+                for (V to : e.getValue())
+                    if (!removed.contains(to) && graph.contains(to) && graph.hasEdge(from, to))
+                        sequence = append(ChangeLog.REMOVE_EDGE, from, to);
+            }
+            Set<V> added = new HashSet<V>();
+            for (V v : delta.getAddedVertices())
+                if ((removed.contains(v) || !graph.contains(v)) && added.add(v))
+                    sequence = append(ChangeLog.ADD_VERTEX, v, null);
+            for (Map.Entry<V, Set<V>> e : delta.getAddedEdges().entrySet()) {
+                V from = e.getKey();
+                boolean fromIsNew = removed.contains(from) || !graph.contains(from);
+                for (V to : e.getValue()) {
+                    boolean toIsNew = removed.contains(to) || !graph.contains(to);
+                    if (fromIsNew || toIsNew || !graph.hasEdge(from, to))
+                        sequence = append(ChangeLog.ADD_EDGE, from, to);
+                }
+            }
+            graph.apply(delta);
+            checkpointIfDue();
+        }
+        awaitDurable(sequence);
+    }
+
+    @Override
+    public void addEdges(Collection<Edge<V>> edges) {
+        apply(new GraphDelta<V>().addEdges(edges));
+    }
+
+    @Override
+    public void removeEdges(Collection<Edge<V>> edges) {
+        apply(new GraphDelta<V>().removeEdges(edges));
+    }
+
+    private long append(byte op, V first, V second) {
+        try {
+            return log.append(op, first, second);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void awaitDurable(long sequence) {
+        try {
+            log.awaitDurable(sequence);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void checkpointIfDue() {
+        if (checkpointInterval > 0 && log.appended() - lastCheckpoint >= checkpointInterval)
+            checkpoint();
+    }
+
+    /**
+     * Deletes checkpoints older than 'checkpoint' and log segments
+     * older than 'segment'.
+     */
+    private void deleteBefore(long checkpoint, long segment) throws IOException {
+        for (long s : sequences(directory, CHECKPOINT_PREFIX, CHECKPOINT_SUFFIX))
+            if (s < checkpoint)
+                Files.deleteIfExists(file(directory, CHECKPOINT_PREFIX, s, CHECKPOINT_SUFFIX));
+        for (long s : sequences(directory, LOG_PREFIX, LOG_SUFFIX))
+            if (s < segment)
+                Files.deleteIfExists(file(directory, LOG_PREFIX, s, LOG_SUFFIX));
+    }
+
+    /**
+     * Deletes checkpoints that a crash left half written.  They were
+     * never renamed into place, so nothing refers to them.
+     */
+    private static void deleteTemporaries(Path directory) throws IOException {
+        String glob = CHECKPOINT_PREFIX + "*" + CHECKPOINT_SUFFIX + Checkpoints.TEMPORARY_SUFFIX;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, glob)) {
+            for (Path f : files)
+                Files.deleteIfExists(f);
+        }
+    }
+
+    private static Path file(Path directory, String prefix, long sequence, String suffix) {
+        return directory.resolve(String.format("%s%020d%s", prefix, sequence, suffix));
+    }
+
+    private static List<Long> sequences(Path directory, String prefix, String suffix)
+        throws IOException {
+        List<Long> found = new ArrayList<Long>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*" + suffix)) {
+            for (Path f : files) {
+                String name = f.getFileName().toString();
+                found.add(Long.parseLong(name.substring(prefix.length(),
+                                                        name.length() - suffix.length())));
+            }
+        }
+        Collections.sort(found);
+        return found;
+    }
+}
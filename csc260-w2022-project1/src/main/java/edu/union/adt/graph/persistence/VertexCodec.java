@@ -0,0 +1,82 @@
+package edu.union.adt.graph.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts vertices of type V to and from bytes, so that they can be
+ * written to a change log, a checkpoint or a socket.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public interface VertexCodec<V> {
+    /**
+     * Writes a vertex.
+     *
+     * @param vertex the vertex to write
+     * @param out where to write it
+     * @throws IOException if writing fails
+     */
+    void write(V vertex, DataOutput out) throws IOException;
+
+    /**
+     * Reads a vertex written by {@link #write}.
+     *
+     * @param in where to read from
+     * @return the vertex
+     * @throws IOException if reading fails
+     */
+    V read(DataInput in) throws IOException;
+
+    /**
+     * Strings, as a length followed by their UTF-8 bytes.
+     */
+    VertexCodec<String> STRING = new VertexCodec<String>() {
+        @Override
+        public void write(String vertex, DataOutput out) throws IOException {
+            byte[] bytes = vertex.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        @Override
+        public String read(DataInput in) throws IOException {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * Integers, as four bytes.
+     */
+    VertexCodec<Integer> INTEGER = new VertexCodec<Integer>() {
+        @Override
+        public void write(Integer vertex, DataOutput out) throws IOException {
+            out.writeInt(vertex);
+        }
+
+        @Override
+        public Integer read(DataInput in) throws IOException {
+            return in.readInt();
+        }
+    };
+
+    /**
+     * Longs, as eight bytes.
+     */
+    VertexCodec<Long> LONG = new VertexCodec<Long>() {
+        @Override
+        public void write(Long vertex, DataOutput out) throws IOException {
+            out.writeLong(vertex);
+        }
+
+        @Override
+        public Long read(DataInput in) throws IOException {
+            return in.readLong();
+        }
+    };
+}
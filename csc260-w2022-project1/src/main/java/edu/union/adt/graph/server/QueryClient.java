@@ -0,0 +1,226 @@
+package edu.union.adt.graph.server;
+
+import edu.union.adt.graph.persistence.VertexCodec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A connection to a {@link QueryServer}.  Every query returns at once
+ * with a future, so a caller can send many queries before waiting for
+ * any answer; a thread per client matches the answers, which may come
+ * back in any order, to their futures.  Safe for use by several
+ * threads at once.
+ *
+ * If the connection fails or is closed, every query still waiting
+ * completes exceptionally with an IOException.  A query the server
+ * could not answer, such as the degree of a missing vertex, completes
+ * exceptionally with a {@link QueryException}.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public class QueryClient<V> implements Closeable {
+    private final VertexCodec<V> codec;
+    private final Socket socket;
+    private final DataOutputStream out;
+    private final DataInputStream in;
+    private final Map<Integer, Pending> pending = new ConcurrentHashMap<Integer, Pending>();
+    private int nextId;
+    private volatile IOException failure;
+
+    /**
+     * An answer being waited for, and how to read its payload.
+     */
+    private static final class Pending {
+        final byte op;
+        final CompletableFuture<Object> future = new CompletableFuture<Object>();
+
+        Pending(byte op) {
+            this.op = op;
+        }
+    }
+
+    /**
+     * Thrown, through a query's future, when the server reports an
+     * error.
+     */
+    public static class QueryException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        QueryException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Connects to a server on the loopback interface.
+     *
+     * @param port the server's port
+     * @param codec how vertices are written on the wire; must match
+     * the server's
+     * @throws IOException if the connection cannot be made
+     */
+    public QueryClient(int port, VertexCodec<V> codec) throws IOException {
+        this.codec = codec;
+        this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        socket.setTcpNoDelay(true);
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+        Thread reader = new Thread(this::read, "graph-query-client");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> send(byte op, V from, V to) {
+        Pending p = new Pending(op);
+        synchronized (this) {
+            if (failure != null) {
+                p.future.completeExceptionally(failure);
+                return (CompletableFuture<T>) (CompletableFuture<?>) p.future;
+            }
+            int id = nextId++;
+            pending.put(id, p);
+            try {
+                out.writeInt(id);
+                out.writeByte(op);
+                codec.write(from, out);
+                if (QueryProtocol.takesTwoVertices(op))
+                    codec.write(to, out);
+                out.flush();
+            }
+            catch (IOException e) {
+                fail(e);
+            }
+        }
+        return (CompletableFuture<T>) (CompletableFuture<?>) p.future;
+    }
+
+    /**
+     * @return the answer to Graph.contains(vertex).
+     */
+    public CompletableFuture<Boolean> contains(V vertex) {
+        return send(QueryProtocol.CONTAINS, vertex, null);
+    }
+
+    /**
+     * @return the answer to Graph.degree(vertex).
+     */
+    public CompletableFuture<Integer> degree(V vertex) {
+        return send(QueryProtocol.DEGREE, vertex, null);
+    }
+
+    /**
+     * @return the answer to Graph.adjacentTo(from).
+     */
+    public CompletableFuture<List<V>> adjacentTo(V from) {
+        return send(QueryProtocol.ADJACENT_TO, from, null);
+    }
+
+    /**
+     * @return the answer to Graph.hasEdge(from, to).
+     */
+    public CompletableFuture<Boolean> hasEdge(V from, V to) {
+        return send(QueryProtocol.HAS_EDGE, from, to);
+    }
+
+    /**
+     * @return the answer to Graph.hasPath(from, to).
+     */
+    public CompletableFuture<Boolean> hasPath(V from, V to) {
+        return send(QueryProtocol.HAS_PATH, from, to);
+    }
+
+    /**
+     * @return the answer to Graph.pathLength(from, to).
+     */
+    public CompletableFuture<Integer> pathLength(V from, V to) {
+        return send(QueryProtocol.PATH_LENGTH, from, to);
+    }
+
+    /**
+     * @return the answer to Graph.getPath(from, to): the path, or null
+     * if there is none.
+     */
+    public CompletableFuture<List<V>> getPath(V from, V to) {
+        return send(QueryProtocol.GET_PATH, from, to);
+    }
+
+    /**
+     * @return the number of queries sent and not yet answered.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void read() {
+        try {
+            while (true) {
+                int id = in.readInt();
+                byte status = in.readByte();
+                Pending p = pending.remove(id);
+                if (p == null)
+                    throw new IOException("answer to unknown request " + id);
+                if (status == QueryProtocol.ERROR) {
+                    p.future.completeExceptionally(new QueryException(in.readUTF()));
+                    continue;
+                }
+                Object answer;
+                switch (p.op) {
+                case QueryProtocol.DEGREE:
+                case QueryProtocol.PATH_LENGTH:
+                    answer = in.readInt();
+                    break;
+                case QueryProtocol.ADJACENT_TO:
+                case QueryProtocol.GET_PATH:
+                    answer = QueryProtocol.readVertices(codec, in);
+                    break;
+                default:
+                    answer = in.readBoolean();
+                }
+                p.future.complete(answer);
+            }
+        }
+        catch (IOException e) {
+            synchronized (this) {
+                fail(e);
+            }
+        }
+    }
+
+    /** Called holding the lock: fails every query still waiting. */
+    private void fail(IOException e) {
+        if (failure == null)
+            failure = e;
+        for (Integer id : pending.keySet()) {
+            Pending p = pending.remove(id);
+            if (p != null)
+                p.future.completeExceptionally(failure);
+        }
+        try {
+            socket.close();
+        }
+        catch (IOException ignored) {
+            // already failing
+        }
+    }
+
+    /**
+     * Closes the connection.  Queries still waiting fail.
+     */
+    @Override
+    public synchronized void close() {
+        fail(new IOException("client closed"));
+    }
+}
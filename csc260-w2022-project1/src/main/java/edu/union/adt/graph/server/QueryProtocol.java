@@ -0,0 +1,94 @@
+package edu.union.adt.graph.server;
+
+import edu.union.adt.graph.persistence.VertexCodec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The binary protocol spoken between {@link QueryClient} and
+ * {@link QueryServer}.  Every message is tagged with a request id
+ * chosen by the client, so a client may send many requests without
+ * waiting (pipelining) and the server may answer them in any order.
+ *
+ * <PRE>
+ * request:  int id, byte op, vertex from [, vertex to]
+ * response: int id, byte status, payload
+ * </PRE>
+ *
+ * Vertices are written with the connection's {@link VertexCodec}.
+ * The two-vertex operations are HAS_EDGE, HAS_PATH, PATH_LENGTH and
+ * GET_PATH.  The payload of an OK response is a boolean for CONTAINS,
+ * HAS_EDGE and HAS_PATH, an int for DEGREE and PATH_LENGTH, and a
+ * vertex list for ADJACENT_TO and GET_PATH, written as a count
+ * followed by the vertices; a count of -1 stands for null (no path).
+ * The payload of an ERROR response is a message written with
+ * writeUTF.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public final class QueryProtocol {
+    public static final byte CONTAINS = 1;
+    public static final byte DEGREE = 2;
+    public static final byte ADJACENT_TO = 3;
+    public static final byte HAS_EDGE = 4;
+    public static final byte HAS_PATH = 5;
+    public static final byte PATH_LENGTH = 6;
+    public static final byte GET_PATH = 7;
+
+    public static final byte OK = 0;
+    public static final byte ERROR = 1;
+
+    private QueryProtocol() {
+    }
+
+    /**
+     * @param op an operation code
+     * @return true iff requests for 'op' carry a second vertex.
+     */
+    static boolean takesTwoVertices(byte op) {
+        return op == HAS_EDGE || op == HAS_PATH || op == PATH_LENGTH || op == GET_PATH;
+    }
+
+    /**
+     * @param op an operation code
+     * @return true iff 'op' is a path query, which searches the graph
+     * and may take much longer than the others.
+     */
+    static boolean isSearch(byte op) {
+        return op == HAS_PATH || op == PATH_LENGTH || op == GET_PATH;
+    }
+
+    static <V> void writeVertices(Iterable<V> vertices, VertexCodec<V> codec, DataOutput out)
+        throws IOException {
+        if (vertices == null) {
+            out.writeInt(-1);
+            return;
+        }
+        List<V> list;
+        if (vertices instanceof List)
+            list = (List<V>) vertices;
+        else {
+            list = new ArrayList<V>();
+            for (V v : vertices)
+                list.add(v);
+        }
+        out.writeInt(list.size());
+        for (V v : list)
+            codec.write(v, out);
+    }
+
+    static <V> List<V> readVertices(VertexCodec<V> codec, DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count < 0)
+            return null;
+        List<V> vertices = new ArrayList<V>(count);
+        for (int i = 0; i < count; i++)
+            vertices.add(codec.read(in));
+        return vertices;
+    }
+}
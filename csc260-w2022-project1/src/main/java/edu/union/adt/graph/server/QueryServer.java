@@ -0,0 +1,378 @@
+package edu.union.adt.graph.server;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.persistence.VertexCodec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers read-only queries on a graph for clients connected over
+ * loopback sockets, speaking {@link QueryProtocol}.
+ *
+ * Each connection has a thread that reads requests, and requests are
+ * answered concurrently, so slow path queries do not hold up cheap
+ * ones and a client can keep many requests in flight.  On a JDK with
+ * virtual threads (21 and later) each request runs on a virtual
+ * thread of its own, which costs a few hundred bytes.  On older JDKs,
+ * down to the Java 8 the build targets, requests queue for a fixed
+ * pool of {@link #PLATFORM_WORKERS} platform threads instead, and
+ * each connection's reader is a platform thread.  Either way, at
+ * most {@link #MAX_IN_FLIGHT} requests per connection are queued or
+ * running; the reader stops reading until one is answered, so a
+ * client that pipelines more is slowed by TCP flow control instead
+ * of growing the server's queue.
+ *
+ * Responses are written under a per-connection lock, and the socket
+ * is flushed only when no query other than a path query is still
+ * being answered on the connection: pipelined cheap responses share a
+ * write, but they never wait for a search to finish.  A request
+ * whose query throws anything, Errors included, is answered with an
+ * ERROR response.
+ *
+ * Queries run concurrently with each other, so the graph must be safe
+ * to read from several threads at once while it is served: a
+ * snapshot, a VersionedGraph, or any backend that nobody changes
+ * while the server is open.  Every backend's read methods keep their
+ * state in local variables.
+ *
+ * @author Parsa Keyvani
+ * @version 1
+ */
+public class QueryServer<V> implements Closeable {
+    /**
+     * The most requests one connection may have queued or running.
+     */
+    public static final int MAX_IN_FLIGHT = 256;
+
+    /**
+     * The number of threads that answer requests on a JDK without
+     * virtual threads.
+     */
+    public static final int PLATFORM_WORKERS =
+        Math.max(8, 2 * Runtime.getRuntime().availableProcessors());
+
+    private final Graph<V> graph;
+    private final VertexCodec<V> codec;
+    private final ServerSocket socket;
+    private final ExecutorService threads;
+    private final ExecutorService workers;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong requests = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Starts serving a graph on a loopback port.
+     *
+     * @param graph the graph to answer queries on
+     * @param codec how vertices are written on the wire
+     * @param port the port to listen on, or 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public QueryServer(Graph<V> graph, VertexCodec<V> codec, int port) throws IOException {
+        this.graph = graph;
+        this.codec = codec;
+        this.socket = new ServerSocket();
+        socket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        this.threads = newThreadPerTaskExecutor("graph-query-connection");
+        this.workers = newWorkerExecutor("graph-query");
+        threads.execute(this::accept);
+    }
+
+    /**
+     * @return the port the server listens on.
+     */
+    public int getPort() {
+        return socket.getLocalPort();
+    }
+
+    /**
+     * @return the number of requests answered so far.
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * @return true iff requests run on virtual threads.
+     */
+    public static boolean usesVirtualThreads() {
+        return VIRTUAL_THREADS != null;
+    }
+
+    /**
+     * Stops listening, closes every connection and stops the threads.
+     * Requests still being answered are abandoned.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        socket.close();
+        for (Socket s : connections)
+            s.close();
+        threads.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void accept() {
+        while (!closed) {
+            Socket s;
+            try {
+                s = socket.accept();
+            }
+            catch (IOException e) {
+                return;
+            }
+            try {
+                s.setTcpNoDelay(true);
+                connections.add(s);
+                threads.execute(() -> serve(s));
+            }
+            catch (IOException | RejectedExecutionException e) {
+                closeQuietly(s);
+            }
+        }
+    }
+
+    /**
+     * Reads requests off one connection until the client hangs up,
+     * handing each to a worker, and waiting while MAX_IN_FLIGHT are
+     * outstanding.
+     */
+    private void serve(Socket s) {
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+            Connection out = new Connection(s.getOutputStream());
+            while (true) {
+                int id;
+                try {
+                    id = in.readInt();
+                }
+                catch (EOFException e) {
+                    return;
+                }
+                byte op = in.readByte();
+                V from = codec.read(in);
+                V to = QueryProtocol.takesTwoVertices(op) ? codec.read(in) : null;
+                boolean search = QueryProtocol.isSearch(op);
+                out.begin(search);
+                try {
+                    workers.execute(() -> answer(out, id, op, from, to));
+                }
+                catch (RejectedExecutionException e) {
+                    out.finish(search);
+                    throw e;
+                }
+            }
+        }
+        catch (IOException | RejectedExecutionException e) {
+            // the connection is gone, or the server is closing
+        }
+        catch (InterruptedException e) {
+            // the server is closing
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            connections.remove(s);
+            closeQuietly(s);
+        }
+    }
+
+    private void answer(Connection connection, int id, byte op, V from, V to) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            try {
+                out.writeInt(id);
+                out.writeByte(QueryProtocol.OK);
+                execute(op, from, to, out);
+            }
+            catch (Throwable e) {
+                // Errors too: a StackOverflowError from a deep search
+                // must not leave the client waiting forever
+                bytes.reset();
+                out.writeInt(id);
+                out.writeByte(QueryProtocol.ERROR);
+                out.writeUTF(e.getMessage() == null ? e.getClass().getName() : e.getMessage());
+            }
+            requests.incrementAndGet();
+            connection.send(bytes);
+        }
+        catch (IOException e) {
+            // the client went away; its reader thread cleans up
+        }
+        finally {
+            connection.finish(QueryProtocol.isSearch(op));
+        }
+    }
+
+    private void execute(byte op, V from, V to, DataOutputStream out) throws IOException {
+        switch (op) {
+        case QueryProtocol.CONTAINS:
+            out.writeBoolean(graph.contains(from));
+            break;
+        case QueryProtocol.DEGREE:
+            out.writeInt(graph.degree(from));
+            break;
+        case QueryProtocol.ADJACENT_TO:
+            QueryProtocol.writeVertices(graph.adjacentTo(from), codec, out);
+            break;
+        case QueryProtocol.HAS_EDGE:
+            out.writeBoolean(graph.hasEdge(from, to));
+            break;
+        case QueryProtocol.HAS_PATH:
+            out.writeBoolean(graph.hasPath(from, to));
+            break;
+        case QueryProtocol.PATH_LENGTH:
+            out.writeInt(graph.pathLength(from, to));
+            break;
+        case QueryProtocol.GET_PATH:
+            QueryProtocol.writeVertices(graph.getPath(from, to), codec, out);
+            break;
+        default:
+            throw new IllegalArgumentException("unknown operation " + op);
+        }
+    }
+
+    /**
+     * The sending side of one connection.  Every request is bracketed
+     * by begin and finish; the socket is flushed when a request
+     * finishes and no request other than a path query is in flight.
+     * Cheap requests finish soon, so a response waits briefly for
+     * them, but never for a search.
+     */
+    private static final class Connection {
+        private final Semaphore slots = new Semaphore(MAX_IN_FLIGHT);
+        private final OutputStream out;
+        private int quickInFlight;
+
+        Connection(OutputStream out) {
+            this.out = new BufferedOutputStream(out, 1 << 16);
+        }
+
+        /**
+         * Waits until fewer than MAX_IN_FLIGHT requests are
+         * outstanding.
+         *
+         * @param search true iff the request is a path query
+         */
+        void begin(boolean search) throws InterruptedException {
+            slots.acquire();
+            if (!search) {
+                synchronized (this) {
+                    quickInFlight++;
+                }
+            }
+        }
+
+        synchronized void send(ByteArrayOutputStream response) throws IOException {
+            response.writeTo(out);
+        }
+
+        /**
+         * Ends a request, whether or not its response was sent.
+         *
+         * @param search true iff the request is a path query
+         */
+        void finish(boolean search) {
+            try {
+                synchronized (this) {
+                    if (!search)
+                        quickInFlight--;
+                    if (quickInFlight == 0)
+                        out.flush();
+                }
+            }
+            catch (IOException e) {
+                // the client went away; its reader thread cleans up
+            }
+            finally {
+                slots.release();
+            }
+        }
+    }
+
+    private static void closeQuietly(Socket s) {
+        try {
+            s.close();
+        }
+        catch (IOException e) {
+            // nothing more to do
+        }
+    }
+
+    /** Executors.newVirtualThreadPerTaskExecutor, if this JDK has it. */
+    private static final Method VIRTUAL_THREADS = virtualThreadFactory();
+
+    private static Method virtualThreadFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        }
+        catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        if (VIRTUAL_THREADS != null) {
+            try {
+                return (ExecutorService) VIRTUAL_THREADS.invoke(null);
+            }
+            catch (ReflectiveOperationException e) {
+                // fall back to platform threads
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return an executor that runs each task on a new virtual thread,
+     * or on a cached daemon platform thread if this JDK has no virtual
+     * threads.  For tasks that block for as long as a connection
+     * lasts.
+     */
+    static ExecutorService newThreadPerTaskExecutor(String name) {
+        ExecutorService virtual = newVirtualThreadExecutor();
+        return virtual != null ? virtual : Executors.newCachedThreadPool(daemons(name));
+    }
+
+    /**
+     * @return an executor that runs each task on a new virtual thread,
+     * or queues it for one of PLATFORM_WORKERS daemon platform threads
+     * if this JDK has no virtual threads.
+     */
+    static ExecutorService newWorkerExecutor(String name) {
+        ExecutorService virtual = newVirtualThreadExecutor();
+        return virtual != null ? virtual : Executors.newFixedThreadPool(PLATFORM_WORKERS, daemons(name));
+    }
+
+    private static ThreadFactory daemons(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
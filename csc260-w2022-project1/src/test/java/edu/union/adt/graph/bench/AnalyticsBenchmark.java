@@ -0,0 +1,51 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.CsrView;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.analytics.Centrality;
+import edu.union.adt.graph.analytics.PageRank;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Times PageRank and betweenness centrality on a power-law graph with
+ * one worker and with every core.
+ *
+ * Run with: java edu.union.adt.graph.bench.AnalyticsBenchmark [vertices] [degree]
+ */
+public class AnalyticsBenchmark
+{
+    public static void main(String[] args)
+    {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        Graph<Integer> g = BenchmarkGraphs.powerLaw(n, degree, 42);
+        long start = System.nanoTime();
+        CsrView<Integer> view = CsrView.of(g);
+        view.inOffsets();
+        System.out.printf("CSR build: %.1f ms for %,d vertices, %,d edges%n",
+                          (System.nanoTime() - start) / 1e6, view.numVertices(), view.numEdges());
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int workers : new int[] {1, cores}) {
+            ForkJoinPool pool = new ForkJoinPool(workers);
+            long[] times = new long[5];
+            PageRank.Result<Integer> result = null;
+            for (int i = 0; i < times.length; i++) {
+                start = System.nanoTime();
+                result = new PageRank().tolerance(1e-8).pool(pool).run(view);
+                times[i] = System.nanoTime() - start;
+            }
+            System.out.printf("PageRank, %d workers: %.1f ms, %d iterations, final residual %.2e%n",
+                              workers, BenchmarkGraphs.medianMillis(times), result.iterations(),
+                              result.residuals()[result.iterations() - 1]);
+
+            CsrView<Integer> small = CsrView.of(BenchmarkGraphs.powerLaw(Math.min(n, 5000), degree, 42));
+            start = System.nanoTime();
+            Centrality.betweenness(small, true, pool);
+            System.out.printf("Betweenness (%,d vertices), %d workers: %.1f ms%n",
+                              small.numVertices(), workers, (System.nanoTime() - start) / 1e6);
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphDelta;
+import edu.union.adt.graph.GraphFactory;
+
+import java.util.Random;
+
+/**
+ * Seeded random graphs for the benchmarks.
+ */
+class BenchmarkGraphs
+{
+    /**
+     * @return a graph with 'n' vertices and about n * degree edges
+     * chosen uniformly at random.
+     */
+    static Graph<Integer> uniform(int n, int degree, long seed)
+    {
+        Random random = new Random(seed);
+        GraphDelta<Integer> delta = new GraphDelta<Integer>();
+        for (int v = 0; v < n; v++) {
+            delta.addVertex(v);
+            for (int i = 0; i < degree; i++)
+                delta.addEdge(v, random.nextInt(n));
+        }
+        Graph<Integer> g = GraphFactory.builder().intVertices().expectedVertices(n)
+            .expectedEdges((long) n * degree).build();
+        g.apply(delta);
+        return g;
+    }
+
+    /**
+     * @return a graph with 'n' vertices in which each new vertex links
+     * to 'degree' earlier vertices chosen in proportion to their
+     * degree, giving a power-law degree distribution.
+     */
+    static Graph<Integer> powerLaw(int n, int degree, long seed)
+    {
+        Random random = new Random(seed);
+        int[] endpoints = new int[2 * n * degree + 2];
+        int count = 0;
+        endpoints[count++] = 0;
+        GraphDelta<Integer> delta = new GraphDelta<Integer>();
+        delta.addVertex(0);
+        for (int v = 1; v < n; v++) {
+            for (int i = 0; i < degree; i++) {
+                int target = endpoints[random.nextInt(count)];
+                delta.addEdge(v, target);
+                endpoints[count++] = target;
+            }
+            endpoints[count++] = v;
+        }
+        Graph<Integer> g = GraphFactory.builder().intVertices().expectedVertices(n)
+            .expectedEdges((long) n * degree).build();
+        g.apply(delta);
+        return g;
+    }
+
+    /**
+     * @return the median of some timings, in milliseconds.
+     */
+    static double medianMillis(long[] nanos)
+    {
+        long[] sorted = nanos.clone();
+        java.util.Arrays.sort(sorted);
+        return sorted[sorted.length / 2] / 1e6;
+    }
+}
@@ -0,0 +1,74 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.Edge;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares applying an edge diff one edge at a time against applying
+ * it through the bulk addEdges/removeEdges calls.
+ *
+ * Run with: java edu.union.adt.graph.bench.BulkMutationBenchmark [numEdges] [numVertices]
+ */
+public class BulkMutationBenchmark
+{
+    public static void main(String[] args)
+    {
+        int numEdges = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        int numVertices = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+
+        List<Edge<Integer>> adds = randomEdges(numEdges, numVertices, 1);
+        List<Edge<Integer>> removes = new ArrayList<Edge<Integer>>(adds.subList(0, numEdges / 2));
+
+        for (int round = 0; round < 3; round++) {
+            long perEdge = perEdge(adds, removes);
+            long bulk = bulk(adds, removes);
+            System.out.printf("round %d: per-edge %,d ms, bulk %,d ms (%.1fx)%n",
+                              round, perEdge / 1000000, bulk / 1000000,
+                              (double) perEdge / Math.max(1, bulk));
+        }
+    }
+
+    private static long perEdge(List<Edge<Integer>> adds, List<Edge<Integer>> removes)
+    {
+        Graph<Integer> g = GraphFactory.<Integer> createGraph();
+        long start = System.nanoTime();
+        for (Edge<Integer> e : adds)
+            g.addEdge(e.getFrom(), e.getTo());
+        for (Edge<Integer> e : removes)
+            g.removeEdge(e.getFrom(), e.getTo());
+        long elapsed = System.nanoTime() - start;
+        consume(g);
+        return elapsed;
+    }
+
+    private static long bulk(List<Edge<Integer>> adds, List<Edge<Integer>> removes)
+    {
+        Graph<Integer> g = GraphFactory.<Integer> createGraph();
+        long start = System.nanoTime();
+        g.addEdges(adds);
+        g.removeEdges(removes);
+        long elapsed = System.nanoTime() - start;
+        consume(g);
+        return elapsed;
+    }
+
+    static List<Edge<Integer>> randomEdges(int numEdges, int numVertices, long seed)
+    {
+        Random random = new Random(seed);
+        List<Edge<Integer>> edges = new ArrayList<Edge<Integer>>(numEdges);
+        for (int i = 0; i < numEdges; i++)
+            edges.add(new Edge<Integer>(random.nextInt(numVertices), random.nextInt(numVertices)));
+        return edges;
+    }
+
+    private static void consume(Graph<Integer> g)
+    {
+        if (g.numEdges() < 0)
+            System.out.println(g);
+    }
+}
@@ -0,0 +1,87 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.CsrView;
+import edu.union.adt.graph.analytics.Components;
+import edu.union.adt.graph.analytics.Connectivity;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Times weakly connected components on a sparse random graph: a
+ * sequential breadth-first labelling for reference, then the
+ * union-find with one worker and with every core.
+ *
+ * Run with: java edu.union.adt.graph.bench.ComponentsBenchmark [vertices] [degree]
+ */
+public class ComponentsBenchmark
+{
+    public static void main(String[] args)
+    {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        CsrView<Integer> view = CsrView.of(BenchmarkGraphs.uniform(n, degree, 42));
+        view.inOffsets();
+
+        long[] times = new long[5];
+        int count = 0;
+        for (int i = 0; i < times.length; i++) {
+            long start = System.nanoTime();
+            count = breadthFirstLabels(view);
+            times[i] = System.nanoTime() - start;
+        }
+        System.out.printf("BFS labelling: %.1f ms, %,d components%n",
+                          BenchmarkGraphs.medianMillis(times), count);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int workers : new int[] {1, cores}) {
+            ForkJoinPool pool = new ForkJoinPool(workers);
+            Components<Integer> components = null;
+            for (int i = 0; i < times.length; i++) {
+                long start = System.nanoTime();
+                components = Connectivity.connectedComponents(view, pool);
+                times[i] = System.nanoTime() - start;
+            }
+            System.out.printf("Union-find, %d workers: %.1f ms, %,d components, largest %,d%n",
+                              workers, BenchmarkGraphs.medianMillis(times), components.count(),
+                              components.size(components.largest()));
+            pool.shutdown();
+        }
+    }
+
+    private static int breadthFirstLabels(CsrView<Integer> view)
+    {
+        int n = view.numVertices();
+        int[] offsets = view.offsets();
+        int[] targets = view.targets();
+        int[] inOffsets = view.inOffsets();
+        int[] inSources = view.inSources();
+        int[] labels = new int[n];
+        Arrays.fill(labels, -1);
+        int[] queue = new int[n];
+        int count = 0;
+        for (int s = 0; s < n; s++) {
+            if (labels[s] >= 0)
+                continue;
+            int head = 0;
+            int tail = 0;
+            labels[s] = count;
+            queue[tail++] = s;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int i = offsets[v]; i < offsets[v + 1]; i++)
+                    if (labels[targets[i]] < 0) {
+                        labels[targets[i]] = count;
+                        queue[tail++] = targets[i];
+                    }
+                for (int i = inOffsets[v]; i < inOffsets[v + 1]; i++)
+                    if (labels[inSources[i]] < 0) {
+                        labels[inSources[i]] = count;
+                        queue[tail++] = inSources[i];
+                    }
+            }
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,101 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.CompressedGraph;
+import edu.union.adt.graph.CsrView;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.VertexOrdering;
+
+import java.util.Random;
+
+/**
+ * Compresses a power-law and a uniform random graph, with vertices
+ * numbered as generated and renumbered breadth-first, and reports the
+ * bits per edge and the heap each copy retains next to PKHashGraph and
+ * IntAdjacencyGraph.  Then times the same pathLength queries on the
+ * compressed copy and on IntAdjacencyGraph to show what decoding rows
+ * during the search costs.
+ *
+ * Run with: java -Xmx2g edu.union.adt.graph.bench.CompressionBenchmark [vertices] [degree] [queries]
+ */
+public class CompressionBenchmark
+{
+    public static void main(String[] args)
+    {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        report("power-law", BenchmarkGraphs.powerLaw(n, degree, 42), queries);
+        report("uniform", BenchmarkGraphs.uniform(n, degree, 42), queries);
+    }
+
+    private static void report(String name, Graph<Integer> source, int queries)
+    {
+        System.out.printf("%s: %d vertices, %d edges%n", name, source.numVertices(), source.numEdges());
+        long before = usedHeap();
+        Graph<Integer> hashed = GraphFactory.<Integer> createGraph();
+        for (Integer v : source.getVertices()) {
+            hashed.addVertex(v);
+            for (Integer w : source.adjacentTo(v))
+                hashed.addEdge(v, w);
+        }
+        long hashedHeap = usedHeap() - before;
+        long sink = hashed.numEdges();
+        hashed = null;
+
+        before = usedHeap();
+        Graph<Integer> ints = GraphFactory.builder().intVertices().expectedVertices(source.numVertices()).build();
+        for (Integer v : source.getVertices()) {
+            ints.addVertex(v);
+            for (Integer w : source.adjacentTo(v))
+                ints.addEdge(v, w);
+        }
+        long intsHeap = usedHeap() - before;
+
+        CsrView<Integer> view = CsrView.of(source);
+        CompressedGraph<Integer> natural = CompressedGraph.of(view);
+        CompressedGraph<Integer> ordered = CompressedGraph.of(view.permute(VertexOrdering.breadthFirst(view)));
+        view = null;
+        System.out.printf("  PKHashGraph        heap %7.1f MB%n", hashedHeap / 1e6);
+        System.out.printf("  IntAdjacencyGraph  heap %7.1f MB%n", intsHeap / 1e6);
+        System.out.printf("  compressed         edges %6.1f MB  %5.2f bits/edge%n",
+                          natural.adjacencyBytes() / 1e6, natural.bitsPerEdge());
+        System.out.printf("  compressed, BFS    edges %6.1f MB  %5.2f bits/edge%n",
+                          ordered.adjacencyBytes() / 1e6, ordered.bitsPerEdge());
+
+        int[] from = new int[queries];
+        int[] to = new int[queries];
+        Random random = new Random(7);
+        for (int i = 0; i < queries; i++) {
+            from[i] = random.nextInt(source.numVertices());
+            to[i] = random.nextInt(source.numVertices());
+        }
+        long[] plain = new long[5];
+        long[] compressed = new long[5];
+        for (int round = 0; round < plain.length; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < queries; i++)
+                sink += ints.pathLength(from[i], to[i]);
+            plain[round] = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int i = 0; i < queries; i++)
+                sink += ordered.pathLength(from[i], to[i]);
+            compressed[round] = System.nanoTime() - start;
+        }
+        double plainMs = BenchmarkGraphs.medianMillis(plain);
+        double compressedMs = BenchmarkGraphs.medianMillis(compressed);
+        System.out.printf("  %d pathLength: IntAdjacencyGraph %.1f ms, compressed %.1f ms (%.2fx)%n",
+                          queries, plainMs, compressedMs, compressedMs / plainMs);
+        if (sink == 42)
+            System.out.println();
+    }
+
+    private static long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
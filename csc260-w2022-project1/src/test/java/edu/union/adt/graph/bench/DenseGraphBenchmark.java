@@ -0,0 +1,84 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.DenseGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.IntAdjacencyGraph;
+import edu.union.adt.graph.PKHashGraph;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Loads a small, dense random graph into PKHashGraph,
+ * IntAdjacencyGraph and DenseGraph, and reports the heap each one
+ * retains, the time per hasEdge and degree call, and the time of a
+ * breadth-first search that has to reach every vertex (a pathLength
+ * to an isolated vertex).
+ *
+ * Run with: java -Xmx4g edu.union.adt.graph.bench.DenseGraphBenchmark [vertices] [density] [queries]
+ */
+public class DenseGraphBenchmark
+{
+    public static void main(String[] args)
+    {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        double density = args.length > 1 ? Double.parseDouble(args[1]) : 0.3;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 200000;
+
+        System.out.printf("%d vertices, density %.2f, about %d edges%n",
+                          n, density, (long) (density * n * n));
+        run("PKHashGraph", () -> new PKHashGraph<Integer>(n, false), n, density, queries);
+        run("IntAdjacencyGraph", () -> new IntAdjacencyGraph(n + 1, (long) (density * n * n)),
+            n, density, queries);
+        run("DenseGraph", () -> new DenseGraph<Integer>(n + 1), n, density, queries);
+    }
+
+    private static void run(String label, Supplier<Graph<Integer>> create, int n,
+                            double density, int queries)
+    {
+        long before = usedHeap();
+        Graph<Integer> g = create.get();
+        Random random = new Random(42);
+        for (int v = 0; v <= n; v++)
+            g.addVertex(v);
+        for (int v = 0; v < n; v++)
+            for (int w = 0; w < n; w++)
+                if (random.nextDouble() < density)
+                    g.addEdge(v, w);
+        long retained = usedHeap() - before;
+
+        long sink = 0;
+        long[] searches = new long[5];
+        long edges = 0;
+        long degrees = 0;
+        for (int round = 0; round < searches.length; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < queries; i++)
+                if (g.hasEdge(random.nextInt(n), random.nextInt(n)))
+                    sink++;
+            edges = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < queries / 10; i++)
+                sink += g.degree(random.nextInt(n));
+            degrees = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            sink += g.pathLength(random.nextInt(n), n);
+            searches[round] = System.nanoTime() - start;
+        }
+        System.out.printf("%-18s heap %7.1f MB  hasEdge %6.0f ns  degree %7.0f ns  full BFS %7.1f ms%n",
+                          label, retained / 1e6, (double) edges / queries,
+                          10.0 * degrees / queries, BenchmarkGraphs.medianMillis(searches));
+        if (sink == 42)
+            System.out.println(g.numEdges());
+    }
+
+    private static long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
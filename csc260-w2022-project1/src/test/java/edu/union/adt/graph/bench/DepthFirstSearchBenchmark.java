@@ -0,0 +1,63 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.CsrView;
+import edu.union.adt.graph.DepthFirstSearch;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+
+import java.util.Random;
+
+/**
+ * Reachability queries answered by Graph.hasPath, which searches
+ * breadth-first and allocates per call, and by one reused
+ * DepthFirstSearch, on a long chain (where a recursive search would
+ * overflow the stack) and on power-law and uniform graphs.
+ *
+ * Run with: java edu.union.adt.graph.bench.DepthFirstSearchBenchmark [vertices] [queries]
+ */
+public class DepthFirstSearchBenchmark
+{
+    public static void main(String[] args)
+    {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        Graph<Integer> chain = GraphFactory.builder().intVertices().expectedVertices(n).build();
+        for (int v = 0; v + 1 < n; v++)
+            chain.addEdge(v, v + 1);
+        run("chain", chain, n, queries);
+        run("power-law", BenchmarkGraphs.powerLaw(n, 4, 42), n, queries);
+        run("uniform", BenchmarkGraphs.uniform(n, 4, 42), n, queries);
+    }
+
+    private static void run(String name, Graph<Integer> g, int n, int queries)
+    {
+        DepthFirstSearch<Integer> dfs = new DepthFirstSearch<Integer>(CsrView.of(g));
+        System.out.printf("%s: %d vertices, %d edges, %d queries%n",
+                          name, g.numVertices(), g.numEdges(), queries);
+        for (int round = 0; round < 3; round++) {
+            Random random = new Random(7);
+            int hits = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < queries; i++)
+                if (g.hasPath(random.nextInt(n), random.nextInt(n)))
+                    hits++;
+            double bfs = (System.nanoTime() - start) / 1e6;
+
+            random = new Random(7);
+            int check = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < queries; i++) {
+                int from = dfs.view().indexOf(random.nextInt(n));
+                int to = dfs.view().indexOf(random.nextInt(n));
+                if (dfs.reaches(from, to))
+                    check++;
+            }
+            double depthFirst = (System.nanoTime() - start) / 1e6;
+            if (round == 2)
+                System.out.printf("hasPath %8.1f ms, DepthFirstSearch %8.1f ms (%.1fx), %d reachable%s%n",
+                                  bfs, depthFirst, bfs / depthFirst, hits,
+                                  hits == check ? "" : "  (answers differ)");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphDelta;
+import edu.union.adt.graph.GraphDiff;
+import edu.union.adt.graph.GraphFactory;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Diffs two versions of a random graph with the same number of edges
+ * that differ in about one edge in a hundred, on one thread and on every core, and compares that with
+ * PKHashGraph.equals, which only says whether they differ.
+ *
+ * Run with: java edu.union.adt.graph.bench.DiffBenchmark [vertices] [degree]
+ */
+public class DiffBenchmark
+{
+    public static void main(String[] args)
+    {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        Graph<Integer> before = GraphFactory.<Integer> builder().expectedVertices(n).build();
+        Graph<Integer> after = GraphFactory.<Integer> builder().expectedVertices(n).build();
+        Graph<Integer> source = BenchmarkGraphs.uniform(n, degree, 42);
+        before.merge(source);
+        after.merge(source);
+        Random random = new Random(7);
+        GraphDelta<Integer> changes = new GraphDelta<Integer>();
+        for (int i = 0; i < n * degree / 100; i++) {
+            int v = random.nextInt(n);
+            for (Integer w : after.adjacentTo(v)) {
+                changes.removeEdge(v, w);
+                changes.addEdge(v, random.nextInt(n));
+                break;
+            }
+        }
+        after.apply(changes);
+
+        long[] times = new long[5];
+        GraphDiff<Integer> diff = null;
+        for (int i = 0; i < times.length; i++) {
+            long start = System.nanoTime();
+            diff = GraphDiff.between(before, after, null);
+            times[i] = System.nanoTime() - start;
+        }
+        System.out.printf("diff, 1 thread: %.1f ms, +%,d -%,d edges%n",
+                          BenchmarkGraphs.medianMillis(times), diff.getAddedEdges().size(),
+                          diff.getRemovedEdges().size());
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        for (int i = 0; i < times.length; i++) {
+            long start = System.nanoTime();
+            GraphDiff.between(before, after, pool);
+            times[i] = System.nanoTime() - start;
+        }
+        System.out.printf("diff, %d workers: %.1f ms%n", pool.getParallelism(),
+                          BenchmarkGraphs.medianMillis(times));
+
+        if (n <= 20000) {
+            // equals stops at the first difference, so time it on an
+            // identical copy, where it has to look at everything
+            Graph<Integer> copy = GraphFactory.<Integer> builder().expectedVertices(n).build();
+            copy.merge(before);
+            long start = System.nanoTime();
+            boolean equal = before.equals(copy);
+            System.out.printf("PKHashGraph.equals on an identical copy: %.1f ms (%b)%n",
+                              (System.nanoTime() - start) / 1e6, equal);
+            start = System.nanoTime();
+            equal = before.diff(copy).isEmpty();
+            System.out.printf("diff on an identical copy: %.1f ms (%b)%n",
+                              (System.nanoTime() - start) / 1e6, equal);
+        }
+        else {
+            System.out.println("PKHashGraph.equals skipped: it is O(V^2); rerun with 20000 vertices");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.CsrView;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.PKHashGraph;
+import edu.union.adt.graph.analytics.DistanceMatrix;
+import edu.union.adt.graph.analytics.LandmarkOracle;
+
+import java.util.Random;
+
+/**
+ * Compares three ways of answering many distance queries on a
+ * power-law graph: a pathLength call on PKHashGraph for each pair,
+ * extrapolated from a sample to every pair; a DistanceMatrix; and
+ * LandmarkOracles of a few sizes, whose error is measured on the
+ * sampled pairs.  A second, larger graph shows the oracle where a
+ * matrix would not fit.
+ *
+ * Run with: java -Xmx2g edu.union.adt.graph.bench.DistanceBenchmark [vertices] [large vertices] [sample]
+ */
+public class DistanceBenchmark
+{
+    public static void main(String[] args)
+    {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        int large = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+        int sample = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+
+        Graph<Integer> source = BenchmarkGraphs.powerLaw(n, 4, 42);
+        Graph<Integer> g = new PKHashGraph<Integer>(n, false);
+        for (Integer v : source.getVertices()) {
+            g.addVertex(v);
+            for (Integer w : source.adjacentTo(v))
+                g.addEdge(v, w);
+        }
+        Random random = new Random(7);
+        int[] from = new int[sample];
+        int[] to = new int[sample];
+        int[] truth = new int[sample];
+        for (int i = 0; i < sample; i++) {
+            from[i] = random.nextInt(n);
+            to[i] = random.nextInt(n);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < sample; i++)
+            truth[i] = g.pathLength(from[i], to[i]);
+        double perCall = (System.nanoTime() - start) / (double) sample;
+        System.out.printf("%d vertices, %d edges%n", g.numVertices(), g.numEdges());
+        System.out.printf("  pathLength on PKHashGraph  %8.1f us per pair, %8.1f s for all %d pairs%n",
+                          perCall / 1e3, perCall * n * n / 1e9, (long) n * n);
+
+        CsrView<Integer> view = CsrView.of(source);
+        long[] builds = new long[3];
+        DistanceMatrix<Integer> matrix = null;
+        for (int round = 0; round < builds.length; round++) {
+            start = System.nanoTime();
+            matrix = DistanceMatrix.of(view);
+            builds[round] = System.nanoTime() - start;
+        }
+        for (int i = 0; i < sample; i++)
+            if (matrix.distance(from[i], to[i]) != truth[i])
+                throw new AssertionError("matrix disagrees with pathLength");
+        System.out.printf("  DistanceMatrix             %8.1f ms to build, %6.1f MB%n",
+                          BenchmarkGraphs.medianMillis(builds), matrix.bytes() / 1e6);
+        for (int landmarks : new int[] { 4, 16, 64 })
+            oracle(view, landmarks, from, to, truth);
+
+        CsrView<Integer> big = CsrView.of(BenchmarkGraphs.powerLaw(large, 4, 43));
+        System.out.printf("%d vertices, %d edges (a matrix would take %.1f GB)%n",
+                          big.numVertices(), big.numEdges(), 2.0 * large * large / 1e9);
+        for (int landmarks : new int[] { 16, 64 }) {
+            start = System.nanoTime();
+            LandmarkOracle<Integer> oracle = LandmarkOracle.of(big, landmarks);
+            double build = (System.nanoTime() - start) / 1e6;
+            long sink = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < 1000000; i++)
+                sink += oracle.upperBound(random.nextInt(large), random.nextInt(large));
+            System.out.printf("  %2d landmarks  %8.1f ms to build, %5.0f ns per query%s%n",
+                              landmarks, build, (System.nanoTime() - start) / 1e6,
+                              sink == 42 ? " " : "");
+        }
+    }
+
+    private static void oracle(CsrView<Integer> view, int landmarks, int[] from, int[] to, int[] truth)
+    {
+        long start = System.nanoTime();
+        LandmarkOracle<Integer> oracle = LandmarkOracle.of(view, landmarks);
+        double build = (System.nanoTime() - start) / 1e6;
+        int reachable = 0;
+        int exact = 0;
+        long error = 0;
+        long gap = 0;
+        for (int i = 0; i < truth.length; i++) {
+            if (truth[i] == Integer.MAX_VALUE)
+                continue;
+            int upper = oracle.upperBound(from[i], to[i]);
+            int lower = oracle.lowerBound(from[i], to[i]);
+            if (upper == Integer.MAX_VALUE)
+                continue;
+            reachable++;
+            if (upper == truth[i])
+                exact++;
+            error += upper - truth[i];
+            gap += upper - lower;
+        }
+        System.out.printf("  LandmarkOracle(%2d)         %8.1f ms to build, exact for %.0f%%,"
+                          + " mean error %.2f, mean upper - lower %.2f%n",
+                          landmarks, build, 100.0 * exact / Math.max(1, reachable),
+                          (double) error / Math.max(1, reachable), (double) gap / Math.max(1, reachable));
+    }
+}
@@ -0,0 +1,83 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.persistence.Durability;
+import edu.union.adt.graph.persistence.DurableGraph;
+import edu.union.adt.graph.persistence.VertexCodec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Measures addEdge throughput in memory and through a DurableGraph at
+ * each durability level, with one and several writer threads.
+ *
+ * Run with: java edu.union.adt.graph.bench.DurabilityBenchmark [edgesPerThread] [threads]
+ */
+public class DurabilityBenchmark
+{
+    public static void main(String[] args) throws Exception
+    {
+        int edges = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            report("in memory", threads, edges, run(null, threads, edges));
+            for (Durability d : Durability.values())
+                report(d.toString(), threads, edges, run(d, threads, edges));
+        }
+    }
+
+    private static long run(Durability durability, int threads, final int edges) throws Exception
+    {
+        Path dir = Files.createTempDirectory("graph-durability");
+        final Graph<Integer> g;
+        if (durability == null)
+            g = GraphFactory.<Integer> createGraph();
+        else
+            g = DurableGraph.open(dir, VertexCodec.INTEGER, durability);
+        List<Thread> workers = new ArrayList<Thread>();
+        for (int t = 0; t < threads; t++) {
+            final Random random = new Random(t);
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < edges; i++) {
+                    int from = random.nextInt(100000);
+                    int to = random.nextInt(100000);
+                    if (g instanceof DurableGraph) {
+                        g.addEdge(from, to);
+                    }
+                    else {
+                        synchronized (g) {
+                            g.addEdge(from, to);
+                        }
+                    }
+                }
+            }));
+        }
+        long start = System.nanoTime();
+        for (Thread w : workers)
+            w.start();
+        for (Thread w : workers)
+            w.join();
+        long elapsed = System.nanoTime() - start;
+        if (g instanceof DurableGraph)
+            ((DurableGraph<Integer>) g).close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+        return elapsed;
+    }
+
+    private static void report(String name, int threads, int edges, long nanos)
+    {
+        System.out.printf("%-12s %2d threads: %,12.0f edges/s%n",
+                          name, threads, threads * (double) edges * 1e9 / nanos);
+    }
+}
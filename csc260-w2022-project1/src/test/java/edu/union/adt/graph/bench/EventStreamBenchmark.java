@@ -0,0 +1,82 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.events.Backpressure;
+import edu.union.adt.graph.events.GraphEvent;
+import edu.union.adt.graph.events.GraphListener;
+import edu.union.adt.graph.events.ObservableGraph;
+import edu.union.adt.graph.events.Subscription;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Times a stream of edge additions and removals on a bare graph, on an
+ * ObservableGraph with no subscribers, and with a fast and a slow
+ * subscriber under each backpressure policy, to show that publishing
+ * never holds up the writer.
+ *
+ * Run with: java edu.union.adt.graph.bench.EventStreamBenchmark [changes]
+ */
+public class EventStreamBenchmark
+{
+    public static void main(String[] args) throws Exception
+    {
+        int changes = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+        report("bare graph", GraphFactory.builder().intVertices().build(), changes, null);
+        for (Backpressure policy : Backpressure.values()) {
+            report("fast subscriber, " + policy, null, changes, listener(0, policy));
+            report("slow subscriber, " + policy, null, changes, listener(50000, policy));
+        }
+        report("no subscribers", null, changes, null);
+    }
+
+    private static Object[] listener(final long nanosPerBatch, Backpressure policy)
+    {
+        GraphListener<Integer> listener = new GraphListener<Integer>() {
+            @Override
+            public void onEvents(List<GraphEvent<Integer>> events) {
+                if (nanosPerBatch > 0)
+                    LockSupport.parkNanos(nanosPerBatch);
+            }
+        };
+        return new Object[] {listener, policy};
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void report(String name, Graph<Integer> bare, int changes, Object[] subscriber)
+        throws Exception
+    {
+        Graph<Integer> g = bare;
+        Subscription<Integer> subscription = null;
+        if (g == null) {
+            ObservableGraph<Integer> observable =
+                new ObservableGraph<Integer>(GraphFactory.builder().intVertices().build());
+            if (subscriber != null)
+                subscription = observable.subscribe((GraphListener<Integer>) subscriber[0], 4096, 512,
+                                                    (Backpressure) subscriber[1]);
+            g = observable;
+        }
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        for (int i = 0; i < changes; i++) {
+            int from = random.nextInt(10000);
+            int to = random.nextInt(10000);
+            if ((i & 3) == 3)
+                g.removeEdge(from, to);
+            else
+                g.addEdge(from, to);
+        }
+        double millis = (System.nanoTime() - start) / 1e6;
+        String extra = "";
+        if (subscription != null) {
+            Thread.sleep(50);
+            extra = String.format(", delivered %,d, dropped %,d", subscription.getDelivered(),
+                                  subscription.getDropped());
+            subscription.close();
+        }
+        System.out.printf("%-32s %.0f ns/change%s%n", name, millis * 1e6 / changes, extra);
+    }
+}
@@ -0,0 +1,64 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.generators.EdgeFile;
+import edu.union.adt.graph.generators.EdgeList;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Times each generator producing the same number of edges three ways:
+ * streamed through a sink on one thread, into an EdgeList in parallel,
+ * and into an EdgeFile in parallel.  Reports millions of edges per
+ * second; the parallel figures scale with the common pool's size.
+ *
+ * Run with: java -Xmx4g edu.union.adt.graph.bench.GeneratorBenchmark [edges]
+ */
+public class GeneratorBenchmark
+{
+    public static void main(String[] args) throws Exception
+    {
+        long edges = args.length > 0 ? Long.parseLong(args[0]) : 100000000L;
+        int side = (int) Math.sqrt(edges / 4.0);
+        GraphGenerator[] generators = {
+            GraphGenerator.erdosRenyi((int) (edges / 16), edges, 42),
+            GraphGenerator.barabasiAlbert((int) (edges / 16) + 1, 16, 42),
+            GraphGenerator.rmat(Math.max(1, 63 - Long.numberOfLeadingZeros(edges / 16)), edges,
+                                0.57, 0.19, 0.19, 42),
+            GraphGenerator.grid(side, side),
+            GraphGenerator.chain((int) Math.min(Integer.MAX_VALUE, edges + 1))
+        };
+        String[] names = { "Erdos-Renyi", "Barabasi-Albert", "R-MAT", "grid", "chain" };
+        Path file = Files.createTempFile("graph", ".edges");
+        System.out.printf("%d threads in the common pool%n", ForkJoinPool.getCommonPoolParallelism());
+        try {
+            for (int i = 0; i < generators.length; i++) {
+                GraphGenerator g = generators[i];
+                long[] sum = new long[1];
+                long start = System.nanoTime();
+                g.generate((from, to) -> sum[0] += from ^ to);
+                double streamed = (System.nanoTime() - start) / 1e9;
+
+                start = System.nanoTime();
+                EdgeList list = g.toEdgeList();
+                double listed = (System.nanoTime() - start) / 1e9;
+                list = null;
+
+                start = System.nanoTime();
+                EdgeFile.write(g, file);
+                double written = (System.nanoTime() - start) / 1e9;
+
+                System.out.printf("%-16s %,13d edges  stream %6.1f M/s  EdgeList %6.1f M/s"
+                                  + "  EdgeFile %6.1f M/s%s%n",
+                                  names[i], g.numEdges(), g.numEdges() / streamed / 1e6,
+                                  g.numEdges() / listed / 1e6, g.numEdges() / written / 1e6,
+                                  sum[0] == 42 ? " " : "");
+            }
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphDelta;
+import edu.union.adt.graph.GraphFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Times k-hop neighbourhood queries around the highest-degree vertices
+ * of an undirected power-law graph: once with a hand-written loop over
+ * adjacentTo, and once with Graph.kHop, on the hash-map backend and
+ * the int-array backend.
+ *
+ * Run with: java edu.union.adt.graph.bench.KHopBenchmark [vertices] [degree] [hops]
+ */
+public class KHopBenchmark
+{
+    public static void main(String[] args)
+    {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int hops = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        Graph<Integer> directed = BenchmarkGraphs.powerLaw(n, degree, 42);
+        GraphDelta<Integer> delta = new GraphDelta<Integer>();
+        for (Integer v : directed.getVertices())
+            for (Integer w : directed.adjacentTo(v)) {
+                delta.addEdge(v, w);
+                delta.addEdge(w, v);
+            }
+
+        List<Graph<Integer>> graphs = new ArrayList<Graph<Integer>>();
+        graphs.add(GraphFactory.builder().intVertices().expectedVertices(n).build());
+        graphs.add(GraphFactory.<Integer> builder().expectedVertices(n).build());
+        for (Graph<Integer> g : graphs)
+            g.apply(delta);
+
+        List<Integer> hubs = new ArrayList<Integer>();
+        for (int v = 0; v < 1000 && v < n; v++)
+            hubs.add(v);
+        hubs.sort((a, b) -> graphs.get(0).degree(b) - graphs.get(0).degree(a));
+        hubs = hubs.subList(0, Math.min(20, hubs.size()));
+        System.out.printf("%d hubs, degree %d..%d, %d hops%n", hubs.size(),
+                          graphs.get(0).degree(hubs.get(hubs.size() - 1)),
+                          graphs.get(0).degree(hubs.get(0)), hops);
+
+        for (Graph<Integer> g : graphs) {
+            String name = g.getClass().getSimpleName();
+            long[] loop = new long[5];
+            long[] kHop = new long[5];
+            long reached = 0;
+            for (int round = 0; round < loop.length; round++) {
+                long start = System.nanoTime();
+                for (Integer hub : hubs)
+                    reached += adjacentToLoop(g, hub, hops);
+                loop[round] = System.nanoTime() - start;
+                start = System.nanoTime();
+                for (Integer hub : hubs)
+                    reached -= size(g.kHop(hub, hops));
+                kHop[round] = System.nanoTime() - start;
+            }
+            if (reached != 0)
+                throw new AssertionError("kHop and the adjacentTo loop disagree");
+            System.out.printf("%-18s adjacentTo loop %.2f ms/query, kHop %.2f ms/query%n", name,
+                              BenchmarkGraphs.medianMillis(loop) / hubs.size(),
+                              BenchmarkGraphs.medianMillis(kHop) / hubs.size());
+        }
+    }
+
+    private static int size(Graph<Integer> g)
+    {
+        return g.numVertices() + g.numEdges();
+    }
+
+    /**
+     * The way k-hop queries were written before Graph.kHop: a
+     * breadth-first search that calls adjacentTo for each vertex, then
+     * a second pass to collect the edges between the vertices found.
+     *
+     * @return the number of vertices within 'hops' of 'source' plus
+     * the number of edges between them
+     */
+    private static int adjacentToLoop(Graph<Integer> g, Integer source, int hops)
+    {
+        Map<Integer, Integer> depth = new HashMap<Integer, Integer>();
+        ArrayDeque<Integer> queue = new ArrayDeque<Integer>();
+        depth.put(source, 0);
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            Integer v = queue.poll();
+            int d = depth.get(v);
+            if (d == hops)
+                continue;
+            for (Integer w : g.adjacentTo(v))
+                if (!depth.containsKey(w)) {
+                    depth.put(w, d + 1);
+                    queue.add(w);
+                }
+        }
+        List<Integer[]> edges = new ArrayList<Integer[]>();
+        for (Integer v : depth.keySet())
+            for (Integer w : g.adjacentTo(v))
+                if (depth.containsKey(w))
+                    edges.add(new Integer[] {v, w});
+        return depth.size() + edges.size();
+    }
+}
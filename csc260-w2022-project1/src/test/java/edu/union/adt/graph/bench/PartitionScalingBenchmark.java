@@ -0,0 +1,54 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.partition.PartitionedGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures addEdge and hasPath throughput of a PartitionedGraph as the
+ * number of shards grows, with several client threads issuing
+ * requests at once.
+ *
+ * Run with: java edu.union.adt.graph.bench.PartitionScalingBenchmark [vertices] [clients]
+ */
+public class PartitionScalingBenchmark
+{
+    public static void main(String[] args) throws InterruptedException
+    {
+        final int n = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+        for (int shards = 1; shards <= 16; shards *= 2) {
+            final PartitionedGraph<Integer> g = new PartitionedGraph<Integer>(shards);
+            long writes = run(clients, 4 * n / clients, (random) -> g.addEdge(random.nextInt(n), random.nextInt(n)));
+            long reads = run(clients, 200 / clients + 1, (random) -> g.hasPath(random.nextInt(n), random.nextInt(n)));
+            System.out.printf("%2d shards: %,10d addEdge/s %,8d hasPath/s%n", shards, writes, reads);
+            g.close();
+        }
+    }
+
+    private interface Op
+    {
+        void run(Random random);
+    }
+
+    private static long run(int clients, final int perClient, final Op op) throws InterruptedException
+    {
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int c = 0; c < clients; c++) {
+            final Random random = new Random(c);
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perClient; i++)
+                    op.run(random);
+            }));
+        }
+        long start = System.nanoTime();
+        for (Thread t : threads)
+            t.start();
+        for (Thread t : threads)
+            t.join();
+        return (long) (clients * (double) perClient * 1e9 / (System.nanoTime() - start));
+    }
+}
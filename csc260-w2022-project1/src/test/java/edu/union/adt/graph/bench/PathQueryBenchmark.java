@@ -0,0 +1,76 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.PKHashGraph;
+import edu.union.adt.graph.PathQuery;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A repeated-source workload on power-law and uniform graphs in
+ * PKHashGraph: for each of a few sources, ask hasPath and then
+ * getPath for each of many targets.  Run once with a separate Graph
+ * call for each question, and once with one PathQuery per source.
+ *
+ * Run with: java edu.union.adt.graph.bench.PathQueryBenchmark [vertices] [sources] [targets per source]
+ */
+public class PathQueryBenchmark
+{
+    public static void main(String[] args)
+    {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int sources = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int targets = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+        run("power-law", BenchmarkGraphs.powerLaw(n, 4, 42), n, sources, targets);
+        run("uniform", BenchmarkGraphs.uniform(n, 4, 42), n, sources, targets);
+    }
+
+    private static void run(String name, Graph<Integer> source, int n, int sources, int targets)
+    {
+        Graph<Integer> g = new PKHashGraph<Integer>(n, false);
+        for (Integer v : source.getVertices()) {
+            g.addVertex(v);
+            for (Integer w : source.adjacentTo(v))
+                g.addEdge(v, w);
+        }
+        System.out.printf("%s: %d vertices, %d edges, %d sources x %d targets, hasPath then getPath%n",
+                          name, g.numVertices(), g.numEdges(), sources, targets);
+        for (int round = 0; round < 3; round++) {
+            Random random = new Random(7);
+            long sink = 0;
+            long start = System.nanoTime();
+            for (int s = 0; s < sources; s++) {
+                int from = random.nextInt(n);
+                for (int t = 0; t < targets; t++) {
+                    int to = random.nextInt(n);
+                    if (g.hasPath(from, to))
+                        for (Integer v : g.getPath(from, to))
+                            sink += v;
+                }
+            }
+            double separate = (System.nanoTime() - start) / 1e6;
+
+            random = new Random(7);
+            long check = 0;
+            start = System.nanoTime();
+            for (int s = 0; s < sources; s++) {
+                PathQuery<Integer> query = g.from(random.nextInt(n));
+                for (int t = 0; t < targets; t++) {
+                    int to = random.nextInt(n);
+                    if (query.hasPath(to)) {
+                        List<Integer> path = query.getPath(to);
+                        for (Integer v : path)
+                            check += v;
+                    }
+                }
+            }
+            double shared = (System.nanoTime() - start) / 1e6;
+            if (round == 2)
+                System.out.printf("separate calls %8.1f ms, PathQuery %8.1f ms (%.1fx)%s%n",
+                                  separate, shared, separate / shared,
+                                  sink == check ? "" : "  (paths differ in their vertices)");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.metrics.LatencyHistogram;
+import edu.union.adt.graph.persistence.VertexCodec;
+import edu.union.adt.graph.server.QueryClient;
+import edu.union.adt.graph.server.QueryServer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Load generator for QueryServer: a number of clients, each on its own
+ * connection and thread, keep up to 'depth' queries in flight against
+ * a power-law graph and record the latency of each answer.  The mix
+ * is 70% adjacentTo, 20% hasEdge and 10% pathLength.  Reports
+ * throughput and p50/p99/p99.9 latency for each pipeline depth.
+ *
+ * Run with: java edu.union.adt.graph.bench.QueryServerBenchmark [vertices] [clients] [queries per client]
+ */
+public class QueryServerBenchmark
+{
+    public static void main(String[] args) throws Exception
+    {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 20000;
+        Graph<Integer> graph = BenchmarkGraphs.powerLaw(n, 4, 42);
+
+        System.out.printf("%d vertices, %d edges, %d clients x %d queries, %s threads%n",
+                          graph.numVertices(), graph.numEdges(), clients, queries,
+                          QueryServer.usesVirtualThreads() ? "virtual" : "platform");
+        try (QueryServer<Integer> server = new QueryServer<Integer>(graph, VertexCodec.INTEGER, 0)) {
+            run(server, n, clients, queries / 4, 8);
+            for (int depth : new int[] { 1, 8, 64 })
+                run(server, n, clients, queries, depth);
+        }
+    }
+
+    private static void run(QueryServer<Integer> server, int n, int clients, int queries, int depth)
+        throws Exception
+    {
+        LatencyHistogram latency = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<Thread>();
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            final long seed = c;
+            Thread t = new Thread(() -> {
+                try (QueryClient<Integer> client = new QueryClient<Integer>(server.getPort(),
+                                                                             VertexCodec.INTEGER)) {
+                    Semaphore window = new Semaphore(depth);
+                    Random random = new Random(seed);
+                    for (int i = 0; i < queries; i++) {
+                        window.acquire();
+                        int a = random.nextInt(n);
+                        int b = random.nextInt(n);
+                        int kind = random.nextInt(10);
+                        long sent = System.nanoTime();
+                        CompletableFuture<?> answer = kind < 7 ? client.adjacentTo(a)
+                            : kind < 9 ? client.hasEdge(a, b) : client.pathLength(a, b);
+                        answer.whenComplete((r, e) -> {
+                            latency.record(System.nanoTime() - sent);
+                            window.release();
+                        });
+                    }
+                    window.acquire(depth);
+                }
+                catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        for (Thread t : threads)
+            t.join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("depth %3d: %8.0f queries/s  p50 %7.1f us  p99 %8.1f us  p99.9 %8.1f us%n",
+                          depth, latency.getCount() / seconds,
+                          latency.getValueAtPercentile(50) / 1e3,
+                          latency.getValueAtPercentile(99) / 1e3,
+                          latency.getValueAtPercentile(99.9) / 1e3);
+    }
+}
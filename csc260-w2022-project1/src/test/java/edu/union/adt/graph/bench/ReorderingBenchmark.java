@@ -0,0 +1,95 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.CsrView;
+import edu.union.adt.graph.VertexOrdering;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Times breadth-first searches over a power-law graph whose vertex ids
+ * have been scrambled, then over the same graph renumbered by each
+ * {@link VertexOrdering}.  The average edge span is printed as a
+ * locality measure; for hardware cache-miss counts, run this under
+ * "perf stat -e LLC-loads,LLC-load-misses".
+ *
+ * Run with: java edu.union.adt.graph.bench.ReorderingBenchmark [vertices] [degree]
+ */
+public class ReorderingBenchmark
+{
+    public static void main(String[] args)
+    {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        CsrView<Integer> view = CsrView.of(BenchmarkGraphs.powerLaw(n, degree, 42));
+
+        int[] scramble = new int[view.numVertices()];
+        for (int i = 0; i < scramble.length; i++)
+            scramble[i] = i;
+        Random random = new Random(7);
+        for (int i = scramble.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = scramble[i];
+            scramble[i] = scramble[j];
+            scramble[j] = t;
+        }
+        CsrView<Integer> scrambled = view.permute(scramble);
+
+        report("scrambled", scrambled);
+        report("breadth-first", scrambled.permute(VertexOrdering.breadthFirst(scrambled)));
+        report("reverse Cuthill-McKee", scrambled.permute(VertexOrdering.reverseCuthillMcKee(scrambled)));
+        report("by degree", scrambled.permute(VertexOrdering.byDegree(scrambled)));
+    }
+
+    private static void report(String name, CsrView<Integer> view)
+    {
+        int[] sources = new int[8];
+        Random random = new Random(11);
+        for (int i = 0; i < sources.length; i++)
+            sources[i] = view.indexOf(random.nextInt(view.numVertices()));
+        int[] distance = new int[view.numVertices()];
+        int[] queue = new int[view.numVertices()];
+        long[] times = new long[sources.length];
+        long reached = 0;
+        for (int i = 0; i < sources.length; i++) {
+            long start = System.nanoTime();
+            reached += bfs(view, sources[i], distance, queue);
+            times[i] = System.nanoTime() - start;
+        }
+        System.out.printf("%-22s BFS %.1f ms (median), edge span %.0f, %,d vertices reached%n",
+                          name, BenchmarkGraphs.medianMillis(times),
+                          VertexOrdering.averageEdgeSpan(view), reached / sources.length);
+    }
+
+    /**
+     * Breadth-first search over in- and out-edges.
+     *
+     * @return the number of vertices reached
+     */
+    private static int bfs(CsrView<Integer> view, int source, int[] distance, int[] queue)
+    {
+        int[] offsets = view.offsets();
+        int[] targets = view.targets();
+        int[] inOffsets = view.inOffsets();
+        int[] inSources = view.inSources();
+        Arrays.fill(distance, -1);
+        distance[source] = 0;
+        queue[0] = source;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int i = offsets[v]; i < offsets[v + 1]; i++)
+                if (distance[targets[i]] < 0) {
+                    distance[targets[i]] = distance[v] + 1;
+                    queue[tail++] = targets[i];
+                }
+            for (int i = inOffsets[v]; i < inOffsets[v + 1]; i++)
+                if (distance[inSources[i]] < 0) {
+                    distance[inSources[i]] = distance[v] + 1;
+                    queue[tail++] = inSources[i];
+                }
+        }
+        return tail;
+    }
+}
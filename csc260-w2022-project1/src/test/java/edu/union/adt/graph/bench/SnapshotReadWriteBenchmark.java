@@ -0,0 +1,81 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures read and write throughput on a VersionedGraph while reader
+ * threads run hasPath over snapshots and writer threads keep adding
+ * and removing edges.
+ *
+ * Run with: java edu.union.adt.graph.bench.SnapshotReadWriteBenchmark [vertices] [seconds]
+ */
+public class SnapshotReadWriteBenchmark
+{
+    public static void main(String[] args) throws InterruptedException
+    {
+        int numVertices = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            int writers = Math.max(1, threads / 4);
+            run(numVertices, threads, writers, seconds);
+        }
+    }
+
+    private static void run(final int numVertices, int readers, int writers, int seconds)
+        throws InterruptedException
+    {
+        final Graph<Integer> g = GraphFactory.<Integer> createVersionedGraph();
+        Random random = new Random(7);
+        for (int i = 0; i < numVertices * 4; i++)
+            g.addEdge(random.nextInt(numVertices), random.nextInt(numVertices));
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final LongAdder reads = new LongAdder();
+        final LongAdder writes = new LongAdder();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int r = 0; r < readers; r++) {
+            final long seed = r;
+            threads.add(new Thread(() -> {
+                Random rnd = new Random(seed);
+                while (running.get()) {
+                    Graph<Integer> snapshot = g.snapshot();
+                    snapshot.hasPath(rnd.nextInt(numVertices), rnd.nextInt(numVertices));
+                    reads.increment();
+                }
+            }));
+        }
+        for (int w = 0; w < writers; w++) {
+            final long seed = 1000 + w;
+            threads.add(new Thread(() -> {
+                Random rnd = new Random(seed);
+                while (running.get()) {
+                    int from = rnd.nextInt(numVertices);
+                    int to = rnd.nextInt(numVertices);
+                    if (rnd.nextBoolean())
+                        g.addEdge(from, to);
+                    else
+                        g.removeEdge(from, to);
+                    writes.increment();
+                }
+            }));
+        }
+        for (Thread t : threads)
+            t.start();
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        for (Thread t : threads)
+            t.join();
+
+        System.out.printf("%d readers, %d writers: %,d reads/s, %,d writes/s%n",
+                          readers, writers, reads.sum() / seconds, writes.sum() / seconds);
+    }
+}
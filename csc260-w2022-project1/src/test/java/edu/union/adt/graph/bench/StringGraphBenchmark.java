@@ -0,0 +1,99 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphDelta;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.StringGraph;
+
+import java.util.Random;
+
+/**
+ * Loads the same String-keyed random graph into the hash-map backend
+ * and into StringGraph, and reports the heap each one retains and the
+ * time taken by hasEdge, contains and adjacentTo lookups.  Names look
+ * like "user:0000012345" so that they are typical identifiers rather
+ * than one-character labels.
+ *
+ * Run with: java -Xmx2g edu.union.adt.graph.bench.StringGraphBenchmark [vertices] [degree] [queries]
+ */
+public class StringGraphBenchmark
+{
+    public static void main(String[] args)
+    {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 2000000;
+
+        String[] names = new String[n];
+        for (int i = 0; i < n; i++)
+            names[i] = String.format("user:%010d", i);
+        Random random = new Random(42);
+        GraphDelta<String> delta = new GraphDelta<String>();
+        for (int v = 0; v < n; v++) {
+            delta.addVertex(names[v]);
+            for (int i = 0; i < degree; i++)
+                delta.addEdge(names[v], names[random.nextInt(n)]);
+        }
+        String[] from = new String[queries];
+        String[] to = new String[queries];
+        for (int i = 0; i < queries; i++) {
+            from[i] = new StringBuilder(names[random.nextInt(n)]).toString();
+            to[i] = new StringBuilder(names[random.nextInt(n)]).toString();
+        }
+
+        System.out.printf("%d vertices, %d edges, %d queries%n", n, (long) n * degree, queries);
+        run("PKHashGraph", GraphFactory.<String> builder().expectedVertices(n), delta, from, to);
+        run("StringGraph", GraphFactory.builder().stringVertices().expectedVertices(n)
+            .expectedEdges((long) n * degree), delta, from, to);
+    }
+
+    private static void run(String label, GraphFactory.Builder<String> builder,
+                            GraphDelta<String> delta, String[] from, String[] to)
+    {
+        long before = usedHeap();
+        Graph<String> g = builder.build();
+        g.apply(delta);
+        long retained = usedHeap() - before;
+
+        long sink = 0;
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < from.length; i++)
+                if (g.hasEdge(from[i], to[i]))
+                    sink++;
+            long edges = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < from.length; i++)
+                if (g.contains(to[i]))
+                    sink++;
+            long contains = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < from.length; i += 16)
+                for (String w : g.adjacentTo(from[i]))
+                    sink += w.length();
+            long adjacent = System.nanoTime() - start;
+
+            if (round == 2)
+                System.out.printf("%-12s heap %6.1f MB  hasEdge %5.0f ns  contains %5.0f ns  adjacentTo %6.0f ns%n",
+                                  label, retained / 1e6, (double) edges / from.length,
+                                  (double) contains / from.length, 16.0 * adjacent / from.length);
+        }
+        if (g instanceof StringGraph)
+            System.out.printf("%-12s dictionary %6.1f MB for %.1f MB of text%n", "",
+                              ((StringGraph) g).getDictionary().footprint() / 1e6,
+                              ((StringGraph) g).getDictionary().textBytes() / 1e6);
+        if (sink == 42)
+            System.out.println();
+        g = null;
+    }
+
+    private static long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,75 @@
+package edu.union.adt.graph.bench;
+
+import edu.union.adt.graph.CsrView;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.analytics.Triangles;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Counts triangles on a power-law graph with the sorted-intersection
+ * engine, with one worker and with every core, and compares it with
+ * the hasEdge-per-neighbour-pair loop it replaces.
+ *
+ * Run with: java edu.union.adt.graph.bench.TriangleBenchmark [vertices] [degree]
+ */
+public class TriangleBenchmark
+{
+    public static void main(String[] args)
+    {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        Graph<Integer> g = BenchmarkGraphs.powerLaw(n, degree, 42);
+        CsrView<Integer> view = CsrView.of(g);
+        view.inOffsets();
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int workers : new int[] {1, cores}) {
+            ForkJoinPool pool = new ForkJoinPool(workers);
+            long[] times = new long[5];
+            long triangles = 0;
+            for (int i = 0; i < times.length; i++) {
+                long start = System.nanoTime();
+                triangles = Triangles.count(view, pool);
+                times[i] = System.nanoTime() - start;
+            }
+            System.out.printf("Triangles, %d workers: %.1f ms, %,d triangles%n",
+                              workers, BenchmarkGraphs.medianMillis(times), triangles);
+            long start = System.nanoTime();
+            long cycles = Triangles.directedCycles(view, pool);
+            System.out.printf("Directed 3-cycles, %d workers: %.1f ms, %,d cycles%n",
+                              workers, (System.nanoTime() - start) / 1e6, cycles);
+            start = System.nanoTime();
+            double global = Triangles.globalClustering(view, pool);
+            Triangles.localClustering(view, pool);
+            System.out.printf("Clustering, %d workers: %.1f ms, global %.4f%n",
+                              workers, (System.nanoTime() - start) / 1e6, global);
+            pool.shutdown();
+        }
+
+        int sample = Math.min(n, 20000);
+        Graph<Integer> small = BenchmarkGraphs.powerLaw(sample, degree, 42);
+        long start = System.nanoTime();
+        long pairs = hasEdgeLoop(small);
+        double loop = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        long triangles = Triangles.count(CsrView.of(small));
+        System.out.printf("%,d vertices: hasEdge loop %.1f ms (%,d), CSR engine incl. copy %.1f ms (%,d)%n",
+                          sample, loop, pairs, (System.nanoTime() - start) / 1e6, triangles);
+    }
+
+    /**
+     * Directed triangles a -> b, b -> c, a -> c found by a hasEdge call
+     * for every pair of a's out-neighbours.
+     */
+    private static long hasEdgeLoop(Graph<Integer> g)
+    {
+        long count = 0;
+        for (Integer a : g.getVertices())
+            for (Integer b : g.adjacentTo(a))
+                for (Integer c : g.adjacentTo(a))
+                    if (!b.equals(c) && g.hasEdge(b, c))
+                        count++;
+        return count;
+    }
+}
@@ -0,0 +1,243 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.CsrView;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.VertexOrdering;
+import edu.union.adt.graph.analytics.Centrality;
+import edu.union.adt.graph.analytics.PageRank;
+import edu.union.adt.graph.analytics.Triangles;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+@RunWith(JUnit4.class)
+public class AnalyticsTests
+{
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<String> createGraph();
+    }
+
+    @Test
+    public void csrView()
+    {
+        g.addEdge("A", "C");
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        CsrView<String> view = CsrView.of(g);
+
+        assertEquals(3, view.numVertices());
+        assertEquals(3, view.numEdges());
+        int a = view.indexOf("A");
+        int c = view.indexOf("C");
+        assertTrue(view.hasEdge(a, c));
+        assertEquals(2, view.outDegree(a));
+        assertEquals(2, view.inDegree(c));
+        assertEquals(-1, view.indexOf("Z"));
+    }
+
+    @Test
+    public void pageRankOfCycleIsUniform()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "A");
+        PageRank.Result<String> result = new PageRank().run(g);
+
+        assertTrue(result.converged());
+        for (double r : result.toMap().values())
+            assertEquals(1.0 / 3, r, 1e-9);
+    }
+
+    @Test
+    public void pageRankSumsToOne()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("A", "C");
+        g.addEdge("B", "C");
+        g.addEdge("D", "C");
+        g.addVertex("E");
+        PageRank.Result<String> result = new PageRank().damping(0.85).tolerance(1e-12).run(g);
+
+        double sum = 0;
+        for (double r : result.ranks())
+            sum += r;
+        assertEquals("Rank is conserved, even with dangling vertices", 1.0, sum, 1e-9);
+        assertTrue("The vertex everyone links to ranks highest",
+                   result.rank("C") > result.rank("A") && result.rank("C") > result.rank("B"));
+        assertTrue("Residuals shrink", result.residuals()[result.iterations() - 1] < 1e-12);
+    }
+
+    @Test
+    public void betweennessOfPath()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "D");
+        CsrView<String> view = CsrView.of(g);
+        Map<String, Double> scores = Centrality.toMap(view, Centrality.betweenness(view, false));
+
+        assertEquals(0, scores.get("A"), 1e-12);
+        assertEquals("B lies on A->C and A->D", 2, scores.get("B"), 1e-12);
+        assertEquals("C lies on A->D and B->D", 2, scores.get("C"), 1e-12);
+        assertEquals(0, scores.get("D"), 1e-12);
+    }
+
+    @Test
+    public void betweennessSplitsBetweenShortestPaths()
+    {
+        g.addEdge("S", "X");
+        g.addEdge("S", "Y");
+        g.addEdge("X", "T");
+        g.addEdge("Y", "T");
+        CsrView<String> view = CsrView.of(g);
+        Map<String, Double> scores = Centrality.toMap(view, Centrality.betweenness(view, false));
+
+        assertEquals(0.5, scores.get("X"), 1e-12);
+        assertEquals(0.5, scores.get("Y"), 1e-12);
+    }
+
+    @Test
+    public void permuteKeepsEdges()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "A");
+        g.addEdge("A", "D");
+        CsrView<String> view = CsrView.of(g);
+        CsrView<String> renumbered = view.permute(VertexOrdering.reverseCuthillMcKee(view));
+
+        assertEquals(view.numEdges(), renumbered.numEdges());
+        for (String from : g.getVertices())
+            for (String to : g.getVertices())
+                assertEquals(from + "->" + to, g.hasEdge(from, to),
+                             renumbered.hasEdge(renumbered.indexOf(from), renumbered.indexOf(to)));
+    }
+
+    @Test
+    public void reverseCuthillMcKeeNarrowsAScrambledPath()
+    {
+        Graph<Integer> path = GraphFactory.<Integer> createGraph();
+        int n = 200;
+        int[] label = new int[n];
+        for (int i = 0; i < n; i++)
+            label[i] = (i * 73) % n;
+        for (int i = 0; i + 1 < n; i++)
+            path.addEdge(label[i], label[i + 1]);
+        CsrView<Integer> view = CsrView.of(path);
+        CsrView<Integer> ordered = view.permute(VertexOrdering.reverseCuthillMcKee(view));
+
+        assertTrue(VertexOrdering.averageEdgeSpan(view) > 10);
+        assertEquals("Consecutive path vertices get consecutive ids",
+                     1.0, VertexOrdering.averageEdgeSpan(ordered), 1e-12);
+    }
+
+    @Test
+    public void orderingsArePermutations()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("C", "D");
+        g.addEdge("C", "B");
+        g.addVertex("E");
+        CsrView<String> view = CsrView.of(g);
+        for (int[] ids : new int[][] {VertexOrdering.breadthFirst(view),
+                                      VertexOrdering.reverseCuthillMcKee(view),
+                                      VertexOrdering.byDegree(view)}) {
+            boolean[] seen = new boolean[ids.length];
+            for (int id : ids) {
+                assertTrue(!seen[id]);
+                seen[id] = true;
+            }
+        }
+        assertEquals("The highest-degree vertex comes first",
+                     0, VertexOrdering.byDegree(view)[view.indexOf("B")]);
+    }
+
+    @Test
+    public void trianglesOfCompleteGraph()
+    {
+        String[] names = {"A", "B", "C", "D"};
+        for (String a : names)
+            for (String b : names)
+                if (!a.equals(b))
+                    g.addEdge(a, b);
+        CsrView<String> view = CsrView.of(g);
+
+        assertEquals("K4 has four triangles", 4, Triangles.count(view));
+        assertEquals("Each of them is two directed cycles", 8, Triangles.directedCycles(view));
+        assertEquals(3, Triangles.perVertex(view)[view.indexOf("A")]);
+        assertEquals(1.0, Triangles.localClustering(view)[view.indexOf("B")], 1e-12);
+        assertEquals(1.0, Triangles.globalClustering(view), 1e-12);
+    }
+
+    @Test
+    public void trianglesIgnoreDirectionButCyclesDoNot()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("A", "C");
+        g.addEdge("C", "A");
+        g.addEdge("C", "C");
+        g.addEdge("C", "D");
+        CsrView<String> view = CsrView.of(g);
+
+        assertEquals(1, Triangles.count(view));
+        assertEquals("Only A -> B -> C -> A", 1, Triangles.directedCycles(view));
+        assertEquals(1.0 / 3, Triangles.localClustering(view)[view.indexOf("C")], 1e-12);
+        assertEquals(0, Triangles.localClustering(view)[view.indexOf("D")], 1e-12);
+    }
+
+    @Test
+    public void trianglesMatchBruteForce()
+    {
+        Graph<Integer> random = GraphFactory.builder().intVertices().build();
+        Random rng = new Random(5);
+        int n = 300;
+        for (int v = 0; v < n; v++)
+            random.addVertex(v);
+        // a few hubs, so that galloping intersections are exercised
+        for (int i = 0; i < 3000; i++)
+            random.addEdge(rng.nextInt(n), rng.nextInt(4));
+        for (int i = 0; i < 2000; i++)
+            random.addEdge(rng.nextInt(n), rng.nextInt(n));
+        CsrView<Integer> view = CsrView.of(random);
+
+        long triangles = 0;
+        long cycles = 0;
+        for (int a = 0; a < n; a++)
+            for (int b = a + 1; b < n; b++)
+                for (int c = b + 1; c < n; c++) {
+                    if (linked(random, a, b) && linked(random, b, c) && linked(random, a, c))
+                        triangles++;
+                    if (random.hasEdge(a, b) && random.hasEdge(b, c) && random.hasEdge(c, a))
+                        cycles++;
+                    if (random.hasEdge(a, c) && random.hasEdge(c, b) && random.hasEdge(b, a))
+                        cycles++;
+                }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        assertEquals(triangles, Triangles.count(view, pool));
+        assertEquals(cycles, Triangles.directedCycles(view, pool));
+        long sum = 0;
+        for (long t : Triangles.perVertex(view, pool))
+            sum += t;
+        assertEquals(3 * triangles, sum);
+    }
+
+    private boolean linked(Graph<Integer> graph, int a, int b)
+    {
+        return graph.hasEdge(a, b) || graph.hasEdge(b, a);
+    }
+}
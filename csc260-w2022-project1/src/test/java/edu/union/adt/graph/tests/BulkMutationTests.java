@@ -0,0 +1,135 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Edge;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphDelta;
+import edu.union.adt.graph.GraphFactory;
+
+import java.util.Arrays;
+
+@RunWith(JUnit4.class)
+public class BulkMutationTests
+{
+    private Graph<String> g;
+    private Graph<String> g2;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<String> createGraph();
+        g2 = GraphFactory.<String> createGraph();
+    }
+
+    @Test
+    public void addEdgesMatchesAddEdge()
+    {
+        g.addEdges(Arrays.asList(new Edge<String>("A", "B"),
+                                 new Edge<String>("A", "C"),
+                                 new Edge<String>("A", "B"),
+                                 new Edge<String>("C", "A")));
+        g2.addEdge("A", "B");
+        g2.addEdge("A", "C");
+        g2.addEdge("C", "A");
+
+        assertEquals("Bulk add produces the same graph as single adds", g2, g);
+        assertEquals("Duplicate edges in a batch are added once", 3, g.numEdges());
+        assertEquals("Bulk add creates missing vertices", 3, g.numVertices());
+    }
+
+    @Test
+    public void removeEdges()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("A", "C");
+        g.addEdge("B", "C");
+        g.removeEdges(Arrays.asList(new Edge<String>("A", "B"),
+                                    new Edge<String>("B", "C"),
+                                    new Edge<String>("X", "Y")));
+
+        assertFalse("Removed edge is gone", g.hasEdge("A", "B"));
+        assertTrue("Other edges are kept", g.hasEdge("A", "C"));
+        assertEquals("Edge count drops by the edges actually removed", 1, g.numEdges());
+        assertFalse("Removing a missing edge does not add vertices", g.contains("X"));
+    }
+
+    @Test
+    public void deltaKeepsNetEffect()
+    {
+        GraphDelta<String> delta = new GraphDelta<String>()
+            .addEdge("A", "B")
+            .removeEdge("A", "B")
+            .addEdge("B", "C")
+            .addEdge("C", "D")
+            .removeVertex("D")
+            .addVertex("E");
+
+        assertEquals("Only the net additions are kept", 1, delta.numAddedEdges());
+        g.addEdge("A", "B");
+        g.addEdge("D", "A");
+        g.apply(delta);
+
+        assertFalse("An added-then-removed edge ends up removed", g.hasEdge("A", "B"));
+        assertTrue("Other additions are applied", g.hasEdge("B", "C"));
+        assertFalse("A removed vertex is gone", g.contains("D"));
+        assertTrue("Added vertices are present", g.contains("E"));
+        assertEquals(1, g.numEdges());
+    }
+
+    @Test
+    public void deltaMatchesTheSameCallsOneByOne()
+    {
+        g.addEdge("A", "B");
+        assertSameAsOneByOne("-B", "+AB", "-AB");
+        assertSameAsOneByOne("+AB", "-AB");
+        assertSameAsOneByOne("+YX", "-X");
+        assertSameAsOneByOne("+XX", "-X");
+        assertSameAsOneByOne("-A", "+AC", "-C", "+A");
+        assertSameAsOneByOne("+BC", "-BC", "-C", "+CB");
+    }
+
+    /**
+     * Applies 'calls' to a copy of g as a delta and, one at a time, to
+     * another copy, and checks that the two copies agree.  "+X" and
+     * "-X" add and remove the vertex X; "+XY" and "-XY" add and remove
+     * the edge (X, Y).
+     */
+    private void assertSameAsOneByOne(String... calls)
+    {
+        Graph<String> batched = GraphFactory.<String> createGraph();
+        Graph<String> single = GraphFactory.<String> createGraph();
+        batched.merge(g);
+        single.merge(g);
+
+        GraphDelta<String> delta = new GraphDelta<String>();
+        for (String call : calls) {
+            boolean add = call.charAt(0) == '+';
+            String from = call.substring(1, 2);
+            if (call.length() == 2 && add) {
+                delta.addVertex(from);
+                single.addVertex(from);
+            } else if (call.length() == 2) {
+                delta.removeVertex(from);
+                single.removeVertex(from);
+            } else if (add) {
+                delta.addEdge(from, call.substring(2));
+                single.addEdge(from, call.substring(2));
+            } else {
+                delta.removeEdge(from, call.substring(2));
+                single.removeEdge(from, call.substring(2));
+            }
+        }
+        batched.apply(delta);
+
+        assertEquals("apply matches " + Arrays.toString(calls) + " one by one",
+                     single, batched);
+    }
+}
@@ -0,0 +1,148 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.CompressedGraph;
+import edu.union.adt.graph.CsrView;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.Graphs;
+import edu.union.adt.graph.VertexOrdering;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+@RunWith(JUnit4.class)
+public class CompressedGraphTests
+{
+    private static <V> List<V> list(Iterable<V> items)
+    {
+        List<V> out = new ArrayList<V>();
+        for (V v : items)
+            out.add(v);
+        return out;
+    }
+
+    /**
+     * @return a random graph whose ids span several varint lengths,
+     * with self-loops and neighbours below and above each vertex.
+     */
+    private static Graph<Integer> randomGraph(int n, int edges, long seed)
+    {
+        Random random = new Random(seed);
+        Graph<Integer> g = GraphFactory.builder().intVertices().expectedVertices(n).build();
+        for (int v = 0; v < n; v++)
+            g.addVertex(v);
+        for (int i = 0; i < edges; i++) {
+            int v = random.nextInt(n);
+            g.addEdge(v, random.nextBoolean() ? v : random.nextInt(n));
+        }
+        return g;
+    }
+
+    @Test
+    public void keepsEveryVertexAndEdge()
+    {
+        Graph<Integer> g = randomGraph(40000, 120000, 1);
+        CompressedGraph<Integer> c = CompressedGraph.copyOf(g);
+
+        assertEquals(g.numVertices(), c.numVertices());
+        assertEquals(g.numEdges(), c.numEdges());
+        assertTrue(Graphs.sameVerticesAndEdges(g, c));
+        Random random = new Random(2);
+        for (int i = 0; i < 2000; i++) {
+            int a = random.nextInt(40000);
+            int b = random.nextInt(40000);
+            assertEquals(g.degree(a), c.degree(a));
+            assertEquals(g.hasEdge(a, b), c.hasEdge(a, b));
+            List<Integer> adjacent = list(g.adjacentTo(a));
+            Collections.sort(adjacent);
+            assertEquals(adjacent, list(c.adjacentTo(a)));
+        }
+        assertFalse(c.hasEdge(-1, 0));
+        assertFalse(c.contains(40000));
+    }
+
+    @Test
+    public void pathsMatchTheSourceGraph()
+    {
+        Graph<Integer> g = randomGraph(3000, 4000, 3);
+        CompressedGraph<Integer> c = CompressedGraph.copyOf(g);
+        Random random = new Random(4);
+        for (int i = 0; i < 200; i++) {
+            int a = random.nextInt(3000);
+            int b = random.nextInt(3000);
+            int length = g.pathLength(a, b);
+            assertEquals(length, c.pathLength(a, b));
+            assertEquals(length != Integer.MAX_VALUE, c.hasPath(a, b));
+            List<Integer> path = c.getPath(a, b) == null ? null : list(c.getPath(a, b));
+            if (length == Integer.MAX_VALUE) {
+                assertNull(path);
+                continue;
+            }
+            assertEquals(length + 1, path.size());
+            for (int j = 0; j + 1 < path.size(); j++)
+                assertTrue(g.hasEdge(path.get(j), path.get(j + 1)));
+        }
+        assertEquals(Arrays.asList(7), list(c.getPath(7, 7)));
+        assertNull(c.getPath(7, -1));
+    }
+
+    @Test
+    public void adjacentToDecodesOnEachIteration()
+    {
+        Graph<String> g = GraphFactory.<String> createGraph();
+        g.addEdge("A", "C");
+        g.addEdge("A", "B");
+        g.addVertex("D");
+        CompressedGraph<String> c = CompressedGraph.copyOf(g);
+
+        Iterable<String> adjacent = c.adjacentTo("A");
+        assertEquals(list(adjacent), list(adjacent));
+        assertEquals(2, list(adjacent).size());
+        Iterator<String> it = c.adjacentTo("D").iterator();
+        assertFalse(it.hasNext());
+        assertFalse(c.adjacentTo("Z").iterator().hasNext());
+        assertEquals(c, CompressedGraph.copyOf(g));
+        assertTrue(c.snapshot() == c);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void isReadOnly()
+    {
+        CompressedGraph.copyOf(GraphFactory.<String> createGraph()).addVertex("A");
+    }
+
+    @Test
+    public void renumberingShrinksAScrambledPath()
+    {
+        int n = 50000;
+        List<Integer> ids = new ArrayList<Integer>();
+        for (int i = 0; i < n; i++)
+            ids.add(i);
+        Collections.shuffle(ids, new Random(5));
+        Graph<Integer> g = GraphFactory.builder().intVertices().expectedVertices(n).build();
+        for (int i = 0; i + 1 < n; i++) {
+            g.addEdge(ids.get(i), ids.get(i + 1));
+            g.addEdge(ids.get(i + 1), ids.get(i));
+        }
+        CsrView<Integer> view = CsrView.of(g);
+        CompressedGraph<Integer> scrambled = CompressedGraph.of(view);
+        CompressedGraph<Integer> ordered = CompressedGraph.of(view.permute(VertexOrdering.breadthFirst(view)));
+
+        assertTrue(Graphs.sameVerticesAndEdges(scrambled, ordered));
+        assertTrue(ordered.bitsPerEdge() < scrambled.bitsPerEdge());
+        assertTrue("far below the 32 bits of an int id", ordered.bitsPerEdge() < 32);
+    }
+}
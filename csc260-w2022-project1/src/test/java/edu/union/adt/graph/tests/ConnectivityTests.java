@@ -0,0 +1,149 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.CsrView;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphDelta;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.analytics.ComponentTrackingGraph;
+import edu.union.adt.graph.analytics.Components;
+import edu.union.adt.graph.analytics.Connectivity;
+import edu.union.adt.graph.analytics.UnionFind;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+@RunWith(JUnit4.class)
+public class ConnectivityTests
+{
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<String> createGraph();
+        g.addEdge("A", "B");
+        g.addEdge("C", "B");
+        g.addEdge("D", "E");
+        g.addVertex("F");
+    }
+
+    @Test
+    public void weakComponentsIgnoreDirection()
+    {
+        Components<String> components = Connectivity.connectedComponents(g);
+
+        assertEquals(3, components.count());
+        assertTrue("A and C both point at B", components.connected("A", "C"));
+        assertFalse(components.connected("A", "D"));
+        assertFalse(components.connected("A", "Z"));
+        assertEquals(3, components.size(components.largest()));
+        assertEquals(new HashSet<String>(Arrays.asList("A", "B", "C")),
+                     new HashSet<String>(components.members(components.componentOf("B"))));
+        assertEquals(Arrays.asList("F"), components.all().get(2));
+    }
+
+    @Test
+    public void parallelMatchesSequential()
+    {
+        Graph<Integer> big = GraphFactory.builder().intVertices().build();
+        Random random = new Random(3);
+        int n = 20000;
+        for (int v = 0; v < n; v++)
+            big.addVertex(v);
+        for (int i = 0; i < n * 9 / 10; i++)
+            big.addEdge(random.nextInt(n), random.nextInt(n));
+        CsrView<Integer> view = CsrView.of(big);
+
+        Components<Integer> one = Connectivity.connectedComponents(view, new ForkJoinPool(1));
+        Components<Integer> many = Connectivity.connectedComponents(view, new ForkJoinPool(8));
+        assertEquals(one.count(), many.count());
+        for (int v = 0; v < n; v++)
+            assertEquals(one.componentOf(v), many.componentOf(v));
+    }
+
+    @Test
+    public void concurrentUnions() throws InterruptedException
+    {
+        final UnionFind sets = new UnionFind(1000);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = offset; i + 1 < 1000; i += threads.length)
+                    sets.union(i + 1, i);
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads)
+            t.join();
+
+        for (int i = 0; i < 1000; i++)
+            assertEquals("The root is the smallest member", 0, sets.find(i));
+    }
+
+    @Test
+    public void trackingUnderAdditions()
+    {
+        ComponentTrackingGraph<String> tracked = new ComponentTrackingGraph<String>(g);
+        assertEquals(3, tracked.numComponents());
+
+        tracked.addEdge("E", "A");
+        assertEquals(2, tracked.numComponents());
+        assertTrue(tracked.connected("D", "C"));
+
+        tracked.addVertex("G");
+        tracked.apply(new GraphDelta<String>().addEdge("G", "F").addEdge("H", "H"));
+        assertEquals(3, tracked.numComponents());
+        assertTrue(tracked.connected("F", "G"));
+        assertEquals(g.numEdges(), tracked.numEdges());
+    }
+
+    @Test
+    public void trackingGrowsPastItsInitialCapacity()
+    {
+        // the union-find starts with room for 16 vertices
+        ComponentTrackingGraph<Integer> tracked =
+            new ComponentTrackingGraph<Integer>(GraphFactory.<Integer> createGraph());
+        for (int v = 1; v < 40; v++)
+            tracked.addEdge(v - 1, v);
+        assertEquals(1, tracked.numComponents());
+        assertTrue(tracked.connected(0, 39));
+
+        GraphDelta<Integer> delta = new GraphDelta<Integer>();
+        for (int v = 100; v < 140; v++)
+            delta.addEdge(v, v + 1);
+        delta.addEdge(140, 0);
+        tracked.apply(delta);
+        assertEquals(1, tracked.numComponents());
+        assertTrue(tracked.connected(100, 39));
+        assertEquals(81, tracked.numVertices());
+    }
+
+    @Test
+    public void trackingAfterRemovals()
+    {
+        ComponentTrackingGraph<String> tracked = new ComponentTrackingGraph<String>(g);
+        tracked.removeEdge("C", "B");
+        assertEquals(4, tracked.numComponents());
+        assertFalse(tracked.connected("C", "A"));
+
+        tracked.removeVertex("B");
+        assertEquals(4, tracked.numComponents());
+        assertFalse(tracked.connected("A", "B"));
+
+        tracked.addEdge("A", "C");
+        assertEquals(3, tracked.numComponents());
+        assertEquals(Connectivity.connectedComponents(g).count(), tracked.components().count());
+    }
+}
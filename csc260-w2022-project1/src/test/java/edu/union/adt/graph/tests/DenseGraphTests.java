@@ -0,0 +1,140 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.DenseGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.Graphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+@RunWith(JUnit4.class)
+public class DenseGraphTests
+{
+    private static <V> List<V> list(Iterable<V> items)
+    {
+        List<V> out = new ArrayList<V>();
+        for (V v : items)
+            out.add(v);
+        return out;
+    }
+
+    @Test
+    public void countsEdgesAsTheyComeAndGo()
+    {
+        DenseGraph<String> g = new DenseGraph<String>();
+        g.addEdge("A", "B");
+        g.addEdge("A", "B");
+        g.addEdge("A", "A");
+        g.addEdge("B", "C");
+        g.addEdge("C", "A");
+
+        assertEquals(3, g.numVertices());
+        assertEquals(4, g.numEdges());
+        assertEquals(2, g.degree("A"));
+        assertTrue(g.hasEdge("A", "A"));
+        assertFalse(g.hasEdge("B", "A"));
+        assertFalse(g.hasEdge("Z", "A"));
+        assertEquals(new HashSet<String>(Arrays.asList("A", "B")),
+                     new HashSet<String>(list(g.adjacentTo("A"))));
+        assertTrue(list(g.adjacentTo("Z")).isEmpty());
+
+        g.removeEdge("A", "A");
+        g.removeEdge("A", "C");
+        assertEquals(3, g.numEdges());
+        g.removeVertex("A");
+        assertEquals("Removing a vertex removes edges into and out of it", 1, g.numEdges());
+        assertFalse(g.contains("A"));
+
+        g.addEdge("D", "B");
+        assertEquals("The freed id is reused", 3, g.numVertices());
+        assertTrue(g.hasEdge("D", "B"));
+        assertFalse(g.hasEdge("C", "D"));
+    }
+
+    @Test
+    public void widensRowsAsItGrows()
+    {
+        DenseGraph<Integer> g = new DenseGraph<Integer>(1);
+        for (int v = 0; v < 1000; v++)
+            g.addEdge(v, (v * 7 + 3) % 1000);
+        assertEquals(1000, g.numVertices());
+        assertEquals(1000, g.numEdges());
+        for (int v = 0; v < 1000; v++)
+            assertTrue(g.hasEdge(v, (v * 7 + 3) % 1000));
+        assertEquals(0.001, g.density(), 1e-9);
+    }
+
+    @Test
+    public void pathsMatchASparseBackend()
+    {
+        Random random = new Random(1);
+        Graph<Integer> reference = GraphFactory.builder().intVertices().build();
+        DenseGraph<Integer> g = new DenseGraph<Integer>(300);
+        for (int v = 0; v < 300; v++) {
+            reference.addVertex(v);
+            g.addVertex(v);
+        }
+        for (int i = 0; i < 450; i++) {
+            int a = random.nextInt(300);
+            int b = random.nextInt(300);
+            reference.addEdge(a, b);
+            g.addEdge(a, b);
+        }
+        assertTrue(Graphs.sameVerticesAndEdges(reference, g));
+        for (int i = 0; i < 500; i++) {
+            int a = random.nextInt(300);
+            int b = random.nextInt(300);
+            int length = reference.pathLength(a, b);
+            assertEquals(length, g.pathLength(a, b));
+            assertEquals(length != Integer.MAX_VALUE, g.hasPath(a, b));
+            Iterable<Integer> path = g.getPath(a, b);
+            if (length == Integer.MAX_VALUE) {
+                assertNull(path);
+                continue;
+            }
+            List<Integer> steps = list(path);
+            assertEquals(length + 1, steps.size());
+            assertEquals(a, (int) steps.get(0));
+            assertEquals(b, (int) steps.get(length));
+            for (int j = 0; j < length; j++)
+                assertTrue(g.hasEdge(steps.get(j), steps.get(j + 1)));
+        }
+        assertNull(g.getPath(0, 300));
+        assertEquals(Arrays.asList(5), list(g.getPath(5, 5)));
+    }
+
+    @Test
+    public void denseGraphsAreSearchedALevelAtATime()
+    {
+        int n = 2000;
+        DenseGraph<Integer> g = new DenseGraph<Integer>(n);
+        Random random = new Random(2);
+        for (int v = 0; v < n; v++)
+            for (int w = 0; w < n; w++)
+                if (v != w && random.nextInt(3) == 0)
+                    g.addEdge(v, w);
+        assertTrue(g.density() > 0.3);
+        int edges = 0;
+        for (int v = 0; v < n; v++)
+            edges += g.degree(v);
+        assertEquals(g.numEdges(), edges);
+        for (int i = 0; i < 20; i++) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            assertEquals(a == b ? 0 : g.hasEdge(a, b) ? 1 : 2, g.pathLength(a, b));
+        }
+    }
+}
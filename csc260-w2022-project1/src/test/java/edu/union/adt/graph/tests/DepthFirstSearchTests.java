@@ -0,0 +1,157 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.CsrView;
+import edu.union.adt.graph.DepthFirstSearch;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+@RunWith(JUnit4.class)
+public class DepthFirstSearchTests
+{
+    /**
+     * 0 -> 1 -> 3 -> 4, 0 -> 2 -> 3, 4 -> 1, and 5 on its own.  Int
+     * vertices keep ids in ascending order and edges in insertion
+     * order, so the search order is fixed.
+     */
+    private static DepthFirstSearch<Integer> small()
+    {
+        Graph<Integer> g = GraphFactory.builder().intVertices().build();
+        g.addEdge(0, 1);
+        g.addEdge(0, 2);
+        g.addEdge(1, 3);
+        g.addEdge(2, 3);
+        g.addEdge(3, 4);
+        g.addEdge(4, 1);
+        g.addVertex(5);
+        return DepthFirstSearch.of(g);
+    }
+
+    @Test
+    public void ordersVertices()
+    {
+        DepthFirstSearch<Integer> dfs = small();
+        assertEquals(Arrays.asList(0, 1, 3, 4, 2), dfs.preorder(0));
+        assertEquals(Arrays.asList(4, 3, 1, 2, 0), dfs.postorder(0));
+        assertEquals(Arrays.asList(3, 4, 1), dfs.preorder(3));
+        assertEquals(Arrays.asList(5), dfs.postorder(5));
+        assertTrue(dfs.preorder(9).isEmpty());
+    }
+
+    @Test
+    public void answersReachability()
+    {
+        DepthFirstSearch<Integer> dfs = small();
+        assertTrue(dfs.reaches(0, 4));
+        assertTrue(dfs.reaches(4, 3));
+        assertFalse(dfs.reaches(3, 0));
+        assertFalse(dfs.reaches(0, 5));
+        assertTrue(dfs.reaches(5, 5));
+        assertFalse(dfs.reaches(0, 9));
+    }
+
+    @Test
+    public void reusedSearchesAgreeWithBreadthFirst()
+    {
+        Random random = new Random(1);
+        Graph<Integer> g = GraphFactory.builder().intVertices().build();
+        for (int v = 0; v < 500; v++)
+            g.addVertex(v);
+        for (int i = 0; i < 550; i++)
+            g.addEdge(random.nextInt(500), random.nextInt(500));
+        DepthFirstSearch<Integer> dfs = DepthFirstSearch.of(g);
+        int[] out = new int[500];
+        for (int i = 0; i < 3000; i++) {
+            int a = random.nextInt(500);
+            int b = random.nextInt(500);
+            assertEquals(g.hasPath(a, b), dfs.reaches(a, b));
+        }
+        for (int a = 0; a < 500; a += 25) {
+            int count = dfs.preorder(a, out);
+            Set<Integer> reached = new HashSet<Integer>();
+            for (int i = 0; i < count; i++)
+                reached.add(out[i]);
+            assertEquals("no vertex twice", count, reached.size());
+            for (int b = 0; b < 500; b++)
+                assertEquals(g.hasPath(a, b), reached.contains(b));
+            assertEquals(count, dfs.postorder(a, out));
+            assertEquals(a, out[count - 1]);
+        }
+    }
+
+    @Test
+    public void deepChainsDoNotOverflowTheStack()
+    {
+        int n = 300000;
+        Graph<Integer> chain = GraphFactory.builder().intVertices().expectedVertices(n).build();
+        for (int v = 0; v + 1 < n; v++)
+            chain.addEdge(v, v + 1);
+        DepthFirstSearch<Integer> dfs = DepthFirstSearch.of(chain);
+        assertTrue(dfs.reaches(0, n - 1));
+        assertFalse(dfs.reaches(n - 1, 0));
+        int[] out = new int[n];
+        assertEquals(n, dfs.postorder(0, out));
+        assertEquals(n - 1, out[0]);
+        List<List<Integer>> paths = dfs.simplePaths(0, n - 1, 5, n);
+        assertEquals(1, paths.size());
+        assertEquals(n, paths.get(0).size());
+    }
+
+    @Test
+    public void enumeratesBoundedSimplePaths()
+    {
+        DepthFirstSearch<Integer> dfs = small();
+        assertEquals(Arrays.asList(Arrays.asList(0, 1, 3, 4), Arrays.asList(0, 2, 3, 4)),
+                     dfs.simplePaths(0, 4, 10, 10));
+        assertEquals("the cycle through 1 is not a simple path",
+                     Arrays.asList(Arrays.asList(3, 4, 1)), dfs.simplePaths(3, 1, 10, 10));
+        assertEquals(1, dfs.simplePaths(0, 4, 1, 10).size());
+        assertTrue(dfs.simplePaths(0, 4, 10, 2).isEmpty());
+        assertEquals(Arrays.asList(Arrays.asList(0)), dfs.simplePaths(0, 0, 10, 0));
+        assertTrue(dfs.simplePaths(0, 5, 10, 10).isEmpty());
+        assertTrue(dfs.simplePaths(0, 9, 10, 10).isEmpty());
+    }
+
+    @Test
+    public void limitsKeepExplosiveEnumerationsShort()
+    {
+        // a ladder of k diamonds has 2^k paths from end to end
+        Graph<Integer> g = GraphFactory.builder().intVertices().build();
+        int k = 40;
+        for (int i = 0; i < k; i++) {
+            int top = 3 * i;
+            g.addEdge(top, top + 1);
+            g.addEdge(top, top + 2);
+            g.addEdge(top + 1, top + 3);
+            g.addEdge(top + 2, top + 3);
+        }
+        DepthFirstSearch<Integer> dfs = new DepthFirstSearch<Integer>(CsrView.of(g));
+        int end = dfs.view().indexOf(3 * k);
+        int start = dfs.view().indexOf(0);
+        List<Integer> lengths = new ArrayList<Integer>();
+        assertEquals(1000, dfs.simplePaths(start, end, 1000, 2 * k,
+                                           (path, length) -> lengths.add(length)));
+        for (int length : lengths)
+            assertEquals(2 * k, length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeLimits()
+    {
+        small().simplePaths(0, 4, -1, 10);
+    }
+}
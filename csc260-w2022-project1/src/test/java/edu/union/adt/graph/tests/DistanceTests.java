@@ -0,0 +1,140 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.CsrView;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.analytics.DistanceIndex;
+import edu.union.adt.graph.analytics.DistanceMatrix;
+import edu.union.adt.graph.analytics.LandmarkOracle;
+import edu.union.adt.graph.events.ObservableGraph;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+@RunWith(JUnit4.class)
+public class DistanceTests
+{
+    private static Graph<Integer> randomGraph(int n, int edges, long seed)
+    {
+        Random random = new Random(seed);
+        Graph<Integer> g = GraphFactory.builder().intVertices().expectedVertices(n).build();
+        for (int v = 0; v < n; v++)
+            g.addVertex(v);
+        for (int i = 0; i < edges; i++)
+            g.addEdge(random.nextInt(n), random.nextInt(n));
+        return g;
+    }
+
+    @Test
+    public void matrixMatchesPathLength()
+    {
+        Graph<Integer> g = randomGraph(400, 700, 1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            DistanceMatrix<Integer> matrix = DistanceMatrix.of(CsrView.of(g), pool);
+            for (int a = 0; a < 400; a += 3)
+                for (int b = 0; b < 400; b += 7)
+                    assertEquals(g.pathLength(a, b), matrix.distance(a, b));
+            assertEquals(Integer.MAX_VALUE, matrix.distance(0, 400));
+            assertEquals(2L * 400 * 400, matrix.bytes());
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void matrixRefusesTooManyVertices()
+    {
+        Graph<Integer> chain = GraphFactory.builder().intVertices().build();
+        for (int v = 0; v < DistanceMatrix.MAX_VERTICES; v++)
+            chain.addEdge(v, v + 1);
+        DistanceMatrix.of(CsrView.of(chain));
+    }
+
+    @Test
+    public void oracleHandlesLongPaths()
+    {
+        Graph<Integer> chain = GraphFactory.builder().intVertices().build();
+        for (int v = 0; v < 40000; v++)
+            chain.addEdge(v, v + 1);
+        LandmarkOracle<Integer> oracle = LandmarkOracle.of(CsrView.of(chain), 1);
+        assertEquals(40000, oracle.upperBound(0, 40000));
+        assertEquals(Integer.MAX_VALUE, oracle.lowerBound(40000, 0));
+    }
+
+    @Test
+    public void landmarkBoundsBracketTheTrueDistance()
+    {
+        Graph<Integer> g = randomGraph(2000, 8000, 2);
+        LandmarkOracle<Integer> oracle = LandmarkOracle.of(CsrView.of(g), 16);
+        Random random = new Random(3);
+        int exact = 0;
+        for (int i = 0; i < 500; i++) {
+            int a = random.nextInt(2000);
+            int b = random.nextInt(2000);
+            int d = g.pathLength(a, b);
+            int lower = oracle.lowerBound(a, b);
+            int upper = oracle.upperBound(a, b);
+            assertTrue(lower + " <= " + d, lower <= d);
+            assertTrue(d + " <= " + upper, d <= upper);
+            if (lower == upper)
+                exact++;
+        }
+        assertTrue("some distances are pinned down exactly", exact > 0);
+        assertEquals(0, oracle.upperBound(5, 5));
+        assertEquals(Integer.MAX_VALUE, oracle.upperBound(5, -1));
+    }
+
+    @Test
+    public void oracleProvesThatThereIsNoPath()
+    {
+        Graph<String> g = GraphFactory.<String> createGraph();
+        g.addEdge("hub", "A");
+        g.addEdge("hub", "B");
+        g.addEdge("hub", "C");
+        g.addEdge("A", "B");
+        g.addVertex("D");
+        LandmarkOracle<String> oracle = LandmarkOracle.of(CsrView.of(g), 1);
+
+        assertEquals(1, oracle.upperBound("hub", "B"));
+        assertEquals("no path from A runs through the hub",
+                     Integer.MAX_VALUE, oracle.upperBound("A", "B"));
+        assertEquals(1, oracle.lowerBound("A", "B"));
+        assertEquals(Integer.MAX_VALUE, oracle.lowerBound("A", "hub"));
+        assertEquals("the hub reaches A but not D", Integer.MAX_VALUE, oracle.lowerBound("A", "D"));
+    }
+
+    @Test
+    public void indexRebuildsOnlyAfterAChange()
+    {
+        ObservableGraph<String> g = new ObservableGraph<String>(GraphFactory.<String> createGraph());
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        DistanceIndex<String> index = new DistanceIndex<String>(g);
+
+        assertEquals(2, index.pathLength("A", "C"));
+        assertEquals(1, index.pathLength("B", "C"));
+        assertEquals(1, index.getBuildCount());
+
+        g.addEdge("A", "C");
+        assertEquals(1, index.pathLength("A", "C"));
+        assertEquals(2, index.getBuildCount());
+        g.addEdge("A", "C");
+        assertEquals(1, index.pathLength("A", "B"));
+        assertEquals("an edge already there changes nothing", 2, index.getBuildCount());
+
+        index.oracle(2);
+        assertTrue(index.oracle(2) == index.oracle(2));
+        g.removeVertex("C");
+        assertEquals(Integer.MAX_VALUE, index.oracle(2).upperBound("A", "C"));
+        assertEquals(Integer.MAX_VALUE, index.pathLength("B", "C"));
+    }
+}
@@ -0,0 +1,192 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.GraphDelta;
+import edu.union.adt.graph.persistence.Durability;
+import edu.union.adt.graph.persistence.DurableGraph;
+import edu.union.adt.graph.persistence.VertexCodec;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RunWith(JUnit4.class)
+public class DurableGraphTests
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private DurableGraph<String> open(Path dir, Durability durability) throws IOException
+    {
+        return DurableGraph.open(dir, VertexCodec.STRING, durability);
+    }
+
+    @Test
+    public void recoversFromLog() throws IOException
+    {
+        Path dir = folder.newFolder("log").toPath();
+        DurableGraph<String> g = open(dir, Durability.GROUP_COMMIT);
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addVertex("D");
+        g.removeEdge("A", "B");
+        g.addEdge("C", "A");
+        g.close();
+
+        DurableGraph<String> recovered = open(dir, Durability.NONE);
+        assertEquals("Replaying the log rebuilds the same graph", g, recovered);
+        assertFalse(recovered.hasEdge("A", "B"));
+        assertTrue(recovered.contains("D"));
+        assertEquals(5, recovered.numChanges());
+        recovered.close();
+    }
+
+    @Test
+    public void batchesLogOnlyChangesWithAnEffect() throws IOException
+    {
+        Path dir = folder.newFolder("batch").toPath();
+        DurableGraph<String> g = open(dir, Durability.GROUP_COMMIT);
+        g.addEdge("A", "B");
+        g.addVertex("C");
+        assertEquals(2, g.numChanges());
+
+        g.apply(new GraphDelta<String>()
+                .addEdge("A", "B")
+                .addVertex("C")
+                .removeVertex("Z")
+                .removeEdge("C", "A")
+                .addEdge("B", "C"));
+        assertEquals("Only B -> C is new", 3, g.numChanges());
+        g.apply(new GraphDelta<String>().addEdge("A", "B").removeEdge("B", "A"));
+        assertEquals(3, g.numChanges());
+        g.close();
+
+        DurableGraph<String> recovered = open(dir, Durability.NONE);
+        assertEquals(g, recovered);
+        assertTrue(recovered.hasEdge("B", "C"));
+        recovered.close();
+    }
+
+    @Test
+    public void recoversFromCheckpointAndLog() throws IOException
+    {
+        Path dir = folder.newFolder("checkpoint").toPath();
+        DurableGraph<String> g = open(dir, Durability.PERIODIC);
+        g.addEdge("A", "B");
+        g.addEdge("A", "C");
+        g.checkpoint();
+        g.removeVertex("C");
+        g.addEdge("B", "A");
+        g.close();
+
+        assertEquals("Old log segments are deleted after a checkpoint",
+                     2, dir.toFile().list().length);
+
+        DurableGraph<String> recovered = open(dir, Durability.NONE);
+        assertEquals(g, recovered);
+        assertFalse(recovered.contains("C"));
+        assertTrue(recovered.hasEdge("B", "A"));
+        recovered.close();
+    }
+
+    @Test
+    public void tornRecordIsDropped() throws IOException
+    {
+        Path dir = folder.newFolder("torn").toPath();
+        DurableGraph<String> g = open(dir, Durability.NONE);
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.close();
+
+        File log = dir.toFile().listFiles()[0];
+        try (RandomAccessFile raf = new RandomAccessFile(log, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        DurableGraph<String> recovered = open(dir, Durability.NONE);
+        assertTrue(recovered.hasEdge("A", "B"));
+        assertFalse("A partly written record is not replayed", recovered.hasEdge("B", "C"));
+        recovered.addEdge("C", "D");
+        recovered.close();
+
+        DurableGraph<String> again = open(dir, Durability.NONE);
+        assertTrue("Appending resumes after the truncated record", again.hasEdge("C", "D"));
+        again.close();
+    }
+
+    @Test
+    public void replayStreamsLogsLongerThanItsBuffer() throws IOException
+    {
+        Path dir = folder.newFolder("long").toPath();
+        DurableGraph<Integer> g = DurableGraph.open(dir, VertexCodec.INTEGER, Durability.NONE);
+        for (int i = 0; i < 20000; i++)
+            g.addEdge(i, i + 1);
+        g.close();
+
+        File log = dir.toFile().listFiles()[0];
+        long corrupt = log.length() * 3 / 4;
+        try (RandomAccessFile raf = new RandomAccessFile(log, "rw")) {
+            raf.seek(corrupt);
+            int b = raf.read();
+            raf.seek(corrupt);
+            raf.write(b ^ 0xff);
+        }
+
+        DurableGraph<Integer> recovered = DurableGraph.open(dir, VertexCodec.INTEGER, Durability.NONE);
+        long kept = recovered.numEdges();
+        assertTrue("Records before the damage are replayed: " + kept, kept > 14000);
+        assertTrue("Records from the damage on are not: " + kept, kept < 15100);
+        assertTrue("The segment is truncated at the damage", log.length() <= corrupt);
+        recovered.addEdge(-1, -2);
+        recovered.close();
+
+        DurableGraph<Integer> again = DurableGraph.open(dir, VertexCodec.INTEGER, Durability.NONE);
+        assertEquals(kept + 1, again.numEdges());
+        again.close();
+    }
+
+    @Test
+    public void halfWrittenCheckpointsAreDeleted() throws IOException
+    {
+        Path dir = folder.newFolder("tmp").toPath();
+        DurableGraph<String> g = open(dir, Durability.NONE);
+        g.addEdge("A", "B");
+        g.checkpoint();
+        g.close();
+        Path stale = dir.resolve("checkpoint-00000000000000000009.snap.tmp");
+        Files.write(stale, new byte[] { 1, 2, 3 });
+
+        DurableGraph<String> recovered = open(dir, Durability.NONE);
+        assertFalse("A crash's temporary checkpoint is removed", Files.exists(stale));
+        assertTrue(recovered.hasEdge("A", "B"));
+        recovered.close();
+    }
+
+    @Test
+    public void automaticCheckpoints() throws IOException
+    {
+        Path dir = folder.newFolder("auto").toPath();
+        DurableGraph<Integer> g = DurableGraph.open(dir, VertexCodec.INTEGER, Durability.NONE);
+        g.setCheckpointInterval(100);
+        for (int i = 0; i < 1000; i++)
+            g.addEdge(i, i + 1);
+        g.close();
+
+        DurableGraph<Integer> recovered = DurableGraph.open(dir, VertexCodec.INTEGER, Durability.NONE);
+        assertEquals(1001, recovered.numVertices());
+        assertEquals(1000, recovered.numEdges());
+        assertTrue(recovered.hasEdge(999, 1000));
+        recovered.close();
+    }
+}
@@ -0,0 +1,161 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.IntAdjacencyGraph;
+import edu.union.adt.graph.generators.EdgeFile;
+import edu.union.adt.graph.generators.EdgeList;
+import edu.union.adt.graph.generators.GraphGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+@RunWith(JUnit4.class)
+public class GeneratorTests
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static List<Long> stream(GraphGenerator generator)
+    {
+        List<Long> edges = new ArrayList<Long>();
+        generator.generate((from, to) -> edges.add((long) from << 32 | to));
+        return edges;
+    }
+
+    private static List<Long> list(EdgeList edges)
+    {
+        List<Long> out = new ArrayList<Long>();
+        edges.forEach((from, to) -> out.add((long) from << 32 | to));
+        return out;
+    }
+
+    private static GraphGenerator[] generators(long seed)
+    {
+        return new GraphGenerator[] {
+            GraphGenerator.erdosRenyi(1000, 200000, seed),
+            GraphGenerator.barabasiAlbert(50000, 4, seed),
+            GraphGenerator.rmat(12, 150000, 0.57, 0.19, 0.19, seed),
+            GraphGenerator.grid(300, 400),
+            GraphGenerator.chain(100000)
+        };
+    }
+
+    @Test
+    public void parallelAndStreamedEdgesAreTheSame()
+    {
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            for (GraphGenerator generator : generators(7)) {
+                List<Long> streamed = stream(generator);
+                assertEquals(generator.numEdges(), streamed.size());
+                assertEquals(streamed, list(generator.toEdgeList(one)));
+                assertEquals(streamed, list(generator.toEdgeList(four)));
+                for (long e : streamed) {
+                    assertTrue(e >>> 32 < generator.numVertices());
+                    assertTrue((int) e >= 0 && (int) e < generator.numVertices());
+                }
+            }
+        }
+        finally {
+            one.shutdown();
+            four.shutdown();
+        }
+    }
+
+    @Test
+    public void seedsChooseTheGraph()
+    {
+        GraphGenerator[] a = generators(7);
+        GraphGenerator[] b = generators(7);
+        GraphGenerator[] c = generators(8);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(stream(a[i]), stream(b[i]));
+            assertTrue(!stream(a[i]).equals(stream(c[i])));
+        }
+    }
+
+    @Test
+    public void preferentialAttachmentMakesHubs()
+    {
+        int n = 50000;
+        int[] inDegree = new int[n];
+        GraphGenerator.barabasiAlbert(n, 4, 1).generate((from, to) -> {
+            if (to >= from)
+                fail(from + " -> " + to + " does not point at an older vertex");
+            inDegree[to]++;
+        });
+        int max = 0;
+        for (int d : inDegree)
+            max = Math.max(max, d);
+        assertTrue("the biggest hub has " + max + " edges in", max > 100 * 4);
+    }
+
+    @Test
+    public void rmatIsSkewedTowardsLowIds()
+    {
+        int[] outDegree = new int[1 << 12];
+        GraphGenerator.rmat(12, 150000, 0.57, 0.19, 0.19, 3).generate((from, to) -> outDegree[from]++);
+        assertTrue(outDegree[0] > 20 * 150000 / outDegree.length);
+    }
+
+    @Test
+    public void gridsAndChainsHaveKnownDistances()
+    {
+        GraphGenerator grid = GraphGenerator.grid(3, 4);
+        assertEquals(12, grid.numVertices());
+        assertEquals(2 * (3 * 3 + 2 * 4), grid.numEdges());
+        IntAdjacencyGraph g = grid.toGraph();
+        assertEquals(34, g.numEdges());
+        assertTrue(g.hasEdge(0, 1) && g.hasEdge(1, 0) && g.hasEdge(0, 4) && g.hasEdge(4, 0));
+        assertTrue(!g.hasEdge(3, 4));
+        assertEquals(5, g.pathLength(0, 11));
+
+        Graph<String> chain = GraphFactory.<String> createGraph();
+        EdgeList edges = GraphGenerator.chain(50).toEdgeList();
+        edges.forEach((from, to) -> chain.addEdge("v" + from, "v" + to));
+        assertEquals(49, chain.pathLength("v0", "v49"));
+        assertEquals(Integer.MAX_VALUE, chain.pathLength("v49", "v0"));
+        assertEquals(0, GraphGenerator.chain(0).numEdges());
+    }
+
+    @Test
+    public void edgeFilesRoundTrip() throws IOException
+    {
+        Path file = folder.newFolder().toPath().resolve("graph.edges");
+        GraphGenerator generator = GraphGenerator.erdosRenyi(5000, 300000, 11);
+        EdgeFile.write(generator, file);
+        assertEquals(20 + 8 * 300000L, Files.size(file));
+
+        EdgeList read = EdgeFile.read(file);
+        assertEquals(5000, read.numVertices());
+        assertEquals(stream(generator), list(read));
+        List<Long> streamed = new ArrayList<Long>();
+        assertEquals(5000, EdgeFile.read(file, (from, to) -> streamed.add((long) from << 32 | to)));
+        assertEquals(stream(generator), streamed);
+        assertEquals(generator.toGraph(), read.toGraph());
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFiles() throws IOException
+    {
+        Path file = folder.newFolder().toPath().resolve("graph.edges");
+        Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+        EdgeFile.read(file);
+    }
+}
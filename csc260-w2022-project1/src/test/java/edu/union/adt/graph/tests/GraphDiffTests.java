@@ -0,0 +1,106 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Edge;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphDiff;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.Graphs;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+@RunWith(JUnit4.class)
+public class GraphDiffTests
+{
+    private Graph<String> before;
+    private Graph<String> after;
+
+    @Before
+    public void setUp()
+    {
+        before = GraphFactory.<String> createGraph();
+        before.addEdge("A", "B");
+        before.addEdge("B", "C");
+        before.addEdge("C", "D");
+        before.addVertex("E");
+
+        after = GraphFactory.<String> createVersionedGraph();
+        after.addEdge("A", "B");
+        after.addEdge("B", "C");
+        after.addEdge("C", "A");
+        after.addEdge("F", "A");
+        after.addVertex("E");
+    }
+
+    @Test
+    public void diffFindsEveryChange()
+    {
+        GraphDiff<String> diff = before.diff(after);
+
+        assertEquals(Collections.singleton("F"), diff.getAddedVertices());
+        assertEquals(Collections.singleton("D"), diff.getRemovedVertices());
+        assertEquals(new HashSet<Edge<String>>(Arrays.asList(new Edge<String>("C", "A"),
+                                                             new Edge<String>("F", "A"))),
+                     diff.getAddedEdges());
+        assertEquals(Collections.singleton(new Edge<String>("C", "D")), diff.getRemovedEdges());
+        assertEquals(diff.reverse(), after.diff(before));
+        assertTrue(before.diff(before).isEmpty());
+    }
+
+    @Test
+    public void applyDiffMakesGraphsEqual()
+    {
+        before.applyDiff(before.diff(after));
+
+        assertTrue(Graphs.sameVerticesAndEdges(before, after));
+        assertFalse("D's edges went with it", before.contains("D"));
+        assertEquals(before.numEdges(), after.numEdges());
+    }
+
+    @Test
+    public void mergeOnlyAdds()
+    {
+        before.merge(after);
+
+        assertEquals(6, before.numVertices());
+        assertTrue(before.hasEdge("C", "D"));
+        assertTrue(before.hasEdge("C", "A"));
+        assertTrue(before.hasEdge("F", "A"));
+        assertEquals(5, before.numEdges());
+        assertTrue(after.diff(before).getRemovedEdges().isEmpty());
+    }
+
+    @Test
+    public void parallelDiffMatchesSequential()
+    {
+        Random random = new Random(9);
+        Graph<Integer> a = GraphFactory.builder().intVertices().build();
+        Graph<Integer> b = GraphFactory.<Integer> createGraph();
+        for (int i = 0; i < 40000; i++) {
+            int from = random.nextInt(20000);
+            int to = random.nextInt(20000);
+            if (random.nextInt(10) > 0)
+                a.addEdge(from, to);
+            if (random.nextInt(10) > 0)
+                b.addEdge(from, to);
+        }
+        GraphDiff<Integer> sequential = GraphDiff.between(a, b, null);
+        GraphDiff<Integer> parallel = GraphDiff.between(a, b, new ForkJoinPool(4));
+
+        assertEquals(sequential, parallel);
+        a.applyDiff(parallel);
+        assertTrue(Graphs.sameVerticesAndEdges(a, b));
+    }
+}
@@ -0,0 +1,107 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.DenseGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.IntAdjacencyGraph;
+import edu.union.adt.graph.PKHashGraph;
+import edu.union.adt.graph.VersionedGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@RunWith(JUnit4.class)
+public class GraphFactoryBuilderTests
+{
+    @Test
+    public void picksBackends()
+    {
+        assertTrue("Default hints give a PKHashGraph",
+                   GraphFactory.<String> builder().build() instanceof PKHashGraph);
+        assertTrue("Integer vertices give an IntAdjacencyGraph",
+                   GraphFactory.builder().intVertices().build() instanceof IntAdjacencyGraph);
+        assertTrue("Thread-safe read-mostly graphs are versioned",
+                   GraphFactory.<String> builder().threadSafe()
+                   .workload(GraphFactory.Workload.READ_MOSTLY).build() instanceof VersionedGraph);
+        Graph<String> locked = GraphFactory.<String> builder().threadSafe()
+            .workload(GraphFactory.Workload.WRITE_HEAVY).build();
+        assertFalse("Write-heavy thread-safe graphs are locked, not versioned",
+                    locked instanceof VersionedGraph);
+        locked.addEdge("A", "B");
+        assertTrue(locked.hasEdge("A", "B"));
+    }
+
+    @Test
+    public void picksDenseGraphsByDensity()
+    {
+        assertTrue("A third of all possible edges gives a DenseGraph",
+                   GraphFactory.builder().intVertices().expectedVertices(20000)
+                   .expectedEdges(20000L * 20000 / 3).build() instanceof DenseGraph);
+        assertTrue("Any vertex type can be dense",
+                   GraphFactory.<String> builder().expectedVertices(2000)
+                   .expectedEdges(2000000).build() instanceof DenseGraph);
+        assertTrue("Sparse graphs are not dense",
+                   GraphFactory.builder().intVertices().expectedVertices(20000)
+                   .expectedEdges(200000).build() instanceof IntAdjacencyGraph);
+        assertTrue("Small graphs are not dense",
+                   GraphFactory.builder().intVertices().expectedVertices(10)
+                   .expectedEdges(100).build() instanceof IntAdjacencyGraph);
+        assertFalse("Ordered iteration rules dense graphs out",
+                    GraphFactory.<String> builder().orderedIteration().expectedVertices(2000)
+                    .expectedEdges(2000000).build() instanceof DenseGraph);
+        assertFalse("Dense thread-safe graphs are locked, not versioned",
+                    GraphFactory.<String> builder().threadSafe().expectedVertices(2000)
+                    .expectedEdges(2000000).build() instanceof VersionedGraph);
+    }
+
+    @Test
+    public void orderedIteration()
+    {
+        Graph<String> g = GraphFactory.<String> builder().orderedIteration()
+            .expectedVertices(1000).build();
+        List<String> added = Arrays.asList("Q", "A", "Z", "M", "B");
+        for (String v : added)
+            g.addVertex(v);
+        assertEquals("Vertices come back in insertion order", added, g.getVertices());
+    }
+
+    @Test
+    public void intGraph()
+    {
+        Graph<Integer> g = GraphFactory.builder().intVertices()
+            .expectedVertices(10).expectedEdges(20).build();
+        g.addEdge(3, 1);
+        g.addEdge(1, 2);
+        g.addEdge(2, 3);
+        g.addEdge(1, 2);
+        g.addEdge(40, 3);
+
+        assertEquals(4, g.numVertices());
+        assertEquals(4, g.numEdges());
+        assertEquals("Vertices come back in ascending order",
+                     Arrays.asList(1, 2, 3, 40), g.getVertices());
+        assertEquals(Arrays.asList(40, 3, 1, 2), g.getPath(40, 2));
+        assertEquals(3, g.pathLength(40, 2));
+        assertNull(g.getPath(1, 40));
+
+        g.removeVertex(3);
+        assertEquals("Removing a vertex removes edges into it", 1, g.numEdges());
+        assertEquals(new ArrayList<Integer>(), g.adjacentTo(40));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void intGraphRejectsNegativeIds()
+    {
+        GraphFactory.builder().intVertices().build().addVertex(-1);
+    }
+}
@@ -0,0 +1,713 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.DenseGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphDelta;
+import edu.union.adt.graph.Graphs;
+import edu.union.adt.graph.IntAdjacencyGraph;
+import edu.union.adt.graph.PKHashGraph;
+import edu.union.adt.graph.PathQuery;
+import edu.union.adt.graph.StringGraph;
+import edu.union.adt.graph.VersionedGraph;
+import edu.union.adt.graph.analytics.ComponentTrackingGraph;
+import edu.union.adt.graph.events.ObservableGraph;
+import edu.union.adt.graph.metrics.GraphMetrics;
+import edu.union.adt.graph.metrics.InstrumentedGraph;
+import edu.union.adt.graph.partition.PartitionedGraph;
+import edu.union.adt.graph.persistence.Durability;
+import edu.union.adt.graph.persistence.DurableGraph;
+import edu.union.adt.graph.persistence.VertexCodec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Runs every Graph backend against a simple reference model under a
+ * long stream of random operations, and checks that the operations
+ * scale as their documented complexity says they should.
+ *
+ * The scale is chosen with the system property
+ * edu.union.adt.graph.stress, one of small (about 10^3 edges, the
+ * default, run with the suite), medium (10^5), large (10^6) or huge
+ * (10^7); edu.union.adt.graph.stress.seed changes the random seed.
+ * The timing-based budget check is skipped at small, so the default
+ * run only compares results.  For example:
+ *
+ * <PRE>
+ * java -Dedu.union.adt.graph.stress=large -Xmx8g ... GraphStressTests
+ * </PRE>
+ */
+@RunWith(JUnit4.class)
+public class GraphStressTests
+{
+    public static final String PROFILE_PROPERTY = "edu.union.adt.graph.stress";
+    public static final String SEED_PROPERTY = "edu.union.adt.graph.stress.seed";
+
+    /**
+     * How big the graphs get.  'operations' random operations are run
+     * on a graph over 'vertices' vertex names, which grows to about
+     * 'edges' edges; the budget check compares graphs of
+     * 'edges' / 16 (at least 4096) and 16 times that.
+     */
+    enum Profile
+    {
+        SMALL(256, 1000, 20000),
+        MEDIUM(25000, 100000, 400000),
+        LARGE(250000, 1000000, 4000000),
+        HUGE(2500000, 10000000, 40000000);
+
+        final int vertices;
+        final int edges;
+        final int operations;
+
+        Profile(int vertices, int edges, int operations)
+        {
+            this.vertices = vertices;
+            this.edges = edges;
+            this.operations = operations;
+        }
+
+        static Profile current()
+        {
+            return valueOf(System.getProperty(PROFILE_PROPERTY, "small").toUpperCase());
+        }
+    }
+
+    /** How many O(V + E) operations one run makes, whatever its size. */
+    private static final int LINEAR_OPERATIONS = 200;
+    /** How much slower than its complexity an operation may scale. */
+    private static final double SLACK = 6;
+    /** The ratio between the two sizes compared by the budget check. */
+    private static final int SCALE = 16;
+    /** How many measurements in a row must be over budget to fail. */
+    private static final int ATTEMPTS = 3;
+    /** How long an operation is repeated for on the smaller graph. */
+    private static final long MIN_NANOS = 2000000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Profile profile = Profile.current();
+    private final long seed = Long.getLong(SEED_PROPERTY, 42);
+
+    /**
+     * A way to make one kind of graph, and the vertex it uses for
+     * each int name.
+     */
+    private abstract static class Backend<V>
+    {
+        final String name;
+
+        Backend(String name)
+        {
+            this.name = name;
+        }
+
+        abstract Graph<V> create(int vertices, long edges) throws IOException;
+
+        abstract V vertex(int name);
+
+        /**
+         * Whether the budget check applies.  It assumes memory and
+         * scans proportional to V + E, which a dense backend does not
+         * promise.
+         */
+        boolean budgeted()
+        {
+            return true;
+        }
+
+        /**
+         * Called when a run is over.  Returns the graph to check
+         * against the reference model once more, or null.
+         */
+        Graph<V> finish(Graph<V> graph) throws IOException
+        {
+            if (graph instanceof Closeable)
+                ((Closeable) graph).close();
+            return null;
+        }
+
+        @Override
+        public String toString()
+        {
+            return name;
+        }
+    }
+
+    private abstract static class IntBackend extends Backend<Integer>
+    {
+        IntBackend(String name)
+        {
+            super(name);
+        }
+
+        @Override
+        Integer vertex(int name)
+        {
+            return name;
+        }
+    }
+
+    private abstract static class StringBackend extends Backend<String>
+    {
+        StringBackend(String name)
+        {
+            super(name);
+        }
+
+        @Override
+        String vertex(int name)
+        {
+            return "v" + name;
+        }
+    }
+
+    private List<Backend<?>> backends()
+    {
+        List<Backend<?>> backends = new ArrayList<Backend<?>>();
+        backends.add(new StringBackend("PKHashGraph") {
+            Graph<String> create(int vertices, long edges) {
+                return new PKHashGraph<String>();
+            }
+        });
+        backends.add(new IntBackend("PKHashGraph(ordered)") {
+            Graph<Integer> create(int vertices, long edges) {
+                return new PKHashGraph<Integer>(vertices, true);
+            }
+        });
+        backends.add(new IntBackend("IntAdjacencyGraph") {
+            Graph<Integer> create(int vertices, long edges) {
+                return new IntAdjacencyGraph(vertices, edges);
+            }
+        });
+        backends.add(new StringBackend("StringGraph") {
+            Graph<String> create(int vertices, long edges) {
+                return new StringGraph(vertices, edges);
+            }
+        });
+        backends.add(new StringBackend("DenseGraph") {
+            Graph<String> create(int vertices, long edges) {
+                return new DenseGraph<String>(vertices);
+            }
+
+            boolean budgeted() {
+                return false;
+            }
+        });
+        backends.add(new StringBackend("VersionedGraph") {
+            Graph<String> create(int vertices, long edges) {
+                return new VersionedGraph<String>();
+            }
+        });
+        backends.add(new IntBackend("synchronized IntAdjacencyGraph") {
+            Graph<Integer> create(int vertices, long edges) {
+                return Graphs.synchronizedGraph(new IntAdjacencyGraph(vertices, edges));
+            }
+        });
+        backends.add(new StringBackend("InstrumentedGraph") {
+            Graph<String> create(int vertices, long edges) {
+                return new InstrumentedGraph<String>(new PKHashGraph<String>(), new GraphMetrics());
+            }
+        });
+        backends.add(new StringBackend("ObservableGraph") {
+            Graph<String> create(int vertices, long edges) {
+                return new ObservableGraph<String>(new PKHashGraph<String>());
+            }
+        });
+        backends.add(new IntBackend("ComponentTrackingGraph") {
+            Graph<Integer> create(int vertices, long edges) {
+                return new ComponentTrackingGraph<Integer>(new IntAdjacencyGraph(vertices, edges));
+            }
+        });
+        backends.add(new StringBackend("PartitionedGraph") {
+            Graph<String> create(int vertices, long edges) {
+                return new PartitionedGraph<String>(4);
+            }
+        });
+        backends.add(new IntBackend("DurableGraph") {
+            java.nio.file.Path dir;
+
+            Graph<Integer> create(int vertices, long edges) throws IOException {
+                dir = folder.newFolder().toPath();
+                return DurableGraph.open(dir, VertexCodec.INTEGER, Durability.NONE);
+            }
+
+            Graph<Integer> finish(Graph<Integer> graph) throws IOException {
+                ((DurableGraph<Integer>) graph).close();
+                return DurableGraph.open(dir, VertexCodec.INTEGER, Durability.NONE);
+            }
+        });
+        return backends;
+    }
+
+    /**
+     * The obviously correct graph the backends are compared with:
+     * int vertices, a hash set of successors each, and a plain BFS.
+     */
+    private static final class Reference
+    {
+        final Map<Integer, Set<Integer>> out = new HashMap<Integer, Set<Integer>>();
+        int edges;
+
+        void addVertex(int v)
+        {
+            if (!out.containsKey(v))
+                out.put(v, new LinkedHashSet<Integer>());
+        }
+
+        void addEdge(int from, int to)
+        {
+            addVertex(from);
+            addVertex(to);
+            if (out.get(from).add(to))
+                edges++;
+        }
+
+        void removeEdge(int from, int to)
+        {
+            Set<Integer> adj = out.get(from);
+            if (adj != null && adj.remove(to))
+                edges--;
+        }
+
+        void removeVertex(int v)
+        {
+            Set<Integer> adj = out.remove(v);
+            if (adj == null)
+                return;
+            edges -= adj.size();
+            for (Set<Integer> other : out.values())
+                if (other.remove(v))
+                    edges--;
+        }
+
+        boolean hasEdge(int from, int to)
+        {
+            Set<Integer> adj = out.get(from);
+            return adj != null && adj.contains(to);
+        }
+
+        int distance(int from, int to)
+        {
+            if (!out.containsKey(from) || !out.containsKey(to))
+                return Integer.MAX_VALUE;
+            Map<Integer, Integer> depth = new HashMap<Integer, Integer>();
+            ArrayDeque<Integer> queue = new ArrayDeque<Integer>();
+            depth.put(from, 0);
+            queue.add(from);
+            while (!queue.isEmpty()) {
+                int v = queue.poll();
+                if (v == to)
+                    return depth.get(v);
+                for (int w : out.get(v))
+                    if (!depth.containsKey(w)) {
+                        depth.put(w, depth.get(v) + 1);
+                        queue.add(w);
+                    }
+            }
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    @Test
+    public void everyBackendMatchesTheReferenceModel() throws IOException
+    {
+        for (Backend<?> backend : backends())
+            differential(backend);
+    }
+
+    private <V> void differential(Backend<V> backend) throws IOException
+    {
+        Random random = new Random(seed);
+        int n = profile.vertices;
+        Graph<V> g = backend.create(n, profile.edges);
+        Reference ref = new Reference();
+        int linearEvery = Math.max(1, profile.operations / LINEAR_OPERATIONS);
+        for (int op = 0; op < profile.operations; op++) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            V va = backend.vertex(a);
+            V vb = backend.vertex(b);
+            String where = backend + ", seed " + seed + ", operation " + op;
+            if (op % linearEvery == linearEvery - 1) {
+                linearOperation(backend, g, ref, random, a, b, where);
+                continue;
+            }
+            int dice = random.nextInt(100);
+            if (dice < 45) {
+                g.addEdge(va, vb);
+                ref.addEdge(a, b);
+            }
+            else if (dice < 55) {
+                g.addVertex(va);
+                ref.addVertex(a);
+            }
+            else if (dice < 70) {
+                g.removeEdge(va, vb);
+                ref.removeEdge(a, b);
+            }
+            else if (dice < 85) {
+                assertEquals(where, ref.hasEdge(a, b), g.hasEdge(va, vb));
+                assertEquals(where, ref.out.containsKey(a), g.contains(va));
+            }
+            else if (dice < 95) {
+                Set<Integer> adj = ref.out.get(a);
+                assertEquals(where, adj == null ? new HashSet<V>() : names(backend, adj),
+                             new HashSet<V>(list(g.adjacentTo(va))));
+                if (adj != null)
+                    assertEquals(where, adj.size(), g.degree(va));
+            }
+            else {
+                g.apply(randomDelta(backend, ref, random, false));
+            }
+            assertEquals(where, ref.out.size(), g.numVertices());
+            assertEquals(where, ref.edges, g.numEdges());
+        }
+        assertMatches(backend, g, ref, backend + " at the end");
+        Graph<V> again = backend.finish(g);
+        if (again != null) {
+            assertMatches(backend, again, ref, backend + " after reopening");
+            backend.finish(again);
+        }
+    }
+
+    /**
+     * Records up to 15 random changes in a delta, making each one on
+     * the reference model as it is recorded, so that applying the
+     * delta must leave the graph where the same calls made one at a
+     * time would.  The changes touch a pool of four vertices, so that
+     * many of them cancel or override earlier ones: an edge added and
+     * removed again, a vertex removed and then given an edge, an edge
+     * added to a vertex that is removed afterwards.  Vertex removals
+     * cost O(V + E), so they are only recorded when 'removeVertices'
+     * is true.
+     */
+    private <V> GraphDelta<V> randomDelta(Backend<V> backend, Reference ref, Random random,
+                                          boolean removeVertices)
+    {
+        int n = profile.vertices;
+        int[] pool = { random.nextInt(n), random.nextInt(n), random.nextInt(n), random.nextInt(n) };
+        GraphDelta<V> delta = new GraphDelta<V>();
+        for (int i = random.nextInt(16); i > 0; i--) {
+            int x = pool[random.nextInt(pool.length)];
+            int y = random.nextInt(4) == 0 ? random.nextInt(n) : pool[random.nextInt(pool.length)];
+            int dice = random.nextInt(removeVertices ? 10 : 8);
+            if (dice < 3) {
+                delta.addEdge(backend.vertex(x), backend.vertex(y));
+                ref.addEdge(x, y);
+            }
+            else if (dice < 6) {
+                delta.removeEdge(backend.vertex(x), backend.vertex(y));
+                ref.removeEdge(x, y);
+            }
+            else if (dice < 8) {
+                delta.addVertex(backend.vertex(x));
+                ref.addVertex(x);
+            }
+            else {
+                delta.removeVertex(backend.vertex(x));
+                ref.removeVertex(x);
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * Runs one of the operations that cost O(V + E): a vertex
+     * removal, a delta that may remove vertices, or a path query
+     * checked against the reference BFS.
+     */
+    private <V> void linearOperation(Backend<V> backend, Graph<V> g, Reference ref,
+                                     Random random, int a, int b, String where)
+    {
+        V va = backend.vertex(a);
+        V vb = backend.vertex(b);
+        int dice = random.nextInt(8);
+        if (dice == 0) {
+            g.apply(randomDelta(backend, ref, random, true));
+            assertEquals(where, ref.out.size(), g.numVertices());
+            assertEquals(where, ref.edges, g.numEdges());
+            return;
+        }
+        if (dice < 3) {
+            g.removeVertex(va);
+            ref.removeVertex(a);
+            assertEquals(where, ref.out.size(), g.numVertices());
+            assertEquals(where, ref.edges, g.numEdges());
+            for (int v : ref.out.keySet())
+                if (g.hasEdge(backend.vertex(v), va))
+                    fail(where + ": edge into removed vertex " + va);
+            return;
+        }
+        int distance = ref.distance(a, b);
+        assertEquals(where, distance, g.pathLength(va, vb));
+        assertEquals(where, distance != Integer.MAX_VALUE, g.hasPath(va, vb));
+        PathQuery<V> query = g.from(va);
+        assertEquals(where, distance != Integer.MAX_VALUE, query.hasPath(vb));
+        assertEquals(where, ref.out.containsKey(a) ? 0 : Integer.MAX_VALUE, query.pathLength(va));
+        assertEquals(where, distance, query.pathLength(vb));
+        List<V> resumed = query.getPath(vb);
+        assertEquals(where, distance == Integer.MAX_VALUE ? 0 : distance + 1,
+                     resumed == null ? 0 : resumed.size());
+        Iterable<V> path = g.getPath(va, vb);
+        if (distance == Integer.MAX_VALUE) {
+            assertNull(where, path);
+            return;
+        }
+        List<V> vertices = list(path);
+        assertEquals(where, distance + 1, vertices.size());
+        assertEquals(where, va, vertices.get(0));
+        assertEquals(where, vb, vertices.get(vertices.size() - 1));
+        for (int i = 0; i + 1 < vertices.size(); i++)
+            assertTrue(where + ": path " + vertices + " is not made of edges",
+                       g.hasEdge(vertices.get(i), vertices.get(i + 1)));
+    }
+
+    private <V> void assertMatches(Backend<V> backend, Graph<V> g, Reference ref, String where)
+    {
+        assertEquals(where, ref.out.size(), g.numVertices());
+        assertEquals(where, ref.edges, g.numEdges());
+        assertEquals(where, names(backend, ref.out.keySet()), new HashSet<V>(list(g.getVertices())));
+        for (Map.Entry<Integer, Set<Integer>> e : ref.out.entrySet())
+            assertEquals(where, names(backend, e.getValue()),
+                         new HashSet<V>(list(g.adjacentTo(backend.vertex(e.getKey())))));
+    }
+
+    private static <V> Set<V> names(Backend<V> backend, Iterable<Integer> vertices)
+    {
+        Set<V> out = new HashSet<V>();
+        for (int v : vertices)
+            out.add(backend.vertex(v));
+        return out;
+    }
+
+    private static <V> List<V> list(Iterable<V> items)
+    {
+        List<V> out = new ArrayList<V>();
+        for (V v : items)
+            out.add(v);
+        return out;
+    }
+
+    /**
+     * An operation whose cost is measured, and the exponent of the
+     * graph size it is expected to scale with.
+     */
+    private static final class Budget<V>
+    {
+        final String operation;
+        final int exponent;
+        final Measured<V> measured;
+        int repeat;
+
+        Budget(String operation, int exponent, int repeat, Measured<V> measured)
+        {
+            this.operation = operation;
+            this.exponent = exponent;
+            this.repeat = repeat;
+            this.measured = measured;
+        }
+    }
+
+    private interface Measured<V>
+    {
+        void run(Graph<V> g, Backend<V> backend, Random random, int vertices, int repeat);
+    }
+
+    /**
+     * Wall-clock ratios are too noisy on a shared or loaded machine to
+     * gate every build, so the budgets are only checked from the
+     * medium profile up, in runs made for the purpose.
+     */
+    @Test
+    public void operationsStayWithinTheirComplexityBudgets() throws IOException
+    {
+        if (profile == Profile.SMALL)
+            return;
+        for (Backend<?> backend : backends())
+            if (backend.budgeted())
+                budgets(backend);
+    }
+
+    /**
+     * Times each operation on a random graph of 'profile.edges /
+     * SCALE' edges and on one SCALE times as big, and fails if its
+     * time grows by more than SCALE^exponent * SLACK.  Linear
+     * operations are allowed to grow as much as a full scan does, if
+     * that is more than SCALE, since the larger graph no longer fits
+     * in cache.  Timings are noisy, so an operation only fails if it
+     * is over budget in ATTEMPTS measurements in a row.
+     */
+    private <V> void budgets(Backend<V> backend) throws IOException
+    {
+        List<Budget<V>> budgets = new ArrayList<Budget<V>>();
+        // the yardstick for O(V + E): a walk over every adjacency list,
+        // which suffers the same cache misses on the larger graph as
+        // any other linear operation
+        budgets.add(new Budget<V>("scan", 1, 1, (g, b, r, n, repeat) -> {
+            for (int i = 0; i < repeat; i++) {
+                int edges = 0;
+                for (V v : g.getVertices())
+                    for (V w : g.adjacentTo(v))
+                        edges++;
+                if (edges != g.numEdges())
+                    fail(b + ": adjacency lists do not add up to numEdges");
+            }
+        }));
+        // O(1) per call for a graph of bounded degree
+        budgets.add(new Budget<V>("hasEdge/contains", 0, 5000, (g, b, r, n, repeat) -> {
+            for (int i = 0; i < repeat; i++) {
+                V x = b.vertex(r.nextInt(n));
+                if (g.hasEdge(x, b.vertex(r.nextInt(n))) && !g.contains(x))
+                    fail(b + ": edge out of a missing vertex");
+            }
+        }));
+        budgets.add(new Budget<V>("addEdge/removeEdge", 0, 2000, (g, b, r, n, repeat) -> {
+            for (int i = 0; i < repeat; i++) {
+                V x = b.vertex(r.nextInt(n));
+                V y = b.vertex(r.nextInt(n));
+                g.addEdge(x, y);
+                g.removeEdge(x, y);
+            }
+        }));
+        // O(V + E): each search explores the whole graph before
+        // giving up on the isolated vertex n
+        budgets.add(new Budget<V>("pathLength", 1, 4, (g, b, r, n, repeat) -> {
+            for (int i = 0; i < repeat; i++)
+                if (g.pathLength(b.vertex(r.nextInt(n)), b.vertex(n)) != Integer.MAX_VALUE)
+                    fail(b + ": path to an isolated vertex");
+        }));
+        budgets.add(new Budget<V>("getPath", 1, 4, (g, b, r, n, repeat) -> {
+            for (int i = 0; i < repeat; i++)
+                g.getPath(b.vertex(r.nextInt(n)), b.vertex(r.nextInt(n)));
+        }));
+        // last, since it changes the graph
+        budgets.add(new Budget<V>("removeVertex", 1, 4, (g, b, r, n, repeat) -> {
+            for (int i = 0; i < repeat; i++)
+                g.removeVertex(b.vertex(r.nextInt(n)));
+        }));
+
+        int smallEdges = Math.max(4096, profile.edges / SCALE);
+        calibrate(backend, smallEdges, budgets);
+        Map<String, String> over = null;
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            double[] small = time(backend, smallEdges, budgets);
+            double[] large = time(backend, smallEdges * SCALE, budgets);
+            double linear = Math.max(SCALE, large[0] / small[0]);
+            Map<String, String> now = new LinkedHashMap<String, String>();
+            for (int i = 1; i < budgets.size(); i++) {
+                Budget<V> budget = budgets.get(i);
+                double allowed = Math.pow(linear, budget.exponent) * SLACK;
+                double ratio = large[i] / small[i];
+                if (ratio > allowed)
+                    now.put(budget.operation, String.format(
+                        "%s.%s is over budget: %d times the edges took %.0f times as long"
+                        + " (%.0f us vs %.0f us), expected at most %.0f times",
+                        backend, budget.operation, SCALE, ratio, large[i] / 1e3,
+                        small[i] / 1e3, allowed));
+            }
+            if (over != null)
+                now.keySet().retainAll(over.keySet());
+            if (now.isEmpty())
+                return;
+            over = now;
+        }
+        fail(over.values().iterator().next());
+    }
+
+    /**
+     * Doubles the number of times each operation is repeated until it
+     * takes MIN_NANOS on a graph with 'edges' edges, so that timer
+     * resolution and start-up costs do not swamp the measurement.  A
+     * linear operation is repeated for at most 1/8 of the vertices,
+     * so that removals leave most of the graph in place.  This also
+     * warms the JIT up before anything is timed.
+     */
+    private <V> void calibrate(Backend<V> backend, int edges, List<Budget<V>> budgets)
+        throws IOException
+    {
+        int n = edges / 4;
+        Graph<V> g = randomGraph(backend, n, edges, new Random(seed));
+        for (Budget<V> budget : budgets) {
+            int cap = budget.exponent == 0 ? 1 << 20 : n / 8;
+            while (true) {
+                long start = System.nanoTime();
+                budget.measured.run(g, backend, new Random(seed), n, budget.repeat);
+                if (System.nanoTime() - start >= MIN_NANOS || budget.repeat * 2 > cap)
+                    break;
+                budget.repeat *= 2;
+            }
+        }
+        Graph<V> again = backend.finish(g);
+        if (again != null)
+            backend.finish(again);
+    }
+
+    /**
+     * @return a graph with vertices 0 to n and 'edges' random edges
+     * between the first n of them, leaving vertex n isolated.
+     */
+    private static <V> Graph<V> randomGraph(Backend<V> backend, int n, int edges, Random random)
+        throws IOException
+    {
+        Graph<V> g = backend.create(n + 1, edges);
+        GraphDelta<V> delta = new GraphDelta<V>();
+        for (int v = 0; v <= n; v++)
+            delta.addVertex(backend.vertex(v));
+        for (int i = 0; i < edges; i++)
+            delta.addEdge(backend.vertex(random.nextInt(n)), backend.vertex(random.nextInt(n)));
+        g.apply(delta);
+        return g;
+    }
+
+    /**
+     * @return the best time of each operation over a few rounds, each
+     * on a fresh random graph with 'edges' edges, to damp JIT and GC
+     * noise.
+     */
+    private <V> double[] time(Backend<V> backend, int edges, List<Budget<V>> budgets)
+        throws IOException
+    {
+        int n = edges / 4;
+        double[] best = new double[budgets.size()];
+        Arrays.fill(best, Double.MAX_VALUE);
+        for (int round = 0; round < 2; round++) {
+            Random random = new Random(seed + round);
+            Graph<V> g = randomGraph(backend, n, edges, random);
+            System.gc();
+            for (int i = 0; i < budgets.size(); i++) {
+                Budget<V> budget = budgets.get(i);
+                long start = System.nanoTime();
+                budget.measured.run(g, backend, random, n, budget.repeat);
+                best[i] = Math.min(best[i], System.nanoTime() - start);
+            }
+            Graph<V> again = backend.finish(g);
+            if (again != null)
+                backend.finish(again);
+        }
+        return best;
+    }
+}
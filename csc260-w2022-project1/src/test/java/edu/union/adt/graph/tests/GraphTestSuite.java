@@ -9,7 +9,27 @@ import org.junit.runners.Suite;
 ({
     SimpleGraphTests.class,
     GraphTestsUsingEquals.class,
-        KeyvanipTests.class
+        KeyvanipTests.class,
+        BulkMutationTests.class,
+        VersionedGraphTests.class,
+        DurableGraphTests.class,
+        InstrumentedGraphTests.class,
+        GraphFactoryBuilderTests.class,
+        AnalyticsTests.class,
+        PartitionedGraphTests.class,
+        SubgraphTests.class,
+        ConnectivityTests.class,
+        ObservableGraphTests.class,
+        GraphDiffTests.class,
+        StringGraphTests.class,
+        GraphStressTests.class,
+        QueryServerTests.class,
+        CompressedGraphTests.class,
+        DenseGraphTests.class,
+        DistanceTests.class,
+        PathQueryTests.class,
+        GeneratorTests.class,
+        DepthFirstSearchTests.class
 })
 public class GraphTestSuite
 { // no implementation needed; above annotations do the work.
@@ -0,0 +1,163 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.DenseGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.PathQuery;
+import edu.union.adt.graph.TraversalStats;
+import edu.union.adt.graph.VersionedGraph;
+import edu.union.adt.graph.metrics.GraphMetrics;
+import edu.union.adt.graph.metrics.InstrumentedGraph;
+import edu.union.adt.graph.metrics.LatencyHistogram;
+import edu.union.adt.graph.metrics.Operation;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import javax.management.ObjectName;
+
+@RunWith(JUnit4.class)
+public class InstrumentedGraphTests
+{
+    private GraphMetrics metrics;
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        metrics = new GraphMetrics();
+        g = GraphFactory.createInstrumentedGraph(GraphFactory.<String> createGraph(), metrics);
+    }
+
+    @Test
+    public void countsOperations()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addVertex("D");
+        g.hasEdge("A", "B");
+
+        assertEquals(2, metrics.getCount(Operation.ADD_EDGE));
+        assertEquals(1, metrics.getCount(Operation.ADD_VERTEX));
+        assertEquals(1, metrics.getCount(Operation.HAS_EDGE));
+        assertEquals(2, metrics.getLatency(Operation.ADD_EDGE).getCount());
+    }
+
+    @Test
+    public void pathQueriesCountTheWrappedGraphsSearch()
+    {
+        List<Graph<Integer>> backends = Arrays.asList(
+            GraphFactory.<Integer> createGraph(), new DenseGraph<Integer>(),
+            GraphFactory.builder().intVertices().build(), new VersionedGraph<Integer>());
+        for (Graph<Integer> backend : backends) {
+            for (int i = 0; i < 20; i++)
+                backend.addEdge(i, (i * 7 + 3) % 20);
+            TraversalStats own = new TraversalStats();
+            int length = backend.pathLength(0, 19, own);
+
+            GraphMetrics counted = new GraphMetrics();
+            Graph<Integer> measured = new InstrumentedGraph<Integer>(backend, counted);
+            assertEquals(length, measured.pathLength(0, 19));
+            assertEquals(1, counted.getCount(Operation.PATH_LENGTH));
+            assertEquals(1, counted.getTraversals());
+            assertTrue(own.getVisitedVertices() > 0);
+            assertEquals(backend.getClass() + " visits",
+                         own.getVisitedVertices(), counted.getVisitedVertices());
+            assertEquals(backend.getClass() + " edges",
+                         own.getVisitedEdges(), counted.getVisitedEdges());
+            assertEquals("Searches do not go through adjacentTo",
+                         0, counted.getCount(Operation.ADJACENT_TO));
+        }
+    }
+
+    @Test
+    public void countsTraversalWork()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("A", "D");
+
+        assertEquals(Arrays.asList("A", "B", "C"), g.getPath("A", "C"));
+        assertNull(g.getPath("C", "A"));
+        assertTrue(g.hasPath("A", "D"));
+
+        assertEquals(3, metrics.getTraversals());
+        assertEquals(2, metrics.getCount(Operation.GET_PATH));
+        assertEquals(1, metrics.getCount(Operation.HAS_PATH));
+        assertTrue("Each traversal visits at least the source",
+                   metrics.getVisitedVertices() >= 3);
+        assertTrue(metrics.getVisitedEdges() >= 3);
+        assertTrue(metrics.getAllocatedBytes() > 0);
+    }
+
+    @Test
+    public void queriesFromOneSourceAreCountedAsPathQueries()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("A", "D");
+
+        PathQuery<String> q = g.from("A");
+        assertTrue(q.hasPath("C"));
+        assertEquals(Arrays.asList("A", "B", "C"), q.getPath("C"));
+        assertEquals(1, q.pathLength("D"));
+
+        assertEquals(1, metrics.getCount(Operation.HAS_PATH));
+        assertEquals(1, metrics.getCount(Operation.GET_PATH));
+        assertEquals(1, metrics.getCount(Operation.PATH_LENGTH));
+        assertEquals(0, metrics.getCount(Operation.ADJACENT_TO));
+        assertEquals(3, metrics.getTraversals());
+        assertTrue(metrics.getVisitedVertices() >= 2);
+    }
+
+    @Test
+    public void histogramPercentiles()
+    {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++)
+            h.record(i * 1000L);
+
+        assertEquals(1000, h.getCount());
+        assertEquals(1000000, h.getMax());
+        long p50 = h.getValueAtPercentile(50);
+        assertTrue("p50 is within the histogram's precision: " + p50,
+                   p50 >= 500000 && p50 <= 500000 * 1.04);
+        long p99 = h.getValueAtPercentile(99);
+        assertTrue("p99 is within the histogram's precision: " + p99,
+                   p99 >= 990000 && p99 <= 990000 * 1.04);
+    }
+
+    @Test
+    public void disabledMeansUnwrapped()
+    {
+        Graph<String> plain = GraphFactory.<String> createGraph();
+        if (!GraphMetrics.isEnabled())
+            assertSame("Without metrics enabled the graph is not wrapped",
+                       plain, GraphFactory.instrument(plain));
+    }
+
+    @Test
+    public void exportsThroughJmx() throws Exception
+    {
+        g.addVertex("A");
+        ObjectName name = metrics.register("InstrumentedGraphTests");
+        try {
+            Object traversals = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(name, "Traversals");
+            assertEquals(0L, traversals);
+        }
+        finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+}
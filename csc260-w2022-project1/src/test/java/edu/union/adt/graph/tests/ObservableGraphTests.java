@@ -0,0 +1,217 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphDelta;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.events.Backpressure;
+import edu.union.adt.graph.events.GraphEvent;
+import edu.union.adt.graph.events.GraphListener;
+import edu.union.adt.graph.events.ObservableGraph;
+import edu.union.adt.graph.events.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@RunWith(JUnit4.class)
+public class ObservableGraphTests
+{
+    private ObservableGraph<String> g;
+    private Recorder recorder;
+
+    /** Keeps every event and lets a test hold up delivery. */
+    private static class Recorder implements GraphListener<String>
+    {
+        final List<String> events = new ArrayList<String>();
+        final AtomicLong dropped = new AtomicLong();
+        final CountDownLatch release;
+
+        Recorder(CountDownLatch release)
+        {
+            this.release = release;
+        }
+
+        @Override
+        public void onEvents(List<GraphEvent<String>> batch)
+        {
+            try {
+                release.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (events) {
+                for (GraphEvent<String> e : batch)
+                    events.add(e.getType() + " " + e.getFrom() + (e.getTo() == null ? "" : " " + e.getTo()));
+            }
+        }
+
+        @Override
+        public void onDropped(long count)
+        {
+            dropped.addAndGet(count);
+        }
+
+        List<String> events()
+        {
+            synchronized (events) {
+                return new ArrayList<String>(events);
+            }
+        }
+    }
+
+    @Before
+    public void setUp()
+    {
+        g = new ObservableGraph<String>(GraphFactory.<String> createGraph());
+        recorder = new Recorder(new CountDownLatch(0));
+    }
+
+    private void awaitDelivered(Subscription<String> s, long count) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (s.getDelivered() < count && System.nanoTime() < deadline)
+            Thread.sleep(1);
+        assertEquals(count, s.getDelivered());
+    }
+
+    @Test
+    public void publishesEffectiveChangesInOrder() throws InterruptedException
+    {
+        Subscription<String> s = g.subscribe(recorder);
+        g.addEdge("A", "B");
+        g.addEdge("A", "B");
+        g.removeEdge("B", "A");
+        g.removeEdge("A", "B");
+        g.removeVertex("B");
+        g.removeVertex("Z");
+        awaitDelivered(s, 5);
+        s.close();
+
+        List<String> expected = new ArrayList<String>();
+        expected.add("ADD_VERTEX A");
+        expected.add("ADD_VERTEX B");
+        expected.add("ADD_EDGE A B");
+        expected.add("REMOVE_EDGE A B");
+        expected.add("REMOVE_VERTEX B");
+        assertEquals(expected, recorder.events());
+        assertEquals(5, g.version());
+    }
+
+    @Test
+    public void applyPublishesOnlyWhatChanged() throws InterruptedException
+    {
+        g.addEdge("A", "B");
+        Subscription<String> s = g.subscribe(recorder);
+        g.apply(new GraphDelta<String>().addEdge("A", "B").addEdge("B", "C")
+                .removeEdge("A", "Q").addVertex("A"));
+        awaitDelivered(s, 2);
+        s.close();
+
+        assertEquals(2, recorder.events().size());
+        assertEquals("ADD_VERTEX C", recorder.events().get(0));
+        assertEquals("ADD_EDGE B C", recorder.events().get(1));
+        assertTrue(g.hasEdge("B", "C"));
+    }
+
+    @Test
+    public void dropWhenFull() throws InterruptedException
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder slow = new Recorder(release);
+        Subscription<String> s = g.subscribe(slow, 4, 1, Backpressure.DROP);
+        for (int i = 0; i < 100; i++)
+            g.addVertex("v" + i);
+        assertEquals("The writer was never held up", 100, g.version());
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (slow.events().size() + slow.dropped.get() < 100 && System.nanoTime() < deadline)
+            Thread.sleep(1);
+        s.close();
+        assertEquals(100, slow.events().size() + slow.dropped.get());
+        assertTrue(slow.dropped.get() >= 100 - 5);
+        assertEquals(slow.dropped.get(), s.getDropped());
+    }
+
+    @Test
+    public void coalesceWhenFull() throws InterruptedException
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder slow = new Recorder(release);
+        Subscription<String> s = g.subscribe(slow, 2, 16, Backpressure.COALESCE);
+        g.addVertex("first");
+        g.addVertex("second");
+        g.addVertex("third");
+        for (int i = 0; i < 50; i++) {
+            g.addEdge("X", "Y");
+            g.removeEdge("X", "Y");
+        }
+        g.addEdge("X", "Z");
+        assertTrue(s.hasPending());
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((s.hasPending() || !slow.events().contains("ADD_EDGE X Z"))
+               && System.nanoTime() < deadline) {
+            g.flush();
+            Thread.sleep(1);
+        }
+        s.close();
+
+        List<String> events = slow.events();
+        assertEquals("ADD_VERTEX first", events.get(0));
+        assertEquals("ADD_VERTEX second", events.get(1));
+        assertEquals(0, s.getDropped());
+        assertTrue(events.contains("ADD_VERTEX third"));
+        int churn = 0;
+        for (String e : events)
+            if (e.endsWith(" X Y"))
+                churn++;
+        assertTrue("Only the net effect of the churn is kept", churn < 10);
+        assertTrue(events.contains("ADD_EDGE X Z"));
+        assertTrue("X -> Y ends up removed",
+                   events.lastIndexOf("ADD_EDGE X Y") < events.lastIndexOf("REMOVE_EDGE X Y")
+                   || !events.contains("ADD_EDGE X Y"));
+    }
+
+    @Test
+    public void listenerFailuresDoNotStopDelivery() throws InterruptedException
+    {
+        final List<Long> versions = new ArrayList<Long>();
+        Subscription<String> s = g.subscribe(new GraphListener<String>() {
+            @Override
+            public void onEvents(List<GraphEvent<String>> events) {
+                for (GraphEvent<String> e : events)
+                    if (e.getFrom().equals("bad"))
+                        throw new IllegalStateException();
+                synchronized (versions) {
+                    for (GraphEvent<String> e : events)
+                        versions.add(e.getVersion());
+                }
+            }
+        }, 16, 1, Backpressure.DROP);
+        g.addVertex("bad");
+        g.addVertex("good");
+        awaitDelivered(s, 2);
+        s.close();
+
+        assertEquals(1, s.getFailures());
+        assertEquals(Long.valueOf(2), versions.get(0));
+        Graph<String> copy = GraphFactory.createGraph();
+        copy.addVertex("bad");
+        copy.addVertex("good");
+        assertEquals(copy, g.getDelegate());
+    }
+}
@@ -0,0 +1,221 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.partition.LocalTransport;
+import edu.union.adt.graph.partition.PartitionedGraph;
+import edu.union.adt.graph.partition.Partitioner;
+import edu.union.adt.graph.partition.Shard;
+import edu.union.adt.graph.partition.ShardRequest;
+import edu.union.adt.graph.partition.Transport;
+import edu.union.adt.graph.persistence.VertexCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+@RunWith(JUnit4.class)
+public class PartitionedGraphTests
+{
+    private PartitionedGraph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = new PartitionedGraph<String>(4);
+    }
+
+    @After
+    public void tearDown()
+    {
+        g.close();
+    }
+
+    @Test
+    public void routedOperations()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("A", "C");
+        g.addEdge("C", "A");
+        g.addVertex("D");
+
+        assertEquals(4, g.numVertices());
+        assertEquals(3, g.numEdges());
+        assertEquals(2, g.degree("A"));
+        assertTrue(g.hasEdge("C", "A"));
+        assertFalse(g.hasEdge("B", "A"));
+        assertEquals(Arrays.asList("B", "C"), g.adjacentTo("A"));
+    }
+
+    @Test
+    public void removeVertexAcrossShards()
+    {
+        for (int i = 0; i < 20; i++)
+            g.addEdge("v" + i, "hub");
+        g.removeVertex("hub");
+
+        assertFalse(g.contains("hub"));
+        assertEquals("Edges into the vertex are removed on every shard", 0, g.numEdges());
+    }
+
+    @Test
+    public void pathsMatchSingleMachineGraph()
+    {
+        Graph<String> reference = GraphFactory.<String> createVersionedGraph();
+        Random random = new Random(3);
+        for (int i = 0; i < 300; i++) {
+            String from = "v" + random.nextInt(100);
+            String to = "v" + random.nextInt(100);
+            g.addEdge(from, to);
+            reference.addEdge(from, to);
+        }
+        for (int i = 0; i < 100; i++) {
+            String from = "v" + random.nextInt(100);
+            String to = "v" + random.nextInt(100);
+            assertEquals(reference.pathLength(from, to), g.pathLength(from, to));
+            assertEquals(reference.hasPath(from, to), g.hasPath(from, to));
+        }
+    }
+
+    @Test
+    public void getPath()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "D");
+        g.addEdge("A", "C");
+
+        assertEquals(Arrays.asList("A", "C", "D"), g.getPath("A", "D"));
+        assertEquals(Arrays.asList("B"), g.getPath("B", "B"));
+        assertNull(g.getPath("D", "A"));
+        assertNull(g.getPath("A", "Z"));
+    }
+
+    @Test
+    public void rangePartitioning()
+    {
+        Partitioner<Integer> ranges = Partitioner.range(Arrays.asList(100, 200),
+                                                        Comparator.<Integer> naturalOrder());
+        PartitionedGraph<Integer> ints =
+            new PartitionedGraph<Integer>(ranges, new LocalTransport<Integer>(3));
+        try {
+            assertEquals(0, ints.shardOf(5));
+            assertEquals(1, ints.shardOf(100));
+            assertEquals(2, ints.shardOf(250));
+            for (int i = 0; i < 299; i++)
+                ints.addEdge(i, i + 1);
+            assertEquals(299, ints.pathLength(0, 299));
+        }
+        finally {
+            ints.close();
+        }
+    }
+
+    /**
+     * Writes every request and reply to bytes and reads it back
+     * before using it, as a transport to another process would.
+     */
+    private static class WireTransport<V> implements Transport<V>
+    {
+        private final VertexCodec<V> codec;
+        private final List<Shard<V>> shards = new ArrayList<Shard<V>>();
+        long bytes;
+
+        WireTransport(int numShards, VertexCodec<V> codec)
+        {
+            this.codec = codec;
+            for (int i = 0; i < numShards; i++)
+                shards.add(new Shard<V>(i));
+        }
+
+        @Override
+        public int numShards()
+        {
+            return shards.size();
+        }
+
+        @Override
+        public synchronized <R> CompletableFuture<R> send(int shard, ShardRequest<V, R> request)
+        {
+            try {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                request.write(codec, new DataOutputStream(buffer));
+                ShardRequest<V, ?> received = ShardRequest.read(codec, input(buffer));
+                buffer = new ByteArrayOutputStream();
+                reply(shards.get(shard), received, new DataOutputStream(buffer));
+                return CompletableFuture.completedFuture(request.readReply(codec, input(buffer)));
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private <R> void reply(Shard<V> shard, ShardRequest<V, R> request, DataOutputStream out)
+            throws IOException
+        {
+            request.writeReply(shard.handle(request), codec, out);
+        }
+
+        private DataInputStream input(ByteArrayOutputStream buffer)
+        {
+            bytes += buffer.size();
+            return new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+
+    @Test
+    public void requestsAreDataThatCrossesAWire()
+    {
+        WireTransport<String> wire = new WireTransport<String>(3, VertexCodec.STRING);
+        PartitionedGraph<String> remote = new PartitionedGraph<String>(Partitioner.<String> hash(), wire);
+        Graph<String> reference = GraphFactory.<String> createGraph();
+        Random random = new Random(5);
+        for (int i = 0; i < 200; i++) {
+            String from = "v" + random.nextInt(60);
+            String to = "v" + random.nextInt(60);
+            remote.addEdge(from, to);
+            reference.addEdge(from, to);
+        }
+        remote.removeVertex("v7");
+        reference.removeVertex("v7");
+        remote.removeEdge("v1", "v2");
+        reference.removeEdge("v1", "v2");
+
+        assertEquals(reference.numVertices(), remote.numVertices());
+        assertEquals(reference.numEdges(), remote.numEdges());
+        for (int i = 0; i < 60; i++) {
+            String from = "v" + random.nextInt(60);
+            String to = "v" + random.nextInt(60);
+            assertEquals(reference.pathLength(from, to), remote.pathLength(from, to));
+            assertEquals(reference.hasEdge(from, to), remote.hasEdge(from, to));
+            if (reference.contains(from))
+                assertEquals(reference.degree(from), remote.degree(from));
+        }
+        assertTrue(wire.bytes > 0);
+    }
+}
@@ -0,0 +1,144 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.DenseGraph;
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.Graphs;
+import edu.union.adt.graph.PathQuery;
+import edu.union.adt.graph.VersionedGraph;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+@RunWith(JUnit4.class)
+public class PathQueryTests
+{
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<String> createGraph();
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "D");
+        g.addEdge("A", "E");
+        g.addEdge("E", "D");
+        g.addEdge("D", "F");
+        g.addVertex("G");
+    }
+
+    @Test
+    public void answersLikeTheGraph()
+    {
+        PathQuery<String> q = g.from("A");
+        assertEquals("A", q.source());
+        for (String to : Arrays.asList("A", "B", "C", "D", "E", "F", "G", "Z")) {
+            assertEquals(to, g.hasPath("A", to), q.hasPath(to));
+            assertEquals(to, g.pathLength("A", to), q.pathLength(to));
+            List<String> path = q.getPath(to);
+            if (g.getPath("A", to) == null)
+                assertNull(to, path);
+            else
+                assertEquals(to, g.pathLength("A", to) + 1, path.size());
+        }
+        assertEquals(Arrays.asList("A"), q.getPath("A"));
+        assertEquals(Arrays.asList("A", "E", "D", "F"), q.getPath("F"));
+    }
+
+    @Test
+    public void laterCallsResumeTheSearch()
+    {
+        PathQuery<String> q = g.from("A");
+        assertEquals(1, q.reached());
+        assertTrue(q.hasPath("B"));
+        int afterB = q.reached();
+        assertEquals("B's path comes from what was already searched",
+                     Arrays.asList("A", "B"), q.getPath("B"));
+        assertEquals(afterB, q.reached());
+        assertFalse(q.isExhausted());
+
+        assertEquals(3, q.pathLength("F"));
+        assertTrue(q.reached() > afterB);
+        assertFalse(q.hasPath("G"));
+        assertTrue(q.isExhausted());
+        assertEquals(6, q.reached());
+        assertEquals(2, q.pathLength("C"));
+    }
+
+    @Test
+    public void missingSourceReachesNothing()
+    {
+        PathQuery<String> q = g.from("Z");
+        assertFalse(q.hasPath("A"));
+        assertFalse(q.hasPath("Z"));
+        assertEquals(Integer.MAX_VALUE, q.pathLength("A"));
+        assertNull(q.getPath("Z"));
+        assertEquals(0, q.reached());
+    }
+
+    @Test
+    public void versionedQueriesSearchOneVersion()
+    {
+        Graph<String> versioned = new VersionedGraph<String>();
+        versioned.addEdge("A", "B");
+        versioned.addEdge("B", "C");
+        versioned.addEdge("C", "D");
+        PathQuery<String> q = versioned.from("A");
+        assertTrue(q.hasPath("B"));
+
+        versioned.removeEdge("B", "C");
+        versioned.addEdge("A", "D");
+        assertEquals("The query keeps searching the version it started on",
+                     3, q.pathLength("D"));
+        assertEquals(Arrays.asList("A", "B", "C", "D"), q.getPath("D"));
+        assertEquals(1, versioned.from("A").pathLength("D"));
+    }
+
+    @Test
+    public void synchronizedQueriesAnswerLikeTheGraph()
+    {
+        Graph<String> locked = Graphs.synchronizedGraph(g);
+        PathQuery<String> q = locked.from("A");
+        assertEquals("A", q.source());
+        assertEquals(3, q.pathLength("F"));
+        assertEquals(3, q.getPath("D").size());
+        assertFalse(q.hasPath("G"));
+        assertTrue(q.isExhausted());
+    }
+
+    @Test
+    public void everyBackendResumesCorrectly()
+    {
+        Random random = new Random(1);
+        Graph<Integer> reference = GraphFactory.builder().intVertices().build();
+        List<Graph<Integer>> backends = Arrays.asList(
+            GraphFactory.<Integer> createGraph(), new VersionedGraph<Integer>(),
+            new DenseGraph<Integer>(), GraphFactory.builder().intVertices().build());
+        for (int i = 0; i < 600; i++) {
+            int a = random.nextInt(300);
+            int b = random.nextInt(300);
+            reference.addEdge(a, b);
+            for (Graph<Integer> backend : backends)
+                backend.addEdge(a, b);
+        }
+        for (int source = 0; source < 300; source += 37)
+            for (Graph<Integer> backend : backends) {
+                PathQuery<Integer> q = backend.from(source);
+                for (int to = 0; to < 300; to += 11)
+                    assertEquals(backend.getClass() + " " + source + " " + to,
+                                 reference.pathLength(source, to), q.pathLength(to));
+            }
+    }
+}
@@ -0,0 +1,235 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.PKHashGraph;
+import edu.union.adt.graph.persistence.VertexCodec;
+import edu.union.adt.graph.server.QueryClient;
+import edu.union.adt.graph.server.QueryServer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+@RunWith(JUnit4.class)
+public class QueryServerTests
+{
+    private Graph<String> g;
+    private QueryServer<String> server;
+    private QueryClient<String> client;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        g = GraphFactory.<String> createGraph();
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("A", "D");
+        g.addEdge("D", "C");
+        g.addVertex("E");
+        server = new QueryServer<String>(g, VertexCodec.STRING, 0);
+        client = new QueryClient<String>(server.getPort(), VertexCodec.STRING);
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    public void answersEveryKindOfQuery() throws Exception
+    {
+        assertTrue(client.contains("A").get());
+        assertFalse(client.contains("Z").get());
+        assertEquals(2, (int) client.degree("A").get());
+        assertEquals(new HashSet<String>(Arrays.asList("B", "D")),
+                     new HashSet<String>(client.adjacentTo("A").get()));
+        assertTrue(client.adjacentTo("Z").get().isEmpty());
+        assertTrue(client.hasEdge("A", "B").get());
+        assertFalse(client.hasEdge("B", "A").get());
+        assertTrue(client.hasPath("A", "C").get());
+        assertFalse(client.hasPath("C", "A").get());
+        assertEquals(2, (int) client.pathLength("A", "C").get());
+        assertEquals(Integer.MAX_VALUE, (int) client.pathLength("A", "E").get());
+        List<String> path = client.getPath("A", "C").get();
+        assertEquals(3, path.size());
+        assertEquals("A", path.get(0));
+        assertEquals("C", path.get(2));
+        assertNull(client.getPath("A", "E").get());
+    }
+
+    @Test
+    public void reportsErrorsWithoutDroppingTheConnection() throws Exception
+    {
+        try {
+            client.degree("Z").get();
+            fail("degree of a missing vertex should fail");
+        }
+        catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof QueryClient.QueryException);
+        }
+        assertTrue(client.contains("A").get());
+    }
+
+    @Test
+    public void errorsFromTheGraphAreAnsweredToo() throws Exception
+    {
+        Graph<String> failing = new PKHashGraph<String>() {
+            @Override
+            public int pathLength(String from, String to)
+            {
+                if (to.equals("deep"))
+                    throw new StackOverflowError();
+                return super.pathLength(from, to);
+            }
+        };
+        failing.addEdge("A", "B");
+        QueryServer<String> fragile = new QueryServer<String>(failing, VertexCodec.STRING, 0);
+        QueryClient<String> pipelined = new QueryClient<String>(fragile.getPort(), VertexCodec.STRING);
+        try {
+            List<CompletableFuture<Integer>> lengths = new ArrayList<CompletableFuture<Integer>>();
+            for (int i = 0; i < 2 * QueryServer.MAX_IN_FLIGHT; i++)
+                lengths.add(pipelined.pathLength("A", i % 3 == 0 ? "deep" : "B"));
+            for (int i = 0; i < lengths.size(); i++) {
+                try {
+                    assertEquals(1, (int) lengths.get(i).get(10, TimeUnit.SECONDS));
+                    assertTrue(i % 3 != 0);
+                }
+                catch (ExecutionException e) {
+                    assertEquals(0, i % 3);
+                    assertTrue(e.getCause() instanceof QueryClient.QueryException);
+                }
+            }
+            assertTrue("the connection still flushes", pipelined.contains("A").get(10, TimeUnit.SECONDS));
+        }
+        finally {
+            pipelined.close();
+            fragile.close();
+        }
+    }
+
+    @Test
+    public void slowPathQueriesDoNotHoldUpCheapOnes() throws Exception
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        Graph<String> slow = new PKHashGraph<String>() {
+            @Override
+            public boolean hasPath(String from, String to)
+            {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.hasPath(from, to);
+            }
+        };
+        slow.addEdge("A", "B");
+        QueryServer<String> searching = new QueryServer<String>(slow, VertexCodec.STRING, 0);
+        QueryClient<String> impatient = new QueryClient<String>(searching.getPort(), VertexCodec.STRING);
+        try {
+            CompletableFuture<Boolean> path = impatient.hasPath("A", "B");
+            assertTrue("a cheap answer is flushed while a search runs",
+                       impatient.contains("A").get(5, TimeUnit.SECONDS));
+            assertFalse(path.isDone());
+            release.countDown();
+            assertTrue(path.get(10, TimeUnit.SECONDS));
+        }
+        finally {
+            release.countDown();
+            impatient.close();
+            searching.close();
+        }
+    }
+
+    @Test
+    public void pipelinedQueriesAreMatchedToTheirAnswers() throws Exception
+    {
+        List<CompletableFuture<Integer>> lengths = new ArrayList<CompletableFuture<Integer>>();
+        List<CompletableFuture<Boolean>> edges = new ArrayList<CompletableFuture<Boolean>>();
+        for (int i = 0; i < 500; i++) {
+            lengths.add(client.pathLength("A", i % 2 == 0 ? "C" : "B"));
+            edges.add(client.hasEdge(i % 2 == 0 ? "A" : "C", "B"));
+        }
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i % 2 == 0 ? 2 : 1, (int) lengths.get(i).get());
+            assertEquals(i % 2 == 0, edges.get(i).get());
+        }
+        assertEquals(0, client.getPendingCount());
+        assertTrue(server.getRequestCount() >= 1000);
+    }
+
+    @Test
+    public void servesManyClientsAtOnce() throws Exception
+    {
+        Graph<Integer> ring = GraphFactory.builder().intVertices().build();
+        int n = 200;
+        for (int v = 0; v < n; v++)
+            ring.addEdge(v, (v + 1) % n);
+        AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        try (QueryServer<Integer> ringServer = new QueryServer<Integer>(ring, VertexCodec.INTEGER, 0)) {
+            List<Thread> threads = new ArrayList<Thread>();
+            for (int t = 0; t < 8; t++) {
+                final long seed = t;
+                Thread thread = new Thread(() -> {
+                    Random random = new Random(seed);
+                    try (QueryClient<Integer> c = new QueryClient<Integer>(ringServer.getPort(),
+                                                                            VertexCodec.INTEGER)) {
+                        for (int i = 0; i < 100; i++) {
+                            int a = random.nextInt(n);
+                            int b = random.nextInt(n);
+                            assertEquals(((b - a) % n + n) % n, (int) c.pathLength(a, b).get());
+                        }
+                    }
+                    catch (Throwable e) {
+                        error.compareAndSet(null, e);
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads)
+                thread.join();
+        }
+        if (error.get() != null)
+            throw new AssertionError(error.get());
+    }
+
+    @Test
+    public void closingFailsQueriesStillWaiting() throws Exception
+    {
+        server.close();
+        CompletableFuture<Boolean> answer = client.contains("A");
+        try {
+            answer.get();
+            fail("the server is gone");
+        }
+        catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        assertEquals(0, client.getPendingCount());
+    }
+}
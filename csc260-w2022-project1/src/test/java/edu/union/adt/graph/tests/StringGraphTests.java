@@ -0,0 +1,204 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphDelta;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.Graphs;
+import edu.union.adt.graph.StringGraph;
+import edu.union.adt.graph.VertexDictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+@RunWith(JUnit4.class)
+public class StringGraphTests
+{
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.createStringGraph();
+    }
+
+    private static <V> List<V> list(Iterable<V> items)
+    {
+        List<V> out = new ArrayList<V>();
+        for (V v : items)
+            out.add(v);
+        return out;
+    }
+
+    @Test
+    public void dictionaryInternsOnce()
+    {
+        VertexDictionary names = new VertexDictionary(2);
+        String[] words = { "A", "", "caf\u00e9", "na\u00efve", "\u6771\u4eac", "\ud83d\ude00", "A2" };
+        for (int i = 0; i < words.length; i++)
+            assertEquals(i, names.intern(words[i]));
+        for (int i = 0; i < words.length; i++) {
+            assertEquals(i, names.intern(new String(words[i])));
+            assertEquals(i, names.find(words[i]));
+            assertEquals(words[i], names.get(i));
+        }
+        assertEquals(words.length, names.size());
+        assertEquals(-1, names.find("cafe"));
+        assertEquals(-1, names.find("B"));
+        assertEquals(-1, names.find(null));
+    }
+
+    @Test
+    public void dictionaryGrowsPastItsInitialSize()
+    {
+        VertexDictionary names = new VertexDictionary();
+        for (int i = 0; i < 10000; i++)
+            assertEquals(i, names.intern("v" + i));
+        for (int i = 0; i < 10000; i++)
+            assertEquals(i, names.find("v" + i));
+        assertEquals("v9999", names.get(9999));
+        assertEquals(-1, names.find("v10000"));
+    }
+
+    @Test
+    public void dictionaryMarksSurviveGrowth()
+    {
+        VertexDictionary names = new VertexDictionary();
+        for (int i = 0; i < 10000; i++) {
+            int id = names.intern("v" + i);
+            if (i % 3 == 0)
+                names.setMarked(id, true);
+        }
+        names.setMarked(names.find("v0"), false);
+        for (int i = 0; i < 10000; i++) {
+            boolean marked = i % 3 == 0 && i != 0;
+            assertEquals(marked, names.isMarked(i));
+            assertEquals(marked ? i : -1, names.findMarked("v" + i));
+            assertEquals(i, names.find("v" + i));
+        }
+        assertEquals(-1, names.findMarked("v10000"));
+        assertEquals(-1, names.findMarked(null));
+        assertFalse(names.isMarked(10000));
+    }
+
+    @Test
+    public void behavesLikeTheVersionedGraph()
+    {
+        Graph<String> expected = GraphFactory.<String> createVersionedGraph();
+        Random random = new Random(7);
+        for (int i = 0; i < 3000; i++) {
+            String a = "n" + random.nextInt(60);
+            String b = "n" + random.nextInt(60);
+            switch (random.nextInt(5)) {
+            case 0:
+                g.addVertex(a);
+                expected.addVertex(a);
+                break;
+            case 1:
+                g.removeEdge(a, b);
+                expected.removeEdge(a, b);
+                break;
+            case 2:
+                if (random.nextInt(10) == 0) {
+                    g.removeVertex(a);
+                    expected.removeVertex(a);
+                }
+                break;
+            default:
+                g.addEdge(a, b);
+                expected.addEdge(a, b);
+            }
+            assertEquals(expected.contains(a), g.contains(a));
+            assertEquals(expected.hasEdge(a, b), g.hasEdge(a, b));
+        }
+        assertTrue(Graphs.sameVerticesAndEdges(expected, g));
+        for (String a : expected.getVertices()) {
+            assertEquals(expected.degree(a), g.degree(a));
+            for (String b : expected.getVertices())
+                assertEquals(Graphs.pathLength(expected, a, b), g.pathLength(a, b));
+        }
+    }
+
+    @Test
+    public void pathsComeBackAsNames()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "C");
+        g.addEdge("A", "D");
+        g.addVertex("E");
+
+        assertEquals(Arrays.asList("A", "B", "C"), list(g.getPath("A", "C")));
+        assertEquals(2, g.pathLength("A", "C"));
+        assertTrue(g.hasPath("A", "C"));
+        assertFalse(g.hasPath("C", "A"));
+        assertNull(g.getPath("A", "E"));
+        assertNull(g.getPath("A", "Z"));
+        assertEquals(Integer.MAX_VALUE, g.pathLength("Z", "A"));
+    }
+
+    @Test
+    public void removedNamesKeepTheirIds()
+    {
+        StringGraph graph = new StringGraph();
+        graph.addEdge("A", "B");
+        int id = graph.idOf("B");
+        graph.removeVertex("B");
+
+        assertEquals(-1, graph.idOf("B"));
+        assertFalse(graph.contains("B"));
+        assertFalse(graph.hasEdge("A", "B"));
+        assertEquals(0, graph.numEdges());
+        graph.addVertex("B");
+        assertEquals(id, graph.idOf("B"));
+        assertEquals(2, graph.getDictionary().size());
+    }
+
+    @Test
+    public void applyOnlyInternsAddedNames()
+    {
+        StringGraph graph = new StringGraph();
+        graph.addEdge("A", "B");
+        graph.apply(new GraphDelta<String>().removeVertex("X").removeEdge("Y", "A")
+                    .removeEdge("A", "B").addEdge("B", "C").addVertex("D"));
+
+        assertEquals(4, graph.getDictionary().size());
+        assertEquals(-1, graph.getDictionary().find("X"));
+        assertFalse(graph.hasEdge("A", "B"));
+        assertTrue(graph.hasEdge("B", "C"));
+        assertTrue(graph.contains("D"));
+
+        graph.apply(new GraphDelta<String>().removeVertex("B"));
+        assertFalse(graph.contains("B"));
+        assertEquals(-1, graph.idOf("B"));
+        graph.apply(new GraphDelta<String>().addEdge("A", "B"));
+        assertTrue(graph.contains("B"));
+        assertTrue(graph.hasEdge("A", "B"));
+    }
+
+    @Test
+    public void equalityAndBuilder()
+    {
+        Graph<String> built = GraphFactory.builder().stringVertices().expectedVertices(4).build();
+        assertTrue(built instanceof StringGraph);
+        assertTrue(GraphFactory.builder().stringVertices().threadSafe().build().isEmpty());
+
+        g.addEdge("A", "B");
+        built.addEdge("A", "B");
+        assertEquals(g, built);
+        assertEquals(g.hashCode(), built.hashCode());
+        built.addVertex("C");
+        assertFalse(g.equals(built));
+        assertEquals("A: B\nB:\n", g.toString());
+    }
+}
@@ -0,0 +1,102 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+import edu.union.adt.graph.IntAdjacencyGraph;
+import edu.union.adt.graph.Subgraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@RunWith(JUnit4.class)
+public class SubgraphTests
+{
+    private List<Graph<Integer>> backends()
+    {
+        List<Graph<Integer>> graphs = new ArrayList<Graph<Integer>>();
+        graphs.add(GraphFactory.<Integer> createGraph());
+        graphs.add(GraphFactory.<Integer> createVersionedGraph());
+        graphs.add(new IntAdjacencyGraph());
+        for (Graph<Integer> g : graphs) {
+            // 0 -> 1 -> 2 -> 3 -> 4, plus 0 -> 5 and a back edge 2 -> 0
+            g.addEdge(0, 1);
+            g.addEdge(1, 2);
+            g.addEdge(2, 3);
+            g.addEdge(3, 4);
+            g.addEdge(0, 5);
+            g.addEdge(2, 0);
+            g.addVertex(6);
+        }
+        return graphs;
+    }
+
+    private Set<Integer> vertices(Graph<Integer> g)
+    {
+        Set<Integer> vertices = new HashSet<Integer>();
+        for (Integer v : g.getVertices())
+            vertices.add(v);
+        return vertices;
+    }
+
+    @Test
+    public void kHop()
+    {
+        for (Graph<Integer> g : backends()) {
+            String name = g.getClass().getSimpleName();
+            Subgraph<Integer> two = g.kHop(0, 2);
+
+            assertEquals(name, new HashSet<Integer>(Arrays.asList(0, 1, 2, 5)), vertices(two));
+            assertEquals(name + ": edges between reached vertices are kept", 4, two.numEdges());
+            assertTrue(name, two.hasEdge(2, 0));
+            assertFalse(name + ": the edge out of the neighbourhood is dropped", two.hasEdge(2, 3));
+            assertEquals(name, 1, two.degree(2));
+
+            assertEquals(name, 1, g.kHop(0, 0).numVertices());
+            assertEquals(name, 6, g.kHop(0, 10).numVertices());
+            assertTrue(name, g.kHop(99, 3).isEmpty());
+        }
+    }
+
+    @Test
+    public void inducedSubgraph()
+    {
+        for (Graph<Integer> g : backends()) {
+            String name = g.getClass().getSimpleName();
+            Subgraph<Integer> sub = g.inducedSubgraph(Arrays.asList(0, 1, 2, 2, 42));
+
+            assertEquals(name, 3, sub.numVertices());
+            assertEquals(name, 3, sub.numEdges());
+            assertEquals(name, 2, sub.pathLength(1, 0));
+            assertEquals(name, Arrays.asList(0), sub.adjacentTo(2));
+            assertEquals(name, sub, g.kHop(0, 3).inducedSubgraph(Arrays.asList(0, 1, 2)));
+        }
+    }
+
+    @Test
+    public void subgraphIsACopy()
+    {
+        Graph<Integer> g = backends().get(0);
+        Subgraph<Integer> sub = g.kHop(0, 1);
+        g.removeEdge(0, 1);
+
+        assertTrue(sub.hasEdge(0, 1));
+        assertEquals(2, sub.view().numEdges());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void subgraphIsReadOnly()
+    {
+        backends().get(0).kHop(0, 1).addEdge(7, 8);
+    }
+}
@@ -0,0 +1,123 @@
+package edu.union.adt.graph.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.junit.Before;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import edu.union.adt.graph.Graph;
+import edu.union.adt.graph.GraphFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@RunWith(JUnit4.class)
+public class VersionedGraphTests
+{
+    private Graph<String> g;
+
+    @Before
+    public void setUp()
+    {
+        g = GraphFactory.<String> createVersionedGraph();
+    }
+
+    @Test
+    public void basicOperations()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("A", "C");
+        g.addEdge("C", "D");
+        g.addEdge("A", "B");
+
+        assertEquals(4, g.numVertices());
+        assertEquals("Adding an existing edge has no effect", 3, g.numEdges());
+        assertEquals(2, g.degree("A"));
+        assertEquals("Adjacency keeps insertion order",
+                     Arrays.asList("B", "C"), g.adjacentTo("A"));
+        assertEquals(Arrays.asList("A", "C", "D"), g.getPath("A", "D"));
+        assertEquals(2, g.pathLength("A", "D"));
+        assertFalse(g.hasPath("D", "A"));
+        assertNull(g.getPath("D", "A"));
+    }
+
+    @Test
+    public void snapshotDoesNotChange()
+    {
+        g.addEdge("A", "B");
+        Graph<String> before = g.snapshot();
+
+        g.addEdge("B", "C");
+        g.removeEdge("A", "B");
+        g.addVertex("Z");
+
+        assertTrue("Snapshot keeps removed edges", before.hasEdge("A", "B"));
+        assertFalse("Snapshot does not see new vertices", before.contains("Z"));
+        assertEquals(2, before.numVertices());
+        assertEquals(1, before.numEdges());
+        assertEquals(4, g.numVertices());
+        assertEquals(1, g.numEdges());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void snapshotIsReadOnly()
+    {
+        g.snapshot().addVertex("A");
+    }
+
+    @Test
+    public void removeVertexRemovesIncomingEdges()
+    {
+        g.addEdge("A", "B");
+        g.addEdge("B", "B");
+        g.addEdge("B", "C");
+        g.addEdge("C", "B");
+        g.removeVertex("B");
+
+        assertFalse(g.contains("B"));
+        assertFalse("No dangling edge into a removed vertex",
+                    g.adjacentTo("A").iterator().hasNext());
+        assertEquals(0, g.numEdges());
+    }
+
+    @Test
+    public void collidingHashCodes()
+    {
+        // "Aa" and "BB" have the same hashCode
+        g.addEdge("Aa", "BB");
+        g.addEdge("BB", "Aa");
+        g.removeVertex("Aa");
+
+        assertTrue(g.contains("BB"));
+        assertFalse(g.contains("Aa"));
+        assertEquals(0, g.numEdges());
+    }
+
+    @Test
+    public void concurrentWritersLoseNothing() throws InterruptedException
+    {
+        final Graph<Integer> ints = GraphFactory.<Integer> createVersionedGraph();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < 4; t++) {
+            final int base = t * 1000;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++)
+                    ints.addEdge(base + i, (base + i + 1) % 4000);
+            }));
+        }
+        for (Thread t : threads)
+            t.start();
+        for (Thread t : threads)
+            t.join();
+
+        assertEquals(4000, ints.numVertices());
+        assertEquals(4000, ints.numEdges());
+        assertTrue(ints.hasPath(0, 3999));
+    }
+}